@@ -0,0 +1,194 @@
+package com.airline.idgen
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Snowflake 방식의 시간 정렬(k-sortable) ID 생성기
+ *
+ * 64비트 ID 레이아웃 (최상위 부호 비트는 항상 0):
+ * ```
+ * | 41bit 타임스탬프(ms, EPOCH 기준) | 10bit 노드 ID | 4bit 레인 | 8bit 시퀀스 |
+ * ```
+ *
+ * - 상위 비트가 시간이므로 생성 순서대로 정렬되어 ID 기반 인덱스가 항상 뒤에 추가됨
+ * - 스레드마다 레인을 하나씩 배정하고, 레인별 (타임스탬프, 시퀀스) 상태를 AtomicLong 하나에 묶어
+ *   CAS로 갱신하므로 락이 없고 스레드 간 경합도 레인 수만큼 분산됨
+ * - 같은 ms 안에서 레인의 시퀀스가 소진되면 시스템 시계가 다음 ms로 넘어갈 때까지 대기
+ *   (논리 시계를 앞당기지 않으므로 발급한 타임스탬프가 관측한 시스템 시각을 넘지 않고, 재시작 후에도 겹치지 않음)
+ * - 시스템 시계가 뒤로 가면 마지막 타임스탬프를 이어 쓰고, 시퀀스가 소진되면 시계가 따라잡을 때까지 대기하므로
+ *   레인 내 단조 증가가 보장됨 (단, 시계가 뒤로 간 상태에서 재시작하면 그 구간의 ID가 겹칠 수 있으므로 NTP는 slew 모드 권장)
+ * - 기다려야 할 시간이 [maxClockRegressionMs]를 넘으면(NTP step 등 큰 역행) 요청 스레드를 재우지 않고
+ *   [ClockMovedBackwardsException]으로 즉시 실패
+ *
+ * 노드 ID는 인스턴스마다 고유해야 하며 호스트 이름 등에서 추측하지 않고 설정으로 명시해야 합니다.
+ * (예: StatefulSet의 Pod 순번을 `ID_NODE_ID`로 주입)
+ * 같은 노드 ID로 여러 생성기를 만들면 충돌할 수 있으므로 반드시 [forNode]로 얻어서 사용합니다.
+ *
+ * 사용 예시:
+ * ```kotlin
+ * val generator = SnowflakeIdGenerator.forNode(nodeId)
+ * val reservationId = "RES-${generator.nextIdString()}"
+ * ```
+ */
+class SnowflakeIdGenerator internal constructor(
+    val nodeId: Int,
+    private val maxClockRegressionMs: Long = DEFAULT_MAX_CLOCK_REGRESSION_MS,
+    private val clock: () -> Long = System::currentTimeMillis
+) {
+
+    private val lanes = Array(LANE_COUNT) { AtomicLong(0L) }
+    private val laneSequence = AtomicInteger(0)
+    private val laneOfThread = ThreadLocal.withInitial { laneSequence.getAndIncrement() and LANE_MASK }
+
+    /**
+     * 다음 ID를 생성합니다.
+     *
+     * @return 양수 64비트 ID
+     * @throws ClockMovedBackwardsException 시계가 [maxClockRegressionMs]보다 크게 뒤로 간 상태에서 레인의 시퀀스가 소진된 경우
+     */
+    fun nextId(): Long {
+        val lane = laneOfThread.get()
+        val state = lanes[lane]
+
+        while (true) {
+            val current = state.get()
+            val lastTimestamp = current ushr SEQUENCE_BITS
+            val lastSequence = current and SEQUENCE_MASK
+            val now = clock() - EPOCH
+
+            val next = when {
+                now > lastTimestamp -> now shl SEQUENCE_BITS
+                lastSequence < SEQUENCE_MASK -> current + 1
+                else -> {
+                    awaitAfter(lastTimestamp, now)
+                    continue
+                }
+            }
+
+            if (state.compareAndSet(current, next)) {
+                return ((next ushr SEQUENCE_BITS) shl TIMESTAMP_SHIFT) or
+                    (nodeId.toLong() shl NODE_SHIFT) or
+                    (lane.toLong() shl LANE_SHIFT) or
+                    (next and SEQUENCE_MASK)
+            }
+        }
+    }
+
+    /**
+     * 다음 ID를 고정 길이(13자) Crockford Base32 문자열로 생성합니다.
+     * 고정 길이이므로 문자열 정렬 순서와 숫자 정렬 순서가 같습니다.
+     */
+    fun nextIdString(): String = encode(nextId())
+
+    /**
+     * 시스템 시계가 [lastTimestamp]를 지날 때까지 대기합니다.
+     * 시계가 뒤로 간 경우처럼 차이가 있으면 잠들고, 같은 ms 안이면 스핀합니다.
+     * 차이가 [maxClockRegressionMs]를 넘으면 기다리지 않고 실패합니다.
+     */
+    private fun awaitAfter(lastTimestamp: Long, now: Long) {
+        val behind = lastTimestamp - now
+        when {
+            behind > maxClockRegressionMs -> throw ClockMovedBackwardsException(behind, maxClockRegressionMs)
+            behind > 0 -> Thread.sleep(behind)
+            else -> Thread.onSpinWait()
+        }
+    }
+
+    companion object {
+        /** 기준 시각: 2024-01-01T00:00:00Z */
+        const val EPOCH = 1704067200000L
+
+        /** 기다려서 흡수하는 최대 시계 역행 폭 */
+        const val DEFAULT_MAX_CLOCK_REGRESSION_MS = 50L
+
+        private const val SEQUENCE_BITS = 8
+        private const val LANE_BITS = 4
+        private const val NODE_BITS = 10
+
+        private const val LANE_SHIFT = SEQUENCE_BITS
+        private const val NODE_SHIFT = SEQUENCE_BITS + LANE_BITS
+        private const val TIMESTAMP_SHIFT = SEQUENCE_BITS + LANE_BITS + NODE_BITS
+
+        private const val SEQUENCE_MASK = (1L shl SEQUENCE_BITS) - 1
+        private const val LANE_COUNT = 1 shl LANE_BITS
+        private const val LANE_MASK = LANE_COUNT - 1
+        const val MAX_NODE_ID = (1 shl NODE_BITS) - 1
+
+        private const val ENCODED_LENGTH = 13
+        private const val ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ"
+
+        private val generators = ConcurrentHashMap<Int, SnowflakeIdGenerator>()
+
+        /**
+         * 노드 ID에 해당하는 프로세스 공용 생성기를 반환합니다.
+         *
+         * @param nodeId 0 ~ [MAX_NODE_ID], 인스턴스마다 고유하게 설정한 값
+         * @throws IllegalArgumentException 노드 ID가 범위를 벗어난 경우 (설정되지 않은 음수 포함)
+         */
+        fun forNode(nodeId: Int): SnowflakeIdGenerator {
+            require(nodeId in 0..MAX_NODE_ID) {
+                "Snowflake node ID must be configured per instance between 0 and $MAX_NODE_ID: $nodeId"
+            }
+            return generators.computeIfAbsent(nodeId) { SnowflakeIdGenerator(it) }
+        }
+
+        /**
+         * ID에 기록된 생성 시각(epoch millis)을 반환합니다.
+         */
+        fun timestampOf(id: Long): Long = (id ushr TIMESTAMP_SHIFT) + EPOCH
+
+        /**
+         * ID를 생성한 노드 ID를 반환합니다.
+         */
+        fun nodeIdOf(id: Long): Int = ((id ushr NODE_SHIFT) and MAX_NODE_ID.toLong()).toInt()
+
+        /**
+         * ID를 생성한 레인 번호를 반환합니다.
+         */
+        fun laneOf(id: Long): Int = ((id ushr LANE_SHIFT) and LANE_MASK.toLong()).toInt()
+
+        /**
+         * ID의 레인 내 시퀀스를 반환합니다.
+         */
+        fun sequenceOf(id: Long): Int = (id and SEQUENCE_MASK).toInt()
+
+        /**
+         * ID를 고정 길이 Crockford Base32 문자열로 변환합니다.
+         */
+        fun encode(id: Long): String {
+            val chars = CharArray(ENCODED_LENGTH)
+            var value = id
+            for (i in ENCODED_LENGTH - 1 downTo 0) {
+                chars[i] = ALPHABET[(value and 0x1F).toInt()]
+                value = value ushr 5
+            }
+            return String(chars)
+        }
+
+        /**
+         * Crockford Base32 문자열을 ID로 변환합니다.
+         */
+        fun decode(encoded: String): Long {
+            require(encoded.length == ENCODED_LENGTH) { "Invalid encoded ID length: ${encoded.length}" }
+            var value = 0L
+            for (c in encoded) {
+                val digit = ALPHABET.indexOf(c.uppercaseChar())
+                require(digit >= 0) { "Invalid encoded ID character: $c" }
+                value = (value shl 5) or digit.toLong()
+            }
+            return value
+        }
+    }
+}
+
+/**
+ * 시스템 시계가 허용 범위보다 크게 뒤로 가서 ID를 발급할 수 없음
+ *
+ * 시계가 따라잡으면 다시 발급되므로 호출자는 잠시 후 재시도할 수 있습니다.
+ */
+class ClockMovedBackwardsException(
+    val regressionMs: Long,
+    maxRegressionMs: Long
+) : IllegalStateException("System clock moved backwards by ${regressionMs}ms (max tolerated: ${maxRegressionMs}ms)")
@@ -0,0 +1,107 @@
+package com.airline.idgen
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertTrue
+
+class SnowflakeIdGeneratorTest {
+
+    private val base = SnowflakeIdGenerator.EPOCH + 1_000_000L
+
+    @Test
+    fun `ids from one thread are strictly increasing`() {
+        val generator = SnowflakeIdGenerator.forNode(1)
+
+        val ids = List(10_000) { generator.nextId() }
+
+        assertTrue(ids.zipWithNext().all { (a, b) -> a < b })
+        assertTrue(ids.zipWithNext().all { (a, b) -> SnowflakeIdGenerator.encode(a) < SnowflakeIdGenerator.encode(b) })
+    }
+
+    @Test
+    fun `concurrent callers never receive the same id`() {
+        val generator = SnowflakeIdGenerator.forNode(2)
+        val threads = 32
+        val perThread = 5_000
+        val ids = ConcurrentHashMap.newKeySet<Long>()
+        val start = CountDownLatch(1)
+        val executor = Executors.newFixedThreadPool(threads)
+
+        repeat(threads) {
+            executor.execute {
+                start.await()
+                repeat(perThread) { ids += generator.nextId() }
+            }
+        }
+        start.countDown()
+        executor.shutdown()
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS))
+
+        assertEquals(threads * perThread, ids.size)
+    }
+
+    @Test
+    fun `exhausted sequence waits for the clock instead of running ahead`() {
+        var calls = 0
+        val generator = SnowflakeIdGenerator(3) { if (++calls <= 257) base else base + 1 }
+
+        val ids = List(257) { generator.nextId() }
+
+        assertTrue(ids.take(256).all { SnowflakeIdGenerator.timestampOf(it) == base })
+        assertEquals(base + 1, SnowflakeIdGenerator.timestampOf(ids.last()))
+        assertEquals(0, SnowflakeIdGenerator.sequenceOf(ids.last()))
+    }
+
+    @Test
+    fun `clock regression keeps ids increasing without issuing future timestamps`() {
+        var now = base + 10
+        val generator = SnowflakeIdGenerator(4) { now }
+
+        val before = generator.nextId()
+        now = base
+        val after = List(10) { generator.nextId() }
+
+        assertTrue(after.all { it > before })
+        assertTrue(after.all { SnowflakeIdGenerator.timestampOf(it) == base + 10 })
+    }
+
+    @Test
+    fun `large clock regression fails fast instead of sleeping`() {
+        var now = base + 10_000
+        val generator = SnowflakeIdGenerator(5, maxClockRegressionMs = 50) { now }
+        generator.nextId()
+        now = base
+
+        // 마지막 타임스탬프를 이어 쓰다가 시퀀스가 소진되면 10초를 기다리지 않고 실패
+        val startedAt = System.nanoTime()
+        val error = assertFailsWith<ClockMovedBackwardsException> { repeat(256) { generator.nextId() } }
+
+        assertEquals(10_000, error.regressionMs)
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt) < 1_000)
+    }
+
+    @Test
+    fun `fields can be decoded from an id`() {
+        val generator = SnowflakeIdGenerator(1023) { base }
+
+        val first = generator.nextId()
+        val second = generator.nextId()
+
+        assertEquals(base, SnowflakeIdGenerator.timestampOf(second))
+        assertEquals(1023, SnowflakeIdGenerator.nodeIdOf(second))
+        assertEquals(SnowflakeIdGenerator.laneOf(first), SnowflakeIdGenerator.laneOf(second))
+        assertEquals(SnowflakeIdGenerator.sequenceOf(first) + 1, SnowflakeIdGenerator.sequenceOf(second))
+        assertEquals(second, SnowflakeIdGenerator.decode(SnowflakeIdGenerator.encode(second)))
+    }
+
+    @Test
+    fun `node id must be configured`() {
+        assertFailsWith<IllegalArgumentException> { SnowflakeIdGenerator.forNode(-1) }
+        assertFailsWith<IllegalArgumentException> { SnowflakeIdGenerator.forNode(SnowflakeIdGenerator.MAX_NODE_ID + 1) }
+    }
+}
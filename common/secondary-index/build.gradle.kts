@@ -0,0 +1,51 @@
+plugins {
+    kotlin("jvm") version "1.9.25"
+    `maven-publish`
+}
+
+group = "com.airline"
+version = "1.0.0"
+
+java {
+    toolchain {
+        languageVersion = JavaLanguageVersion.of(21)
+    }
+    withSourcesJar()
+}
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    // 외부 의존성 없음 - JDK 동시성 컬렉션만 사용
+
+    // Test
+    testImplementation(platform("org.junit:junit-bom:5.10.5"))
+    testImplementation("org.jetbrains.kotlin:kotlin-test-junit5")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+kotlin {
+    compilerOptions {
+        freeCompilerArgs.addAll("-Xjsr305=strict")
+    }
+}
+
+tasks.withType<Test> {
+    useJUnitPlatform()
+}
+
+// Maven Local 배포 설정
+publishing {
+    publications {
+        create<MavenPublication>("maven") {
+            from(components["java"])
+
+            pom {
+                name.set("Secondary Index Common")
+                description.set("Concurrent sorted secondary index for in-memory repositories of airline services")
+            }
+        }
+    }
+}
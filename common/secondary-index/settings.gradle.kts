@@ -0,0 +1 @@
+rootProject.name = "secondary-index"
@@ -0,0 +1,77 @@
+package com.airline.index
+
+import java.util.Collections
+import java.util.NavigableSet
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentSkipListSet
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * 인메모리 저장소용 동시성 보조 인덱스 (키 → 정렬된 값 집합)
+ *
+ * 버킷은 값 순서로 정렬된 [ConcurrentSkipListSet]이므로 커서 이후 구간을 버킷 전체 정렬 없이
+ * `headSet`/`tailSet`으로 바로 순회할 수 있습니다. 버킷 크기는 별도로 세어 O(1)로 비교합니다.
+ *
+ * 버킷 추가/제거는 키 단위 ConcurrentHashMap.compute로 원자적으로 처리되며,
+ * 비어 있는 버킷은 즉시 제거되어 상태 전이가 반복되어도 키가 누적되지 않습니다.
+ *
+ * 값은 저장소의 기본 키 자체(예: 결제 ID)이거나, 정렬 순서를 담은 키(예: 생성 시각 + 예약 ID)일 수 있습니다.
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+class SecondaryIndex<K : Any, V : Comparable<V>> {
+
+    private val buckets = ConcurrentHashMap<K, Bucket<V>>()
+
+    fun add(key: K?, value: V) {
+        if (key == null) return
+        buckets.compute(key) { _, bucket -> (bucket ?: Bucket()).apply { add(value) } }
+    }
+
+    fun remove(key: K?, value: V) {
+        if (key == null) return
+        buckets.computeIfPresent(key) { _, bucket ->
+            bucket.remove(value)
+            if (bucket.size() == 0) null else bucket
+        }
+    }
+
+    /**
+     * 키나 값이 바뀐 경우에만 기존 버킷에서 새 버킷으로 옮깁니다.
+     */
+    fun move(oldKey: K?, oldValue: V?, newKey: K?, newValue: V) {
+        if (oldKey == newKey && oldValue == newValue) return
+        add(newKey, newValue)
+        if (oldValue != null) remove(oldKey, oldValue)
+    }
+
+    fun valuesOf(key: K): Set<V> = buckets[key]?.values?.toSet() ?: emptySet()
+
+    /**
+     * 버킷의 정렬된 읽기 전용 뷰 (약한 일관성, 복사 없음)
+     */
+    fun sorted(key: K): NavigableSet<V> =
+        buckets[key]?.values?.let { Collections.unmodifiableNavigableSet(it) } ?: Collections.emptyNavigableSet()
+
+    fun size(key: K): Int = buckets[key]?.size() ?: 0
+
+    fun clear() {
+        buckets.clear()
+    }
+
+    private class Bucket<V : Comparable<V>> {
+        val values = ConcurrentSkipListSet<V>()
+        private val count = AtomicInteger()
+
+        fun add(value: V) {
+            if (values.add(value)) count.incrementAndGet()
+        }
+
+        fun remove(value: V) {
+            if (values.remove(value)) count.decrementAndGet()
+        }
+
+        fun size(): Int = count.get()
+    }
+}
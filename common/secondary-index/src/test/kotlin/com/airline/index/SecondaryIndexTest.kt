@@ -0,0 +1,63 @@
+package com.airline.index
+
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertTrue
+
+class SecondaryIndexTest {
+
+    @Test
+    fun `buckets are sorted and empty buckets are dropped`() {
+        val index = SecondaryIndex<String, Int>()
+        index.add("a", 3)
+        index.add("a", 1)
+        index.add("a", 2)
+        index.add(null, 9)
+
+        assertEquals(listOf(1, 2, 3), index.sorted("a").toList())
+        assertEquals(listOf(3, 2, 1), index.sorted("a").descendingSet().toList())
+        assertEquals(3, index.size("a"))
+
+        listOf(1, 2, 3).forEach { index.remove("a", it) }
+        assertEquals(0, index.size("a"))
+        assertTrue(index.sorted("a").isEmpty())
+    }
+
+    @Test
+    fun `move relocates a value only when the key or value changes`() {
+        val index = SecondaryIndex<String, String>()
+        index.add("PENDING", "PAY-1")
+
+        index.move("PENDING", "PAY-1", "PENDING", "PAY-1")
+        assertEquals(setOf("PAY-1"), index.valuesOf("PENDING"))
+
+        index.move("PENDING", "PAY-1", "SUCCESS", "PAY-1")
+        assertEquals(emptySet(), index.valuesOf("PENDING"))
+        assertEquals(setOf("PAY-1"), index.valuesOf("SUCCESS"))
+
+        index.move(null, null, "SUCCESS", "PAY-2")
+        assertEquals(2, index.size("SUCCESS"))
+    }
+
+    @Test
+    fun `concurrent adds and removes keep the bucket count exact`() {
+        val index = SecondaryIndex<String, Int>()
+        val executor = Executors.newFixedThreadPool(8)
+        repeat(8) { thread ->
+            executor.submit {
+                repeat(1_000) { i ->
+                    val value = thread * 1_000 + i
+                    index.add("k", value)
+                    if (i % 2 == 0) index.remove("k", value)
+                }
+            }
+        }
+        executor.shutdown()
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS))
+
+        assertEquals(4_000, index.size("k"))
+        assertEquals(4_000, index.sorted("k").size)
+    }
+}
@@ -0,0 +1,57 @@
+package com.airline.flight.infrastructure.messaging;
+
+import com.airline.flight.domain.event.FlightDomainEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Flight Domain Event Publisher
+ *
+ * 애그리게이트에 쌓인 도메인 이벤트 중 다른 서비스가 구독하는 이벤트를 Kafka로 발행합니다.
+ * 좌석 해제는 `seat.released` 토픽에 항공편 ID를 키로 발행하여 같은 항공편의 이벤트 순서를 보장합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FlightEventPublisher {
+
+    public static final String SEAT_RELEASED_TOPIC = "seat.released";
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * 도메인 이벤트를 발행합니다. 외부로 공개하지 않는 이벤트는 무시합니다.
+     */
+    public void publish(List<FlightDomainEvent> events) {
+        for (FlightDomainEvent event : events) {
+            if (event instanceof FlightDomainEvent.SeatsReleased released) {
+                publishSeatsReleased(released);
+            }
+        }
+    }
+
+    private void publishSeatsReleased(FlightDomainEvent.SeatsReleased event) {
+        var eventData = Map.of(
+            "eventId", event.getEventId(),
+            "flightId", event.getAggregateId(),
+            "releasedSeats", event.getReleasedSeats(),
+            "availableSeats", event.getAvailableSeats(),
+            "timestamp", event.getTimestamp().toEpochMilli()
+        );
+
+        try {
+            kafkaTemplate.send(SEAT_RELEASED_TOPIC, event.getAggregateId(), objectMapper.writeValueAsString(eventData));
+            log.info("Published seat.released event for flight {}: {} seats released", event.getAggregateId(), event.getReleasedSeats());
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize seat.released event for flight {}", event.getAggregateId(), e);
+        }
+    }
+}
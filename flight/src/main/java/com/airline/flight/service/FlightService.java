@@ -12,6 +12,7 @@ import com.airline.flight.dto.AvailabilityResponse;
 import com.airline.flight.dto.FlightDto;
 import com.airline.flight.exception.FlightNotFoundException;
 import com.airline.flight.exception.InvalidRequestException;
+import com.airline.flight.infrastructure.messaging.FlightEventPublisher;
 import com.airline.flight.mapper.FlightMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -35,6 +36,7 @@ public class FlightService {
 
     private final FlightDomainRepository flightDomainRepository;
     private final FlightMapper flightMapper;
+    private final FlightEventPublisher flightEventPublisher;
     
     /**
      * 항공편 검색
@@ -125,7 +127,7 @@ public class FlightService {
     }
     
     /**
-     * 좌석 해제
+     * 좌석 해제 - 저장 후 seat.released 이벤트를 발행하여 대기자 승급을 트리거
      */
     @Transactional
     public void releaseSeats(String flightId, Integer seats) {
@@ -145,6 +147,7 @@ public class FlightService {
         try {
             flight.releaseSeats(seats);
             flightDomainRepository.save(flight);
+            flightEventPublisher.publish(flight.pullDomainEvents());
             
             log.info("Successfully released {} seats. Available seats now: {}", 
                     seats, flight.getAvailableSeats());
@@ -34,6 +34,8 @@ repositories {
 dependencies {
 	// Common Libraries (Composite Build)
 	implementation("com.airline:kafka-tracing")
+	implementation("com.airline:id-generator")
+	implementation("com.airline:secondary-index")
 
 	// kotlin
 	implementation ("com.fasterxml.jackson.module:jackson-module-kotlin")
@@ -0,0 +1,18 @@
+package com.airline.payment.config
+
+import org.springframework.context.annotation.Bean
+import org.springframework.context.annotation.Configuration
+import org.springframework.kafka.config.ContainerCustomizer
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer
+
+@Configuration
+class KafkaConsumerConfig {
+
+    /**
+     * 리스너 컨테이너를 일시 정지하면 이번 poll의 나머지 레코드를 계속 전달하지 않고 현재 레코드 직후 멈추도록 합니다.
+     * 남은 레코드는 메모리에 보관했다가 재개할 때 전달됩니다. (ReservationListener의 back-pressure)
+     */
+    @Bean
+    fun pauseImmediateContainerCustomizer(): ContainerCustomizer<Any, Any, ConcurrentMessageListenerContainer<Any, Any>> =
+        ContainerCustomizer { container -> container.containerProperties.isPauseImmediate = true }
+}
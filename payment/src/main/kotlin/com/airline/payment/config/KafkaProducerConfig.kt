@@ -1,9 +1,12 @@
 package com.airline.payment.config
 
+import com.airline.idgen.SnowflakeIdGenerator
 import org.apache.kafka.clients.producer.ProducerConfig
+import org.apache.kafka.common.serialization.ByteArraySerializer
 import org.apache.kafka.common.serialization.StringSerializer
 import org.springframework.context.annotation.Bean
 import org.springframework.context.annotation.Configuration
+import org.springframework.context.annotation.Primary
 import org.springframework.kafka.core.DefaultKafkaProducerFactory
 import org.springframework.kafka.core.KafkaTemplate
 import org.springframework.kafka.core.ProducerFactory
@@ -28,9 +31,65 @@ class KafkaProducerConfig {
     }
 
     @Bean
+    @Primary
     fun kafkaTemplate(): KafkaTemplate<String, String> {
         val kafkaTemplate = KafkaTemplate(producerFactory())
         kafkaTemplate.setObservationEnabled(true)
         return kafkaTemplate
     }
-}
\ No newline at end of file
+
+    /**
+     * 결과 이벤트와 컨슈머 오프셋을 함께 커밋하는 트랜잭션 프로듀서
+     *
+     * transactional.id는 인스턴스마다 달라야 하므로 (결제 ID 생성과 같은) 노드 ID를 접두사에 붙입니다.
+     */
+    @Bean
+    fun transactionalProducerFactory(paymentConfig: PaymentConfig): ProducerFactory<String, String> {
+        val config = mapOf(
+            ProducerConfig.BOOTSTRAP_SERVERS_CONFIG to KAFKA_URIS,
+            ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG to StringSerializer::class.java,
+            ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG to StringSerializer::class.java,
+            ProducerConfig.ACKS_CONFIG to "all",
+            ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG to true,
+            ProducerConfig.LINGER_MS_CONFIG to 1
+        )
+        return DefaultKafkaProducerFactory<String, String>(config).apply {
+            val nodeId = SnowflakeIdGenerator.forNode(paymentConfig.idGeneration.nodeId).nodeId
+            setTransactionIdPrefix("${paymentConfig.listener.transactionIdPrefix}$nodeId-")
+        }
+    }
+
+    @Bean
+    fun transactionalKafkaTemplate(paymentConfig: PaymentConfig): KafkaTemplate<String, String> {
+        val kafkaTemplate = KafkaTemplate(transactionalProducerFactory(paymentConfig))
+        kafkaTemplate.setObservationEnabled(true)
+        return kafkaTemplate
+    }
+
+    /**
+     * 결제 도메인 이벤트(바이너리 인코딩) 발행용 프로듀서
+     *
+     * 아웃박스가 배치 단위로 보내므로 linger를 조금 늘리고 압축하여 요청 수와 전송량을 줄입니다.
+     */
+    @Bean
+    fun eventProducerFactory(): ProducerFactory<String, ByteArray> {
+        val config = mapOf(
+            ProducerConfig.BOOTSTRAP_SERVERS_CONFIG to KAFKA_URIS,
+            ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG to StringSerializer::class.java,
+            ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG to ByteArraySerializer::class.java,
+            ProducerConfig.ACKS_CONFIG to "all",
+            ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG to true,
+            ProducerConfig.LINGER_MS_CONFIG to 5,
+            ProducerConfig.BATCH_SIZE_CONFIG to 64 * 1024,
+            ProducerConfig.COMPRESSION_TYPE_CONFIG to "lz4"
+        )
+        return DefaultKafkaProducerFactory(config)
+    }
+
+    @Bean
+    fun eventKafkaTemplate(): KafkaTemplate<String, ByteArray> {
+        val kafkaTemplate = KafkaTemplate(eventProducerFactory())
+        kafkaTemplate.setObservationEnabled(true)
+        return kafkaTemplate
+    }
+}
@@ -1,5 +1,9 @@
 package com.airline.payment.config
 
+import com.airline.idgen.SnowflakeIdGenerator
+import com.airline.payment.risk.RiskMetric
+import com.airline.payment.risk.RiskSubject
+import com.airline.payment.risk.VelocityWindow
 import org.springframework.boot.context.properties.ConfigurationProperties
 import org.springframework.context.annotation.Configuration
 import java.math.BigDecimal
@@ -28,7 +32,37 @@ data class PaymentConfig(
     /**
      * ID 생성 설정
      */
-    var idGeneration: IdGenerationConfig = IdGenerationConfig()
+    var idGeneration: IdGenerationConfig = IdGenerationConfig(),
+
+    /**
+     * 결제 게이트웨이 연동 설정
+     */
+    var gateway: GatewayConfig = GatewayConfig(),
+
+    /**
+     * 좌석 예약 이벤트(seat.reserved) 결제 리스너 설정
+     */
+    var listener: ListenerConfig = ListenerConfig(),
+
+    /**
+     * 정산 파일 대사 설정
+     */
+    var reconciliation: ReconciliationConfig = ReconciliationConfig(),
+
+    /**
+     * 게이트웨이 제출 전 위험 점수 평가 설정
+     */
+    var risk: RiskConfig = RiskConfig(),
+
+    /**
+     * 대량 환불 대기열 설정
+     */
+    var refund: RefundConfig = RefundConfig(),
+
+    /**
+     * 결제 도메인 이벤트 발행 설정
+     */
+    var events: DomainEventConfig = DomainEventConfig()
 ) {
     
     data class SuccessRateConfig(
@@ -67,8 +101,376 @@ data class PaymentConfig(
         var prefix: String = "PAY-",
         
         /**
-         * UUID 잘라내기 길이 (기본값: 8)
+         * Snowflake 노드 ID (0-1023, 인스턴스마다 고유해야 함)
+         *
+         * 배포 환경에서는 application.yml이 `ID_NODE_ID`를 필수로 요구합니다. 기본값 0은 단일 인스턴스용입니다.
+         */
+        var nodeId: Int = 0
+    ) {
+
+        /**
+         * 접두사가 붙은 시간 정렬 결제 ID를 생성합니다.
+         */
+        fun nextId(): String = prefix + SnowflakeIdGenerator.forNode(nodeId).nextIdString()
+    }
+
+    data class GatewayConfig(
+        /**
+         * 사용할 게이트웨이 이름 (기본값: "simulator")
+         */
+        var active: String = "simulator",
+
+        /**
+         * 게이트웨이별 최대 동시 연결(요청) 수 (기본값: 64)
+         */
+        var maxConnections: Int = 64,
+
+        /**
+         * 연결을 기다릴 수 있는 최대 요청 수, 초과 시 즉시 실패 (기본값: 1024)
+         */
+        var maxPendingAcquires: Int = 1024,
+
+        /**
+         * 연결 대기 시간 한도 (기본값: 1000ms)
+         */
+        var acquireTimeoutMs: Long = 1000,
+
+        /**
+         * 게이트웨이 요청 타임아웃 (기본값: 3000ms)
+         */
+        var requestTimeoutMs: Long = 3000,
+
+        /**
+         * 승인 요청 일괄 처리 설정
+         */
+        var batch: AuthorizationBatchConfig = AuthorizationBatchConfig(),
+
+        /**
+         * 매입 결과를 알 수 없는 결제의 정리 설정
+         */
+        var captureReconcile: CaptureReconcileConfig = CaptureReconcileConfig(),
+
+        /**
+         * 로컬 시뮬레이터 설정
+         */
+        var simulator: SimulatorConfig = SimulatorConfig()
+    )
+
+    data class CaptureReconcileConfig(
+        /**
+         * 정리 작업 실행 간격 (기본값: 5000ms)
+         */
+        var intervalMs: Long = 5000,
+
+        /**
+         * 결제 건당 최대 시도 횟수, 초과 시 정산 대사에 맡김 (기본값: 10)
+         */
+        var maxAttempts: Int = 10
+    )
+
+    data class AuthorizationBatchConfig(
+        /**
+         * 승인 요청을 모아 일괄 호출할지 여부 (기본값: true)
+         */
+        var enabled: Boolean = true,
+
+        /**
+         * 한 번에 보낼 최대 승인 건수 (기본값: 50)
+         */
+        var maxSize: Int = 50,
+
+        /**
+         * 첫 요청 이후 배치를 모으는 최대 대기 시간 (기본값: 5ms)
+         */
+        var maxWaitMs: Long = 5,
+
+        /**
+         * 동시에 진행할 수 있는 최대 배치 수 (기본값: 8)
+         */
+        var maxInFlightBatches: Int = 8,
+
+        /**
+         * 배치를 기다릴 수 있는 최대 요청 수, 초과 시 즉시 실패 (기본값: 10000)
+         */
+        var maxQueued: Int = 10000
+    )
+
+    data class SimulatorConfig(
+        /**
+         * 응답 지연 중앙값 (기본값: 80ms)
+         */
+        var medianLatencyMs: Double = 80.0,
+
+        /**
+         * 응답 지연 99번째 백분위수 (기본값: 400ms)
+         */
+        var p99LatencyMs: Double = 400.0,
+
+        /**
+         * 통신 오류율 (기본값: 0.01 = 1%)
+         */
+        var errorRate: Double = 0.01,
+
+        /**
+         * 요청 타임아웃보다 늦게 응답하는 비율 (기본값: 0.0)
+         */
+        var timeoutRate: Double = 0.0
+    )
+
+    data class ListenerConfig(
+        /**
+         * 컨슈머 하나가 동시에 진행할 수 있는 최대 결제 수, 초과 시 컨슈머가 대기 (기본값: 256)
+         */
+        var maxInFlight: Int = 256,
+
+        /**
+         * 좌석당 결제 금액 (기본값: 15만원)
+         */
+        var farePerSeat: BigDecimal = BigDecimal("150000"),
+
+        /**
+         * 트랜잭션 프로듀서의 transactional.id 접두사, 인스턴스마다 달라야 함 (기본값: "payment-tx-")
+         *
+         * 실제 접두사에는 [IdGenerationConfig.nodeId]로 정해지는 노드 ID가 덧붙습니다.
+         */
+        var transactionIdPrefix: String = "payment-tx-",
+
+        /**
+         * 결과 이벤트와 오프셋을 한 트랜잭션으로 커밋하는 주기 (기본값: 50ms)
+         */
+        var commitIntervalMs: Long = 50,
+
+        /**
+         * 트랜잭션 하나에 담을 최대 레코드 수, 도달하면 주기를 기다리지 않고 커밋 (기본값: 500)
+         */
+        var maxRecordsPerTransaction: Int = 500,
+
+        /**
+         * 처리한 예약 중복 판별 설정
+         */
+        var dedup: DedupConfig = DedupConfig()
+    )
+
+    data class DedupConfig(
+        /**
+         * 블룸 필터 한 세대가 담당하는 시간, 두 세대를 유지하므로 최소 이 시간만큼 기억 (기본값: 30분)
+         */
+        var windowMs: Long = 30 * 60 * 1000,
+
+        /**
+         * 세대당 예상 예약 수 (기본값: 1,000,000)
+         */
+        var expectedInsertions: Int = 1_000_000,
+
+        /**
+         * 블룸 필터 오탐률 목표 (기본값: 0.01)
+         */
+        var falsePositiveRate: Double = 0.01,
+
+        /**
+         * 처리 결과를 정확히 보관하는 최근 예약 수 (기본값: 100,000)
+         */
+        var recentSetSize: Int = 100_000
+    )
+
+    data class ReconciliationConfig(
+        /**
+         * 정산 파일을 읽을 디렉터리, 이 밖의 파일은 대사할 수 없음 (기본값: "settlements")
+         */
+        var settlementDirectory: String = "settlements",
+
+        /**
+         * 불일치 보고서(CSV)를 쓸 디렉터리 (기본값: "reconciliation-reports")
+         */
+        var reportDirectory: String = "reconciliation-reports",
+
+        /**
+         * 해시 조인이 넘칠 때 파티션 파일을 쓸 디렉터리 (기본값: 시스템 임시 디렉터리)
+         */
+        var spillDirectory: String = System.getProperty("java.io.tmpdir"),
+
+        /**
+         * 메모리 해시 테이블에 담을 최대 결제 수, 초과 시 디스크 파티션으로 조인 (기본값: 2,000,000)
+         */
+        var maxInMemoryRows: Int = 2_000_000,
+
+        /**
+         * 디스크 파티션 수 (기본값: 64)
+         */
+        var spillPartitions: Int = 64,
+
+        /**
+         * 정산 파일을 한 번에 메모리 매핑할 크기 (기본값: 256MB)
+         */
+        var mapWindowBytes: Int = 256 * 1024 * 1024,
+
+        /**
+         * 결과 응답에 담을 불일치 표본 수 (기본값: 100)
+         */
+        var sampleSize: Int = 100,
+
+        /**
+         * 보관할 최근 대사 결과 수 (기본값: 20)
+         */
+        var maxRetainedRuns: Int = 20
+    )
+
+    data class RiskConfig(
+        /**
+         * 위험 점수 평가 사용 여부 (기본값: true)
+         */
+        var enabled: Boolean = true,
+
+        /**
+         * 이 점수 이상이면 게이트웨이에 제출하지 않고 거절 (기본값: 100)
+         */
+        var blockScore: Int = 100,
+
+        /**
+         * 속도 특성을 추적할 최대 이메일/카드 수 (각각, 기본값: 1,000,000)
+         */
+        var maxTrackedKeys: Int = 1_000_000,
+
+        /**
+         * 점수 규칙
+         */
+        var rules: List<RiskRuleConfig> = listOf(
+            RiskRuleConfig("email-burst", RiskSubject.EMAIL, VelocityWindow.ONE_MINUTE, RiskMetric.COUNT, BigDecimal("5"), 60),
+            RiskRuleConfig("card-burst", RiskSubject.CARD, VelocityWindow.ONE_MINUTE, RiskMetric.COUNT, BigDecimal("3"), 60),
+            RiskRuleConfig("email-hourly-amount", RiskSubject.EMAIL, VelocityWindow.ONE_HOUR, RiskMetric.AMOUNT, BigDecimal("5000000"), 50),
+            RiskRuleConfig("card-daily-count", RiskSubject.CARD, VelocityWindow.ONE_DAY, RiskMetric.COUNT, BigDecimal("20"), 50),
+            RiskRuleConfig("card-daily-amount", RiskSubject.CARD, VelocityWindow.ONE_DAY, RiskMetric.AMOUNT, BigDecimal("20000000"), 60)
+        )
+    )
+
+    data class RiskRuleConfig(
+        /**
+         * 규칙 이름 (평가 결과와 거절 사유에 표시)
+         */
+        var name: String = "",
+
+        /**
+         * 특성 대상 (EMAIL, CARD)
+         */
+        var subject: RiskSubject = RiskSubject.EMAIL,
+
+        /**
+         * 집계 기간 (ONE_MINUTE, ONE_HOUR, ONE_DAY)
+         */
+        var window: VelocityWindow = VelocityWindow.ONE_MINUTE,
+
+        /**
+         * 특성 값 (COUNT: 건수, AMOUNT: 금액 합)
+         */
+        var metric: RiskMetric = RiskMetric.COUNT,
+
+        /**
+         * 이 값을 넘으면 발동 (AMOUNT는 기본 통화 금액)
+         */
+        var threshold: BigDecimal = BigDecimal.ZERO,
+
+        /**
+         * 발동 시 더할 점수
+         */
+        var score: Int = 0
+    )
+
+    data class RefundConfig(
+        /**
+         * 환불 대기열 저널 파일 경로 (기본값: "refund-queue/refunds.journal")
+         */
+        var journalPath: String = "refund-queue/refunds.journal",
+
+        /**
+         * 환불 작업 스레드 수 = 최대 동시 환불 요청 수 (기본값: 4)
+         */
+        var workers: Int = 4,
+
+        /**
+         * 게이트웨이별 초당 환불 요청 한도 기본값 (기본값: 50)
+         */
+        var ratePerSecond: Double = 50.0,
+
+        /**
+         * 게이트웨이 이름별 초당 환불 요청 한도, 없으면 [ratePerSecond] 사용
+         */
+        var gatewayRatePerSecond: Map<String, Double> = emptyMap(),
+
+        /**
+         * 한도 안에서 한꺼번에 보낼 수 있는 최대 환불 요청 수 (기본값: 10)
+         */
+        var burst: Int = 10,
+
+        /**
+         * 환불 최대 시도 횟수 (기본값: 5)
+         */
+        var maxAttempts: Int = 5,
+
+        /**
+         * 첫 재시도 대기 시간, 이후 두 배씩 증가 (기본값: 1000ms)
+         */
+        var retryBackoffMs: Long = 1000,
+
+        /**
+         * 취소 이벤트 발행 주기 (기본값: 100ms)
+         */
+        var publishIntervalMs: Long = 100,
+
+        /**
+         * 한 번에 발행할 최대 취소 이벤트 수 (기본값: 500)
+         */
+        var publishBatchSize: Int = 500,
+
+        /**
+         * 배치별로 보관할 실패 표본 수 (기본값: 100)
+         */
+        var maxFailureSamples: Int = 100,
+
+        /**
+         * 보관할 최근 환불 배치 수 (기본값: 100)
+         */
+        var maxRetainedBatches: Int = 100
+    )
+
+    data class DomainEventConfig(
+        /**
+         * 도메인 이벤트를 발행할 토픽 (기본값: "payment.events")
+         */
+        var topic: String = "payment.events",
+
+        /**
+         * 발행 대기열 크기 (기본값: 10000)
+         */
+        var capacity: Int = 10000,
+
+        /**
+         * 대기열이 이 비율 이상 차면 신규 결제 접수를 거절 (기본값: 0.8)
+         */
+        var admissionLimitRatio: Double = 0.8,
+
+        /**
+         * 한 번에 보낼 최대 이벤트 수 (기본값: 500)
+         */
+        var batchSize: Int = 500,
+
+        /**
+         * 첫 이벤트 이후 배치를 모으는 시간 (기본값: 5ms)
+         */
+        var lingerMs: Long = 5,
+
+        /**
+         * 이벤트 하나의 전송 결과를 기다리는 최대 시간 (기본값: 10000ms)
+         */
+        var sendTimeoutMs: Long = 10000,
+
+        /**
+         * 이벤트 최대 전송 시도 횟수 (기본값: 3)
+         */
+        var maxAttempts: Int = 3,
+
+        /**
+         * 종료 시 남은 이벤트를 내보내는 최대 시간 (기본값: 5000ms)
          */
-        var uuidLength: Int = 8
+        var shutdownTimeoutMs: Long = 5000
     )
-}
\ No newline at end of file
+}
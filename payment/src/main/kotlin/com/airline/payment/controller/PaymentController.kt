@@ -2,6 +2,9 @@ package com.airline.payment.controller
 
 import com.airline.payment.dto.PaymentRequest
 import com.airline.payment.dto.PaymentResponse
+import com.airline.payment.gateway.AuthorizationBatcher
+import com.airline.payment.infrastructure.event.PaymentEventOutbox
+import com.airline.payment.risk.RiskScoringService
 import com.airline.payment.service.PaymentService
 import org.springframework.http.ResponseEntity
 import org.springframework.web.bind.annotation.*
@@ -19,7 +22,10 @@ import org.springframework.web.bind.annotation.*
 @RestController
 @RequestMapping("/v1/payments")
 class PaymentController(
-    private val paymentService: PaymentService
+    private val paymentService: PaymentService,
+    private val authorizationBatcher: AuthorizationBatcher,
+    private val riskScoringService: RiskScoringService,
+    private val paymentEventOutbox: PaymentEventOutbox
 ) {
     
     /**
@@ -57,4 +63,45 @@ class PaymentController(
         val cancelledPayment = paymentService.cancelPayment(paymentId)
         return ResponseEntity.ok(cancelledPayment)
     }
-}
\ No newline at end of file
+    
+    /**
+     * 예약에 대해 승인된 결제를 모두 취소합니다.
+     * 
+     * @param reservationId 예약 식별자
+     * @return 취소된 결제 목록, 취소할 결제가 없으면 빈 목록
+     */
+    @PostMapping("/reservations/{reservationId}/cancel")
+    fun cancelPaymentsByReservation(@PathVariable reservationId: String): ResponseEntity<List<PaymentResponse>> {
+        return ResponseEntity.ok(paymentService.cancelPaymentsByReservationId(reservationId))
+    }
+    
+    /**
+     * 승인 일괄 처리 통계를 조회합니다.
+     * 
+     * @return 배치 수, 배치된 요청 수, 플러시 사유별 횟수, 평균 배치 지연 등
+     */
+    @GetMapping("/gateway/batch-statistics")
+    fun getBatchStatistics(): ResponseEntity<Map<String, Long>> {
+        return ResponseEntity.ok(authorizationBatcher.getStatistics())
+    }
+    
+    /**
+     * 위험 점수 평가 통계를 조회합니다.
+     * 
+     * @return 평가/차단 건수, 추적 중인 이메일·카드 수, 평균 평가 시간 등
+     */
+    @GetMapping("/risk/statistics")
+    fun getRiskStatistics(): ResponseEntity<Map<String, Long>> {
+        return ResponseEntity.ok(riskScoringService.getStatistics())
+    }
+    
+    /**
+     * 도메인 이벤트 아웃박스 통계를 조회합니다.
+     * 
+     * @return 적재/발행/실패/버림 건수, 배치 수, 대기 중인 이벤트 수
+     */
+    @GetMapping("/events/statistics")
+    fun getEventStatistics(): ResponseEntity<Map<String, Long>> {
+        return ResponseEntity.ok(paymentEventOutbox.getStatistics())
+    }
+}
@@ -0,0 +1,50 @@
+package com.airline.payment.controller
+
+import com.airline.payment.reconciliation.ReconciliationReport
+import com.airline.payment.reconciliation.ReconciliationService
+import org.springframework.http.HttpStatus
+import org.springframework.http.ResponseEntity
+import org.springframework.web.bind.annotation.*
+
+/**
+ * 정산 대사 REST API 컨트롤러
+ *
+ * 대사는 오래 걸릴 수 있으므로 시작 요청은 바로 202 Accepted로 응답하고, 결과는 runId로 조회합니다.
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+@RestController
+@RequestMapping("/v1/payments/reconciliations")
+class ReconciliationController(
+    private val reconciliationService: ReconciliationService
+) {
+
+    /**
+     * 정산 파일 대사를 시작합니다.
+     *
+     * @param request 정산 디렉터리 안의 파일 이름
+     * @return 시작 상태의 대사 결과 (202 Accepted)
+     */
+    @PostMapping
+    fun startReconciliation(@RequestBody request: ReconciliationRequest): ResponseEntity<ReconciliationReport> {
+        val report = reconciliationService.start(request.settlementFile)
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(report)
+    }
+
+    /**
+     * 대사 진행 상황과 결과를 조회합니다.
+     *
+     * @param runId 대사 실행 식별자
+     * @return 대사 결과, 존재하지 않으면 404 Not Found
+     */
+    @GetMapping("/{runId}")
+    fun getReconciliation(@PathVariable runId: String): ResponseEntity<ReconciliationReport> {
+        val report = reconciliationService.getReport(runId) ?: return ResponseEntity.notFound().build()
+        return ResponseEntity.ok(report)
+    }
+
+    data class ReconciliationRequest(
+        val settlementFile: String
+    )
+}
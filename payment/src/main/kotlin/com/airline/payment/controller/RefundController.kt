@@ -0,0 +1,58 @@
+package com.airline.payment.controller
+
+import com.airline.payment.refund.RefundBatchProgress
+import com.airline.payment.refund.RefundBatchRequest
+import com.airline.payment.refund.RefundQueue
+import org.springframework.http.HttpStatus
+import org.springframework.http.ResponseEntity
+import org.springframework.web.bind.annotation.*
+
+/**
+ * 대량 환불 REST API 컨트롤러
+ *
+ * 항공편 결항 등으로 많은 결제를 한꺼번에 환불할 때 사용합니다.
+ * 접수는 저널에 기록된 뒤 202 Accepted로 응답하고, 진행 상황은 batchId로 조회합니다.
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+@RestController
+@RequestMapping("/v1/payments/refunds")
+class RefundController(
+    private val refundQueue: RefundQueue
+) {
+
+    /**
+     * 환불 배치를 접수합니다.
+     *
+     * @param request 환불할 결제 ID 또는 예약 ID 목록과 사유
+     * @return 접수 직후 진행 상황 (202 Accepted)
+     */
+    @PostMapping
+    fun enqueueRefunds(@RequestBody request: RefundBatchRequest): ResponseEntity<RefundBatchProgress> {
+        val progress = refundQueue.enqueue(request)
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(progress)
+    }
+
+    /**
+     * 환불 배치 진행 상황을 조회합니다.
+     *
+     * @param batchId 환불 배치 식별자
+     * @return 진행 상황, 존재하지 않으면 404 Not Found
+     */
+    @GetMapping("/{batchId}")
+    fun getRefundProgress(@PathVariable batchId: String): ResponseEntity<RefundBatchProgress> {
+        val progress = refundQueue.getProgress(batchId) ?: return ResponseEntity.notFound().build()
+        return ResponseEntity.ok(progress)
+    }
+
+    /**
+     * 환불 대기열 통계를 조회합니다.
+     *
+     * @return 접수/성공/실패/재시도 건수, 대기 중인 환불 수, 발행한 취소 이벤트 수 등
+     */
+    @GetMapping("/statistics")
+    fun getRefundStatistics(): ResponseEntity<Map<String, Long>> {
+        return ResponseEntity.ok(refundQueue.getStatistics())
+    }
+}
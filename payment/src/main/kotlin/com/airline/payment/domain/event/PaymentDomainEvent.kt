@@ -1,6 +1,6 @@
 package com.airline.payment.domain.event
 
-import java.math.BigDecimal
+import com.airline.payment.domain.valueobject.Money
 import java.time.Instant
 import java.util.*
 
@@ -19,7 +19,7 @@ sealed class PaymentDomainEvent {
         override val occurredOn: Instant = Instant.now(),
         val paymentId: String,
         val reservationId: String,
-        val amount: BigDecimal,
+        val amount: Money,
         val paymentMethod: String,
         val customerName: String,
         val customerEmail: String
@@ -29,7 +29,7 @@ sealed class PaymentDomainEvent {
             fun of(
                 paymentId: String,
                 reservationId: String,
-                amount: BigDecimal,
+                amount: Money,
                 paymentMethod: String,
                 customerName: String,
                 customerEmail: String
@@ -54,14 +54,14 @@ sealed class PaymentDomainEvent {
         override val occurredOn: Instant = Instant.now(),
         val paymentId: String,
         val reservationId: String,
-        val amount: BigDecimal
+        val amount: Money
     ) : PaymentDomainEvent() {
         
         companion object {
             fun of(
                 paymentId: String,
                 reservationId: String,
-                amount: BigDecimal
+                amount: Money
             ): PaymentApproved {
                 return PaymentApproved(
                     paymentId = paymentId,
@@ -106,14 +106,14 @@ sealed class PaymentDomainEvent {
         override val occurredOn: Instant = Instant.now(),
         val paymentId: String,
         val reservationId: String,
-        val amount: BigDecimal
+        val amount: Money
     ) : PaymentDomainEvent() {
         
         companion object {
             fun of(
                 paymentId: String,
                 reservationId: String,
-                amount: BigDecimal
+                amount: Money
             ): PaymentCancelled {
                 return PaymentCancelled(
                     paymentId = paymentId,
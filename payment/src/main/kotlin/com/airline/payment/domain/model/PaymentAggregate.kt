@@ -4,7 +4,6 @@ import com.airline.payment.domain.event.PaymentDomainEvent
 import com.airline.payment.domain.exception.InvalidPaymentOperationException
 import com.airline.payment.domain.exception.PaymentAlreadyProcessedException
 import com.airline.payment.domain.valueobject.*
-import java.math.BigDecimal
 import java.time.LocalDateTime
 
 /**
@@ -23,6 +22,7 @@ class PaymentAggregate private constructor() {
     private var status: PaymentStatus = PaymentStatus.PENDING
     private var processedAt: LocalDateTime? = null
     private var message: String = ""
+    private var refundSubmittedAt: LocalDateTime? = null
     private val domainEvents: MutableList<PaymentDomainEvent> = mutableListOf()
     
     companion object {
@@ -32,7 +32,7 @@ class PaymentAggregate private constructor() {
         fun create(
             paymentId: String,
             reservationId: String,
-            amount: BigDecimal,
+            amount: Money,
             paymentMethod: String,
             customerName: String,
             customerEmail: String
@@ -62,13 +62,14 @@ class PaymentAggregate private constructor() {
         fun reconstruct(
             paymentId: String,
             reservationId: String,
-            amount: BigDecimal,
+            amount: Money,
             paymentMethod: String,
             customerName: String,
             customerEmail: String,
             status: PaymentStatus,
             processedAt: LocalDateTime?,
-            message: String
+            message: String,
+            refundSubmittedAt: LocalDateTime? = null
         ): PaymentAggregate {
             val payment = PaymentAggregate()
             payment.paymentId = PaymentId.of(paymentId)
@@ -79,6 +80,7 @@ class PaymentAggregate private constructor() {
             payment.status = status
             payment.processedAt = processedAt
             payment.message = message
+            payment.refundSubmittedAt = refundSubmittedAt
             
             return payment
         }
@@ -145,6 +147,25 @@ class PaymentAggregate private constructor() {
      */
     fun canBeCancelled(): Boolean = status == PaymentStatus.SUCCESS
     
+    /**
+     * 게이트웨이에 환불을 제출했음을 기록
+     * 
+     * 환불 응답을 받기 전에 저장해 두어, 재시도 시 이미 제출된 환불임을 알 수 있게 합니다.
+     */
+    fun markRefundSubmitted() {
+        if (status != PaymentStatus.SUCCESS) {
+            throw InvalidPaymentOperationException("Only successful payments can be refunded. Current status: $status")
+        }
+        if (refundSubmittedAt == null) {
+            refundSubmittedAt = LocalDateTime.now()
+        }
+    }
+    
+    /**
+     * 환불 제출 여부 확인
+     */
+    fun isRefundSubmitted(): Boolean = refundSubmittedAt != null
+    
     /**
      * 결제 성공 여부 확인
      */
@@ -182,12 +203,13 @@ class PaymentAggregate private constructor() {
     // Getters
     fun getPaymentId(): String = paymentId?.value ?: ""
     fun getReservationId(): String = reservationId?.value ?: ""
-    fun getAmount(): BigDecimal = amount?.value ?: BigDecimal.ZERO
+    fun getAmount(): Money = amount?.value ?: Money.zero()
     fun getPaymentMethod(): String = paymentMethod?.method ?: ""
     fun getCustomerName(): String = customerInfo?.name ?: ""
     fun getCustomerEmail(): String = customerInfo?.email ?: ""
     fun getStatus(): PaymentStatus = status
     fun getProcessedAt(): LocalDateTime? = processedAt
     fun getMessage(): String = message
+    fun getRefundSubmittedAt(): LocalDateTime? = refundSubmittedAt
     fun getPaymentInfo(): PaymentInfo = PaymentInfo.of(paymentId!!.value, amount!!.value, status, processedAt)
 }
\ No newline at end of file
@@ -27,6 +27,11 @@ interface PaymentDomainRepository {
      */
     fun findByReservationId(reservationId: ReservationId): PaymentAggregate?
     
+    /**
+     * 예약 ID로 재시도를 포함한 모든 결제 조회
+     */
+    fun findAllByReservationId(reservationId: ReservationId): List<PaymentAggregate>
+    
     /**
      * 상태로 결제 목록 조회
      */
@@ -1,11 +1,11 @@
 package com.airline.payment.domain.service
 
+import com.airline.payment.config.PaymentConfig
 import com.airline.payment.domain.model.PaymentAggregate
+import com.airline.payment.domain.valueobject.Money
 import com.airline.payment.domain.valueobject.PaymentAmount
 import com.airline.payment.domain.valueobject.PaymentMethod
 import org.springframework.stereotype.Service
-import java.math.BigDecimal
-import kotlin.random.Random
 
 /**
  * Payment Domain Service
@@ -13,17 +13,24 @@ import kotlin.random.Random
  * 복잡한 비즈니스 로직과 도메인 규칙을 처리하는 도메인 서비스
  */
 @Service
-class PaymentDomainService {
+class PaymentDomainService(
+    private val paymentConfig: PaymentConfig
+) {
+    // 설정의 금액 구간은 시작 시 한 번만 변환하여 결제마다 long 비교만 수행
+    private val highAmountThreshold = Money.of(paymentConfig.amountThresholds.high)
+    private val mediumAmountThreshold = Money.of(paymentConfig.amountThresholds.medium)
     
+
     /**
      * 결제 성공률 계산
-     * 금액과 결제 방법에 따른 차등 성공률 적용
+     * 금액 구간별 성공률(payment.success-rates)에 결제 방법별 가중치 적용
      */
     fun calculateSuccessRate(amount: PaymentAmount, paymentMethod: PaymentMethod): Double {
+        val successRates = paymentConfig.successRates
         val baseRate = when {
-            amount.isHighAmount() -> 0.70  // 고액: 70%
-            amount.isMediumAmount() -> 0.90  // 중간: 90%
-            else -> 0.95  // 소액: 95%
+            amount.value >= highAmountThreshold -> successRates.highAmount
+            amount.value >= mediumAmountThreshold -> successRates.mediumAmount
+            else -> successRates.lowAmount
         }
         
         val methodMultiplier = when {
@@ -37,24 +44,6 @@ class PaymentDomainService {
         return (baseRate * methodMultiplier).coerceIn(0.0, 1.0)
     }
     
-    /**
-     * 외부 결제 시스템 연동 시뮬레이션
-     */
-    fun processExternalPayment(payment: PaymentAggregate): PaymentProcessingResult {
-        val amount = PaymentAmount.of(payment.getAmount())
-        val paymentMethod = PaymentMethod.of(payment.getPaymentMethod())
-
-        val successRate = calculateSuccessRate(amount, paymentMethod)
-        val isSuccessful = Random.nextDouble() < successRate
-
-        return if (isSuccessful) {
-            PaymentProcessingResult.success("결제 승인")
-        } else {
-            val failureReason = generateFailureReason(amount, paymentMethod)
-            PaymentProcessingResult.failure(failureReason)
-        }
-    }
-
     /**
      * 결제 가능 여부 검증
      */
@@ -66,53 +55,14 @@ class PaymentDomainService {
         val amount = PaymentAmount.of(payment.getAmount())
         
         // 최대 결제 한도 확인 (1억원)
-        if (amount.value > BigDecimal("100000000")) {
+        if (amount.value > MAX_PAYMENT_AMOUNT) {
             return false
         }
         
         return true
     }
     
-    /**
-     * 실패 사유 생성
-     */
-    private fun generateFailureReason(amount: PaymentAmount, paymentMethod: PaymentMethod): String {
-        val reasons = when {
-            amount.isHighAmount() -> listOf(
-                "고액 결제 승인 한도 초과",
-                "카드사 승인 거절",
-                "결제 정보 검증 실패"
-            )
-            paymentMethod.isBankTransfer() -> listOf(
-                "계좌 잔액 부족",
-                "계좌 정보 불일치",
-                "일일 이체 한도 초과"
-            )
-            else -> listOf(
-                "결제 정보 오류",
-                "네트워크 오류",
-                "승인 시간 초과"
-            )
-        }
-        
-        return reasons.random()
-    }
-    
-    /**
-     * 결제 처리 결과
-     */
-    sealed class PaymentProcessingResult {
-        abstract val message: String
-
-        data class Success(override val message: String) : PaymentProcessingResult()
-        data class Failure(override val message: String) : PaymentProcessingResult()
-
-        companion object {
-            fun success(message: String) = Success(message)
-            fun failure(message: String) = Failure(message)
-        }
-
-        fun isSuccess(): Boolean = this is Success
-        fun isFailure(): Boolean = this is Failure
+    companion object {
+        private val MAX_PAYMENT_AMOUNT = Money.of(100_000_000)
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,127 @@
+package com.airline.payment.domain.valueobject
+
+import com.fasterxml.jackson.core.JsonGenerator
+import com.fasterxml.jackson.core.JsonParser
+import com.fasterxml.jackson.core.JsonToken
+import com.fasterxml.jackson.databind.DeserializationContext
+import com.fasterxml.jackson.databind.JsonDeserializer
+import com.fasterxml.jackson.databind.JsonSerializer
+import com.fasterxml.jackson.databind.SerializerProvider
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize
+import com.fasterxml.jackson.databind.annotation.JsonSerialize
+import com.fasterxml.jackson.databind.exc.InvalidFormatException
+import java.math.BigDecimal
+
+/**
+ * Money Value Object
+ *
+ * 금액을 최소 단위(1/100) 정수와 통화 코드로 표현하는 값 객체
+ * - 비교와 연산은 long 연산으로 처리하며, 넘침은 [ArithmeticException]으로 알림
+ * - 통화가 다른 금액끼리의 비교/연산은 [IllegalArgumentException]
+ * - JSON에서는 기존과 같은 숫자로 주고받으며, [BigDecimal]은 JSON/설정 경계에서만 사용
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+@JsonSerialize(using = Money.JsonWriter::class)
+@JsonDeserialize(using = Money.JsonReader::class)
+data class Money private constructor(
+    val minorUnits: Long,
+    val currency: String
+) : Comparable<Money> {
+
+    companion object {
+        const val DEFAULT_CURRENCY = "KRW"
+
+        /**
+         * 통화 단위당 최소 단위 수 (소수점 둘째 자리까지 표현)
+         */
+        const val MINOR_UNITS_PER_UNIT = 100L
+        private const val SCALE = 2
+
+        fun ofMinor(minorUnits: Long, currency: String = DEFAULT_CURRENCY): Money {
+            require(currency.length == 3) { "Currency must be a 3-letter ISO code: $currency" }
+            return Money(minorUnits, currency)
+        }
+
+        fun of(units: Long, currency: String = DEFAULT_CURRENCY): Money =
+            ofMinor(Math.multiplyExact(units, MINOR_UNITS_PER_UNIT), currency)
+
+        /**
+         * JSON/설정 경계의 십진수를 변환합니다. 소수점 셋째 자리 이하 값이 있거나 범위를 넘으면 [IllegalArgumentException]
+         */
+        fun of(value: BigDecimal, currency: String = DEFAULT_CURRENCY): Money {
+            val minorUnits = try {
+                value.movePointRight(SCALE).longValueExact()
+            } catch (e: ArithmeticException) {
+                throw IllegalArgumentException("Amount cannot have more than $SCALE decimal places or exceed the supported range: $value")
+            }
+            return ofMinor(minorUnits, currency)
+        }
+
+        fun zero(currency: String = DEFAULT_CURRENCY): Money = ofMinor(0, currency)
+    }
+
+    operator fun plus(other: Money): Money =
+        Money(Math.addExact(minorUnits, sameCurrency(other).minorUnits), currency)
+
+    operator fun minus(other: Money): Money =
+        Money(Math.subtractExact(minorUnits, sameCurrency(other).minorUnits), currency)
+
+    operator fun times(multiplier: Long): Money =
+        Money(Math.multiplyExact(minorUnits, multiplier), currency)
+
+    operator fun times(multiplier: Int): Money = times(multiplier.toLong())
+
+    override fun compareTo(other: Money): Int = minorUnits.compareTo(sameCurrency(other).minorUnits)
+
+    fun isPositive(): Boolean = minorUnits > 0
+
+    fun isZero(): Boolean = minorUnits == 0L
+
+    /**
+     * JSON 등 외부 경계로 내보낼 때만 사용합니다.
+     */
+    fun toBigDecimal(): BigDecimal = BigDecimal.valueOf(minorUnits, SCALE)
+
+    override fun toString(): String {
+        val units = minorUnits / MINOR_UNITS_PER_UNIT
+        val fraction = Math.abs(minorUnits % MINOR_UNITS_PER_UNIT)
+        val sign = if (minorUnits < 0 && units == 0L) "-" else ""
+        return if (fraction == 0L) "$sign$units" else "$sign$units.${fraction.toString().padStart(SCALE, '0')}"
+    }
+
+    private fun sameCurrency(other: Money): Money {
+        require(currency == other.currency) { "Currency mismatch: $currency vs ${other.currency}" }
+        return other
+    }
+
+    /**
+     * 금액을 숫자로 씁니다. 정수 금액은 [BigDecimal] 없이 정수로 씁니다.
+     */
+    class JsonWriter : JsonSerializer<Money>() {
+        override fun serialize(value: Money, generator: JsonGenerator, serializers: SerializerProvider) {
+            if (value.minorUnits % MINOR_UNITS_PER_UNIT == 0L) {
+                generator.writeNumber(value.minorUnits / MINOR_UNITS_PER_UNIT)
+            } else {
+                generator.writeNumber(value.toBigDecimal())
+            }
+        }
+    }
+
+    /**
+     * 숫자(또는 숫자 문자열)를 기본 통화 금액으로 읽습니다. 정수는 [BigDecimal] 없이 읽습니다.
+     */
+    class JsonReader : JsonDeserializer<Money>() {
+        override fun deserialize(parser: JsonParser, context: DeserializationContext): Money =
+            try {
+                when (parser.currentToken) {
+                    JsonToken.VALUE_NUMBER_INT -> of(parser.longValue)
+                    JsonToken.VALUE_STRING -> of(BigDecimal(parser.text.trim()))
+                    else -> of(parser.decimalValue)
+                }
+            } catch (e: RuntimeException) {
+                throw InvalidFormatException.from(parser, "Invalid amount: ${e.message}", parser.text, Money::class.java)
+            }
+    }
+}
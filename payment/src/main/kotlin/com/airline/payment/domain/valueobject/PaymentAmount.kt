@@ -1,22 +1,19 @@
 package com.airline.payment.domain.valueobject
 
-import java.math.BigDecimal
-
 /**
  * Payment Amount Value Object
  */
-data class PaymentAmount private constructor(val value: BigDecimal) {
+data class PaymentAmount private constructor(val value: Money) {
     
     companion object {
-        fun of(value: BigDecimal): PaymentAmount {
-            if (value <= BigDecimal.ZERO) {
+        private val HIGH_AMOUNT = Money.of(1_000_000)
+        private val MEDIUM_AMOUNT = Money.of(500_000)
+        
+        fun of(value: Money): PaymentAmount {
+            if (!value.isPositive()) {
                 throw IllegalArgumentException("Payment amount must be greater than 0")
             }
             
-            if (value.scale() > 2) {
-                throw IllegalArgumentException("Payment amount cannot have more than 2 decimal places")
-            }
-            
             return PaymentAmount(value)
         }
     }
@@ -24,17 +21,17 @@ data class PaymentAmount private constructor(val value: BigDecimal) {
     /**
      * 고액 결제 여부 확인 (100만원 이상)
      */
-    fun isHighAmount(): Boolean = value >= BigDecimal("1000000")
+    fun isHighAmount(): Boolean = value >= HIGH_AMOUNT
     
     /**
      * 중간 금액 결제 여부 확인 (50만원 이상)
      */
-    fun isMediumAmount(): Boolean = value >= BigDecimal("500000")
+    fun isMediumAmount(): Boolean = value >= MEDIUM_AMOUNT
     
     /**
      * 소액 결제 여부 확인 (50만원 미만)
      */
-    fun isLowAmount(): Boolean = value < BigDecimal("500000")
+    fun isLowAmount(): Boolean = value < MEDIUM_AMOUNT
     
     override fun toString(): String = value.toString()
-}
\ No newline at end of file
+}
@@ -1,6 +1,5 @@
 package com.airline.payment.domain.valueobject
 
-import java.math.BigDecimal
 import java.time.LocalDateTime
 
 /**
@@ -9,7 +8,7 @@ import java.time.LocalDateTime
  */
 data class PaymentInfo private constructor(
     val paymentId: String,
-    val amount: BigDecimal,
+    val amount: Money,
     val status: PaymentStatus,
     val processedAt: LocalDateTime?
 ) {
@@ -17,7 +16,7 @@ data class PaymentInfo private constructor(
     companion object {
         fun of(
             paymentId: String,
-            amount: BigDecimal,
+            amount: Money,
             status: PaymentStatus,
             processedAt: LocalDateTime?
         ): PaymentInfo {
@@ -25,7 +24,7 @@ data class PaymentInfo private constructor(
                 throw IllegalArgumentException("Payment ID cannot be blank")
             }
             
-            if (amount <= BigDecimal.ZERO) {
+            if (!amount.isPositive()) {
                 throw IllegalArgumentException("Payment amount must be greater than 0")
             }
             
@@ -1,10 +1,10 @@
 package com.airline.payment.dto
 
-import java.math.BigDecimal
+import com.airline.payment.domain.valueobject.Money
 
 data class PaymentRequest(
     val reservationId: String,
-    val amount: BigDecimal,
+    val amount: Money,
     val paymentMethod: String,
     val customerInfo: CustomerInfo
 )
@@ -1,12 +1,12 @@
 package com.airline.payment.dto
 
-import java.math.BigDecimal
+import com.airline.payment.domain.valueobject.Money
 import java.time.LocalDateTime
 
 data class PaymentResponse(
     val paymentId: String,
     val status: PaymentStatus,
-    val amount: BigDecimal,
+    val amount: Money,
     val reservationId: String,
     val processedAt: LocalDateTime?,
     val message: String
@@ -43,7 +43,28 @@ class GlobalExceptionHandler {
     }
 
     /**
-     * 결제 처리 실패 처리
+     * 결제 거절 처리 (결과가 확정된 실패)
+     */
+    @ExceptionHandler(PaymentDeclinedException::class)
+    fun handlePaymentDeclinedException(
+        ex: PaymentDeclinedException,
+        request: WebRequest
+    ): ResponseEntity<Map<String, Any>> {
+        
+        logger.warn("Payment declined: {}", ex.message)
+        
+        val body = createErrorResponse(
+            HttpStatus.PAYMENT_REQUIRED,
+            "PAYMENT_DECLINED",
+            ex.message ?: "Payment declined",
+            request.getDescription(false)
+        )
+        
+        return ResponseEntity(body, HttpStatus.PAYMENT_REQUIRED)
+    }
+
+    /**
+     * 결제 처리 실패 처리 (게이트웨이 오류 등 결과를 알 수 없는 실패)
      */
     @ExceptionHandler(PaymentProcessingException::class)
     fun handlePaymentProcessingException(
@@ -54,13 +75,34 @@ class GlobalExceptionHandler {
         logger.warn("Payment processing failed: {}", ex.message)
         
         val body = createErrorResponse(
-            HttpStatus.PAYMENT_REQUIRED,
+            HttpStatus.BAD_GATEWAY,
             "PAYMENT_PROCESSING_FAILED",
             ex.message ?: "Payment processing failed",
             request.getDescription(false)
         )
         
-        return ResponseEntity(body, HttpStatus.PAYMENT_REQUIRED)
+        return ResponseEntity(body, HttpStatus.BAD_GATEWAY)
+    }
+
+    /**
+     * 신규 결제 접수 거절 처리 (과부하)
+     */
+    @ExceptionHandler(PaymentOverloadedException::class)
+    fun handlePaymentOverloadedException(
+        ex: PaymentOverloadedException,
+        request: WebRequest
+    ): ResponseEntity<Map<String, Any>> {
+        
+        logger.warn("Payment rejected by admission control: {}", ex.message)
+        
+        val body = createErrorResponse(
+            HttpStatus.SERVICE_UNAVAILABLE,
+            "PAYMENT_OVERLOADED",
+            ex.message ?: "Payment service overloaded",
+            request.getDescription(false)
+        )
+        
+        return ResponseEntity(body, HttpStatus.SERVICE_UNAVAILABLE)
     }
 
     /**
@@ -13,10 +13,24 @@ class PaymentNotFoundException(paymentId: String) : PaymentException(
     "Payment not found with ID: $paymentId"
 )
 
-class PaymentProcessingException(message: String) : PaymentException(
+open class PaymentProcessingException(message: String) : PaymentException(
     "Payment processing failed: $message"
 )
 
+/**
+ * 게이트웨이 거절이나 위험 규칙 차단처럼 결과가 확정된 실패
+ *
+ * 게이트웨이 오류/타임아웃처럼 결과를 알 수 없는 실패는 [PaymentProcessingException]으로 남습니다.
+ */
+class PaymentDeclinedException(message: String) : PaymentProcessingException(message)
+
+/**
+ * 이벤트 발행 등 내부 처리가 밀려 신규 결제를 받지 않음 (잠시 후 재시도 가능)
+ */
+class PaymentOverloadedException(message: String) : PaymentException(
+    "Payment service overloaded: $message"
+)
+
 class InvalidPaymentRequestException(message: String) : PaymentException(
     "Invalid payment request: $message"
 )
@@ -0,0 +1,172 @@
+package com.airline.payment.gateway
+
+import com.airline.payment.config.PaymentConfig
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.DisposableBean
+import org.springframework.stereotype.Component
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionException
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.locks.ReentrantLock
+import kotlin.concurrent.withLock
+
+/**
+ * 결제 승인 마이크로 배처
+ *
+ * 개별 승인 요청을 최대 [PaymentConfig.AuthorizationBatchConfig.maxSize]건 또는
+ * [PaymentConfig.AuthorizationBatchConfig.maxWaitMs] 동안 모아 게이트웨이 일괄 승인 한 번으로 보내고,
+ * 응답을 요청별 future로 돌려줍니다.
+ *
+ * - 진행 중인 배치가 [PaymentConfig.AuthorizationBatchConfig.maxInFlightBatches]에 도달하면 새 배치를 보내지 않고
+ *   계속 모으며, 배치가 끝나는 즉시 모인 요청을 보냄 (부하가 높을수록 배치가 커짐)
+ * - 대기 중인 요청이 [PaymentConfig.AuthorizationBatchConfig.maxQueued]를 넘으면 즉시 실패
+ * - 배치 호출이 실패하면 해당 배치의 모든 요청이 같은 예외로 실패
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+@Component
+class AuthorizationBatcher(
+    private val paymentGatewayClient: PaymentGatewayClient,
+    paymentConfig: PaymentConfig
+) : DisposableBean {
+    private val logger = LoggerFactory.getLogger(AuthorizationBatcher::class.java)
+
+    private val batchConfig = paymentConfig.gateway.batch
+    private val maxSize = batchConfig.maxSize.coerceAtLeast(1)
+
+    private val lock = ReentrantLock()
+    private val pending = ArrayDeque<PendingAuthorization>()
+    private var inFlightBatches = 0
+    private var flushScheduled = false
+
+    private val timer = Executors.newSingleThreadScheduledExecutor { runnable ->
+        Thread(runnable, "authorization-batcher").apply { isDaemon = true }
+    }
+
+    private val batches = AtomicLong(0)
+    private val batchedItems = AtomicLong(0)
+    private val sizeFlushes = AtomicLong(0)
+    private val timeFlushes = AtomicLong(0)
+    private val failedBatches = AtomicLong(0)
+    private val rejected = AtomicLong(0)
+    private val batchLatencyMicros = AtomicLong(0)
+
+    /**
+     * 승인을 요청합니다. 일괄 처리가 꺼져 있으면 바로 건별 승인합니다.
+     */
+    fun authorize(request: GatewayRequest): CompletableFuture<GatewayResponse> {
+        if (!batchConfig.enabled) return paymentGatewayClient.authorize(request)
+
+        val authorization = PendingAuthorization(request)
+        val ready = lock.withLock {
+            if (pending.size >= batchConfig.maxQueued) {
+                rejected.incrementAndGet()
+                return CompletableFuture.failedFuture(
+                    PaymentGatewayException("Authorization queue full (${batchConfig.maxQueued} waiting)")
+                )
+            }
+            pending.addLast(authorization)
+
+            if (pending.size >= maxSize) {
+                takeBatch(FlushReason.SIZE)
+            } else {
+                scheduleFlush()
+                null
+            }
+        }
+        ready?.let(::dispatch)
+        return authorization.future
+    }
+
+    /**
+     * 배치 통계
+     */
+    fun getStatistics(): Map<String, Long> = mapOf(
+        "batches" to batches.get(),
+        "batchedItems" to batchedItems.get(),
+        "sizeFlushes" to sizeFlushes.get(),
+        "timeFlushes" to timeFlushes.get(),
+        "failedBatches" to failedBatches.get(),
+        "rejected" to rejected.get(),
+        "averageBatchLatencyMicros" to batchLatencyMicros.get() / batches.get().coerceAtLeast(1),
+        "inFlightBatches" to lock.withLock { inFlightBatches.toLong() },
+        "pending" to lock.withLock { pending.size.toLong() }
+    )
+
+    /**
+     * 대기열에서 배치 하나를 꺼냅니다. 진행 중인 배치가 한도에 도달했으면 null (lock 안에서 호출)
+     */
+    private fun takeBatch(reason: FlushReason): List<PendingAuthorization>? {
+        if (pending.isEmpty() || inFlightBatches >= batchConfig.maxInFlightBatches) return null
+
+        val batch = ArrayList<PendingAuthorization>(minOf(pending.size, maxSize))
+        while (batch.size < maxSize) {
+            batch += pending.removeFirstOrNull() ?: break
+        }
+        inFlightBatches++
+        when (reason) {
+            FlushReason.SIZE -> sizeFlushes.incrementAndGet()
+            FlushReason.TIME -> timeFlushes.incrementAndGet()
+        }
+        return batch
+    }
+
+    /**
+     * 대기 시간이 지나면 모인 요청을 보내도록 타이머를 겁니다 (lock 안에서 호출)
+     */
+    private fun scheduleFlush() {
+        if (flushScheduled) return
+        flushScheduled = true
+        timer.schedule({
+            val ready = lock.withLock {
+                flushScheduled = false
+                takeBatch(FlushReason.TIME).also { if (pending.isNotEmpty()) scheduleFlush() }
+            }
+            ready?.let(::dispatch)
+        }, batchConfig.maxWaitMs, TimeUnit.MILLISECONDS)
+    }
+
+    private fun dispatch(batch: List<PendingAuthorization>) {
+        val startNanos = System.nanoTime()
+        batches.incrementAndGet()
+        batchedItems.addAndGet(batch.size.toLong())
+
+        paymentGatewayClient.authorizeBatch(batch.map { it.request }).whenComplete { responses, error ->
+            batchLatencyMicros.addAndGet(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos))
+            when {
+                error != null -> fail(batch, (error as? CompletionException)?.cause ?: error)
+                responses.size != batch.size -> fail(
+                    batch,
+                    PaymentGatewayException("Batch response size mismatch: ${responses.size} for ${batch.size} requests")
+                )
+                else -> batch.forEachIndexed { index, authorization -> authorization.future.complete(responses[index]) }
+            }
+
+            // 배치 슬롯이 비었으므로 그동안 모인 요청을 바로 보냄
+            val next = lock.withLock {
+                inFlightBatches--
+                takeBatch(if (pending.size >= maxSize) FlushReason.SIZE else FlushReason.TIME)
+            }
+            next?.let(::dispatch)
+        }
+    }
+
+    private fun fail(batch: List<PendingAuthorization>, error: Throwable) {
+        failedBatches.incrementAndGet()
+        logger.warn("Authorization batch of {} failed: {}", batch.size, error.message)
+        batch.forEach { it.future.completeExceptionally(error) }
+    }
+
+    override fun destroy() {
+        timer.shutdownNow()
+    }
+
+    private class PendingAuthorization(val request: GatewayRequest) {
+        val future = CompletableFuture<GatewayResponse>()
+    }
+
+    private enum class FlushReason { SIZE, TIME }
+}
@@ -0,0 +1,78 @@
+package com.airline.payment.gateway
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.TimeoutException
+import java.util.concurrent.locks.ReentrantLock
+import kotlin.concurrent.withLock
+
+/**
+ * 게이트웨이별 연결 풀 (동시 요청 수 제한)
+ *
+ * 연결을 기다리는 요청은 스레드를 막지 않고 future로 대기열에 들어가며,
+ * 반납된 연결은 가장 오래 기다린 요청에 넘겨줍니다.
+ * 대기열이 가득 차거나 [acquireTimeoutMs] 안에 연결을 얻지 못하면 [PaymentGatewayException]으로 실패합니다.
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+internal class GatewayConnectionPool(
+    private val gatewayName: String,
+    private val maxConnections: Int,
+    private val maxPendingAcquires: Int,
+    private val acquireTimeoutMs: Long
+) {
+    private val lock = ReentrantLock()
+    private var available = maxConnections
+    private val waiters = ArrayDeque<CompletableFuture<Unit>>()
+
+    /**
+     * 연결을 얻습니다. 완료된 뒤에는 반드시 [release]로 반납해야 합니다.
+     */
+    fun acquire(): CompletableFuture<Unit> {
+        val waiter = lock.withLock {
+            if (available > 0) {
+                available--
+                return CompletableFuture.completedFuture(Unit)
+            }
+            if (waiters.size >= maxPendingAcquires) {
+                return CompletableFuture.failedFuture(
+                    PaymentGatewayException("Gateway $gatewayName connection pool exhausted ($maxConnections in use, $maxPendingAcquires waiting)")
+                )
+            }
+            CompletableFuture<Unit>().also { waiters.addLast(it) }
+        }
+
+        return waiter
+            .orTimeout(acquireTimeoutMs, TimeUnit.MILLISECONDS)
+            .exceptionallyCompose { error ->
+                lock.withLock { waiters.remove(waiter) }
+                val failure = if (error is TimeoutException) {
+                    PaymentGatewayTimeoutException("Gateway $gatewayName connection not acquired within ${acquireTimeoutMs}ms")
+                } else {
+                    error
+                }
+                CompletableFuture.failedFuture(failure)
+            }
+    }
+
+    /**
+     * 연결을 반납합니다. 기다리는 요청이 있으면 바로 넘겨줍니다.
+     */
+    fun release() {
+        while (true) {
+            val next = lock.withLock {
+                waiters.removeFirstOrNull() ?: run {
+                    available++
+                    return
+                }
+            }
+            // 대기 중 시간 초과된 요청이면 다음 대기자에게
+            if (next.complete(Unit)) return
+        }
+    }
+
+    fun inUse(): Int = lock.withLock { maxConnections - available }
+
+    fun waiting(): Int = lock.withLock { waiters.size }
+}
@@ -0,0 +1,100 @@
+package com.airline.payment.gateway
+
+import com.airline.payment.domain.valueobject.Money
+import java.util.concurrent.CompletableFuture
+
+/**
+ * 외부 결제 대행사(PG) 연동 SPI
+ *
+ * 모든 연산은 응답을 기다리지 않고 [CompletableFuture]를 반환합니다.
+ * 승인 거절은 [GatewayResponse.approved]가 false인 정상 응답이고,
+ * 통신 오류나 타임아웃은 [PaymentGatewayException]으로 완료됩니다.
+ * 구현체는 연산별로 [GatewayRequest.idempotencyKey]가 같은 요청을 한 번만 처리해야 합니다.
+ * 단, 거절과 오류는 확정된 결과로 보관하지 않으므로 같은 키로 다시 시도할 수 있어야 합니다.
+ *
+ * 구현체는 Spring 빈으로 등록하면 [PaymentGatewayClient]가 [name]으로 찾아 연결 풀/동시성 제한/타임아웃을 적용합니다.
+ * 연결은 반환한 future가 완료될 때 반납되므로, 구현체는 응답이 없더라도 전송 계층의 읽기 타임아웃 등으로 future를 반드시 완료해야 합니다.
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+interface PaymentGateway {
+
+    /**
+     * 게이트웨이 이름 (`payment.gateway.active`로 선택)
+     */
+    val name: String
+
+    /**
+     * 결제 금액을 승인(한도 확보)합니다.
+     */
+    fun authorize(request: GatewayRequest): CompletableFuture<GatewayResponse>
+
+    /**
+     * 여러 결제를 한 번의 호출로 승인합니다. 응답은 요청과 같은 순서입니다.
+     *
+     * 일괄 승인을 지원하지 않는 게이트웨이는 기본 구현처럼 건별 승인으로 나누어 호출합니다.
+     */
+    fun authorizeBatch(requests: List<GatewayRequest>): CompletableFuture<List<GatewayResponse>> {
+        val responses = requests.map { authorize(it) }
+        return CompletableFuture.allOf(*responses.toTypedArray()).thenApply { responses.map { it.join() } }
+    }
+
+    /**
+     * 승인된 결제를 매입(확정)합니다.
+     */
+    fun capture(request: GatewayRequest): CompletableFuture<GatewayResponse>
+
+    /**
+     * 매입하지 않은 승인을 취소(한도 해제)합니다.
+     *
+     * 이미 매입된 거래면 거절 응답을 반환합니다.
+     */
+    fun voidAuthorization(request: GatewayRequest): CompletableFuture<GatewayResponse>
+
+    /**
+     * 매입된 결제를 환불합니다.
+     */
+    fun refund(request: GatewayRequest): CompletableFuture<GatewayResponse>
+}
+
+/**
+ * 게이트웨이 요청. 결제 ID를 가맹점 거래 참조 번호로 사용합니다.
+ *
+ * @property idempotencyKey 게이트웨이 멱등 키. 같은 키로 다시 보낸 요청은 게이트웨이가 처음 승인 결과를 그대로 돌려주므로
+ * 응답을 잃고 다시 보내도 두 번 청구되지 않습니다. 승인/매입은 결제 시도마다 새로 발급되는 결제 ID를 쓰고,
+ * 같은 예약의 중복 이벤트는 리스너의 처리 이력으로 걸러냅니다. (기본값: 결제 ID)
+ */
+data class GatewayRequest(
+    val paymentId: String,
+    val reservationId: String,
+    val amount: Money,
+    val paymentMethod: String,
+    val idempotencyKey: String = paymentId
+)
+
+/**
+ * 게이트웨이 응답
+ *
+ * @property transactionId 게이트웨이 거래 번호, 거절 시 null
+ */
+data class GatewayResponse(
+    val approved: Boolean,
+    val transactionId: String?,
+    val message: String
+) {
+    companion object {
+        fun approved(transactionId: String, message: String) = GatewayResponse(true, transactionId, message)
+        fun declined(reason: String) = GatewayResponse(false, null, reason)
+    }
+}
+
+/**
+ * 게이트웨이 통신 실패 (연결 풀 포화, 오류 응답 등)
+ */
+open class PaymentGatewayException(message: String, cause: Throwable? = null) : RuntimeException(message, cause)
+
+/**
+ * 게이트웨이 응답 시간 초과
+ */
+class PaymentGatewayTimeoutException(message: String) : PaymentGatewayException(message)
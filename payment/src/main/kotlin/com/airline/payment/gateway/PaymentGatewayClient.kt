@@ -0,0 +1,114 @@
+package com.airline.payment.gateway
+
+import com.airline.payment.config.PaymentConfig
+import org.slf4j.LoggerFactory
+import org.springframework.stereotype.Component
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionException
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.TimeoutException
+
+/**
+ * 결제 게이트웨이 호출 오케스트레이션
+ *
+ * 등록된 [PaymentGateway] 구현체 중 `payment.gateway.active`로 선택된 게이트웨이를 호출하며,
+ * 게이트웨이마다 별도의 연결 풀([GatewayConnectionPool])로 동시 요청 수를 제한하고 요청별 타임아웃을 적용합니다.
+ * 타임아웃과 통신 오류는 [PaymentGatewayException]으로 완료됩니다.
+ * 타임아웃이 나도 게이트웨이 호출은 계속 진행 중이므로, 연결은 호출 자체가 끝날 때 반납합니다.
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+@Component
+class PaymentGatewayClient(
+    gateways: List<PaymentGateway>,
+    paymentConfig: PaymentConfig
+) {
+    private val logger = LoggerFactory.getLogger(PaymentGatewayClient::class.java)
+
+    private val gatewayConfig = paymentConfig.gateway
+
+    private val channels: Map<String, GatewayChannel> = gateways.associate { gateway ->
+        gateway.name to GatewayChannel(
+            gateway,
+            GatewayConnectionPool(
+                gateway.name,
+                gatewayConfig.maxConnections.coerceAtLeast(1),
+                gatewayConfig.maxPendingAcquires.coerceAtLeast(0),
+                gatewayConfig.acquireTimeoutMs
+            )
+        )
+    }
+
+    private val active: GatewayChannel = channels[gatewayConfig.active]
+        ?: throw IllegalStateException("Payment gateway not registered: ${gatewayConfig.active} (available: ${channels.keys})")
+
+    fun authorize(request: GatewayRequest): CompletableFuture<GatewayResponse> =
+        execute("authorize", request.paymentId) { it.authorize(request) }
+
+    /**
+     * 여러 결제를 연결 하나로 일괄 승인합니다.
+     */
+    fun authorizeBatch(requests: List<GatewayRequest>): CompletableFuture<List<GatewayResponse>> =
+        execute("authorizeBatch", "${requests.size} payments") { it.authorizeBatch(requests) }
+
+    fun capture(request: GatewayRequest): CompletableFuture<GatewayResponse> =
+        execute("capture", request.paymentId) { it.capture(request) }
+
+    fun voidAuthorization(request: GatewayRequest): CompletableFuture<GatewayResponse> =
+        execute("void", request.paymentId) { it.voidAuthorization(request) }
+
+    fun refund(request: GatewayRequest): CompletableFuture<GatewayResponse> =
+        execute("refund", request.paymentId) { it.refund(request) }
+
+    /**
+     * 사용 중인 게이트웨이 이름
+     */
+    fun activeGateway(): String = active.gateway.name
+
+    /**
+     * 게이트웨이별 사용 중인 연결 수와 대기 중인 요청 수
+     */
+    fun poolStats(): Map<String, Pair<Int, Int>> =
+        channels.mapValues { (_, channel) -> channel.pool.inUse() to channel.pool.waiting() }
+
+    private fun <T> execute(
+        operation: String,
+        subject: String,
+        call: (PaymentGateway) -> CompletableFuture<T>
+    ): CompletableFuture<T> {
+        val channel = active
+        return channel.pool.acquire().thenCompose {
+            val response = try {
+                call(channel.gateway)
+            } catch (e: RuntimeException) {
+                CompletableFuture.failedFuture(e)
+            }
+            response.whenComplete { _, _ -> channel.pool.release() }
+            response
+                .copy()
+                .orTimeout(gatewayConfig.requestTimeoutMs, TimeUnit.MILLISECONDS)
+        }.handle { response, error ->
+            if (error == null) return@handle response
+            val failure = translate(channel.gateway.name, operation, error)
+            logger.warn("Gateway {} {} failed for {}: {}", channel.gateway.name, operation, subject, failure.message)
+            throw failure
+        }
+    }
+
+    private fun translate(gatewayName: String, operation: String, error: Throwable): PaymentGatewayException {
+        val cause = if (error is CompletionException) error.cause ?: error else error
+        return when (cause) {
+            is PaymentGatewayException -> cause
+            is TimeoutException -> PaymentGatewayTimeoutException(
+                "Gateway $gatewayName $operation timed out after ${gatewayConfig.requestTimeoutMs}ms"
+            )
+            else -> PaymentGatewayException("Gateway $gatewayName $operation failed: ${cause.message}", cause)
+        }
+    }
+
+    private class GatewayChannel(
+        val gateway: PaymentGateway,
+        val pool: GatewayConnectionPool
+    )
+}
@@ -0,0 +1,142 @@
+package com.airline.payment.gateway
+
+import com.airline.payment.config.PaymentConfig
+import com.airline.payment.domain.service.PaymentDomainService
+import com.airline.payment.domain.valueobject.PaymentAmount
+import com.airline.payment.domain.valueobject.PaymentMethod
+import org.springframework.beans.factory.DisposableBean
+import org.springframework.stereotype.Component
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.Executors
+import java.util.concurrent.ThreadLocalRandom
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+import kotlin.math.exp
+import kotlin.math.ln
+
+/**
+ * 로컬 결제 게이트웨이 시뮬레이터
+ *
+ * 실제 PG 없이 부하 테스트를 할 수 있도록 응답 지연과 실패를 모델링합니다.
+ * - 응답 지연: 중앙값과 p99로 정한 로그정규 분포
+ * - 승인율: [PaymentConfig.successRates] 기반 ([PaymentDomainService.calculateSuccessRate])
+ * - 통신 오류율, 지연 응답(타임아웃)율: 지연 응답은 호출 측 타임아웃이 지난 뒤에야 도착
+ *
+ * - 멱등 키: 연산별로 같은 키의 요청에는 처음 승인한 응답을 다시 돌려줌 (최근 [IDEMPOTENCY_CACHE_SIZE]건 보관).
+ *   거절과 오류는 보관하지 않으므로 같은 키로 다시 시도하면 새로 결정
+ *
+ * 응답은 단일 타이머 스레드가 지연 후 완료시키므로 대기 중인 요청 수와 무관하게 스레드를 점유하지 않습니다.
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+@Component
+class SimulatedPaymentGateway(
+    private val paymentDomainService: PaymentDomainService,
+    paymentConfig: PaymentConfig
+) : PaymentGateway, DisposableBean {
+
+    private val requestTimeoutMicros = TimeUnit.MILLISECONDS.toMicros(paymentConfig.gateway.requestTimeoutMs)
+
+    override val name: String = NAME
+
+    private val simulatorConfig = paymentConfig.gateway.simulator
+
+    private val scheduler = Executors.newSingleThreadScheduledExecutor { runnable ->
+        Thread(runnable, "payment-gateway-simulator").apply { isDaemon = true }
+    }
+
+    private val transactionSequence = AtomicLong()
+
+    // "연산:멱등 키" → 처음 승인한 응답 (실제 PG의 멱등 키 보관소에 해당)
+    private val idempotentResponses = object : LinkedHashMap<String, GatewayResponse>() {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, GatewayResponse>): Boolean =
+            size > IDEMPOTENCY_CACHE_SIZE
+    }
+
+    // 로그정규 분포 모수: 중앙값 = e^mu, p99 = e^(mu + 2.326 * sigma)
+    private val mu = ln(simulatorConfig.medianLatencyMs.coerceAtLeast(MIN_LATENCY_MS))
+    private val sigma = ((ln(simulatorConfig.p99LatencyMs.coerceAtLeast(MIN_LATENCY_MS)) - mu) / Z_99).coerceAtLeast(0.0)
+
+    override fun authorize(request: GatewayRequest): CompletableFuture<GatewayResponse> =
+        respond("authorize") { decideAuthorization(request) }
+
+    /**
+     * 일괄 승인은 한 번의 왕복 지연으로 응답하고, 승인 여부는 항목별로 결정합니다.
+     */
+    override fun authorizeBatch(requests: List<GatewayRequest>): CompletableFuture<List<GatewayResponse>> =
+        respond("authorizeBatch") { requests.map(::decideAuthorization) }
+
+    override fun capture(request: GatewayRequest): CompletableFuture<GatewayResponse> = respond("capture") {
+        idempotent("capture", request) { GatewayResponse.approved(nextTransactionId(), "매입 완료") }
+    }
+
+    override fun voidAuthorization(request: GatewayRequest): CompletableFuture<GatewayResponse> = respond("void") {
+        idempotent("void", request) { GatewayResponse.approved(nextTransactionId(), "승인 취소 완료") }
+    }
+
+    override fun refund(request: GatewayRequest): CompletableFuture<GatewayResponse> = respond("refund") {
+        idempotent("refund", request) { GatewayResponse.approved(nextTransactionId(), "환불 완료") }
+    }
+
+    private fun decideAuthorization(request: GatewayRequest): GatewayResponse = idempotent("authorize", request) {
+        val successRate = paymentDomainService.calculateSuccessRate(
+            PaymentAmount.of(request.amount),
+            PaymentMethod.of(request.paymentMethod)
+        )
+        if (ThreadLocalRandom.current().nextDouble() < successRate) {
+            GatewayResponse.approved(nextTransactionId(), "결제 승인")
+        } else {
+            GatewayResponse.declined(DECLINE_REASONS.random())
+        }
+    }
+
+    private fun idempotent(operation: String, request: GatewayRequest, decide: () -> GatewayResponse): GatewayResponse =
+        synchronized(idempotentResponses) {
+            val key = "$operation:${request.idempotencyKey}"
+            idempotentResponses[key] ?: decide().also { if (it.approved) idempotentResponses[key] = it }
+        }
+
+    private fun <T> respond(operation: String, decide: () -> T): CompletableFuture<T> {
+        val future = CompletableFuture<T>()
+        val random = ThreadLocalRandom.current()
+
+        // 지연 응답: 처리는 되지만 응답이 호출 측 타임아웃 뒤에 도착
+        val late = random.nextDouble() < simulatorConfig.timeoutRate
+        val delayMicros = sampleLatencyMicros(random) + if (late) requestTimeoutMicros else 0
+
+        val failed = random.nextDouble() < simulatorConfig.errorRate
+        scheduler.schedule({
+            if (failed) {
+                future.completeExceptionally(PaymentGatewayException("Simulated $NAME $operation error"))
+            } else {
+                runCatching(decide).fold(future::complete, future::completeExceptionally)
+            }
+        }, delayMicros, TimeUnit.MICROSECONDS)
+        return future
+    }
+
+    private fun sampleLatencyMicros(random: ThreadLocalRandom): Long =
+        (exp(mu + sigma * random.nextGaussian()) * 1_000).toLong()
+
+    private fun nextTransactionId(): String = "SIM-${transactionSequence.incrementAndGet()}"
+
+    override fun destroy() {
+        scheduler.shutdownNow()
+    }
+
+    companion object {
+        const val NAME = "simulator"
+
+        private const val MIN_LATENCY_MS = 0.001
+        private const val Z_99 = 2.326
+        private const val IDEMPOTENCY_CACHE_SIZE = 100_000
+
+        private val DECLINE_REASONS = listOf(
+            "카드사 승인 거절",
+            "한도 초과",
+            "결제 정보 검증 실패",
+            "계좌 잔액 부족"
+        )
+    }
+}
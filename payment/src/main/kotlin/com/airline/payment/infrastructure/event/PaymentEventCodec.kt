@@ -0,0 +1,232 @@
+package com.airline.payment.infrastructure.event
+
+import com.airline.payment.domain.event.PaymentDomainEvent
+import com.airline.payment.domain.valueobject.Money
+import java.io.ByteArrayOutputStream
+import java.time.Instant
+
+/**
+ * 결제 도메인 이벤트 직렬화
+ *
+ * `schema/payment_event.proto`의 `PaymentEvent` 메시지와 같은 Protocol Buffers 와이어 형식으로 인코딩하므로,
+ * 다른 서비스는 스키마 파일만으로 protobuf 라이브러리를 써서 읽을 수 있습니다.
+ * 필드 번호는 한 번 정하면 바꾸지 않으며, 필드를 추가해도 기존 소비자는 모르는 필드를 건너뛰므로 호환이 유지됩니다.
+ * 값이 없는(빈) 문자열 필드는 쓰지 않습니다.
+ *
+ * 고객 이름과 이메일은 이벤트에 싣지 않습니다. 토픽은 여러 소비자가 읽고 오래 보관되므로 개인정보는 결제 저장소에만 둡니다.
+ * 스키마에서 해당 필드 번호(11, 12)는 예약되어 있으며, 디코딩한 [PaymentDomainEvent.PaymentCreated]의 고객 정보는 빈 문자열입니다.
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+object PaymentEventCodec {
+
+    const val SCHEMA_VERSION = 1
+
+    private const val FIELD_SCHEMA_VERSION = 1
+    private const val FIELD_TYPE = 2
+    private const val FIELD_EVENT_ID = 3
+    private const val FIELD_OCCURRED_ON_SECONDS = 4
+    private const val FIELD_OCCURRED_ON_NANOS = 5
+    private const val FIELD_PAYMENT_ID = 6
+    private const val FIELD_RESERVATION_ID = 7
+    private const val FIELD_AMOUNT_MINOR = 8
+    private const val FIELD_CURRENCY = 9
+    private const val FIELD_PAYMENT_METHOD = 10
+    private const val FIELD_REASON = 13
+
+    private const val WIRE_VARINT = 0
+    private const val WIRE_FIXED64 = 1
+    private const val WIRE_LENGTH_DELIMITED = 2
+    private const val WIRE_FIXED32 = 5
+
+    /**
+     * 이벤트 종류 (스키마의 `PaymentEventType`과 같은 번호)
+     */
+    private enum class EventType(val number: Int) {
+        CREATED(1), APPROVED(2), REJECTED(3), CANCELLED(4);
+
+        companion object {
+            fun of(number: Int) = entries.firstOrNull { it.number == number }
+                ?: throw IllegalArgumentException("Unknown payment event type: $number")
+        }
+    }
+
+    fun encode(event: PaymentDomainEvent): ByteArray {
+        val writer = Writer()
+        writer.varint(FIELD_SCHEMA_VERSION, SCHEMA_VERSION.toLong())
+        writer.string(FIELD_EVENT_ID, event.eventId)
+        writer.varint(FIELD_OCCURRED_ON_SECONDS, event.occurredOn.epochSecond)
+        writer.varint(FIELD_OCCURRED_ON_NANOS, event.occurredOn.nano.toLong())
+
+        when (event) {
+            is PaymentDomainEvent.PaymentCreated -> {
+                writer.varint(FIELD_TYPE, EventType.CREATED.number.toLong())
+                writer.ids(event.paymentId, event.reservationId)
+                writer.money(event.amount)
+                writer.string(FIELD_PAYMENT_METHOD, event.paymentMethod)
+            }
+            is PaymentDomainEvent.PaymentApproved -> {
+                writer.varint(FIELD_TYPE, EventType.APPROVED.number.toLong())
+                writer.ids(event.paymentId, event.reservationId)
+                writer.money(event.amount)
+            }
+            is PaymentDomainEvent.PaymentRejected -> {
+                writer.varint(FIELD_TYPE, EventType.REJECTED.number.toLong())
+                writer.ids(event.paymentId, event.reservationId)
+                writer.string(FIELD_REASON, event.reason)
+            }
+            is PaymentDomainEvent.PaymentCancelled -> {
+                writer.varint(FIELD_TYPE, EventType.CANCELLED.number.toLong())
+                writer.ids(event.paymentId, event.reservationId)
+                writer.money(event.amount)
+            }
+        }
+        return writer.toByteArray()
+    }
+
+    /**
+     * @throws IllegalArgumentException 형식이 잘못되었거나 이벤트 종류에 필요한 필드가 없을 때
+     */
+    fun decode(bytes: ByteArray): PaymentDomainEvent {
+        val fields = Fields()
+        val reader = Reader(bytes)
+        while (reader.hasRemaining()) {
+            val tag = reader.varint()
+            val field = (tag ushr 3).toInt()
+            when (val wireType = (tag and 7).toInt()) {
+                WIRE_VARINT -> {
+                    val value = reader.varint()
+                    when (field) {
+                        FIELD_TYPE -> fields.type = value.toInt()
+                        FIELD_OCCURRED_ON_SECONDS -> fields.seconds = value
+                        FIELD_OCCURRED_ON_NANOS -> fields.nanos = value.toInt()
+                        FIELD_AMOUNT_MINOR -> fields.amountMinor = zigZagDecode(value)
+                    }
+                }
+                WIRE_LENGTH_DELIMITED -> {
+                    val value = reader.string()
+                    when (field) {
+                        FIELD_EVENT_ID -> fields.eventId = value
+                        FIELD_PAYMENT_ID -> fields.paymentId = value
+                        FIELD_RESERVATION_ID -> fields.reservationId = value
+                        FIELD_CURRENCY -> fields.currency = value
+                        FIELD_PAYMENT_METHOD -> fields.paymentMethod = value
+                        FIELD_REASON -> fields.reason = value
+                    }
+                }
+                WIRE_FIXED64 -> reader.skip(8)
+                WIRE_FIXED32 -> reader.skip(4)
+                else -> throw IllegalArgumentException("Unsupported wire type $wireType for field $field")
+            }
+        }
+        return fields.toEvent()
+    }
+
+    private fun zigZagEncode(value: Long): Long = (value shl 1) xor (value shr 63)
+
+    private fun zigZagDecode(value: Long): Long = (value ushr 1) xor -(value and 1)
+
+    /**
+     * 디코딩 중 모은 필드 값
+     */
+    private class Fields {
+        var type = 0
+        var eventId = ""
+        var seconds = 0L
+        var nanos = 0
+        var paymentId = ""
+        var reservationId = ""
+        var amountMinor = 0L
+        var currency = Money.DEFAULT_CURRENCY
+        var paymentMethod = ""
+        var reason = ""
+
+        fun toEvent(): PaymentDomainEvent {
+            require(eventId.isNotEmpty()) { "Payment event has no event ID" }
+            require(paymentId.isNotEmpty()) { "Payment event $eventId has no payment ID" }
+            val occurredOn = Instant.ofEpochSecond(seconds, nanos.toLong())
+            val amount = Money.ofMinor(amountMinor, currency)
+            return when (EventType.of(type)) {
+                EventType.CREATED -> PaymentDomainEvent.PaymentCreated(
+                    eventId, occurredOn, paymentId, reservationId, amount, paymentMethod, customerName = "", customerEmail = ""
+                )
+                EventType.APPROVED -> PaymentDomainEvent.PaymentApproved(eventId, occurredOn, paymentId, reservationId, amount)
+                EventType.REJECTED -> PaymentDomainEvent.PaymentRejected(eventId, occurredOn, paymentId, reservationId, reason)
+                EventType.CANCELLED -> PaymentDomainEvent.PaymentCancelled(eventId, occurredOn, paymentId, reservationId, amount)
+            }
+        }
+    }
+
+    private class Writer {
+        private val out = ByteArrayOutputStream(INITIAL_CAPACITY)
+
+        fun varint(field: Int, value: Long) {
+            rawVarint((field shl 3 or WIRE_VARINT).toLong())
+            rawVarint(value)
+        }
+
+        fun string(field: Int, value: String) {
+            if (value.isEmpty()) return
+            val bytes = value.toByteArray(Charsets.UTF_8)
+            rawVarint((field shl 3 or WIRE_LENGTH_DELIMITED).toLong())
+            rawVarint(bytes.size.toLong())
+            out.write(bytes)
+        }
+
+        fun ids(paymentId: String, reservationId: String) {
+            string(FIELD_PAYMENT_ID, paymentId)
+            string(FIELD_RESERVATION_ID, reservationId)
+        }
+
+        fun money(amount: Money) {
+            varint(FIELD_AMOUNT_MINOR, zigZagEncode(amount.minorUnits))
+            string(FIELD_CURRENCY, amount.currency)
+        }
+
+        fun toByteArray(): ByteArray = out.toByteArray()
+
+        private fun rawVarint(value: Long) {
+            var remaining = value
+            while (remaining and 0x7FL.inv() != 0L) {
+                out.write(((remaining and 0x7F) or 0x80).toInt())
+                remaining = remaining ushr 7
+            }
+            out.write(remaining.toInt())
+        }
+
+        companion object {
+            private const val INITIAL_CAPACITY = 128
+        }
+    }
+
+    private class Reader(private val bytes: ByteArray) {
+        private var position = 0
+
+        fun hasRemaining() = position < bytes.size
+
+        fun varint(): Long {
+            var result = 0L
+            var shift = 0
+            while (shift < Long.SIZE_BITS) {
+                require(position < bytes.size) { "Truncated varint" }
+                val byte = bytes[position++].toInt()
+                result = result or ((byte and 0x7F).toLong() shl shift)
+                if (byte and 0x80 == 0) return result
+                shift += 7
+            }
+            throw IllegalArgumentException("Malformed varint")
+        }
+
+        fun string(): String {
+            val length = varint()
+            require(length >= 0 && length <= bytes.size - position) { "Truncated length-delimited field" }
+            return String(bytes, position, length.toInt(), Charsets.UTF_8).also { position += length.toInt() }
+        }
+
+        fun skip(count: Int) {
+            require(count <= bytes.size - position) { "Truncated fixed-width field" }
+            position += count
+        }
+    }
+}
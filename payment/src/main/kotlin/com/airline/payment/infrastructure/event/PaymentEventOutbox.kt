@@ -0,0 +1,197 @@
+package com.airline.payment.infrastructure.event
+
+import com.airline.payment.config.PaymentConfig
+import com.airline.payment.domain.event.PaymentDomainEvent
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.DisposableBean
+import org.springframework.beans.factory.annotation.Qualifier
+import org.springframework.kafka.core.KafkaTemplate
+import org.springframework.stereotype.Component
+import java.util.concurrent.ArrayBlockingQueue
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * 결제 도메인 이벤트 아웃박스
+ *
+ * 애그리게이트가 기록한 [PaymentDomainEvent]를 [PaymentEventCodec]으로 인코딩하여 크기가 제한된 대기열에 넣고,
+ * 전용 발행 스레드가 최대 [PaymentConfig.DomainEventConfig.batchSize]건씩 모아 Kafka로 보냅니다.
+ * 호출 스레드는 인코딩과 대기열 추가만 수행하며 기다리지 않습니다.
+ * [append]는 게이트웨이 응답 콜백(게이트웨이 타이머 스레드 등)에서도 호출되므로, 여기서 멈추면 다른 결제의 응답 처리까지 함께 멈춥니다.
+ *
+ * 역압(back-pressure): 발행 스레드는 한 배치의 전송 결과를 확인한 뒤 다음 배치를 보내므로 Kafka가 느려지면 대기열이 찹니다.
+ * 대기열이 [PaymentConfig.DomainEventConfig.admissionLimitRatio]를 넘으면 [acceptsNewPayments]가 false가 되어
+ * 결제 서비스가 신규 결제 접수를 멈추고, 이미 진행 중인 결제의 이벤트는 남은 자리에 들어갑니다.
+ * 그래도 자리가 없는 이벤트는 버리고 `dropped`로 집계합니다. (결제 자체는 이미 저장된 상태)
+ *
+ * 발행 보장은 최선 노력(best-effort)이며, 이벤트가 유실될 수 있습니다.
+ * - 전송 실패는 다음 배치 앞에 붙여 [PaymentConfig.DomainEventConfig.maxAttempts]회까지 다시 보내고, 그래도 실패하면 버리고 `failed`로 집계
+ * - 대기열이 가득 차서 버린 이벤트는 `dropped`로 집계
+ * - 대기열은 메모리에만 있으므로 프로세스가 종료되면 아직 보내지 못한 이벤트는 사라짐
+ * 재전송된 이벤트는 같은 결제의 뒤 이벤트보다 늦게 도착할 수 있습니다. 소비자는 eventId와 occurredOn으로 판단합니다.
+ *
+ * 서비스 간 연동 계약은 기존 JSON 토픽(payment.approved/payment.cancelled/payment.failed)이며,
+ * 항공권 서비스와 예약 읽기 모델이 이를 소비하고 각각 트랜잭션 커밋과 환불 저널로 전달이 보장됩니다.
+ * 이 스트림(payment.events)은 결제 상태 변화 전체를 담은 분석/감사용 보조 스트림이므로 유실을 허용하는 소비자만 사용해야 하며,
+ * 누락을 메울 때는 결제 저장소를 기준으로 합니다.
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+@Component
+class PaymentEventOutbox(
+    @Qualifier("eventKafkaTemplate") private val kafkaTemplate: KafkaTemplate<String, ByteArray>,
+    paymentConfig: PaymentConfig
+) : DisposableBean {
+    private val logger = LoggerFactory.getLogger(PaymentEventOutbox::class.java)
+
+    private val config = paymentConfig.events
+    private val queue = ArrayBlockingQueue<OutboxRecord>(config.capacity)
+    private val admissionLimit = (config.capacity * config.admissionLimitRatio).toInt().coerceIn(1, config.capacity)
+
+    private val appended = AtomicLong()
+    private val published = AtomicLong()
+    private val failed = AtomicLong()
+    private val dropped = AtomicLong()
+    private val retried = AtomicLong()
+    private val batches = AtomicLong()
+
+    @Volatile
+    private var running = true
+
+    private val publisher = Thread(::publishLoop, "payment-event-outbox").apply {
+        isDaemon = true
+        start()
+    }
+
+    /**
+     * 이벤트를 발행 대기열에 넣습니다. 대기열이 가득 차면 기다리지 않고 버립니다.
+     *
+     * @param events 애그리게이트에서 꺼낸 도메인 이벤트 (발생 순서)
+     */
+    fun append(events: List<PaymentDomainEvent>) {
+        for (event in events) {
+            val record = OutboxRecord(event.eventId, keyOf(event), PaymentEventCodec.encode(event))
+            if (queue.offer(record)) {
+                appended.incrementAndGet()
+            } else {
+                dropped.incrementAndGet()
+                logger.error("Payment event outbox is full, dropping event {} ({})", event.eventId, event.javaClass.simpleName)
+            }
+        }
+    }
+
+    /**
+     * 대기열에 신규 결제의 이벤트를 받을 여유가 있는지 여부
+     */
+    fun acceptsNewPayments(): Boolean = queue.size < admissionLimit
+
+    /**
+     * 아웃박스 통계를 반환합니다.
+     *
+     * @return 적재/발행/실패/버림/재시도 건수, 배치 수, 대기 중인 이벤트 수
+     */
+    fun getStatistics(): Map<String, Long> = mapOf(
+        "appended" to appended.get(),
+        "published" to published.get(),
+        "failed" to failed.get(),
+        "dropped" to dropped.get(),
+        "retried" to retried.get(),
+        "batches" to batches.get(),
+        "queued" to queue.size.toLong()
+    )
+
+    /**
+     * 발행을 멈추기 전에 대기열에 남은 이벤트를 최대 shutdownTimeoutMs 동안 내보냅니다.
+     */
+    override fun destroy() {
+        running = false
+        publisher.join(config.shutdownTimeoutMs)
+        if (publisher.isAlive) {
+            publisher.interrupt()
+            logger.warn("Payment event outbox stopped with {} unpublished events", queue.size)
+        }
+    }
+
+    private fun publishLoop() {
+        val batch = ArrayList<OutboxRecord>(config.batchSize)
+        var retry = emptyList<OutboxRecord>()
+        try {
+            while (running || queue.isNotEmpty() || retry.isNotEmpty()) {
+                batch.addAll(retry)
+                if (batch.isEmpty()) {
+                    val first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS) ?: continue
+                    batch += first
+                    // 첫 이벤트 이후 잠시 기다려 함께 보낼 이벤트를 모음
+                    if (config.lingerMs > 0 && queue.size < config.batchSize - 1) Thread.sleep(config.lingerMs)
+                }
+                queue.drainTo(batch, config.batchSize - batch.size)
+
+                retry = send(batch)
+                batch.clear()
+                if (retry.isNotEmpty()) Thread.sleep(RETRY_BACKOFF_MILLIS)
+            }
+        } catch (e: InterruptedException) {
+            Thread.currentThread().interrupt()
+        }
+    }
+
+    /**
+     * 배치를 보내고 모든 전송 결과를 기다립니다.
+     *
+     * @return 다시 보낼 레코드 (전송 순서 유지)
+     */
+    private fun send(batch: List<OutboxRecord>): List<OutboxRecord> {
+        val sends = batch.map { record ->
+            try {
+                kafkaTemplate.send(config.topic, record.key, record.payload)
+            } catch (e: Exception) {
+                CompletableFuture.failedFuture(e)
+            }
+        }
+        batches.incrementAndGet()
+
+        val retry = ArrayList<OutboxRecord>()
+        batch.forEachIndexed { index, record ->
+            try {
+                sends[index].get(config.sendTimeoutMs, TimeUnit.MILLISECONDS)
+                published.incrementAndGet()
+            } catch (e: InterruptedException) {
+                throw e
+            } catch (e: Exception) {
+                if (++record.attempts < config.maxAttempts) {
+                    retried.incrementAndGet()
+                    retry += record
+                } else {
+                    failed.incrementAndGet()
+                    logger.error("Failed to publish payment event {} after {} attempts", record.eventId, record.attempts, e)
+                }
+            }
+        }
+        return retry
+    }
+
+    /**
+     * 같은 결제의 이벤트가 한 파티션에서 순서대로 소비되도록 결제 ID를 키로 사용
+     */
+    private fun keyOf(event: PaymentDomainEvent): String = when (event) {
+        is PaymentDomainEvent.PaymentCreated -> event.paymentId
+        is PaymentDomainEvent.PaymentApproved -> event.paymentId
+        is PaymentDomainEvent.PaymentRejected -> event.paymentId
+        is PaymentDomainEvent.PaymentCancelled -> event.paymentId
+    }
+
+    private class OutboxRecord(
+        val eventId: String,
+        val key: String,
+        val payload: ByteArray
+    ) {
+        var attempts = 0
+    }
+
+    companion object {
+        private const val IDLE_POLL_MILLIS = 100L
+        private const val RETRY_BACKOFF_MILLIS = 100L
+    }
+}
@@ -48,6 +48,13 @@ class PaymentDomainRepositoryImpl(
             ?.let { paymentMapper.toDomainAggregate(it) }
     }
     
+    override fun findAllByReservationId(reservationId: ReservationId): List<PaymentAggregate> {
+        logger.debug("Finding all payments by reservation ID: {}", reservationId.value)
+        
+        return paymentRepository.findByReservationId(reservationId.value)
+            .map { paymentMapper.toDomainAggregate(it) }
+    }
+    
     override fun findByStatus(status: PaymentStatus): List<PaymentAggregate> {
         logger.debug("Finding payments by status: {}", status)
         
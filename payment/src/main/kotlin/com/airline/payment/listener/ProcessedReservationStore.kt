@@ -0,0 +1,95 @@
+package com.airline.payment.listener
+
+import com.airline.payment.config.PaymentConfig
+import org.springframework.stereotype.Component
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.locks.ReentrantLock
+import kotlin.concurrent.withLock
+
+/**
+ * 결제를 처리한 예약 ID 저장소 (중복 결제 방지)
+ *
+ * 재전달된 seat.reserved 이벤트로 같은 예약을 다시 결제하지 않도록, 처리한 예약과 그 결과 이벤트를 기억합니다.
+ * - [TimeWindowedBloomFilter]: 처음 보는 예약(대부분의 요청)을 잠금 없이 바로 판별
+ * - 최근 처리 결과: 필터가 "있을 수 있음"이라고 답한 경우 정확히 확인하고, 이전 결과 이벤트를 돌려줌
+ *
+ * 두 구조 모두 크기가 고정되어 있으므로, 최근 결과에서 밀려난 예약은 [Lookup.Uncertain]으로 답하고
+ * 호출자가 결제 저장소에서 확인합니다.
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+@Component
+class ProcessedReservationStore(
+    paymentConfig: PaymentConfig
+) {
+    private val dedupConfig = paymentConfig.listener.dedup
+
+    private val filter = TimeWindowedBloomFilter(
+        expectedInsertions = dedupConfig.expectedInsertions,
+        falsePositiveRate = dedupConfig.falsePositiveRate,
+        windowMs = dedupConfig.windowMs
+    )
+
+    private val lock = ReentrantLock()
+    private val recent = object : LinkedHashMap<String, List<OutboundEvent>>() {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, List<OutboundEvent>>): Boolean =
+            size > dedupConfig.recentSetSize
+    }
+
+    private val lookups = AtomicLong(0)
+    private val filterNegatives = AtomicLong(0)
+    private val duplicates = AtomicLong(0)
+    private val uncertain = AtomicLong(0)
+
+    /**
+     * 예약의 처리 여부를 조회합니다.
+     */
+    fun find(reservationId: String): Lookup {
+        lookups.incrementAndGet()
+        if (!filter.mightContain(reservationId)) {
+            filterNegatives.incrementAndGet()
+            return Lookup.New
+        }
+
+        val events = lock.withLock { recent[reservationId] }
+        return if (events != null) {
+            duplicates.incrementAndGet()
+            Lookup.Processed(events)
+        } else {
+            uncertain.incrementAndGet()
+            Lookup.Uncertain
+        }
+    }
+
+    /**
+     * 예약의 처리 결과 이벤트를 기록합니다.
+     */
+    fun record(reservationId: String, events: List<OutboundEvent>) {
+        lock.withLock { recent[reservationId] = events }
+        filter.put(reservationId)
+    }
+
+    /**
+     * 중복 판별 통계
+     */
+    fun getStatistics(): Map<String, Long> = mapOf(
+        "lookups" to lookups.get(),
+        "filterNegatives" to filterNegatives.get(),
+        "duplicates" to duplicates.get(),
+        "uncertain" to uncertain.get(),
+        "recentSize" to lock.withLock { recent.size.toLong() },
+        "filterGenerationBytes" to filter.generationSizeBytes()
+    )
+
+    sealed interface Lookup {
+        /** 처음 보는 예약 */
+        data object New : Lookup
+
+        /** 이미 처리한 예약과 그때 발행한 이벤트 */
+        data class Processed(val events: List<OutboundEvent>) : Lookup
+
+        /** 처리했을 수 있으나 최근 결과에 없음 (필터 오탐 또는 오래된 예약) */
+        data object Uncertain : Lookup
+    }
+}
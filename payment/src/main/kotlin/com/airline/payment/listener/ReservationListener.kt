@@ -1,31 +1,85 @@
 package com.airline.payment.listener
 
+import com.airline.payment.config.PaymentConfig
+import com.airline.payment.domain.valueobject.Money
+import com.airline.payment.dto.CustomerInfo
+import com.airline.payment.dto.PaymentRequest
+import com.airline.payment.dto.PaymentResponse
+import com.airline.payment.dto.PaymentStatus
+import com.airline.payment.service.PaymentService
 import com.airline.tracing.annotation.KafkaOtelTrace
 import com.fasterxml.jackson.databind.JsonNode
 import com.fasterxml.jackson.databind.ObjectMapper
+import org.apache.kafka.clients.consumer.Consumer
+import org.apache.kafka.common.TopicPartition
 import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.DisposableBean
+import org.springframework.beans.factory.ObjectProvider
 import org.springframework.kafka.annotation.KafkaListener
-import org.springframework.kafka.core.KafkaTemplate
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry
+import org.springframework.kafka.support.KafkaHeaders
 import org.springframework.messaging.MessageHeaders
 import org.springframework.messaging.handler.annotation.Headers
 import org.springframework.messaging.handler.annotation.Payload
 import org.springframework.stereotype.Component
-import java.math.BigDecimal
-import java.util.UUID
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionException
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.Executors
+import java.util.concurrent.Semaphore
+import java.util.concurrent.TimeUnit
 
 /**
  * 좌석 예약 완료 이벤트를 수신하여 결제를 처리하는 리스너
  *
  * 이벤트 체인: reservation.requested → seat.reserved → payment.approved → ticket.issued
+ *
+ * 결제는 [PaymentService.processPaymentAsync]로 제출만 하고 완료는 콜백에서 처리하므로,
+ * 컨슈머 스레드는 외부 결제 응답을 기다리지 않고 다음 레코드를 읽습니다.
+ * - 같은 예약의 결제는 앞선 결제가 끝난 뒤에 시작 (예약별 순서 보장)
+ * - 동시에 진행 중인 결제가 한도에 도달하거나 결제 서비스가 신규 결제를 받지 않으면([PaymentService.acceptsPayments])
+ *   리스너 컨테이너를 일시 정지하고, 여유가 생기면 재개 (back-pressure).
+ *   정지 중에도 컨테이너는 poll을 계속하므로 max.poll.interval.ms를 넘겨 리밸런스되지 않으며,
+ *   pauseImmediate 설정으로 현재 레코드 직후 멈추므로 이미 받은 레코드는 기다리지 않고 바로 제출합니다.
+ *
+ * seat.reserved → payment.approved/payment.failed 단계는 정확히 한 번 처리됩니다.
+ * - 결과 이벤트는 [TransactionalEventCommitter]가 소비 오프셋과 같은 트랜잭션으로 발행 (자동 커밋 없음)
+ * - 재전달된 예약은 [ProcessedReservationStore]로 판별해 다시 결제하지 않고 이전 결과 이벤트를 다시 발행
+ *
+ * 게이트웨이 승인/매입의 멱등 키는 결제 시도마다 새로 발급되는 결제 ID입니다. 예약 ID로 키를 만들면 이전 시도의 결과가
+ * 새 결제 ID로 재생되어 결제 기록과 게이트웨이 거래가 어긋나므로, 같은 예약의 중복은 위의 처리 이력으로만 걸러냅니다.
+ * 처리 이력과 결제 저장소는 메모리에만 있으므로, 게이트웨이 승인 뒤 트랜잭션 커밋 전에 프로세스가 종료되면
+ * 재전달된 예약이 다시 결제될 수 있습니다. 이 경우 앞선 승인은 결제 기록이 없으므로 PG 정산 대사로 찾아 취소해야 합니다.
+ *
+ * 레코드는 커밋 대상으로 등록하기 전에 검증하며(예약 ID, 좌석 수, 결제 금액 범위), 잘못된 레코드는 결과 없이 건너뜁니다.
  */
 @Component
 class ReservationListener(
-    private val kafkaTemplate: KafkaTemplate<String, String>
-) {
+    private val paymentService: PaymentService,
+    paymentConfig: PaymentConfig,
+    private val processedReservations: ProcessedReservationStore,
+    private val eventCommitter: TransactionalEventCommitter,
+    // Kafka 리스너 인프라가 없는 환경(테스트 등)에서는 비어 있음
+    private val listenerRegistry: ObjectProvider<KafkaListenerEndpointRegistry>
+) : DisposableBean {
     private val logger = LoggerFactory.getLogger(ReservationListener::class.java)
     private val objectMapper = ObjectMapper()
 
-    @KafkaListener(topics = ["seat.reserved"], groupId = "payment")
+    private val farePerSeat = Money.of(paymentConfig.listener.farePerSeat)
+    private val maxInFlight = paymentConfig.listener.maxInFlight.coerceAtLeast(1)
+    private val inFlight = Semaphore(maxInFlight)
+
+    // 예약별 마지막 결제 작업 (완료되면 제거)
+    private val tails = ConcurrentHashMap<String, CompletableFuture<Unit>>()
+
+    // 아웃박스가 비워지는 것은 알림이 없으므로 주기적으로 재개 조건을 확인
+    private val admission = Executors.newSingleThreadScheduledExecutor { runnable ->
+        Thread(runnable, "payment-listener-admission").apply { isDaemon = true }
+    }.also {
+        it.scheduleWithFixedDelay(::resumeIfReady, ADMISSION_CHECK_MILLIS, ADMISSION_CHECK_MILLIS, TimeUnit.MILLISECONDS)
+    }
+
+    @KafkaListener(id = LISTENER_ID, topics = ["seat.reserved"], groupId = "payment")
     @KafkaOtelTrace(
         spanName = "process-seat-reserved",
         attributes = ["event.type=seat.reserved", "service=payment"],
@@ -33,74 +87,215 @@ class ReservationListener(
     )
     fun seatReservedListener(
         @Payload message: String,
-        @Headers headers: MessageHeaders
+        @Headers headers: MessageHeaders,
+        consumer: Consumer<*, *>
     ) {
         logger.info("Received seat.reserved event: {}", message)
 
-        try {
-            val eventData = parseEventData(message)
-            val reservationId = eventData.get("reservationId")?.asText() ?: throw IllegalArgumentException("Missing reservationId")
-            val flightId = eventData.get("flightId")?.asText() ?: "UNKNOWN"
-            val reservedSeats = eventData.get("reservedSeats")?.asInt() ?: 1
+        val partition = TopicPartition(
+            headers[KafkaHeaders.RECEIVED_TOPIC] as String,
+            headers[KafkaHeaders.RECEIVED_PARTITION] as Int
+        )
+        val offset = headers[KafkaHeaders.OFFSET] as Long
 
-            // 결제 처리 (시뮬레이션)
-            val paymentId = processPayment(reservationId, flightId, reservedSeats)
+        val seatReserved = try {
+            parseSeatReserved(message)
+        } catch (e: Exception) {
+            logger.error("Skipping invalid seat.reserved event at {}@{}: {}", partition, offset, e.message)
+            null
+        }
+        eventCommitter.register(partition, offset, consumer.groupMetadata())
+        if (seatReserved == null) {
+            eventCommitter.complete(partition, offset, emptyList())
+            return
+        }
+        val (request, eventAttributes) = seatReserved
+        val reservationId = request.reservationId
 
-            // 결제 승인 이벤트 발행
-            publishPaymentApprovedEvent(reservationId, flightId, paymentId, reservedSeats)
+        // 한도에 닿으면 아래에서 컨테이너를 멈추므로 보통은 기다리지 않음
+        inFlight.acquire()
+        submitInOrder(reservationId) {
+            processOnce(request, eventAttributes)
+                .exceptionally { error ->
+                    // 결과 없이 남겨 두면 파티션의 이후 레코드가 커밋되지 않으므로 결과 없음으로 완료
+                    logger.error("Unexpected payment failure for reservation {}: {}", reservationId, error.message, error)
+                    emptyList()
+                }
+                .thenApply { events -> eventCommitter.complete(partition, offset, events) }
+        }
+        if (!hasCapacity()) pauseIntake()
+    }
+
+    private fun hasCapacity(): Boolean = inFlight.availablePermits() > 0 && paymentService.acceptsPayments()
+
+    /**
+     * 컨슈머 스레드를 막지 않도록 컨테이너에 일시 정지를 요청합니다. (다음 레코드부터 전달 중단)
+     */
+    private fun pauseIntake() {
+        val container = listenerRegistry.ifAvailable?.getListenerContainer(LISTENER_ID) ?: return
+        if (!container.isPauseRequested) {
+            logger.info("Pausing seat.reserved intake: {} payments in flight, accepting new payments: {}",
+                maxInFlight - inFlight.availablePermits(), paymentService.acceptsPayments())
+            container.pause()
+        }
+    }
 
-            logger.info("Payment processed successfully for reservation: {}", reservationId)
+    private fun resumeIfReady() {
+        try {
+            val container = listenerRegistry.ifAvailable?.getListenerContainer(LISTENER_ID) ?: return
+            if (container.isPauseRequested && hasCapacity()) {
+                logger.info("Resuming seat.reserved intake")
+                container.resume()
+            }
         } catch (e: Exception) {
-            logger.error("Failed to process seat.reserved event: {}", e.message, e)
-            throw e
+            logger.error("Failed to check seat.reserved intake", e)
         }
     }
 
     /**
-     * 이벤트 메시지를 JSON으로 파싱합니다.
+     * 처리한 적 없는 예약만 결제하고, 발행할 결과 이벤트를 돌려줍니다.
+     *
+     * 이미 처리한 예약이면 결제 없이 이전 결과 이벤트를 돌려줍니다.
+     * 이 이벤트는 이전 처리의 트랜잭션이 커밋되지 않았을 때만(그래서 재전달되었을 때만) 다시 발행되므로 중복되지 않습니다.
      */
-    private fun parseEventData(message: String): JsonNode {
-        return objectMapper.readTree(message)
+    private fun processOnce(request: PaymentRequest, eventAttributes: Map<String, Any>): CompletableFuture<List<OutboundEvent>> {
+        val reservationId = request.reservationId
+        val previous = try {
+            when (val lookup = processedReservations.find(reservationId)) {
+                is ProcessedReservationStore.Lookup.New -> null
+                is ProcessedReservationStore.Lookup.Processed -> lookup.events
+                is ProcessedReservationStore.Lookup.Uncertain ->
+                    paymentService.findPaymentByReservationId(reservationId)?.let { toEvents(it, eventAttributes) }
+            }
+        } catch (e: RuntimeException) {
+            return CompletableFuture.failedFuture(e)
+        }
+        if (previous != null) {
+            logger.info("Reservation {} already processed, re-emitting its payment result without charging", reservationId)
+            return CompletableFuture.completedFuture(previous)
+        }
+
+        return paymentService.processPaymentAsync(request, eventAttributes, publishEvents = false)
+            .handle { response, error ->
+                val events = if (error == null) {
+                    logger.info("Payment {} approved for reservation: {}", response.paymentId, reservationId)
+                    listOf(paymentApprovedEvent(response, eventAttributes))
+                } else {
+                    val cause = (error as? CompletionException)?.cause ?: error
+                    logger.warn("Payment failed for reservation {}: {}", reservationId, cause.message)
+                    listOf(paymentFailedEvent(reservationId, eventAttributes, cause.message ?: "Payment failed"))
+                }
+                processedReservations.record(reservationId, events)
+                events
+            }
     }
 
     /**
-     * 결제를 처리하고 결제 ID를 반환합니다.
+     * 저장소에 남은 결제로부터 결과 이벤트를 만듭니다. 완료되지 않은 결제면 null
      */
-    private fun processPayment(reservationId: String, flightId: String, seats: Int): String {
-        val paymentId = "PAY-${UUID.randomUUID().toString().take(8)}"
-        val amount = BigDecimal(seats * 150000) // 좌석당 15만원
+    private fun toEvents(payment: PaymentResponse, eventAttributes: Map<String, Any>): List<OutboundEvent>? =
+        when (payment.status) {
+            PaymentStatus.SUCCESS -> listOf(paymentApprovedEvent(payment, eventAttributes))
+            PaymentStatus.FAILED -> listOf(paymentFailedEvent(payment.reservationId, eventAttributes, payment.message))
+            PaymentStatus.CANCELLED -> emptyList()
+            PaymentStatus.PENDING -> null
+        }
+
+    /**
+     * 같은 예약의 앞선 작업이 끝난 뒤 [task]를 시작합니다. 다른 예약의 작업과는 동시에 진행됩니다.
+     */
+    private fun submitInOrder(reservationId: String, task: () -> CompletableFuture<Unit>) {
+        val done = CompletableFuture<Unit>()
+        val previous = tails.put(reservationId, done) ?: CompletableFuture.completedFuture(Unit)
 
-        logger.info("Processing payment {} for reservation {} - Amount: {}원",
-            paymentId, reservationId, amount)
+        previous
+            .thenCompose { task() }
+            .whenComplete { _, error ->
+                if (error != null) {
+                    logger.error("Unexpected payment task failure for reservation {}: {}", reservationId, error.message, error)
+                }
+                tails.remove(reservationId, done)
+                inFlight.release()
+                resumeIfReady()
+                done.complete(Unit)
+            }
+    }
 
-        // 실제로는 PaymentService.processPayment()를 호출하겠지만,
-        // 여기서는 이벤트 체인 데모를 위해 간단히 시뮬레이션
-        Thread.sleep(100) // 결제 처리 시간 시뮬레이션
+    /**
+     * 이벤트 메시지를 결제 요청과 결과 이벤트에 실을 값으로 변환합니다. 처리할 수 없는 레코드면 [IllegalArgumentException]
+     */
+    private fun parseSeatReserved(message: String): Pair<PaymentRequest, Map<String, Any>> {
+        val eventData = objectMapper.readTree(message)
+        val reservationId = eventData.get("reservationId")?.asText()?.takeIf { it.isNotBlank() }
+            ?: throw IllegalArgumentException("reservationId is missing")
+        val seatsNode = eventData.get("reservedSeats")
+        val reservedSeats = when {
+            seatsNode == null || seatsNode.isNull -> 1
+            seatsNode.isIntegralNumber && seatsNode.canConvertToInt() -> seatsNode.intValue()
+            else -> throw IllegalArgumentException("reservedSeats is not an integer: $seatsNode")
+        }
+        require(reservedSeats > 0) { "reservedSeats must be positive: $reservedSeats" }
+        val flightId = eventData.get("flightId")?.asText() ?: "UNKNOWN"
 
-        return paymentId
+        val request = toPaymentRequest(reservationId, reservedSeats, eventData)
+        return request to mapOf("flightId" to flightId, "seats" to reservedSeats)
     }
 
     /**
-     * 결제 승인 이벤트를 발행합니다.
+     * 좌석 예약 이벤트로부터 결제 요청을 만듭니다.
+     *
+     * 이벤트 체인에는 고객 정보가 없으므로, 이벤트에 승객 정보가 없으면 예약 ID로 대신합니다.
      */
-    private fun publishPaymentApprovedEvent(
-        reservationId: String,
-        flightId: String,
-        paymentId: String,
-        seats: Int
-    ) {
-        val eventData = mapOf(
+    private fun toPaymentRequest(reservationId: String, seats: Int, eventData: JsonNode): PaymentRequest {
+        val passengerName = eventData.get("passengerName")?.asText()?.takeIf { it.isNotBlank() } ?: reservationId
+        val passengerEmail = eventData.get("passengerEmail")?.asText()?.takeIf { it.isNotBlank() }
+            ?: "$reservationId@$EVENT_CUSTOMER_DOMAIN"
+
+        val amount = try {
+            farePerSeat * seats
+        } catch (e: ArithmeticException) {
+            throw IllegalArgumentException("Payment amount overflows for $seats seats")
+        }
+
+        return PaymentRequest(
+            reservationId = reservationId,
+            amount = amount,
+            paymentMethod = eventData.get("paymentMethod")?.asText()?.takeIf { it.isNotBlank() } ?: DEFAULT_PAYMENT_METHOD,
+            customerInfo = CustomerInfo(name = passengerName, email = passengerEmail)
+        )
+    }
+
+    private fun paymentApprovedEvent(payment: PaymentResponse, eventAttributes: Map<String, Any>) =
+        OutboundEvent("payment.approved", payment.reservationId, paymentService.paymentApprovedEvent(payment, eventAttributes))
+
+    /**
+     * 결제 실패 이벤트를 만듭니다.
+     */
+    private fun paymentFailedEvent(reservationId: String, eventAttributes: Map<String, Any>, reason: String): OutboundEvent {
+        val eventData = eventAttributes + mapOf(
             "reservationId" to reservationId,
-            "flightId" to flightId,
-            "paymentId" to paymentId,
-            "seats" to seats,
-            "amount" to (seats * 150000),
-            "paymentStatus" to "APPROVED",
+            "paymentStatus" to "FAILED",
+            "reason" to reason,
             "timestamp" to System.currentTimeMillis()
         )
+        return OutboundEvent("payment.failed", reservationId, objectMapper.writeValueAsString(eventData))
+    }
+
+    /**
+     * 종료 시 진행 중인 결제가 끝날 때까지 기다립니다.
+     */
+    override fun destroy() {
+        admission.shutdownNow()
+        if (!inFlight.tryAcquire(maxInFlight, SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            logger.warn("Shutting down with {} payments still in flight", maxInFlight - inFlight.availablePermits())
+        }
+    }
 
-        val eventJson = objectMapper.writeValueAsString(eventData)
-        kafkaTemplate.send("payment.approved", reservationId, eventJson)
-        logger.info("Published payment.approved event: {}", eventJson)
+    companion object {
+        private const val DEFAULT_PAYMENT_METHOD = "CARD"
+        private const val EVENT_CUSTOMER_DOMAIN = "reservation.airline.local"
+        private const val SHUTDOWN_TIMEOUT_SECONDS = 30L
+        private const val ADMISSION_CHECK_MILLIS = 10L
+        const val LISTENER_ID = "payment-seat-reserved"
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,132 @@
+package com.airline.payment.listener
+
+import java.util.concurrent.atomic.AtomicLongArray
+import kotlin.math.ceil
+import kotlin.math.ln
+import kotlin.math.roundToInt
+
+/**
+ * 시간 창 블룸 필터
+ *
+ * 현재/이전 두 세대의 비트 배열을 유지하고 [windowMs]마다 세대를 교체합니다.
+ * 추가한 키는 최소 [windowMs], 최대 2 x [windowMs] 동안 "있을 수 있음"으로 판정되며,
+ * 메모리는 키 수와 관계없이 두 세대 크기로 고정됩니다.
+ *
+ * 조회와 추가는 잠금 없이 비트 연산으로 처리하고, 세대 교체만 동기화합니다.
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+internal class TimeWindowedBloomFilter(
+    expectedInsertions: Int,
+    falsePositiveRate: Double,
+    private val windowMs: Long,
+    private val clock: () -> Long = System::currentTimeMillis
+) {
+    private val bitCount: Int
+    private val hashCount: Int
+
+    @Volatile
+    private var current: Generation
+
+    @Volatile
+    private var previous: Generation
+
+    init {
+        require(expectedInsertions > 0) { "expectedInsertions must be positive" }
+        require(falsePositiveRate > 0.0 && falsePositiveRate < 1.0) { "falsePositiveRate must be in (0, 1)" }
+
+        // m = -n ln p / (ln 2)^2, k = m / n ln 2
+        val bits = ceil(-expectedInsertions * ln(falsePositiveRate) / (LN2 * LN2)).toLong()
+        bitCount = bits.coerceIn(Long.SIZE_BITS.toLong(), MAX_BITS).toInt()
+        hashCount = (bitCount.toDouble() / expectedInsertions * LN2).roundToInt().coerceIn(1, MAX_HASHES)
+
+        val now = clock()
+        current = Generation(bitCount, now)
+        previous = Generation(bitCount, now)
+    }
+
+    fun mightContain(key: String): Boolean {
+        rotateIfExpired()
+        val hash = hash64(key)
+        return current.containsAll(hash) || previous.containsAll(hash)
+    }
+
+    fun put(key: String) {
+        rotateIfExpired()
+        current.setAll(hash64(key))
+    }
+
+    /**
+     * 세대당 비트 배열 크기 (바이트)
+     */
+    fun generationSizeBytes(): Long = (bitCount.toLong() + Long.SIZE_BITS - 1) / Long.SIZE_BITS * Long.SIZE_BYTES
+
+    private fun rotateIfExpired() {
+        val now = clock()
+        if (now - current.startedAt < windowMs) return
+
+        synchronized(this) {
+            val elapsed = now - current.startedAt
+            if (elapsed < windowMs) return
+            // 두 창 이상 비어 있었다면 이전 세대도 만료
+            previous = if (elapsed < 2 * windowMs) current else Generation(bitCount, now)
+            current = Generation(bitCount, now)
+        }
+    }
+
+    private fun Generation.containsAll(hash: Long): Boolean {
+        forEachIndex(hash) { index -> if (!get(index)) return false }
+        return true
+    }
+
+    private fun Generation.setAll(hash: Long) {
+        forEachIndex(hash) { index -> set(index) }
+    }
+
+    /**
+     * 64비트 해시의 상위/하위 32비트로 k개의 위치를 만듭니다 (Kirsch-Mitzenmacher 이중 해싱)
+     */
+    private inline fun forEachIndex(hash: Long, action: (Int) -> Unit) {
+        val h1 = hash.toInt()
+        val h2 = (hash ushr 32).toInt()
+        for (i in 1..hashCount) {
+            val combined = h1 + i * h2
+            action((combined and Int.MAX_VALUE) % bitCount)
+        }
+    }
+
+    private class Generation(bitCount: Int, val startedAt: Long) {
+        private val words = AtomicLongArray((bitCount + Long.SIZE_BITS - 1) / Long.SIZE_BITS)
+
+        fun get(index: Int): Boolean = words.get(index ushr 6) and (1L shl index) != 0L
+
+        fun set(index: Int) {
+            val mask = 1L shl index
+            val word = index ushr 6
+            while (true) {
+                val value = words.get(word)
+                if (value and mask != 0L || words.compareAndSet(word, value, value or mask)) return
+            }
+        }
+    }
+
+    companion object {
+        private val LN2 = ln(2.0)
+        private const val MAX_BITS = Int.MAX_VALUE.toLong() - Long.SIZE_BITS
+        private const val MAX_HASHES = 16
+
+        /**
+         * FNV-1a 64비트 해시에 murmur3 최종 혼합을 더한 문자열 해시
+         */
+        private fun hash64(key: String): Long {
+            var hash = -0x340d631b7bdddcdbL
+            for (char in key) {
+                hash = (hash xor char.code.toLong()) * 0x100000001b3L
+            }
+            hash = (hash xor (hash ushr 33)) * -0xae502812aa7333L
+            hash = (hash xor (hash ushr 33)) * -0x3b314601e57a13adL
+            return hash xor (hash ushr 33)
+        }
+    }
+}
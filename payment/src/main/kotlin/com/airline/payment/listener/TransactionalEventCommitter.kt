@@ -0,0 +1,233 @@
+package com.airline.payment.listener
+
+import com.airline.payment.config.PaymentConfig
+import org.apache.kafka.clients.consumer.CommitFailedException
+import org.apache.kafka.clients.consumer.ConsumerGroupMetadata
+import org.apache.kafka.clients.consumer.OffsetAndMetadata
+import org.apache.kafka.common.TopicPartition
+import org.apache.kafka.common.errors.FencedInstanceIdException
+import org.apache.kafka.common.errors.IllegalGenerationException
+import org.apache.kafka.common.errors.ProducerFencedException
+import org.apache.kafka.common.errors.UnknownMemberIdException
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.DisposableBean
+import org.springframework.beans.factory.annotation.Qualifier
+import org.springframework.kafka.core.KafkaTemplate
+import org.springframework.stereotype.Component
+import java.util.TreeMap
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.locks.ReentrantLock
+import kotlin.concurrent.withLock
+
+/**
+ * 소비한 레코드의 결과 이벤트와 오프셋을 Kafka 트랜잭션으로 함께 커밋하는 커미터 (consume-transform-produce)
+ *
+ * 결제는 비동기로 끝나는 순서가 레코드 순서와 다르므로 파티션별로 레코드를 추적하고,
+ * 앞선 레코드가 모두 끝난 연속 구간만 꺼내 결과 이벤트 발행과 `sendOffsetsToTransaction`을 한 트랜잭션으로 커밋합니다.
+ * 커밋되지 않은 레코드는 재전달되고, 커밋된 레코드의 이벤트는 정확히 한 번만 보입니다.
+ *
+ * 레코드마다 트랜잭션을 열지 않고 [PaymentConfig.ListenerConfig.commitIntervalMs]마다
+ * (또는 [PaymentConfig.ListenerConfig.maxRecordsPerTransaction]건이 쌓이면) 모인 레코드를 한 트랜잭션으로 묶습니다.
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+@Component
+class TransactionalEventCommitter(
+    @Qualifier("transactionalKafkaTemplate") private val kafkaTemplate: KafkaTemplate<String, String>,
+    paymentConfig: PaymentConfig
+) : DisposableBean {
+    private val logger = LoggerFactory.getLogger(TransactionalEventCommitter::class.java)
+
+    private val listenerConfig = paymentConfig.listener
+    private val maxRecords = listenerConfig.maxRecordsPerTransaction.coerceAtLeast(1)
+
+    private val lock = ReentrantLock()
+    private val partitions = HashMap<TopicPartition, PartitionProgress>()
+    private val completedSinceCommit = AtomicInteger(0)
+
+    private val committer = Executors.newSingleThreadScheduledExecutor { runnable ->
+        Thread(runnable, "payment-tx-committer").apply { isDaemon = true }
+    }
+
+    private val transactions = AtomicLong(0)
+    private val committedRecords = AtomicLong(0)
+    private val publishedEvents = AtomicLong(0)
+    private val abortedTransactions = AtomicLong(0)
+    private val fencedTransactions = AtomicLong(0)
+
+    init {
+        committer.scheduleWithFixedDelay(
+            ::commitSafely,
+            listenerConfig.commitIntervalMs,
+            listenerConfig.commitIntervalMs,
+            TimeUnit.MILLISECONDS
+        )
+    }
+
+    /**
+     * 소비한 레코드를 등록합니다. 컨슈머 스레드에서 레코드 순서대로 호출해야 합니다.
+     *
+     * 이미 지나간 오프셋이 다시 들어오면 (리밸런스나 seek 후 재전달) 해당 파티션의 추적 상태를 새로 시작합니다.
+     */
+    fun register(partition: TopicPartition, offset: Long, groupMetadata: ConsumerGroupMetadata) {
+        lock.withLock {
+            val progress = partitions[partition]
+                ?.takeIf { offset > it.lastRegistered }
+                ?: PartitionProgress().also { partitions[partition] = it }
+            progress.lastRegistered = offset
+            progress.groupMetadata = groupMetadata
+            progress.records[offset] = null
+        }
+    }
+
+    /**
+     * 레코드 처리 결과를 기록합니다. 결과 이벤트는 앞선 레코드가 모두 끝난 뒤 오프셋과 함께 커밋됩니다.
+     */
+    fun complete(partition: TopicPartition, offset: Long, events: List<OutboundEvent>) {
+        lock.withLock {
+            val progress = partitions[partition] ?: return
+            if (!progress.records.containsKey(offset)) return
+            progress.records[offset] = events
+        }
+        if (completedSinceCommit.incrementAndGet() == maxRecords) {
+            committer.execute(::commitSafely)
+        }
+    }
+
+    /**
+     * 트랜잭션 커밋 통계
+     */
+    fun getStatistics(): Map<String, Long> = mapOf(
+        "transactions" to transactions.get(),
+        "committedRecords" to committedRecords.get(),
+        "publishedEvents" to publishedEvents.get(),
+        "abortedTransactions" to abortedTransactions.get(),
+        "fencedTransactions" to fencedTransactions.get(),
+        "pendingRecords" to lock.withLock { partitions.values.sumOf { it.records.size }.toLong() }
+    )
+
+    private fun commitSafely() {
+        try {
+            commit()
+        } catch (e: Exception) {
+            logger.error("Unexpected failure while committing payment events: {}", e.message, e)
+        }
+    }
+
+    /**
+     * 파티션별로 커밋 가능한 연속 구간을 꺼내 컨슈머(그룹 멤버)별 트랜잭션으로 커밋합니다.
+     */
+    private fun commit() {
+        completedSinceCommit.set(0)
+        val drained = lock.withLock {
+            partitions.mapNotNull { (partition, progress) -> progress.drain(partition, maxRecords) }
+        }
+        if (drained.isEmpty()) return
+
+        drained.groupBy { it.groupMetadata }.forEach { (groupMetadata, batch) ->
+            try {
+                kafkaTemplate.executeInTransaction { operations ->
+                    batch.forEach { segment ->
+                        segment.events().forEach { operations.send(it.topic, it.key, it.value) }
+                    }
+                    operations.sendOffsetsToTransaction(
+                        batch.associate { it.partition to OffsetAndMetadata(it.nextOffset()) },
+                        groupMetadata
+                    )
+                }
+                transactions.incrementAndGet()
+                committedRecords.addAndGet(batch.sumOf { it.records.size }.toLong())
+                publishedEvents.addAndGet(batch.sumOf { it.events().size }.toLong())
+            } catch (e: Exception) {
+                handleFailure(batch, e)
+            }
+        }
+    }
+
+    /**
+     * 커밋 실패 처리
+     *
+     * 파티션을 잃은 경우(펜싱, 세대 변경)에는 새 소유자가 재처리하므로 버리고, 그 밖의 경우는 다음 커밋에서 다시 시도합니다.
+     */
+    private fun handleFailure(batch: List<DrainedSegment>, error: Exception) {
+        if (isFenced(error)) {
+            fencedTransactions.incrementAndGet()
+            logger.warn("Payment event transaction fenced for {}: {}", batch.map { it.partition }, error.message)
+            lock.withLock { batch.forEach { partitions.remove(it.partition, it.progress) } }
+            return
+        }
+
+        abortedTransactions.incrementAndGet()
+        logger.error("Payment event transaction aborted for {}, will retry: {}", batch.map { it.partition }, error.message)
+        lock.withLock { batch.forEach { it.progress.records.putAll(it.records) } }
+    }
+
+    private fun isFenced(error: Throwable): Boolean =
+        generateSequence(error) { it.cause }.take(MAX_CAUSE_DEPTH).any {
+            it is ProducerFencedException || it is CommitFailedException || it is IllegalGenerationException ||
+                it is UnknownMemberIdException || it is FencedInstanceIdException
+        }
+
+    /**
+     * 종료 시 커밋 가능한 결과를 마지막으로 커밋합니다.
+     */
+    override fun destroy() {
+        committer.execute(::commitSafely)
+        committer.shutdown()
+        if (!committer.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            committer.shutdownNow()
+        }
+    }
+
+    /**
+     * 파티션별 처리 상황. 오프셋 → 결과 이벤트 (처리 중이면 null)
+     */
+    private class PartitionProgress {
+        val records = TreeMap<Long, List<OutboundEvent>?>()
+        var lastRegistered = -1L
+        lateinit var groupMetadata: ConsumerGroupMetadata
+
+        /**
+         * 앞에서부터 처리가 끝난 연속 구간을 꺼냅니다.
+         */
+        fun drain(partition: TopicPartition, limit: Int): DrainedSegment? {
+            val segment = TreeMap<Long, List<OutboundEvent>>()
+            while (segment.size < limit) {
+                val head = records.firstEntry() ?: break
+                val events = head.value ?: break
+                segment[head.key] = events
+                records.pollFirstEntry()
+            }
+            return if (segment.isEmpty()) null else DrainedSegment(partition, this, groupMetadata, segment)
+        }
+    }
+
+    private class DrainedSegment(
+        val partition: TopicPartition,
+        val progress: PartitionProgress,
+        val groupMetadata: ConsumerGroupMetadata,
+        val records: TreeMap<Long, List<OutboundEvent>>
+    ) {
+        fun events(): List<OutboundEvent> = records.values.flatten()
+
+        fun nextOffset(): Long = records.lastKey() + 1
+    }
+
+    companion object {
+        private const val MAX_CAUSE_DEPTH = 8
+        private const val SHUTDOWN_TIMEOUT_SECONDS = 10L
+    }
+}
+
+/**
+ * 트랜잭션으로 발행할 결과 이벤트
+ */
+data class OutboundEvent(
+    val topic: String,
+    val key: String,
+    val value: String
+)
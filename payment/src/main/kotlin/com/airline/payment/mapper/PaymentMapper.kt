@@ -54,7 +54,8 @@ class PaymentMapper {
             customerName = aggregate.getCustomerName(),
             customerEmail = aggregate.getCustomerEmail(),
             processedAt = aggregate.getProcessedAt() ?: java.time.LocalDateTime.now(),
-            message = aggregate.getMessage()
+            message = aggregate.getMessage(),
+            refundSubmittedAt = aggregate.getRefundSubmittedAt()
         )
     }
     
@@ -74,7 +75,8 @@ class PaymentMapper {
             customerEmail = payment.customerEmail ?: "",
             status = convertToDomainStatus(payment.status),
             processedAt = payment.processedAt,
-            message = payment.message
+            message = payment.message,
+            refundSubmittedAt = payment.refundSubmittedAt
         )
     }
     
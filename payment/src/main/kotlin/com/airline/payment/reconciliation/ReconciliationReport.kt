@@ -0,0 +1,119 @@
+package com.airline.payment.reconciliation
+
+import java.io.BufferedWriter
+import java.io.Closeable
+import java.nio.file.Files
+import java.nio.file.Path
+import java.time.LocalDateTime
+import java.util.EnumMap
+
+/**
+ * 대사 불일치 유형
+ */
+enum class MismatchType {
+    /** 결제는 승인/취소되었으나 정산 파일에 없음 */
+    MISSING_IN_SETTLEMENT,
+
+    /** 정산 파일에 있으나 결제 기록이 없음 */
+    MISSING_IN_PAYMENTS,
+
+    /** 금액이 다름 */
+    AMOUNT_MISMATCH,
+
+    /** 정산 상태와 결제 상태가 대응하지 않음 */
+    STATUS_MISMATCH,
+
+    /** 같은 결제가 정산 파일에 두 번 이상 있음 */
+    DUPLICATE_IN_SETTLEMENT,
+
+    /** 해석할 수 없는 정산 행 */
+    MALFORMED_ROW
+}
+
+/**
+ * 대사 불일치 한 건
+ *
+ * @property expected 결제 기록 값
+ * @property actual 정산 파일 값
+ */
+data class Mismatch(
+    val type: MismatchType,
+    val paymentId: String?,
+    val lineNumber: Long?,
+    val expected: String?,
+    val actual: String?
+)
+
+enum class ReconciliationStatus {
+    RUNNING, COMPLETED, FAILED
+}
+
+/**
+ * 대사 실행 결과
+ *
+ * 전체 불일치는 [reportFile]에 CSV로 기록하고, 응답에는 유형별 건수와 앞부분 [samples]만 담습니다.
+ *
+ * @property spilled 결제 수가 메모리 한도를 넘어 디스크 파티션으로 조인했는지 여부
+ */
+data class ReconciliationReport(
+    val runId: String,
+    val settlementFile: String,
+    val status: ReconciliationStatus,
+    val startedAt: LocalDateTime,
+    val completedAt: LocalDateTime? = null,
+    val settlementRows: Long = 0,
+    val paymentRows: Long = 0,
+    val matchedRows: Long = 0,
+    val mismatchCounts: Map<MismatchType, Long> = emptyMap(),
+    val spilled: Boolean = false,
+    val reportFile: String? = null,
+    val samples: List<Mismatch> = emptyList(),
+    val error: String? = null
+)
+
+/**
+ * 불일치를 CSV 파일로 흘려 쓰고, 유형별 건수와 앞부분 표본만 메모리에 유지합니다.
+ */
+internal class MismatchReportWriter(
+    reportFile: Path,
+    private val sampleSize: Int
+) : Closeable {
+    private val writer: BufferedWriter = Files.newBufferedWriter(reportFile)
+    private val counts = EnumMap<MismatchType, Long>(MismatchType::class.java)
+    private val samples = ArrayList<Mismatch>(sampleSize)
+
+    init {
+        writer.write("type,payment_id,line_number,expected,actual")
+        writer.newLine()
+    }
+
+    fun write(mismatch: Mismatch) {
+        counts.merge(mismatch.type, 1L, Long::plus)
+        if (samples.size < sampleSize) samples += mismatch
+
+        writer.write(mismatch.type.name)
+        writer.write(",")
+        writer.write(csv(mismatch.paymentId))
+        writer.write(",")
+        writer.write(mismatch.lineNumber?.toString() ?: "")
+        writer.write(",")
+        writer.write(csv(mismatch.expected))
+        writer.write(",")
+        writer.write(csv(mismatch.actual))
+        writer.newLine()
+    }
+
+    fun counts(): Map<MismatchType, Long> = counts.toMap()
+
+    fun samples(): List<Mismatch> = samples.toList()
+
+    override fun close() {
+        writer.close()
+    }
+
+    private fun csv(value: String?): String = when {
+        value == null -> ""
+        value.any { it == ',' || it == '"' || it == '\n' } -> "\"" + value.replace("\"", "\"\"") + "\""
+        else -> value
+    }
+}
@@ -0,0 +1,142 @@
+package com.airline.payment.reconciliation
+
+import com.airline.payment.config.PaymentConfig
+import com.airline.payment.exception.InvalidPaymentRequestException
+import com.airline.payment.repository.PaymentRepository
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.DisposableBean
+import org.springframework.stereotype.Service
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.Paths
+import java.time.LocalDateTime
+import java.util.UUID
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+
+/**
+ * 정산 대사 실행 관리
+ *
+ * 설정된 정산 디렉터리의 파일을 [PaymentRepository]의 결제와 대사합니다.
+ * 대사는 전용 스레드 하나에서 순서대로 실행되므로 여러 대사가 동시에 힙을 나누어 쓰지 않으며,
+ * 최근 [PaymentConfig.ReconciliationConfig.maxRetainedRuns]건의 결과만 보관합니다.
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+@Service
+class ReconciliationService(
+    private val paymentRepository: PaymentRepository,
+    private val paymentConfig: PaymentConfig
+) : DisposableBean {
+    private val logger = LoggerFactory.getLogger(ReconciliationService::class.java)
+
+    private val executor: ExecutorService = Executors.newSingleThreadExecutor { runnable ->
+        Thread(runnable, "payment-reconciliation").apply { isDaemon = true }
+    }
+    private val runs = ConcurrentHashMap<String, ReconciliationReport>()
+
+    /**
+     * 정산 파일 대사를 시작합니다.
+     *
+     * @param settlementFile 정산 디렉터리 안의 파일 이름
+     * @return 시작 상태의 대사 결과 (runId로 진행 상황 조회)
+     * @throws InvalidPaymentRequestException 파일이 정산 디렉터리 밖을 가리키거나 존재하지 않을 때
+     */
+    fun start(settlementFile: String): ReconciliationReport {
+        val path = resolveSettlementFile(settlementFile)
+        val runId = "REC-" + UUID.randomUUID()
+        val report = ReconciliationReport(
+            runId = runId,
+            settlementFile = settlementFile,
+            status = ReconciliationStatus.RUNNING,
+            startedAt = LocalDateTime.now()
+        )
+        runs[runId] = report
+        evictOldRuns()
+
+        executor.execute { run(report, path) }
+        logger.info("Reconciliation {} started for {}", runId, path)
+        return report
+    }
+
+    /**
+     * 대사 결과를 조회합니다.
+     *
+     * @return 대사 결과, 없거나 이미 정리되었으면 null
+     */
+    fun getReport(runId: String): ReconciliationReport? = runs[runId]
+
+    override fun destroy() {
+        executor.shutdownNow()
+    }
+
+    private fun run(started: ReconciliationReport, settlementFile: Path) {
+        val config = paymentConfig.reconciliation
+
+        val finished = try {
+            val reportFile = Files.createDirectories(Paths.get(config.reportDirectory)).resolve("${started.runId}.csv")
+            MismatchReportWriter(reportFile, config.sampleSize).use { writer ->
+                val result = SettlementReconciler(
+                    maxInMemoryRows = config.maxInMemoryRows,
+                    spillPartitions = config.spillPartitions,
+                    spillDirectory = Paths.get(config.spillDirectory),
+                    mapWindowBytes = config.mapWindowBytes
+                ).reconcile(::paymentRows, settlementFile, writer)
+
+                started.copy(
+                    status = ReconciliationStatus.COMPLETED,
+                    completedAt = LocalDateTime.now(),
+                    settlementRows = result.settlementRows,
+                    paymentRows = result.paymentRows,
+                    matchedRows = result.matchedRows,
+                    mismatchCounts = writer.counts(),
+                    spilled = result.spilled,
+                    reportFile = reportFile.toString(),
+                    samples = writer.samples()
+                )
+            }
+        } catch (e: Exception) {
+            logger.error("Reconciliation {} failed", started.runId, e)
+            started.copy(
+                status = ReconciliationStatus.FAILED,
+                completedAt = LocalDateTime.now(),
+                error = e.message
+            )
+        }
+
+        runs[started.runId] = finished
+        logger.info("Reconciliation {} {}: settlementRows={}, paymentRows={}, matched={}, mismatches={}",
+            started.runId, finished.status, finished.settlementRows, finished.paymentRows,
+            finished.matchedRows, finished.mismatchCounts)
+    }
+
+    private fun paymentRows(action: (PaymentRow) -> Unit) {
+        paymentRepository.forEach { payment ->
+            action(PaymentRow(payment.paymentId, payment.amount.minorUnits, payment.status))
+        }
+    }
+
+    private fun resolveSettlementFile(settlementFile: String): Path {
+        val directory = Paths.get(paymentConfig.reconciliation.settlementDirectory).toAbsolutePath().normalize()
+        val path = directory.resolve(settlementFile).normalize()
+        if (!path.startsWith(directory)) {
+            throw InvalidPaymentRequestException("Settlement file must be inside the settlement directory: $settlementFile")
+        }
+        if (!Files.isRegularFile(path)) {
+            throw InvalidPaymentRequestException("Settlement file not found: $settlementFile")
+        }
+        return path
+    }
+
+    private fun evictOldRuns() {
+        val excess = runs.size - paymentConfig.reconciliation.maxRetainedRuns
+        if (excess <= 0) return
+        runs.values
+            .filter { it.status != ReconciliationStatus.RUNNING }
+            .sortedBy { it.startedAt }
+            .take(excess)
+            .forEach { runs.remove(it.runId) }
+    }
+}
@@ -0,0 +1,246 @@
+package com.airline.payment.reconciliation
+
+import com.airline.payment.dto.PaymentStatus
+import java.nio.MappedByteBuffer
+import java.nio.channels.FileChannel
+import java.nio.file.Path
+import java.nio.file.StandardOpenOption
+
+/**
+ * 정산 파일 한 행
+ *
+ * @property lineNumber 파일 내 행 번호 (1부터)
+ * @property amountMinor 정산 금액 (최소 단위, [com.airline.payment.domain.valueobject.Money.minorUnits]와 같은 단위)
+ */
+data class SettlementRecord(
+    val lineNumber: Long,
+    val paymentId: String,
+    val amountMinor: Long,
+    val status: SettlementStatus
+)
+
+/**
+ * 정산 파일의 거래 상태와 대응하는 결제 상태
+ */
+enum class SettlementStatus(val expectedPaymentStatus: PaymentStatus) {
+    SETTLED(PaymentStatus.SUCCESS),
+    REFUNDED(PaymentStatus.CANCELLED),
+    DECLINED(PaymentStatus.FAILED)
+}
+
+/**
+ * 정산 파일(CSV) 스트리밍 리더
+ *
+ * 파일을 [windowBytes] 크기 창으로 나누어 메모리 매핑하고, 행을 힙으로 읽어 들이지 않고 매핑된 바이트에서 바로 파싱합니다.
+ * 창 경계에 걸친 행은 다음 창을 그 행의 시작 위치부터 매핑하여 처리합니다.
+ *
+ * 형식: `payment_id,amount,status[,...]` (첫 행이 머리글이면 건너뜀, 나머지 열은 무시)
+ * - amount: 소수점 둘째 자리까지의 십진수, [java.math.BigDecimal] 없이 최소 단위 정수로 변환
+ * - status: [SettlementStatus] 이름 (대소문자 무시)
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+class SettlementFileReader(
+    private val path: Path,
+    private val windowBytes: Int = DEFAULT_WINDOW_BYTES
+) {
+    private val line = ByteArray(MAX_LINE_BYTES)
+
+    /**
+     * 파일의 모든 행을 읽습니다.
+     *
+     * @param onRecord 정상 행마다 호출
+     * @param onMalformed 해석할 수 없는 행마다 (행 번호, 사유)로 호출
+     * @return 읽은 데이터 행 수 (머리글 제외, 잘못된 행 포함)
+     */
+    fun read(onRecord: (SettlementRecord) -> Unit, onMalformed: (Long, String) -> Unit): Long {
+        var rows = 0L
+        var lineNumber = 0L
+
+        FileChannel.open(path, StandardOpenOption.READ).use { channel ->
+            val size = channel.size()
+            var position = 0L
+
+            while (position < size) {
+                val length = minOf(windowBytes.toLong(), size - position).toInt()
+                val lastWindow = position + length >= size
+                val buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length.toLong())
+
+                var lineStart = 0
+                for (index in 0 until length) {
+                    if (buffer.get(index) != NEWLINE) continue
+                    lineNumber++
+                    if (parseLine(buffer, lineStart, index, lineNumber, onRecord, onMalformed)) rows++
+                    lineStart = index + 1
+                }
+                if (lastWindow && lineStart < length) {
+                    lineNumber++
+                    if (parseLine(buffer, lineStart, length, lineNumber, onRecord, onMalformed)) rows++
+                    lineStart = length
+                }
+                if (lineStart == 0 && !lastWindow) {
+                    throw IllegalStateException("Settlement line ${lineNumber + 1} is longer than the $windowBytes byte read window")
+                }
+                position += lineStart
+            }
+        }
+        return rows
+    }
+
+    /**
+     * 한 행을 해석합니다. 데이터 행이면 true (빈 행과 머리글은 false)
+     */
+    private fun parseLine(
+        buffer: MappedByteBuffer,
+        start: Int,
+        end: Int,
+        lineNumber: Long,
+        onRecord: (SettlementRecord) -> Unit,
+        onMalformed: (Long, String) -> Unit
+    ): Boolean {
+        var length = end - start
+        if (length > 0 && buffer.get(start + length - 1) == CARRIAGE_RETURN) length--
+        if (length == 0) return false
+        if (length > MAX_LINE_BYTES) {
+            onMalformed(lineNumber, "line longer than $MAX_LINE_BYTES bytes")
+            return true
+        }
+        buffer.get(start, line, 0, length)
+
+        val idEnd = indexOf(COMMA, 0, length)
+        val amountEnd = if (idEnd < 0) -1 else indexOf(COMMA, idEnd + 1, length)
+        if (amountEnd < 0) {
+            if (lineNumber == 1L) return false
+            onMalformed(lineNumber, "expected payment_id,amount,status")
+            return true
+        }
+        val statusEnd = indexOf(COMMA, amountEnd + 1, length).let { if (it < 0) length else it }
+
+        val amountMinor = parseAmount(idEnd + 1, amountEnd)
+        if (amountMinor == null) {
+            // 첫 행의 금액 열이 숫자가 아니면 머리글로 간주
+            if (lineNumber == 1L) return false
+            onMalformed(lineNumber, "invalid amount")
+            return true
+        }
+        val status = parseStatus(amountEnd + 1, statusEnd)
+        if (status == null) {
+            onMalformed(lineNumber, "unknown status")
+            return true
+        }
+        val paymentId = field(0, idEnd)
+        if (paymentId.isEmpty()) {
+            onMalformed(lineNumber, "missing payment_id")
+            return true
+        }
+
+        onRecord(SettlementRecord(lineNumber, paymentId, amountMinor, status))
+        return true
+    }
+
+    private fun indexOf(target: Byte, from: Int, to: Int): Int {
+        for (index in from until to) {
+            if (line[index] == target) return index
+        }
+        return -1
+    }
+
+    /**
+     * 공백과 감싼 따옴표를 제외한 필드 범위를 문자열로 만듭니다.
+     */
+    private fun field(from: Int, to: Int): String {
+        var start = from
+        var end = to
+        while (start < end && isTrimmable(line[start])) start++
+        while (end > start && isTrimmable(line[end - 1])) end--
+        return String(line, start, end - start, Charsets.UTF_8)
+    }
+
+    /**
+     * "12345", "12345.6", "-12345.67" 형식의 금액을 최소 단위(1/100)로 변환합니다. 형식이 틀리거나 넘치면 null
+     */
+    private fun parseAmount(from: Int, to: Int): Long? {
+        var start = from
+        var end = to
+        while (start < end && isTrimmable(line[start])) start++
+        while (end > start && isTrimmable(line[end - 1])) end--
+        if (start == end) return null
+
+        val negative = line[start] == MINUS
+        if (negative) start++
+
+        var units = 0L
+        var fraction = 0L
+        var fractionDigits = -1
+        var digits = 0
+        try {
+            for (index in start until end) {
+                val byte = line[index]
+                if (byte == DOT && fractionDigits < 0) {
+                    fractionDigits = 0
+                    continue
+                }
+                val digit = byte - ZERO
+                if (digit !in 0..9) return null
+                digits++
+                if (fractionDigits < 0) {
+                    units = Math.addExact(Math.multiplyExact(units, 10L), digit.toLong())
+                } else {
+                    if (++fractionDigits > FRACTION_DIGITS) return null
+                    fraction = fraction * 10 + digit
+                }
+            }
+            if (digits == 0) return null
+            repeat(FRACTION_DIGITS - fractionDigits.coerceAtLeast(0)) { fraction *= 10 }
+
+            val minor = Math.addExact(Math.multiplyExact(units, MINOR_UNITS_PER_UNIT), fraction)
+            return if (negative) -minor else minor
+        } catch (e: ArithmeticException) {
+            return null
+        }
+    }
+
+    private fun parseStatus(from: Int, to: Int): SettlementStatus? {
+        var start = from
+        var end = to
+        while (start < end && isTrimmable(line[start])) start++
+        while (end > start && isTrimmable(line[end - 1])) end--
+
+        return STATUS_NAMES.firstOrNull { (name, _) -> equalsIgnoreCase(name, start, end) }?.second
+    }
+
+    private fun equalsIgnoreCase(name: ByteArray, from: Int, to: Int): Boolean {
+        if (to - from != name.size) return false
+        for (index in name.indices) {
+            val byte = line[from + index]
+            val upper = if (byte in LOWER_A..LOWER_Z) (byte - CASE_OFFSET).toByte() else byte
+            if (upper != name[index]) return false
+        }
+        return true
+    }
+
+    private fun isTrimmable(byte: Byte) = byte == SPACE || byte == TAB || byte == QUOTE
+
+    companion object {
+        const val DEFAULT_WINDOW_BYTES = 256 * 1024 * 1024
+        private const val MAX_LINE_BYTES = 4096
+        private const val FRACTION_DIGITS = 2
+        private const val MINOR_UNITS_PER_UNIT = 100L
+
+        private const val NEWLINE = '\n'.code.toByte()
+        private const val CARRIAGE_RETURN = '\r'.code.toByte()
+        private const val COMMA = ','.code.toByte()
+        private const val DOT = '.'.code.toByte()
+        private const val MINUS = '-'.code.toByte()
+        private const val ZERO = '0'.code.toByte()
+        private const val SPACE = ' '.code.toByte()
+        private const val TAB = '\t'.code.toByte()
+        private const val QUOTE = '"'.code.toByte()
+        private const val LOWER_A = 'a'.code.toByte()
+        private const val LOWER_Z = 'z'.code.toByte()
+        private const val CASE_OFFSET = 'a'.code - 'A'.code
+
+        private val STATUS_NAMES = SettlementStatus.entries.map { it.name.toByteArray(Charsets.US_ASCII) to it }
+    }
+}
@@ -0,0 +1,117 @@
+package com.airline.payment.reconciliation
+
+import com.airline.payment.domain.valueobject.Money
+import com.airline.payment.dto.PaymentStatus
+import java.nio.file.Path
+
+/**
+ * 정산 파일과 결제 기록 대사
+ *
+ * 결제 기록으로 해시 테이블을 만들고 정산 파일을 한 행씩 흘려 보내며 조인합니다.
+ * 정산 행은 메모리에 모으지 않으며, 결제 수가 [maxInMemoryRows]를 넘으면 [SpillingHashJoin]이 디스크 파티션으로 전환합니다.
+ * 불일치는 [MismatchReportWriter]로 바로 기록합니다.
+ *
+ * 판정 규칙:
+ * - 금액이 다르면 [MismatchType.AMOUNT_MISMATCH]
+ * - 정산 상태에 대응하는 결제 상태([SettlementStatus.expectedPaymentStatus])와 다르면 [MismatchType.STATUS_MISMATCH]
+ * - 같은 결제의 두 번째 이후 정산 행은 [MismatchType.DUPLICATE_IN_SETTLEMENT]
+ * - 정산 파일에 없는 결제 중 승인/취소된 결제만 [MismatchType.MISSING_IN_SETTLEMENT] (실패·대기 결제는 정산 대상이 아님)
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+internal class SettlementReconciler(
+    private val maxInMemoryRows: Int,
+    private val spillPartitions: Int,
+    private val spillDirectory: Path,
+    private val mapWindowBytes: Int = SettlementFileReader.DEFAULT_WINDOW_BYTES
+) {
+
+    /**
+     * 대사 결과 집계
+     */
+    data class Result(
+        val settlementRows: Long,
+        val paymentRows: Long,
+        val matchedRows: Long,
+        val spilled: Boolean
+    )
+
+    /**
+     * @param payments 결제 행을 하나씩 넘겨주는 함수 (결제 전체를 목록으로 만들지 않도록 콜백 형태)
+     * @param settlementFile 정산 파일
+     * @param report 불일치 기록
+     */
+    fun reconcile(
+        payments: ((PaymentRow) -> Unit) -> Unit,
+        settlementFile: Path,
+        report: MismatchReportWriter
+    ): Result {
+        SpillingHashJoin(maxInMemoryRows, spillPartitions, spillDirectory).use { join ->
+            var paymentRows = 0L
+            payments { row ->
+                join.addPayment(row)
+                paymentRows++
+            }
+
+            val sink = ReportingSink(report)
+            val settlementRows = SettlementFileReader(settlementFile, mapWindowBytes).read(
+                onRecord = { join.probe(it, sink) },
+                onMalformed = { lineNumber, reason ->
+                    report.write(Mismatch(MismatchType.MALFORMED_ROW, null, lineNumber, null, reason))
+                }
+            )
+            join.finish(sink)
+
+            return Result(settlementRows, paymentRows, sink.matched, join.spilled)
+        }
+    }
+
+    private class ReportingSink(private val report: MismatchReportWriter) : JoinSink {
+        var matched = 0L
+
+        override fun onMatch(payment: PaymentRow, settlement: SettlementRecord, duplicate: Boolean) {
+            if (duplicate) {
+                report.write(Mismatch(
+                    MismatchType.DUPLICATE_IN_SETTLEMENT, payment.paymentId, settlement.lineNumber,
+                    null, settlement.status.name
+                ))
+                return
+            }
+            matched++
+            if (payment.amountMinor != settlement.amountMinor) {
+                report.write(Mismatch(
+                    MismatchType.AMOUNT_MISMATCH, payment.paymentId, settlement.lineNumber,
+                    format(payment.amountMinor), format(settlement.amountMinor)
+                ))
+            }
+            if (payment.status != settlement.status.expectedPaymentStatus) {
+                report.write(Mismatch(
+                    MismatchType.STATUS_MISMATCH, payment.paymentId, settlement.lineNumber,
+                    payment.status.name, settlement.status.name
+                ))
+            }
+        }
+
+        override fun onSettlementOnly(settlement: SettlementRecord) {
+            report.write(Mismatch(
+                MismatchType.MISSING_IN_PAYMENTS, settlement.paymentId, settlement.lineNumber,
+                null, format(settlement.amountMinor)
+            ))
+        }
+
+        override fun onPaymentOnly(payment: PaymentRow) {
+            if (payment.status !in SETTLED_STATUSES) return
+            report.write(Mismatch(
+                MismatchType.MISSING_IN_SETTLEMENT, payment.paymentId, null,
+                format(payment.amountMinor), null
+            ))
+        }
+
+        private fun format(amountMinor: Long) = Money.ofMinor(amountMinor).toString()
+    }
+
+    companion object {
+        private val SETTLED_STATUSES = setOf(PaymentStatus.SUCCESS, PaymentStatus.CANCELLED)
+    }
+}
@@ -0,0 +1,219 @@
+package com.airline.payment.reconciliation
+
+import com.airline.payment.dto.PaymentStatus
+import org.slf4j.LoggerFactory
+import java.io.BufferedInputStream
+import java.io.BufferedOutputStream
+import java.io.Closeable
+import java.io.DataInputStream
+import java.io.DataOutputStream
+import java.nio.file.Files
+import java.nio.file.Path
+
+/**
+ * 대사용 결제 행 (조인의 build 측)
+ */
+data class PaymentRow(
+    val paymentId: String,
+    val amountMinor: Long,
+    val status: PaymentStatus
+)
+
+/**
+ * 조인 결과를 받는 쪽
+ */
+internal interface JoinSink {
+    /** 결제와 정산 행이 짝지어짐. 같은 결제의 두 번째 이후 정산 행이면 [duplicate] */
+    fun onMatch(payment: PaymentRow, settlement: SettlementRecord, duplicate: Boolean)
+
+    /** 결제 기록이 없는 정산 행 */
+    fun onSettlementOnly(settlement: SettlementRecord)
+
+    /** 정산 행이 없는 결제 */
+    fun onPaymentOnly(payment: PaymentRow)
+}
+
+/**
+ * 결제 ID 기준 해시 조인 (결제 = build, 정산 행 = probe)
+ *
+ * 결제 행이 [maxInMemoryRows] 이하면 메모리 해시 테이블 하나로 정산 행을 흘려 보내며 조인합니다.
+ * 한도를 넘으면 그때까지의 테이블과 이후 행을 결제 ID 해시로 [partitionCount]개 파일에 나누어 쓰고(spill),
+ * 정산 행도 같은 방식으로 나눈 뒤 파티션마다 테이블을 만들어 조인합니다 (Grace hash join).
+ * 따라서 힙에는 한 번에 파티션 하나 분량의 결제만 올라갑니다.
+ *
+ * 사용 순서: [addPayment] 전부 → [probe] 전부 → [finish]
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+internal class SpillingHashJoin(
+    private val maxInMemoryRows: Int,
+    private val partitionCount: Int,
+    spillBaseDirectory: Path
+) : Closeable {
+    private val logger = LoggerFactory.getLogger(SpillingHashJoin::class.java)
+
+    private val spillDirectory: Path by lazy {
+        Files.createDirectories(spillBaseDirectory)
+        Files.createTempDirectory(spillBaseDirectory, "reconciliation-")
+    }
+
+    private var table = HashMap<String, BuildEntry>()
+    private var paymentSpill: PartitionWriter? = null
+    private var settlementSpill: PartitionWriter? = null
+
+    val spilled: Boolean get() = paymentSpill != null
+
+    fun addPayment(row: PaymentRow) {
+        val spill = paymentSpill
+        if (spill != null) {
+            spill.writePayment(row)
+            return
+        }
+        table[row.paymentId] = BuildEntry(row)
+        if (table.size > maxInMemoryRows) spillPayments()
+    }
+
+    fun probe(record: SettlementRecord, sink: JoinSink) {
+        if (paymentSpill == null) {
+            probeTable(table, record, sink)
+        } else {
+            val spill = settlementSpill ?: PartitionWriter("settlement").also { settlementSpill = it }
+            spill.writeSettlement(record)
+        }
+    }
+
+    /**
+     * 남은 조인을 끝내고, 정산 행이 없는 결제를 알립니다.
+     */
+    fun finish(sink: JoinSink) {
+        val payments = paymentSpill
+        if (payments == null) {
+            emitUnmatched(table, sink)
+            return
+        }
+
+        val settlements = settlementSpill ?: PartitionWriter("settlement").also { settlementSpill = it }
+        payments.close()
+        settlements.close()
+
+        for (partition in 0 until partitionCount) {
+            val partitionTable = HashMap<String, BuildEntry>(maxOf(16, payments.counts[partition] * 4 / 3 + 1))
+            if (payments.counts[partition] > maxInMemoryRows) {
+                logger.warn("Reconciliation partition {} holds {} payments, above the in-memory limit of {}",
+                    partition, payments.counts[partition], maxInMemoryRows)
+            }
+            payments.reader(partition).use { input ->
+                repeat(payments.counts[partition]) {
+                    val row = readPayment(input)
+                    partitionTable[row.paymentId] = BuildEntry(row)
+                }
+            }
+            settlements.reader(partition).use { input ->
+                repeat(settlements.counts[partition]) { probeTable(partitionTable, readSettlement(input), sink) }
+            }
+            emitUnmatched(partitionTable, sink)
+        }
+    }
+
+    override fun close() {
+        paymentSpill?.close()
+        settlementSpill?.close()
+        if (paymentSpill != null || settlementSpill != null) {
+            Files.walk(spillDirectory).use { paths ->
+                paths.sorted(Comparator.reverseOrder()).forEach { Files.deleteIfExists(it) }
+            }
+        }
+    }
+
+    private fun spillPayments() {
+        logger.info("Reconciliation payments exceed {} rows, spilling to {} partitions", maxInMemoryRows, partitionCount)
+        val spill = PartitionWriter("payment")
+        table.values.forEach { spill.writePayment(it.row) }
+        paymentSpill = spill
+        table = HashMap()
+    }
+
+    private fun probeTable(table: Map<String, BuildEntry>, record: SettlementRecord, sink: JoinSink) {
+        val entry = table[record.paymentId]
+        if (entry == null) {
+            sink.onSettlementOnly(record)
+        } else {
+            sink.onMatch(entry.row, record, entry.matched)
+            entry.matched = true
+        }
+    }
+
+    private fun emitUnmatched(table: Map<String, BuildEntry>, sink: JoinSink) {
+        table.values.forEach { if (!it.matched) sink.onPaymentOnly(it.row) }
+    }
+
+    private fun partitionOf(paymentId: String): Int {
+        // HashMap과 같은 hashCode 하위 비트에 치우치지 않도록 섞은 뒤 나눔
+        val hash = paymentId.hashCode() * -0x61c88647
+        return ((hash ushr 16) xor hash and Int.MAX_VALUE) % partitionCount
+    }
+
+    private fun readPayment(input: DataInputStream) = PaymentRow(
+        paymentId = input.readUTF(),
+        amountMinor = input.readLong(),
+        status = PAYMENT_STATUSES[input.readByte().toInt()]
+    )
+
+    private fun readSettlement(input: DataInputStream) = SettlementRecord(
+        lineNumber = input.readLong(),
+        paymentId = input.readUTF(),
+        amountMinor = input.readLong(),
+        status = SETTLEMENT_STATUSES[input.readByte().toInt()]
+    )
+
+    private class BuildEntry(val row: PaymentRow) {
+        var matched = false
+    }
+
+    /**
+     * 파티션별 spill 파일
+     */
+    private inner class PartitionWriter(name: String) : Closeable {
+        private val files = List(partitionCount) { spillDirectory.resolve("$name-$it.bin") }
+        private val outputs = files.map { DataOutputStream(BufferedOutputStream(Files.newOutputStream(it), BUFFER_BYTES)) }
+        val counts = IntArray(partitionCount)
+        private var closed = false
+
+        fun writePayment(row: PaymentRow) {
+            val partition = partitionOf(row.paymentId)
+            outputs[partition].apply {
+                writeUTF(row.paymentId)
+                writeLong(row.amountMinor)
+                writeByte(row.status.ordinal)
+            }
+            counts[partition]++
+        }
+
+        fun writeSettlement(record: SettlementRecord) {
+            val partition = partitionOf(record.paymentId)
+            outputs[partition].apply {
+                writeLong(record.lineNumber)
+                writeUTF(record.paymentId)
+                writeLong(record.amountMinor)
+                writeByte(record.status.ordinal)
+            }
+            counts[partition]++
+        }
+
+        fun reader(partition: Int) =
+            DataInputStream(BufferedInputStream(Files.newInputStream(files[partition]), BUFFER_BYTES))
+
+        override fun close() {
+            if (closed) return
+            closed = true
+            outputs.forEach { it.close() }
+        }
+    }
+
+    companion object {
+        private const val BUFFER_BYTES = 64 * 1024
+        private val PAYMENT_STATUSES = PaymentStatus.entries
+        private val SETTLEMENT_STATUSES = SettlementStatus.entries
+    }
+}
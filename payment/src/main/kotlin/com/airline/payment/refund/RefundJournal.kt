@@ -0,0 +1,160 @@
+package com.airline.payment.refund
+
+import java.io.Closeable
+import java.nio.ByteBuffer
+import java.nio.channels.FileChannel
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.StandardCopyOption
+import java.nio.file.StandardOpenOption
+
+/**
+ * 환불 대기열 저널 (추가 전용 파일)
+ *
+ * 등록(`Q`)과 완료(`D`) 기록을 한 줄씩 덧붙입니다. 등록은 디스크 동기화(force)까지 마친 뒤 반환하므로
+ * 접수된 환불은 재시작 후에도 [replay]로 복구됩니다. 완료 기록은 동기화하지 않으므로 장애 직전에 끝난 환불은
+ * 재시작 후 한 번 더 시도될 수 있으며, 이미 취소된 결제는 재시도 시 건너뛰고
+ * 환불을 제출했지만 취소로 저장되기 전이면 같은 환불 멱등 키로 다시 요청하여 처음 결과를 받습니다.
+ *
+ * 형식 (탭 구분):
+ * - `Q  refundId  batchId  paymentId  reason`
+ * - `D  refundId  batchId  S|F`
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+internal class RefundJournal(private val path: Path) : Closeable {
+
+    data class Entry(
+        val refundId: String,
+        val batchId: String,
+        val paymentId: String,
+        val reason: String
+    )
+
+    /**
+     * 배치별 복구 결과
+     */
+    data class BatchState(
+        val batchId: String,
+        val reason: String,
+        var total: Int = 0,
+        var succeeded: Int = 0,
+        var failed: Int = 0
+    )
+
+    /**
+     * 복구 결과: 아직 끝나지 않은 환불과, 그 환불이 속한 배치의 진행 상황
+     */
+    data class Recovered(
+        val pending: List<Entry>,
+        val batches: List<BatchState>
+    )
+
+    private var channel: FileChannel? = null
+
+    /**
+     * 저널을 읽어 미완료 환불을 복구하고, 모두 끝난 배치를 제외하여 파일을 다시 씁니다.
+     */
+    @Synchronized
+    fun replay(): Recovered {
+        check(channel == null) { "Journal is already open" }
+        Files.createDirectories(path.toAbsolutePath().parent)
+
+        val entries = LinkedHashMap<String, Entry>()
+        val completions = LinkedHashMap<String, Pair<String, Boolean>>()
+        if (Files.exists(path)) {
+            Files.newBufferedReader(path).useLines { lines ->
+                lines.forEach { line ->
+                    val fields = line.split(SEPARATOR)
+                    when {
+                        fields.size == 5 && fields[0] == QUEUED ->
+                            entries[fields[1]] = Entry(fields[1], fields[2], fields[3], fields[4])
+                        fields.size == 4 && fields[0] == DONE ->
+                            completions[fields[1]] = fields[2] to (fields[3] == SUCCEEDED)
+                        // 장애로 잘린 마지막 줄 등은 무시
+                    }
+                }
+            }
+        }
+
+        val batches = LinkedHashMap<String, BatchState>()
+        entries.values.forEach { entry ->
+            val batch = batches.getOrPut(entry.batchId) { BatchState(entry.batchId, entry.reason) }
+            batch.total++
+            when (completions[entry.refundId]?.second) {
+                true -> batch.succeeded++
+                false -> batch.failed++
+                null -> {}
+            }
+        }
+        val openBatches = batches.values.filter { it.succeeded + it.failed < it.total }.associateBy { it.batchId }
+        val pending = entries.values.filter { it.batchId in openBatches && it.refundId !in completions }
+
+        compact(entries.values.filter { it.batchId in openBatches }, completions)
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)
+        return Recovered(pending, openBatches.values.toList())
+    }
+
+    /**
+     * 환불 등록을 기록하고 디스크에 동기화합니다.
+     */
+    @Synchronized
+    fun appendQueued(entries: List<Entry>) {
+        val text = buildString {
+            entries.forEach { entry ->
+                append(QUEUED).append(SEPARATOR).append(entry.refundId).append(SEPARATOR).append(entry.batchId)
+                    .append(SEPARATOR).append(entry.paymentId).append(SEPARATOR).append(sanitize(entry.reason)).append('\n')
+            }
+        }
+        write(text)
+        openChannel().force(false)
+    }
+
+    /**
+     * 환불 완료를 기록합니다.
+     */
+    @Synchronized
+    fun appendCompleted(entry: Entry, succeeded: Boolean) {
+        write("$DONE$SEPARATOR${entry.refundId}$SEPARATOR${entry.batchId}$SEPARATOR${if (succeeded) SUCCEEDED else FAILED}\n")
+    }
+
+    @Synchronized
+    override fun close() {
+        channel?.close()
+        channel = null
+    }
+
+    private fun write(text: String) {
+        val buffer = ByteBuffer.wrap(text.toByteArray(Charsets.UTF_8))
+        val channel = openChannel()
+        while (buffer.hasRemaining()) channel.write(buffer)
+    }
+
+    private fun openChannel(): FileChannel = channel ?: throw IllegalStateException("Journal is not open, call replay() first")
+
+    private fun compact(entries: List<Entry>, completions: Map<String, Pair<String, Boolean>>) {
+        val temp = path.resolveSibling("${path.fileName}.compact")
+        Files.newBufferedWriter(temp).use { writer ->
+            entries.forEach { entry ->
+                writer.write(listOf(QUEUED, entry.refundId, entry.batchId, entry.paymentId, entry.reason).joinToString(SEPARATOR))
+                writer.newLine()
+                completions[entry.refundId]?.let { (batchId, succeeded) ->
+                    writer.write(listOf(DONE, entry.refundId, batchId, if (succeeded) SUCCEEDED else FAILED).joinToString(SEPARATOR))
+                    writer.newLine()
+                }
+            }
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE)
+    }
+
+    private fun sanitize(value: String) = value.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ')
+
+    companion object {
+        private const val SEPARATOR = "\t"
+        private const val QUEUED = "Q"
+        private const val DONE = "D"
+        private const val SUCCEEDED = "S"
+        private const val FAILED = "F"
+    }
+}
@@ -0,0 +1,429 @@
+package com.airline.payment.refund
+
+import com.airline.idgen.SnowflakeIdGenerator
+import com.airline.payment.config.PaymentConfig
+import com.airline.payment.exception.InvalidPaymentRequestException
+import com.airline.payment.exception.PaymentAlreadyCancelledException
+import com.airline.payment.exception.PaymentException
+import com.airline.payment.exception.PaymentProcessingException
+import com.airline.payment.gateway.PaymentGatewayClient
+import com.airline.payment.service.PaymentService
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.DisposableBean
+import org.springframework.kafka.core.KafkaTemplate
+import org.springframework.stereotype.Service
+import java.nio.file.Paths
+import java.time.LocalDateTime
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.DelayQueue
+import java.util.concurrent.Delayed
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * 대량 환불 요청
+ *
+ * 결제 ID나 예약 ID로 지정하며(항공편 결항 시 예약 서비스가 가진 예약 ID 목록을 그대로 전달), 둘 다 줄 수 있습니다.
+ */
+data class RefundBatchRequest(
+    val paymentIds: List<String> = emptyList(),
+    val reservationIds: List<String> = emptyList(),
+    val reason: String = "FLIGHT_CANCELLED"
+)
+
+/**
+ * 환불 실패 한 건
+ */
+data class RefundFailure(
+    val paymentId: String,
+    val message: String
+)
+
+/**
+ * 대량 환불 진행 상황
+ *
+ * @property skipped 이미 대기열에 있어 이번 배치에서 제외한 결제 수
+ * @property failures 실패 표본 (최대 [PaymentConfig.RefundConfig.maxFailureSamples]건)
+ */
+data class RefundBatchProgress(
+    val batchId: String,
+    val reason: String,
+    val total: Int,
+    val succeeded: Int,
+    val failed: Int,
+    val pending: Int,
+    val skipped: Int,
+    val createdAt: LocalDateTime,
+    val completedAt: LocalDateTime?,
+    val failures: List<RefundFailure>
+)
+
+/**
+ * 내구성 있는 환불 대기열
+ *
+ * 접수된 환불은 [RefundJournal]에 기록한 뒤 작업 스레드들이 나누어 처리합니다.
+ * - 게이트웨이마다 [TokenBucket]으로 초당 환불 요청 수를 제한하고, 작업 스레드 수로 동시 환불 수를 제한하여
+ *   게이트웨이 연결 풀([PaymentConfig.GatewayConfig.maxConnections])의 나머지를 신규 결제에 남겨 둡니다.
+ * - 연결 풀에 대기 중인 요청이 있으면 환불을 잠시 미루어 신규 결제가 먼저 연결을 얻게 합니다.
+ * - 게이트웨이 오류나 거절은 지수 백오프로 [PaymentConfig.RefundConfig.maxAttempts]회까지 재시도합니다.
+ *   환불은 [PaymentService.cancelPayment]가 제출 상태를 먼저 저장하고 결제별 환불 멱등 키로 요청하므로,
+ *   타임아웃 뒤 재시도나 재시작 후 저널 재생으로 같은 결제를 다시 처리해도 두 번 환불되지 않습니다.
+ *   게이트웨이는 거절을 멱등 키에 보관하지 않으므로 거절된 환불도 같은 키로 다시 시도됩니다.
+ * - 취소 이벤트(payment.cancelled)는 모아 두었다가 주기마다 한꺼번에 발행하고, 전송이 확인된 뒤에야 저널에 완료를 기록합니다.
+ *   발행 전에 종료되면 재시작 후 저널 재생에서 이미 취소된 결제의 이벤트를 다시 발행하므로 이벤트는 최소 한 번 전달됩니다.
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+@Service
+class RefundQueue(
+    private val paymentService: PaymentService,
+    private val paymentGatewayClient: PaymentGatewayClient,
+    private val kafkaTemplate: KafkaTemplate<String, String>,
+    paymentConfig: PaymentConfig
+) : DisposableBean {
+    private val logger = LoggerFactory.getLogger(RefundQueue::class.java)
+
+    private val config = paymentConfig.refund
+    private val idGenerator = SnowflakeIdGenerator.forNode(paymentConfig.idGeneration.nodeId)
+    private val journal = RefundJournal(Paths.get(config.journalPath))
+    private val queue = DelayQueue<RefundTask>()
+    private val queuedPayments = ConcurrentHashMap.newKeySet<String>()
+    private val batches = ConcurrentHashMap<String, RefundBatch>()
+    private val buckets = ConcurrentHashMap<String, TokenBucket>()
+    private val pendingEvents = ConcurrentLinkedQueue<PendingEvent>()
+
+    private val enqueued = AtomicLong()
+    private val succeeded = AtomicLong()
+    private val failed = AtomicLong()
+    private val retried = AtomicLong()
+    private val yielded = AtomicLong()
+    private val publishedEvents = AtomicLong()
+
+    private val workerCounter = AtomicInteger()
+    private val workers = Executors.newFixedThreadPool(config.workers.coerceAtLeast(1)) { runnable ->
+        Thread(runnable, "payment-refund-${workerCounter.incrementAndGet()}").apply { isDaemon = true }
+    }
+    private val publisher = Executors.newSingleThreadScheduledExecutor { runnable ->
+        Thread(runnable, "payment-refund-publisher").apply { isDaemon = true }
+    }
+
+    init {
+        recover()
+        repeat(config.workers) { workers.execute(::work) }
+        publisher.scheduleWithFixedDelay(::publishEvents, config.publishIntervalMs, config.publishIntervalMs, TimeUnit.MILLISECONDS)
+    }
+
+    /**
+     * 환불 배치를 접수합니다.
+     *
+     * 결제 ID가 정해진 항목은 저널에 기록된 뒤 반환되므로, 반환 이후에는 재시작해도 처리가 이어집니다.
+     *
+     * @return 접수 직후 진행 상황 (batchId로 조회)
+     * @throws InvalidPaymentRequestException 대상이 하나도 없을 때
+     */
+    fun enqueue(request: RefundBatchRequest): RefundBatchProgress {
+        if (request.paymentIds.isEmpty() && request.reservationIds.isEmpty()) {
+            throw InvalidPaymentRequestException("Refund batch must contain payment or reservation IDs")
+        }
+        val batchId = BATCH_ID_PREFIX + idGenerator.nextIdString()
+        val batch = RefundBatch(batchId, request.reason)
+
+        val unresolved = mutableListOf<RefundFailure>()
+        val paymentIds = LinkedHashSet<String>(request.paymentIds.filter { it.isNotBlank() })
+        request.reservationIds.forEach { reservationId ->
+            val payment = paymentService.findPaymentByReservationId(reservationId)
+            if (payment == null) unresolved += RefundFailure(reservationId, "No payment for reservation $reservationId")
+            else paymentIds += payment.paymentId
+        }
+
+        val entries = paymentIds.mapNotNull { paymentId ->
+            if (!queuedPayments.add(paymentId)) {
+                batch.skipped++
+                null
+            } else {
+                RefundJournal.Entry("$batchId-${batch.total++}", batchId, paymentId, request.reason)
+            }
+        }
+        batch.total += unresolved.size
+        unresolved.forEach { batch.fail(it, config.maxFailureSamples) }
+
+        try {
+            journal.appendQueued(entries)
+        } catch (e: Exception) {
+            entries.forEach { queuedPayments.remove(it.paymentId) }
+            throw PaymentProcessingException("Refund batch could not be persisted: ${e.message}")
+        }
+
+        batches[batchId] = batch
+        evictOldBatches()
+        entries.forEach { queue.put(RefundTask(it, attempt = 1, readyAtNanos = System.nanoTime())) }
+        enqueued.addAndGet(entries.size.toLong())
+        logger.info("환불 배치 {} 접수: {}건 (중복 제외 {}건, 결제 없음 {}건)", batchId, entries.size, batch.skipped, unresolved.size)
+        return batch.progress()
+    }
+
+    /**
+     * 배치 진행 상황을 조회합니다.
+     *
+     * @return 진행 상황, 없거나 이미 정리되었으면 null
+     */
+    fun getProgress(batchId: String): RefundBatchProgress? = batches[batchId]?.progress()
+
+    /**
+     * 환불 대기열 통계를 반환합니다.
+     *
+     * @return 접수/성공/실패/재시도 건수, 대기 중인 환불 수, 신규 결제에 양보한 횟수, 발행한 취소 이벤트 수
+     */
+    fun getStatistics(): Map<String, Long> = mapOf(
+        "enqueued" to enqueued.get(),
+        "succeeded" to succeeded.get(),
+        "failed" to failed.get(),
+        "retried" to retried.get(),
+        "queued" to queue.size.toLong(),
+        "yieldedToPayments" to yielded.get(),
+        "publishedEvents" to publishedEvents.get(),
+        "pendingEvents" to pendingEvents.size.toLong()
+    )
+
+    override fun destroy() {
+        workers.shutdownNow()
+        publisher.shutdownNow()
+        publishEvents()
+        journal.close()
+    }
+
+    private fun work() {
+        try {
+            while (!Thread.currentThread().isInterrupted) {
+                val task = queue.take()
+                awaitGatewayCapacity()
+                process(task)
+            }
+        } catch (e: InterruptedException) {
+            Thread.currentThread().interrupt()
+        }
+    }
+
+    /**
+     * 신규 결제가 연결을 기다리고 있으면 양보한 뒤, 게이트웨이 요청률 한도 안에서 토큰을 얻습니다.
+     */
+    private fun awaitGatewayCapacity() {
+        val gateway = paymentGatewayClient.activeGateway()
+        while ((paymentGatewayClient.poolStats()[gateway]?.second ?: 0) > 0) {
+            yielded.incrementAndGet()
+            TimeUnit.MILLISECONDS.sleep(YIELD_MILLIS)
+        }
+        buckets.computeIfAbsent(gateway) { name ->
+            TokenBucket(config.gatewayRatePerSecond[name] ?: config.ratePerSecond, config.burst)
+        }.acquire()
+    }
+
+    private fun process(task: RefundTask) {
+        val entry = task.entry
+        try {
+            val response = paymentService.cancelPayment(entry.paymentId, entry.reason, publishEvent = false)
+            pendingEvents.add(PendingEvent(entry, response.reservationId, paymentService.paymentCancelledEvent(response, entry.reason)))
+        } catch (e: PaymentAlreadyCancelledException) {
+            // 재시작 후 재시도 등으로 이미 취소된 결제: 앞선 처리의 이벤트가 발행되지 않았을 수 있으므로 다시 발행
+            republishCancelled(entry)
+        } catch (e: PaymentProcessingException) {
+            retryOrFail(task, e)
+        } catch (e: PaymentException) {
+            complete(entry, e.message ?: e.javaClass.simpleName)
+        } catch (e: RuntimeException) {
+            retryOrFail(task, e)
+        }
+    }
+
+    private fun republishCancelled(entry: RefundJournal.Entry) {
+        try {
+            val response = paymentService.getPaymentById(entry.paymentId)
+            pendingEvents.add(PendingEvent(entry, response.reservationId, paymentService.paymentCancelledEvent(response, entry.reason)))
+        } catch (e: RuntimeException) {
+            logger.warn("Cancelled payment {} could not be loaded, completing refund without event", entry.paymentId, e)
+            complete(entry, null)
+        }
+    }
+
+    private fun retryOrFail(task: RefundTask, error: Exception) {
+        if (task.attempt >= config.maxAttempts) {
+            complete(task.entry, error.message ?: error.javaClass.simpleName)
+            return
+        }
+        val backoffMs = config.retryBackoffMs shl (task.attempt - 1).coerceAtMost(MAX_BACKOFF_SHIFT)
+        retried.incrementAndGet()
+        logger.warn("환불 {} 재시도 예정 ({}회차, {}ms 후): {}", task.entry.paymentId, task.attempt, backoffMs, error.message)
+        queue.put(RefundTask(task.entry, task.attempt + 1, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoffMs)))
+    }
+
+    /**
+     * @param failure 실패 사유, 성공이면 null
+     */
+    private fun complete(entry: RefundJournal.Entry, failure: String?) {
+        try {
+            journal.appendCompleted(entry, failure == null)
+        } catch (e: Exception) {
+            logger.error("Failed to journal refund completion for {}", entry.paymentId, e)
+        }
+        queuedPayments.remove(entry.paymentId)
+
+        val batch = batches[entry.batchId]
+        if (failure == null) {
+            succeeded.incrementAndGet()
+            batch?.succeed()
+        } else {
+            failed.incrementAndGet()
+            logger.warn("환불 실패: {} - {}", entry.paymentId, failure)
+            batch?.fail(RefundFailure(entry.paymentId, failure), config.maxFailureSamples)
+        }
+    }
+
+    /**
+     * 모아 둔 취소 이벤트를 배치 단위로 보내고, 전송이 확인된 환불만 완료로 기록합니다.
+     * 전송에 실패한 이벤트는 다음 주기에 다시 보냅니다.
+     */
+    private fun publishEvents() {
+        while (true) {
+            val batch = generateSequence { pendingEvents.poll() }.take(config.publishBatchSize.coerceAtLeast(1)).toList()
+            if (batch.isEmpty()) return
+
+            val sends = batch.map { pending ->
+                try {
+                    kafkaTemplate.send(CANCELLED_TOPIC, pending.key, pending.event)
+                } catch (e: Exception) {
+                    CompletableFuture.failedFuture(e)
+                }
+            }
+            runCatching { kafkaTemplate.flush() }
+
+            var failures = 0
+            batch.forEachIndexed { index, pending ->
+                try {
+                    sends[index].get(SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                    publishedEvents.incrementAndGet()
+                    complete(pending.entry, null)
+                } catch (e: Exception) {
+                    if (e is InterruptedException) Thread.currentThread().interrupt()
+                    if (failures++ == 0) logger.error("Failed to publish payment cancelled event for {}", pending.entry.paymentId, e)
+                    pendingEvents.add(pending)
+                }
+            }
+            if (failures > 0) return
+        }
+    }
+
+    private fun recover() {
+        val recovered = journal.replay()
+        recovered.batches.forEach { state ->
+            batches[state.batchId] = RefundBatch(state.batchId, state.reason).apply {
+                total = state.total
+                succeededCount.set(state.succeeded)
+                failedCount.set(state.failed)
+            }
+        }
+        recovered.pending.forEach { entry ->
+            queuedPayments.add(entry.paymentId)
+            queue.put(RefundTask(entry, attempt = 1, readyAtNanos = System.nanoTime()))
+        }
+        if (recovered.pending.isNotEmpty()) {
+            logger.info("환불 대기열 복구: {}개 배치, {}건", recovered.batches.size, recovered.pending.size)
+        }
+    }
+
+    private fun evictOldBatches() {
+        val excess = batches.size - config.maxRetainedBatches
+        if (excess <= 0) return
+        batches.values
+            .filter { it.completedAt != null }
+            .sortedBy { it.createdAt }
+            .take(excess)
+            .forEach { batches.remove(it.batchId) }
+    }
+
+    /**
+     * 환불은 끝났지만 취소 이벤트 전송이 확인되지 않아 아직 완료로 기록하지 않은 항목
+     */
+    private class PendingEvent(
+        val entry: RefundJournal.Entry,
+        val key: String,
+        val event: String
+    )
+
+    /**
+     * 대기열 항목: [readyAtNanos] 이후에 꺼낼 수 있음 (재시도 백오프)
+     */
+    private class RefundTask(
+        val entry: RefundJournal.Entry,
+        val attempt: Int,
+        val readyAtNanos: Long
+    ) : Delayed {
+        override fun getDelay(unit: TimeUnit): Long =
+            unit.convert(readyAtNanos - System.nanoTime(), TimeUnit.NANOSECONDS)
+
+        override fun compareTo(other: Delayed): Int =
+            getDelay(TimeUnit.NANOSECONDS).compareTo(other.getDelay(TimeUnit.NANOSECONDS))
+    }
+
+    /**
+     * 배치 진행 상황 (작업 스레드들이 동시에 갱신)
+     */
+    private class RefundBatch(val batchId: String, val reason: String) {
+        val createdAt: LocalDateTime = LocalDateTime.now()
+        var total = 0
+        var skipped = 0
+        val succeededCount = AtomicInteger()
+        val failedCount = AtomicInteger()
+        private val failures = ConcurrentLinkedQueue<RefundFailure>()
+
+        @Volatile
+        var completedAt: LocalDateTime? = null
+            private set
+
+        fun succeed() {
+            succeededCount.incrementAndGet()
+            markCompletedIfDone()
+        }
+
+        fun fail(failure: RefundFailure, maxSamples: Int) {
+            // 실패 수를 본 조회가 표본도 보도록 표본을 먼저 추가
+            if (failures.size < maxSamples) failures.add(failure)
+            failedCount.incrementAndGet()
+            markCompletedIfDone()
+        }
+
+        fun progress(): RefundBatchProgress {
+            val done = succeededCount.get() + failedCount.get()
+            return RefundBatchProgress(
+                batchId = batchId,
+                reason = reason,
+                total = total,
+                succeeded = succeededCount.get(),
+                failed = failedCount.get(),
+                pending = total - done,
+                skipped = skipped,
+                createdAt = createdAt,
+                completedAt = completedAt ?: if (done >= total) LocalDateTime.now() else null,
+                failures = failures.toList()
+            )
+        }
+
+        private fun markCompletedIfDone() {
+            if (succeededCount.get() + failedCount.get() >= total && completedAt == null) {
+                completedAt = LocalDateTime.now()
+            }
+        }
+    }
+
+    companion object {
+        private const val CANCELLED_TOPIC = "payment.cancelled"
+        private const val BATCH_ID_PREFIX = "RFB-"
+        private const val YIELD_MILLIS = 5L
+        private const val MAX_BACKOFF_SHIFT = 6
+        private const val SEND_TIMEOUT_SECONDS = 10L
+    }
+}
@@ -0,0 +1,58 @@
+package com.airline.payment.refund
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * 토큰 버킷 요청률 제한기
+ *
+ * 초당 [ratePerSecond]개씩 토큰을 채우고 최대 [burst]개까지 쌓아 둡니다.
+ * 요청 하나가 토큰 하나를 쓰므로 장기 평균은 [ratePerSecond]를 넘지 않고, 쉬었다가 몰린 요청은 [burst]개까지 바로 통과합니다.
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+internal class TokenBucket(
+    private val ratePerSecond: Double,
+    private val burst: Int,
+    private val nanoClock: () -> Long = System::nanoTime
+) {
+    private var tokens = burst.toDouble()
+    private var refilledAt = nanoClock()
+
+    init {
+        require(ratePerSecond > 0.0) { "ratePerSecond must be positive" }
+        require(burst > 0) { "burst must be positive" }
+    }
+
+    /**
+     * 토큰 하나를 가져옵니다.
+     *
+     * @return 0이면 획득, 아니면 토큰이 생길 때까지 기다려야 할 나노초
+     */
+    @Synchronized
+    fun tryAcquire(): Long {
+        val now = nanoClock()
+        tokens = minOf(burst.toDouble(), tokens + (now - refilledAt) * ratePerSecond / NANOS_PER_SECOND)
+        refilledAt = now
+        if (tokens >= 1.0) {
+            tokens -= 1.0
+            return 0
+        }
+        return ((1.0 - tokens) * NANOS_PER_SECOND / ratePerSecond).toLong().coerceAtLeast(1)
+    }
+
+    /**
+     * 토큰을 얻을 때까지 호출 스레드를 재웁니다.
+     */
+    fun acquire() {
+        while (true) {
+            val waitNanos = tryAcquire()
+            if (waitNanos == 0L) return
+            TimeUnit.NANOSECONDS.sleep(waitNanos)
+        }
+    }
+
+    companion object {
+        private const val NANOS_PER_SECOND = 1_000_000_000.0
+    }
+}
@@ -1,5 +1,6 @@
 package com.airline.payment.repository
 
+import com.airline.index.SecondaryIndex
 import com.airline.payment.entity.Payment
 import com.airline.payment.dto.PaymentStatus
 import org.springframework.stereotype.Repository
@@ -12,13 +13,18 @@ import java.util.concurrent.ConcurrentHashMap
  * ConcurrentHashMap을 사용한 인메모리 저장소로 구현되어 있으며,
  * 실제 프로덕션에서는 JPA Repository로 교체 가능한 구조입니다.
  * 
+ * 예약 ID와 결제 상태에 대한 보조 인덱스를 저장/삭제 시 함께 갱신하여,
+ * 보상(환불)·정산 경로의 조회가 전체 스캔 없이 결과 크기에 비례하도록 합니다.
+ * 
  * @author Claude Code
  * @since 1.0
  */
 @Repository
 class PaymentRepository {
     
-    private val payments = ConcurrentHashMap<String, Payment>()
+    private val payments = ConcurrentHashMap<String, Entry>()
+    private val reservationIndex = SecondaryIndex<String, String>()
+    private val statusIndex = SecondaryIndex<PaymentStatus, String>()
     
     /**
      * 결제 정보를 저장하거나 업데이트합니다.
@@ -27,7 +33,12 @@ class PaymentRepository {
      * @return 저장된 결제 엔티티
      */
     fun save(payment: Payment): Payment {
-        payments[payment.paymentId] = payment
+        val keys = IndexKeys.of(payment)
+        payments.compute(payment.paymentId) { id, previous ->
+            reservationIndex.move(previous?.keys?.reservationId, id, keys.reservationId, id)
+            statusIndex.move(previous?.keys?.status, id, keys.status, id)
+            Entry(payment, keys)
+        }
         return payment
     }
     
@@ -38,7 +49,7 @@ class PaymentRepository {
      * @return 결제 엔티티, 존재하지 않으면 null
      */
     fun findById(paymentId: String): Payment? {
-        return payments[paymentId]
+        return payments[paymentId]?.payment
     }
     
     /**
@@ -47,7 +58,18 @@ class PaymentRepository {
      * @return 전체 결제 목록
      */
     fun findAll(): List<Payment> {
-        return payments.values.toList()
+        return payments.values.map { it.payment }
+    }
+    
+    /**
+     * 전체 결제를 목록으로 복사하지 않고 순회합니다. (정산 대사 등 대량 처리용)
+     * 
+     * 순회 중 저장/삭제된 결제는 반영될 수도, 반영되지 않을 수도 있습니다.
+     * 
+     * @param action 결제마다 호출할 함수
+     */
+    fun forEach(action: (Payment) -> Unit) {
+        payments.values.forEach { action(it.payment) }
     }
     
     /**
@@ -57,7 +79,7 @@ class PaymentRepository {
      * @return 해당 예약의 결제 목록
      */
     fun findByReservationId(reservationId: String): List<Payment> {
-        return payments.values.filter { it.reservationId == reservationId }
+        return lookup(reservationIndex.valuesOf(reservationId)) { it.reservationId == reservationId }
     }
     
     /**
@@ -67,7 +89,7 @@ class PaymentRepository {
      * @return 해당 상태의 결제 목록
      */
     fun findByStatus(status: PaymentStatus): List<Payment> {
-        return payments.values.filter { it.status == status }
+        return lookup(statusIndex.valuesOf(status)) { it.status == status }
     }
     
     /**
@@ -86,7 +108,11 @@ class PaymentRepository {
      * @param paymentId 삭제할 결제 식별자
      */
     fun deleteById(paymentId: String) {
-        payments.remove(paymentId)
+        payments.computeIfPresent(paymentId) { id, previous ->
+            reservationIndex.remove(previous.keys.reservationId, id)
+            statusIndex.remove(previous.keys.status, id)
+            null
+        }
     }
     
     /**
@@ -103,5 +129,35 @@ class PaymentRepository {
      */
     fun deleteAll() {
         payments.clear()
+        reservationIndex.clear()
+        statusIndex.clear()
+    }
+    
+    /**
+     * 인덱스 버킷의 결제를 조회하되, 동시 갱신 중 잠시 이전 버킷에 남아 있는 항목은
+     * 마지막 저장 시점의 키로 다시 확인하여 제외합니다.
+     */
+    private fun lookup(ids: Set<String>, matches: (IndexKeys) -> Boolean): List<Payment> {
+        return ids.mapNotNull { id -> payments[id]?.takeIf { matches(it.keys) }?.payment }
+    }
+    
+    /**
+     * 저장된 결제와 저장 시점의 인덱스 키
+     */
+    private class Entry(val payment: Payment, val keys: IndexKeys)
+    
+    /**
+     * 인덱스 대상 필드 스냅샷 (엔티티의 상태는 가변이므로 저장 시점 값을 별도로 보관)
+     */
+    private data class IndexKeys(
+        val reservationId: String,
+        val status: PaymentStatus
+    ) {
+        companion object {
+            fun of(payment: Payment) = IndexKeys(
+                reservationId = payment.reservationId,
+                status = payment.status
+            )
+        }
     }
 }
\ No newline at end of file
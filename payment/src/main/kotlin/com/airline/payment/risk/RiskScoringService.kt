@@ -0,0 +1,190 @@
+package com.airline.payment.risk
+
+import com.airline.payment.config.PaymentConfig
+import com.airline.payment.domain.valueobject.Money
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.DisposableBean
+import org.springframework.stereotype.Service
+import java.security.MessageDigest
+import java.util.HexFormat
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * 위험 평가 결과
+ *
+ * @property score 발동한 규칙 점수의 합
+ * @property triggeredRules 발동한 규칙 이름
+ * @property blocked 점수가 차단 기준 이상이면 true
+ */
+data class RiskAssessment(
+    val score: Int,
+    val triggeredRules: List<String>,
+    val blocked: Boolean
+) {
+    companion object {
+        val NONE = RiskAssessment(0, emptyList(), false)
+    }
+}
+
+/**
+ * 결제 위험 점수 평가
+ *
+ * 게이트웨이 제출 전에 고객 이메일과 카드별 속도 특성(1분/1시간/24시간 건수·금액)을 갱신하고,
+ * 설정된 규칙([PaymentConfig.RiskConfig.rules])에 대입하여 점수를 매깁니다.
+ * 특성은 [VelocityFeatureStore]의 링 버퍼 카운터에 미리 집계되어 있어 평가는 규칙 수만큼의 배열 순회로 끝납니다.
+ *
+ * 카드 번호는 보관하지 않고 SHA-256 지문으로만 키를 만듭니다.
+ * 금액 특성은 통화 구분 없이 최소 단위로 합산하므로 금액 규칙의 임계값은 기본 통화 기준입니다.
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+@Service
+class RiskScoringService(
+    paymentConfig: PaymentConfig
+) : DisposableBean {
+    private val logger = LoggerFactory.getLogger(RiskScoringService::class.java)
+
+    private val config = paymentConfig.risk
+    private val rules = config.rules.map(::compile).toTypedArray()
+    private val emailFeatures = VelocityFeatureStore(config.maxTrackedKeys)
+    private val cardFeatures = VelocityFeatureStore(config.maxTrackedKeys)
+
+    private val assessed = AtomicLong()
+    private val flagged = AtomicLong()
+    private val blocked = AtomicLong()
+    private val untracked = AtomicLong()
+    private val evicted = AtomicLong()
+    private val scoringNanos = AtomicLong()
+
+    private val sweeper = Executors.newSingleThreadScheduledExecutor { runnable ->
+        Thread(runnable, "payment-risk-sweeper").apply { isDaemon = true }
+    }
+
+    init {
+        sweeper.scheduleWithFixedDelay({
+            try {
+                evicted.addAndGet((emailFeatures.evictIdle() + cardFeatures.evictIdle()).toLong())
+            } catch (e: Exception) {
+                logger.error("Failed to evict idle risk features", e)
+            }
+        }, SWEEP_INTERVAL_MINUTES, SWEEP_INTERVAL_MINUTES, TimeUnit.MINUTES)
+    }
+
+    /**
+     * 결제 시도를 속도 특성에 기록하고 위험 점수를 평가합니다.
+     *
+     * 차단된 시도도 기록하므로 반복 시도는 계속 점수에 반영됩니다.
+     *
+     * @param customerEmail 고객 이메일
+     * @param cardNumber 카드 번호, 카드 결제가 아니면 null
+     * @param amount 결제 금액
+     * @return 평가 결과, 위험 평가가 꺼져 있으면 [RiskAssessment.NONE]
+     */
+    fun assess(customerEmail: String, cardNumber: String?, amount: Money): RiskAssessment {
+        if (!config.enabled) return RiskAssessment.NONE
+        val startNanos = System.nanoTime()
+
+        val email = emailFeatures.record(customerEmail.trim().lowercase(), amount.minorUnits)
+        val card = cardNumber?.takeIf { it.isNotBlank() }?.let { cardFeatures.record(fingerprint(it), amount.minorUnits) }
+        if (email == null || (cardNumber != null && card == null)) untracked.incrementAndGet()
+
+        var score = 0
+        var triggered: MutableList<String>? = null
+        for (rule in rules) {
+            val features = when (rule.subject) {
+                RiskSubject.EMAIL -> email
+                RiskSubject.CARD -> card
+            } ?: continue
+            val value = when (rule.metric) {
+                RiskMetric.COUNT -> features.count(rule.window)
+                RiskMetric.AMOUNT -> features.amount(rule.window)
+            }
+            if (value > rule.threshold) {
+                score += rule.score
+                (triggered ?: ArrayList<String>(2).also { triggered = it }).add(rule.name)
+            }
+        }
+
+        val assessment = RiskAssessment(score, triggered ?: emptyList(), score >= config.blockScore)
+        assessed.incrementAndGet()
+        if (score > 0) flagged.incrementAndGet()
+        if (assessment.blocked) blocked.incrementAndGet()
+        scoringNanos.addAndGet(System.nanoTime() - startNanos)
+        return assessment
+    }
+
+    /**
+     * 위험 평가 통계를 반환합니다.
+     *
+     * @return 평가/점수 부여/차단 건수, 추적 키 수, 평균 평가 시간 등
+     */
+    fun getStatistics(): Map<String, Long> {
+        val assessedCount = assessed.get()
+        return mapOf(
+            "assessed" to assessedCount,
+            "flagged" to flagged.get(),
+            "blocked" to blocked.get(),
+            "untracked" to untracked.get(),
+            "evictedKeys" to evicted.get(),
+            "trackedEmails" to emailFeatures.size().toLong(),
+            "trackedCards" to cardFeatures.size().toLong(),
+            "averageScoringNanos" to if (assessedCount == 0L) 0L else scoringNanos.get() / assessedCount
+        )
+    }
+
+    override fun destroy() {
+        sweeper.shutdownNow()
+    }
+
+    private fun fingerprint(cardNumber: String): String {
+        val digits = cardNumber.filter { it.isDigit() }
+        val digest = MessageDigest.getInstance("SHA-256").digest(digits.toByteArray(Charsets.US_ASCII))
+        return HexFormat.of().formatHex(digest, 0, FINGERPRINT_BYTES)
+    }
+
+    private fun compile(rule: PaymentConfig.RiskRuleConfig): CompiledRule {
+        val threshold = when (rule.metric) {
+            RiskMetric.COUNT -> rule.threshold.longValueExact()
+            RiskMetric.AMOUNT -> Money.of(rule.threshold).minorUnits
+        }
+        return CompiledRule(rule.name, rule.subject, rule.window, rule.metric, threshold, rule.score)
+    }
+
+    /**
+     * 시작 시 한 번 변환한 규칙 (금액 임계값은 최소 단위)
+     */
+    private class CompiledRule(
+        val name: String,
+        val subject: RiskSubject,
+        val window: VelocityWindow,
+        val metric: RiskMetric,
+        val threshold: Long,
+        val score: Int
+    )
+
+    companion object {
+        private const val SWEEP_INTERVAL_MINUTES = 5L
+        private const val FINGERPRINT_BYTES = 16
+    }
+}
+
+/**
+ * 규칙이 보는 속도 특성의 대상
+ */
+enum class RiskSubject {
+    EMAIL, CARD
+}
+
+/**
+ * 규칙이 보는 속도 특성의 값
+ */
+enum class RiskMetric {
+    /** 결제 시도 건수 */
+    COUNT,
+
+    /** 결제 시도 금액 합 */
+    AMOUNT
+}
@@ -0,0 +1,69 @@
+package com.airline.payment.risk
+
+import java.util.concurrent.atomic.AtomicLongArray
+
+/**
+ * 잠금 없는 링 버퍼 슬라이딩 윈도 카운터
+ *
+ * 시간을 [bucketMillis] 단위 버킷으로 나누어 최근 [bucketCount]개 버킷의 건수와 금액 합을 유지합니다.
+ * 버킷은 시각으로 위치가 정해지는 고정 배열이므로 기록은 원자적 덧셈 두 번, 조회는 버킷 수만큼의 순회로 끝나며
+ * 객체를 만들지 않습니다. 오래된 버킷은 다음 기록 때 CAS로 새 구간을 차지하며 초기화됩니다.
+ *
+ * 버킷이 재사용되는 순간 동시에 들어온 기록은 드물게 초기화에 지워질 수 있어,
+ * 값은 위험 점수용 근사치로 취급합니다.
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+internal class SlidingWindowCounter(
+    private val bucketCount: Int,
+    private val bucketMillis: Long
+) {
+    private val epochs = AtomicLongArray(bucketCount).apply { for (i in 0 until bucketCount) set(i, EMPTY) }
+    private val counts = AtomicLongArray(bucketCount)
+    private val amounts = AtomicLongArray(bucketCount)
+
+    init {
+        require(bucketCount > 0) { "bucketCount must be positive" }
+        require(bucketMillis > 0) { "bucketMillis must be positive" }
+    }
+
+    fun add(now: Long, amountMinor: Long) {
+        val epoch = now / bucketMillis
+        val index = indexOf(epoch)
+        val seen = epochs.get(index)
+        if (seen < epoch && epochs.compareAndSet(index, seen, epoch)) {
+            counts.set(index, 0)
+            amounts.set(index, 0)
+        }
+        counts.incrementAndGet(index)
+        amounts.addAndGet(index, amountMinor)
+    }
+
+    /**
+     * 현재 버킷을 포함한 최근 [bucketCount]개 버킷의 건수
+     */
+    fun count(now: Long): Long = sum(counts, now)
+
+    /**
+     * 현재 버킷을 포함한 최근 [bucketCount]개 버킷의 금액 합 (최소 단위)
+     */
+    fun amount(now: Long): Long = sum(amounts, now)
+
+    private fun sum(values: AtomicLongArray, now: Long): Long {
+        val current = now / bucketMillis
+        val oldest = current - bucketCount
+        var total = 0L
+        for (index in 0 until bucketCount) {
+            val epoch = epochs.get(index)
+            if (epoch > oldest && epoch <= current) total += values.get(index)
+        }
+        return total
+    }
+
+    private fun indexOf(epoch: Long): Int = Math.floorMod(epoch, bucketCount.toLong()).toInt()
+
+    companion object {
+        private const val EMPTY = Long.MIN_VALUE
+    }
+}
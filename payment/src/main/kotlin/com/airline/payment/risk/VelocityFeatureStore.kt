@@ -0,0 +1,96 @@
+package com.airline.payment.risk
+
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * 속도(velocity) 특성 집계 기간
+ *
+ * 기간마다 버킷 크기를 달리하여 키당 메모리를 작게 유지합니다. (키당 총 48개 버킷)
+ */
+enum class VelocityWindow(val bucketCount: Int, val bucketMillis: Long) {
+    /** 최근 1분 (5초 버킷 12개) */
+    ONE_MINUTE(12, 5_000),
+
+    /** 최근 1시간 (5분 버킷 12개) */
+    ONE_HOUR(12, 300_000),
+
+    /** 최근 24시간 (1시간 버킷 24개) */
+    ONE_DAY(24, 3_600_000);
+
+    val lengthMillis: Long get() = bucketCount * bucketMillis
+}
+
+/**
+ * 키(고객 이메일, 카드)별 속도 특성 저장소
+ *
+ * 키마다 [VelocityWindow]별 [SlidingWindowCounter]를 미리 만들어 두어, 결제 시점에는 기록과 조회만 수행합니다.
+ * 추적 키 수는 [maxKeys]로 제한하고, [VelocityWindow.ONE_DAY]보다 오래 기록이 없는 키는 [evictIdle]로 정리합니다.
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+internal class VelocityFeatureStore(
+    private val maxKeys: Int,
+    private val clock: () -> Long = System::currentTimeMillis
+) {
+    private val counters = ConcurrentHashMap<String, Counters>()
+
+    /**
+     * 결제 한 건을 기록하고 해당 키의 특성을 반환합니다.
+     *
+     * @return 기록된 키의 특성, 추적 한도에 도달하여 새 키를 만들 수 없으면 null
+     */
+    fun record(key: String, amountMinor: Long): Features? {
+        val now = clock()
+        val entry = counters[key] ?: if (counters.size >= maxKeys) return null else counters.computeIfAbsent(key) { Counters() }
+        entry.add(now, amountMinor)
+        return Features(entry, now)
+    }
+
+    fun size(): Int = counters.size
+
+    /**
+     * 가장 긴 집계 기간보다 오래 기록이 없는 키를 제거합니다.
+     *
+     * @return 제거한 키 수
+     */
+    fun evictIdle(): Int {
+        val cutoff = clock() - VelocityWindow.ONE_DAY.lengthMillis
+        var evicted = 0
+        counters.entries.removeIf { (_, entry) -> (entry.lastSeen < cutoff).also { if (it) evicted++ } }
+        return evicted
+    }
+
+    /**
+     * 한 키의 기간별 카운터
+     */
+    class Counters {
+        private val windows = Array(WINDOWS.size) { SlidingWindowCounter(WINDOWS[it].bucketCount, WINDOWS[it].bucketMillis) }
+
+        @Volatile
+        var lastSeen: Long = 0
+            private set
+
+        fun add(now: Long, amountMinor: Long) {
+            windows.forEach { it.add(now, amountMinor) }
+            lastSeen = now
+        }
+
+        fun count(window: VelocityWindow, now: Long): Long = windows[window.ordinal].count(now)
+
+        fun amount(window: VelocityWindow, now: Long): Long = windows[window.ordinal].amount(now)
+    }
+
+    /**
+     * 기록 시점 기준으로 조회하는 특성 뷰
+     */
+    class Features(private val counters: Counters, private val now: Long) {
+        fun count(window: VelocityWindow): Long = counters.count(window, now)
+
+        fun amount(window: VelocityWindow): Long = counters.amount(window, now)
+    }
+
+    companion object {
+        private val WINDOWS = VelocityWindow.entries
+    }
+}
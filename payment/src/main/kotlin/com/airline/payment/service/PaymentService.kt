@@ -5,31 +5,48 @@ import com.airline.payment.domain.model.PaymentAggregate
 import com.airline.payment.domain.repository.PaymentDomainRepository
 import com.airline.payment.domain.service.PaymentDomainService
 import com.airline.payment.domain.valueobject.PaymentId
+import com.airline.payment.domain.valueobject.ReservationId
 import com.airline.payment.domain.exception.PaymentAlreadyProcessedException
 import com.airline.payment.domain.exception.InvalidPaymentOperationException
 import com.airline.payment.dto.PaymentRequest
 import com.airline.payment.dto.PaymentResponse
 import com.airline.payment.dto.PaymentStatus
 import com.airline.payment.entity.Payment
+import com.airline.payment.gateway.AuthorizationBatcher
+import com.airline.payment.gateway.GatewayRequest
+import com.airline.payment.gateway.GatewayResponse
+import com.airline.payment.gateway.PaymentGatewayClient
+import com.airline.payment.gateway.PaymentGatewayTimeoutException
 import com.airline.payment.exception.PaymentNotFoundException
 import com.airline.payment.exception.PaymentProcessingException
+import com.airline.payment.exception.PaymentDeclinedException
 import com.airline.payment.exception.InvalidPaymentRequestException
 import com.airline.payment.exception.PaymentAlreadyCancelledException
+import com.airline.payment.exception.PaymentOverloadedException
+import com.airline.payment.infrastructure.event.PaymentEventOutbox
 import com.airline.payment.mapper.PaymentMapper
-import com.airline.payment.repository.PaymentRepository
+import com.airline.payment.risk.RiskScoringService
+import com.fasterxml.jackson.databind.ObjectMapper
 import org.slf4j.LoggerFactory
 import org.springframework.kafka.core.KafkaTemplate
 import org.springframework.stereotype.Service
-import java.math.BigDecimal
-import java.time.LocalDateTime
-import java.util.*
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionException
+import java.util.concurrent.ConcurrentHashMap
 
 /**
  * 결제 관리 서비스
  * 
  * 항공권 예약에 대한 결제 처리, 취소, 상태 조회 등의 비즈니스 로직을 담당합니다.
  * Kafka를 통한 이벤트 발행, 다양한 결제 방식 지원, 실패 시 보상 트랜잭션을 포함합니다.
- * 결제 성공률은 결제 금액에 따라 차등 적용되며, 실제 결제 시스템과의 연동을 시뮬레이션합니다.
+ * 외부 결제는 [PaymentGatewayClient]를 통해 설정된 게이트웨이(기본값: 로컬 시뮬레이터)로 비동기 처리하며,
+ * 승인 요청은 [AuthorizationBatcher]가 모아 일괄 호출합니다.
+ * 게이트웨이 제출 전에 [RiskScoringService]로 위험 점수를 평가하여 차단 대상은 제출하지 않습니다.
+ * 애그리게이트가 기록한 도메인 이벤트는 저장 직후 [PaymentEventOutbox]로 넘겨 비동기로 발행하며(분석/감사용 최선 노력 스트림),
+ * 다른 서비스가 소비하는 payment.approved/payment.cancelled JSON 이벤트는 이와 별도로 발행합니다.
+ * 아웃박스가 밀려 있으면 API 결제([processPayment])를 [PaymentOverloadedException]으로 거절하고,
+ * 이벤트 리스너는 [acceptsPayments]를 보고 컨슈머를 일시 정지합니다.
+ * 승인 후 매입이 타임아웃된 결제는 PENDING으로 남겨 두고 [reconcileUnresolvedCaptures]에서 정리합니다.
  * 
  * @author Claude Code
  * @since 1.0
@@ -40,9 +57,17 @@ class PaymentService (
     private val paymentDomainRepository: PaymentDomainRepository,
     private val paymentDomainService: PaymentDomainService,
     private val paymentMapper: PaymentMapper,
-    private val paymentConfig: PaymentConfig
+    private val paymentConfig: PaymentConfig,
+    private val paymentGatewayClient: PaymentGatewayClient,
+    private val authorizationBatcher: AuthorizationBatcher,
+    private val riskScoringService: RiskScoringService,
+    private val paymentEventOutbox: PaymentEventOutbox
 ) {
     private val logger = LoggerFactory.getLogger(PaymentService::class.java)
+    private val objectMapper = ObjectMapper()
+    
+    // 매입 결과를 알 수 없는 결제 ID → 정리 시도 횟수
+    private val unresolvedCaptures = ConcurrentHashMap<String, Int>()
     
     /**
      * 예약에 대한 결제를 처리합니다.
@@ -52,18 +77,65 @@ class PaymentService (
      * 
      * @param request 결제 요청 정보 (예약 ID, 결제 금액, 결제 방법, 고객 정보 포함)
      * @return 결제 처리 결과 (결제 ID, 상태, 처리 시간 등)
+     * @throws PaymentOverloadedException 이벤트 아웃박스가 밀려 신규 결제를 받을 수 없을 때
      */
     fun processPayment(request: PaymentRequest): PaymentResponse {
+        if (!acceptsPayments()) {
+            throw PaymentOverloadedException("payment event outbox is backed up")
+        }
+        return try {
+            processPaymentAsync(request).join()
+        } catch (e: CompletionException) {
+            throw e.cause ?: e
+        }
+    }
+    
+    /**
+     * 예약에 대한 결제를 비동기로 처리합니다.
+     * 
+     * 검증과 결제 생성은 호출 스레드에서, 게이트웨이 승인/매입 결과는 응답이 도착한 뒤 콜백에서 이어서 처리하므로
+     * 호출자는 외부 결제 응답을 기다리며 스레드를 점유하지 않습니다.
+     * 신규 결제 수용 여부([acceptsPayments])는 검사하지 않으며, 이미 받은 요청을 처리하는 호출자가 스스로 유입을 조절합니다.
+     * 
+     * @param request 결제 요청 정보
+     * @param eventAttributes 결제 승인 이벤트에 함께 실을 값 (항공편 ID, 좌석 수 등 후속 서비스가 쓰는 정보)
+     * @param publishEvents false이면 승인 이벤트를 발행하지 않음 (호출자가 [paymentApprovedEvent]로 직접 발행)
+     * @return 결제 처리 결과, 검증 실패나 결제 거절 시 예외로 완료
+     */
+    fun processPaymentAsync(
+        request: PaymentRequest,
+        eventAttributes: Map<String, Any> = emptyMap(),
+        publishEvents: Boolean = true
+    ): CompletableFuture<PaymentResponse> {
+        val paymentAggregate = try {
+            preparePayment(request)
+        } catch (e: RuntimeException) {
+            return CompletableFuture.failedFuture(e)
+        }
+        
+        return submitToGateway(paymentAggregate)
+            .handle { gatewayResponse, error ->
+                completePayment(paymentAggregate, gatewayResponse, error, eventAttributes, publishEvents)
+            }
+    }
+    
+    /**
+     * 신규 결제를 받을 수 있는지 여부 (이벤트 아웃박스가 밀려 있으면 false)
+     */
+    fun acceptsPayments(): Boolean = paymentEventOutbox.acceptsNewPayments()
+    
+    /**
+     * 요청을 검증하고 결제 애그리게이트를 생성합니다.
+     */
+    private fun preparePayment(request: PaymentRequest): PaymentAggregate {
         logger.info("예약 {}에 대한 {}원 결제 처리 시작", request.reservationId, request.amount)
         
         // 입력값 검증
         validatePaymentRequest(request)
         
-        val paymentId = generatePaymentId()
-        
         // 도메인 애그리게이트 생성
         val paymentAggregate = PaymentAggregate.create(
-            paymentId = paymentId,
+            paymentId = generatePaymentId(),
             reservationId = request.reservationId,
             amount = request.amount,
             paymentMethod = request.paymentMethod,
@@ -76,28 +148,105 @@ class PaymentService (
             throw PaymentProcessingException("Payment cannot be processed")
         }
         
-        // 외부 결제 시스템 연동
-        val processingResult = paymentDomainService.processExternalPayment(paymentAggregate)
-        
-        if (processingResult.isSuccess()) {
+        // 위험 점수 평가 (속도 특성 기반)
+        val risk = riskScoringService.assess(request.customerInfo.email, request.customerInfo.cardNumber, request.amount)
+        if (risk.blocked) {
+            logger.warn("예약 {} 결제 위험 차단: score={}, rules={}", request.reservationId, risk.score, risk.triggeredRules)
+            throw PaymentDeclinedException("Payment blocked by risk rules: ${risk.triggeredRules.joinToString()}")
+        }
+        return paymentAggregate
+    }
+    
+    /**
+     * 결제 게이트웨이에 승인을 요청하고, 승인되면 이어서 매입합니다.
+     * 
+     * 매입이 거절되거나 오류로 끝나면 확보한 승인을 취소합니다.
+     * 매입이 타임아웃되면 실제로 매입되었는지 알 수 없으므로 승인을 그대로 두고 [CaptureOutcomeUnknownException]으로 알립니다.
+     */
+    private fun submitToGateway(paymentAggregate: PaymentAggregate): CompletableFuture<GatewayResponse> {
+        val gatewayRequest = toGatewayRequest(paymentAggregate)
+        return authorizationBatcher.authorize(gatewayRequest).thenCompose { authorization ->
+            if (!authorization.approved) {
+                return@thenCompose CompletableFuture.completedFuture(authorization)
+            }
+            paymentGatewayClient.capture(gatewayRequest).handle { capture, error ->
+                val cause = (error as? CompletionException)?.cause ?: error
+                when {
+                    cause is PaymentGatewayTimeoutException -> throw CaptureOutcomeUnknownException(cause)
+                    cause != null -> {
+                        voidAuthorization(gatewayRequest, "매입 오류")
+                        throw cause
+                    }
+                    !capture.approved -> {
+                        voidAuthorization(gatewayRequest, "매입 거절")
+                        capture
+                    }
+                    else -> capture
+                }
+            }
+        }
+    }
+    
+    /**
+     * 매입하지 못한 승인을 취소합니다. 실패해도 승인은 카드사에서 만료되므로 기록만 남깁니다.
+     */
+    private fun voidAuthorization(gatewayRequest: GatewayRequest, reason: String) {
+        paymentGatewayClient.voidAuthorization(gatewayRequest).whenComplete { response, error ->
+            if (error != null || !response.approved) {
+                logger.warn("승인 취소 실패 ({}): {} - {}", reason, gatewayRequest.paymentId, error?.message ?: response.message)
+            }
+        }
+    }
+    
+    /**
+     * 게이트웨이 결과를 애그리게이트에 반영하고 저장합니다.
+     * 
+     * 거절은 [PaymentDeclinedException], 게이트웨이 오류는 [PaymentProcessingException]으로 알립니다.
+     * 매입 결과를 알 수 없으면 결제를 PENDING으로 저장해 정리 대상으로 등록하고 [PaymentProcessingException]으로 알립니다.
+     */
+    private fun completePayment(
+        paymentAggregate: PaymentAggregate,
+        gatewayResponse: GatewayResponse?,
+        error: Throwable?,
+        eventAttributes: Map<String, Any>,
+        publishEvents: Boolean
+    ): PaymentResponse {
+        val paymentId = paymentAggregate.getPaymentId()
+        if (error != null) {
+            val cause = (error as? CompletionException)?.cause ?: error
+            if (cause is CaptureOutcomeUnknownException) {
+                save(paymentAggregate)
+                unresolvedCaptures[paymentId] = 0
+                logger.warn("결제 {} 매입 결과 불명확, 정리 대상으로 등록: {}", paymentId, cause.message)
+                throw PaymentProcessingException("Payment capture outcome unknown: ${cause.message}")
+            }
+            paymentAggregate.reject("게이트웨이 오류: ${cause.message}")
+            save(paymentAggregate)
+            throw PaymentProcessingException("Payment gateway error: ${cause.message}")
+        }
+        if (gatewayResponse != null && gatewayResponse.approved) {
             try {
                 paymentAggregate.approve()
-                val savedPayment = paymentDomainRepository.save(paymentAggregate)
+                val savedPayment = save(paymentAggregate)
+                val response = paymentMapper.toResponse(savedPayment)
                 
                 // 성공 이벤트 발행
-                publishPaymentApprovedEvent(request.reservationId)
+                if (publishEvents) {
+                    kafkaTemplate.send("payment.approved", response.reservationId, paymentApprovedEvent(response, eventAttributes))
+                }
                 
                 logger.info("결제 처리 완료: {} - {}", paymentId, savedPayment.getStatus())
-                return paymentMapper.toResponse(savedPayment)
+                return response
                 
             } catch (e: PaymentAlreadyProcessedException) {
                 logger.error("Payment already processed: {}", e.message)
                 throw PaymentProcessingException("Payment already processed")
             }
         } else {
-            paymentAggregate.reject(processingResult.message)
-            paymentDomainRepository.save(paymentAggregate)
-            throw PaymentProcessingException("External payment system declined: ${processingResult.message}")
+            val reason = gatewayResponse?.message ?: "Unknown gateway response"
+            paymentAggregate.reject(reason)
+            save(paymentAggregate)
+            throw PaymentDeclinedException("External payment system declined: $reason")
         }
     }
     
@@ -121,16 +270,36 @@ class PaymentService (
         return paymentMapper.toResponse(payment)
     }
     
+    /**
+     * 예약의 결제 정보를 조회합니다.
+     * 
+     * @param reservationId 예약 식별자
+     * @return 결제 정보 DTO, 결제 이력이 없으면 null
+     */
+    fun findPaymentByReservationId(reservationId: String): PaymentResponse? {
+        return paymentDomainRepository.findByReservationId(ReservationId.of(reservationId))
+            ?.let { paymentMapper.toResponse(it) }
+    }
+    
     /**
      * 성공한 결제를 취소합니다.
      * 
      * 보상 트랜잭션의 일환으로 호출되며, 성공 상태의 결제만 취소 가능합니다.
      * 취소 성공 시 취소 이벤트를 발행합니다.
      * 
+     * 게이트웨이 호출 전에 환불 제출 상태를 저장하고, 결제마다 고정된 환불 멱등 키로 요청하므로
+     * 타임아웃 뒤 재시도나 환불 저널 재생으로 다시 호출되어도 게이트웨이는 처음 환불 결과를 돌려줄 뿐 두 번 환불하지 않습니다.
+     * 
      * @param paymentId 취소할 결제 식별자
+     * @param reason 취소 사유 (취소 이벤트에 포함)
+     * @param publishEvent false이면 취소 이벤트를 발행하지 않음 (호출자가 [paymentCancelledEvent]로 모아서 발행)
      * @return 취소된 결제 정보, 취소 불가능하면 null
      */
-    fun cancelPayment(paymentId: String): PaymentResponse {
+    fun cancelPayment(
+        paymentId: String,
+        reason: String = DEFAULT_CANCEL_REASON,
+        publishEvent: Boolean = true
+    ): PaymentResponse {
         logger.info("결제 취소 요청: {}", paymentId)
         
         if (paymentId.isBlank()) {
@@ -149,29 +318,154 @@ class PaymentService (
             }
         }
         
+        if (payment.isRefundSubmitted()) {
+            logger.info("이전에 제출된 환불의 결과를 다시 확인합니다: {}", paymentId)
+        } else {
+            payment.markRefundSubmitted()
+            save(payment)
+        }
+        refund(payment)
+        
         return try {
             payment.cancel()
-            val cancelledPayment = paymentDomainRepository.save(payment)
+            val cancelledPayment = save(payment)
+            
+            val response = paymentMapper.toResponse(cancelledPayment)
             
             // 취소 이벤트 발행
-            kafkaTemplate.send("payment.cancelled", "Payment cancelled: $paymentId")
+            if (publishEvent) {
+                kafkaTemplate.send("payment.cancelled", response.reservationId, paymentCancelledEvent(response, reason))
+            }
             logger.info("결제 취소 완료: {}", paymentId)
             
-            paymentMapper.toResponse(cancelledPayment)
+            response
         } catch (e: InvalidPaymentOperationException) {
             logger.error("Invalid payment operation: {}", e.message)
             throw InvalidPaymentRequestException(e.message ?: "Invalid payment operation")
         }
     }
     
-
+    /**
+     * 예약에 대해 승인된 결제를 모두 취소합니다.
+     * 
+     * 결제 응답을 받지 못한 예약 서비스가 결제 ID 없이 보상할 때 사용합니다.
+     * 취소할 결제가 없으면 빈 목록을 반환합니다.
+     * 
+     * @param reservationId 예약 식별자
+     * @return 취소된 결제 목록
+     */
+    fun cancelPaymentsByReservationId(
+        reservationId: String,
+        reason: String = DEFAULT_CANCEL_REASON
+    ): List<PaymentResponse> {
+        if (reservationId.isBlank()) {
+            throw InvalidPaymentRequestException("Reservation ID cannot be blank")
+        }
+        
+        return paymentDomainRepository.findAllByReservationId(ReservationId.of(reservationId))
+            .filter { it.canBeCancelled() }
+            .map { cancelPayment(it.getPaymentId(), reason) }
+    }
+    
+    /**
+     * 매입 결과를 알 수 없는 결제를 정리합니다.
+     * 
+     * 호출자에게는 이미 실패로 응답했으므로 결제를 되돌리는 방향으로 정리합니다.
+     * - 승인 취소가 받아들여지면 매입되지 않은 것이므로 거절로 확정
+     * - 승인 취소가 거절되면 이미 매입된 것이므로 승인으로 반영한 뒤 환불
+     * - 게이트웨이 오류면 다음 실행에 다시 시도하고, 최대 횟수를 넘으면 PENDING으로 남겨 정산 대사에 맡김
+     * 
+     * 정리 대상은 메모리에만 보관하므로 재시작 전에 남은 결제는 정산 대사에서 상태 불일치로 드러납니다.
+     * 
+     * @return 정리를 마친 결제 수
+     */
+    fun reconcileUnresolvedCaptures(): Int {
+        val maxAttempts = paymentConfig.gateway.captureReconcile.maxAttempts.coerceAtLeast(1)
+        var resolved = 0
+        for ((paymentId, attempts) in unresolvedCaptures) {
+            val payment = paymentDomainRepository.findById(PaymentId.of(paymentId))
+            if (payment == null || payment.getStatus() != com.airline.payment.domain.valueobject.PaymentStatus.PENDING) {
+                unresolvedCaptures.remove(paymentId)
+                continue
+            }
+            
+            val voided = try {
+                paymentGatewayClient.voidAuthorization(toGatewayRequest(payment)).join()
+            } catch (e: CompletionException) {
+                if (attempts + 1 >= maxAttempts) {
+                    logger.error("결제 {} 매입 결과 정리 {}회 실패, 정산 대사에 맡깁니다: {}", paymentId, attempts + 1, e.cause?.message)
+                    unresolvedCaptures.remove(paymentId)
+                } else {
+                    unresolvedCaptures[paymentId] = attempts + 1
+                }
+                continue
+            }
+            
+            if (voided.approved) {
+                payment.reject("매입 결과 불명확으로 승인 취소")
+                save(payment)
+            } else {
+                payment.approve()
+                save(payment)
+                try {
+                    cancelPayment(paymentId, CAPTURE_UNKNOWN_CANCEL_REASON)
+                } catch (e: RuntimeException) {
+                    logger.error("결제 {} 매입 확인 후 환불 실패: {}", paymentId, e.message)
+                }
+            }
+            unresolvedCaptures.remove(paymentId)
+            resolved++
+        }
+        return resolved
+    }
+    
+    /**
+     * 정리를 기다리는 매입 결과 불명확 결제 수
+     */
+    fun unresolvedCaptureCount(): Int = unresolvedCaptures.size
+    
+    /**
+     * 게이트웨이에 환불을 요청하고 결과를 기다립니다.
+     * 
+     * 결제 한 건은 전액 한 번만 환불되므로 결제 ID로 만든 환불 ID를 멱등 키로 보냅니다.
+     * 게이트웨이는 승인된 환불만 멱등 키에 보관하므로, 거절된 환불은 같은 키로 다시 시도할 수 있습니다.
+     */
+    private fun refund(payment: PaymentAggregate) {
+        val request = toGatewayRequest(payment).copy(idempotencyKey = refundId(payment.getPaymentId()))
+        val refund = try {
+            paymentGatewayClient.refund(request).join()
+        } catch (e: CompletionException) {
+            throw PaymentProcessingException("Refund failed: ${e.cause?.message}")
+        }
+        if (!refund.approved) {
+            throw PaymentProcessingException("Refund declined: ${refund.message}")
+        }
+    }
+    
+    /**
+     * 애그리게이트를 저장하고, 기록된 도메인 이벤트를 아웃박스로 넘긴 뒤 비웁니다.
+     */
+    private fun save(paymentAggregate: PaymentAggregate): PaymentAggregate {
+        val saved = paymentDomainRepository.save(paymentAggregate)
+        paymentEventOutbox.append(paymentAggregate.getDomainEvents())
+        paymentAggregate.clearDomainEvents()
+        return saved
+    }
+    
+    private fun toGatewayRequest(payment: PaymentAggregate) = GatewayRequest(
+        paymentId = payment.getPaymentId(),
+        reservationId = payment.getReservationId(),
+        amount = payment.getAmount(),
+        paymentMethod = payment.getPaymentMethod()
+    )
+    
+    private fun refundId(paymentId: String) = REFUND_ID_PREFIX + paymentId
     
     /**
      * 결제 ID를 생성합니다.
      */
     private fun generatePaymentId(): String {
-        val idConfig = paymentConfig.idGeneration
-        return "${idConfig.prefix}${UUID.randomUUID().toString().take(idConfig.uuidLength)}"
+        return paymentConfig.idGeneration.nextId()
     }
     
     /**
@@ -182,7 +476,7 @@ class PaymentService (
             throw InvalidPaymentRequestException("Reservation ID cannot be blank")
         }
         
-        if (request.amount <= BigDecimal.ZERO) {
+        if (!request.amount.isPositive()) {
             throw InvalidPaymentRequestException("Payment amount must be greater than 0")
         }
         
@@ -203,9 +497,46 @@ class PaymentService (
 
 
     /**
-     * 결제 승인 이벤트를 발행합니다.
+     * 결제 승인 이벤트 본문을 만듭니다.
+     * 
+     * 예약 ID를 키로 발행하여 같은 예약의 이벤트 순서를 보장합니다.
      */
-    private fun publishPaymentApprovedEvent(reservationId: String) {
-        kafkaTemplate.send("payment.approved", "Payment approved for reservation: $reservationId")
+    fun paymentApprovedEvent(payment: PaymentResponse, eventAttributes: Map<String, Any>): String {
+        val eventData = eventAttributes + mapOf(
+            "reservationId" to payment.reservationId,
+            "paymentId" to payment.paymentId,
+            "amount" to payment.amount,
+            "paymentStatus" to "APPROVED",
+            "timestamp" to System.currentTimeMillis()
+        )
+        return objectMapper.writeValueAsString(eventData)
     }
-}
\ No newline at end of file
+    
+    /**
+     * 결제 취소 이벤트 본문을 만듭니다.
+     * 
+     * 승인 이벤트와 마찬가지로 예약 ID를 키로 발행합니다.
+     */
+    fun paymentCancelledEvent(payment: PaymentResponse, reason: String): String {
+        val eventData = mapOf(
+            "reservationId" to payment.reservationId,
+            "paymentId" to payment.paymentId,
+            "amount" to payment.amount,
+            "paymentStatus" to "CANCELLED",
+            "reason" to reason,
+            "timestamp" to System.currentTimeMillis()
+        )
+        return objectMapper.writeValueAsString(eventData)
+    }
+    
+    companion object {
+        const val DEFAULT_CANCEL_REASON = "CUSTOMER_REQUEST"
+        const val CAPTURE_UNKNOWN_CANCEL_REASON = "CAPTURE_OUTCOME_UNKNOWN"
+        private const val REFUND_ID_PREFIX = "RFD-"
+    }
+}
+
+/**
+ * 매입 요청이 타임아웃되어 매입 여부를 알 수 없음
+ */
+private class CaptureOutcomeUnknownException(cause: Throwable) : RuntimeException(cause.message, cause)
@@ -0,0 +1,48 @@
+package com.airline.payment.service
+
+import com.airline.payment.config.PaymentConfig
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.DisposableBean
+import org.springframework.stereotype.Component
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+/**
+ * 매입 결과를 알 수 없는 결제를 주기적으로 정리하는 스케줄러
+ *
+ * `payment.gateway.capture-reconcile.interval-ms` 간격으로 [PaymentService.reconcileUnresolvedCaptures]를 실행합니다.
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+@Component
+class UnresolvedCaptureReconciler(
+    private val paymentService: PaymentService,
+    paymentConfig: PaymentConfig
+) : DisposableBean {
+    private val logger = LoggerFactory.getLogger(UnresolvedCaptureReconciler::class.java)
+
+    private val scheduler = Executors.newSingleThreadScheduledExecutor { runnable ->
+        Thread(runnable, "payment-capture-reconciler").apply { isDaemon = true }
+    }
+
+    init {
+        val intervalMs = paymentConfig.gateway.captureReconcile.intervalMs.coerceAtLeast(1)
+        scheduler.scheduleWithFixedDelay(::reconcile, intervalMs, intervalMs, TimeUnit.MILLISECONDS)
+    }
+
+    private fun reconcile() {
+        try {
+            val resolved = paymentService.reconcileUnresolvedCaptures()
+            if (resolved > 0) {
+                logger.info("매입 결과 불명확 결제 {}건 정리, 남은 건수: {}", resolved, paymentService.unresolvedCaptureCount())
+            }
+        } catch (e: Exception) {
+            logger.error("매입 결과 정리 실패: {}", e.message, e)
+        }
+    }
+
+    override fun destroy() {
+        scheduler.shutdownNow()
+    }
+}
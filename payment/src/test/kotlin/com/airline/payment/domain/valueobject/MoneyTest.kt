@@ -0,0 +1,45 @@
+package com.airline.payment.domain.valueobject
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import java.math.BigDecimal
+
+class MoneyTest {
+
+    private val objectMapper = ObjectMapper()
+
+    @Test
+    fun `decimal amounts are stored as minor units`() {
+        assertEquals(15_000_050L, Money.of(BigDecimal("150000.50")).minorUnits)
+        assertEquals(Money.of(150_000), Money.of(BigDecimal("150000")))
+        assertThrows<IllegalArgumentException> { Money.of(BigDecimal("1.005")) }
+    }
+
+    @Test
+    fun `arithmetic is overflow checked`() {
+        val max = Money.ofMinor(Long.MAX_VALUE)
+
+        assertEquals(Money.of(300_000), Money.of(150_000) * 2)
+        assertThrows<ArithmeticException> { max + Money.ofMinor(1) }
+        assertThrows<ArithmeticException> { max * 2 }
+    }
+
+    @Test
+    fun `amounts in different currencies cannot be combined`() {
+        assertThrows<IllegalArgumentException> { Money.of(1, "KRW") + Money.of(1, "USD") }
+        assertThrows<IllegalArgumentException> { Money.of(1, "KRW") < Money.of(1, "USD") }
+    }
+
+    @Test
+    fun `json uses plain numbers`() {
+        assertEquals("300000", objectMapper.writeValueAsString(Money.of(300_000)))
+        assertEquals("150000.50", objectMapper.writeValueAsString(Money.of(BigDecimal("150000.5"))))
+
+        assertEquals(Money.of(300_000), objectMapper.readValue("300000", Money::class.java))
+        assertEquals(Money.ofMinor(1_050), objectMapper.readValue("10.5", Money::class.java))
+        assertTrue(Money.of(1) > Money.zero())
+    }
+}
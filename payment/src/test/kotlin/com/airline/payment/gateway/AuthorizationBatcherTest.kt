@@ -0,0 +1,127 @@
+package com.airline.payment.gateway
+
+import com.airline.payment.config.PaymentConfig
+import com.airline.payment.domain.valueobject.Money
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertInstanceOf
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.TimeUnit
+
+class AuthorizationBatcherTest {
+
+    private val gateway = BatchingGateway()
+    private val batchers = mutableListOf<AuthorizationBatcher>()
+
+    @AfterEach
+    fun tearDown() {
+        batchers.forEach { it.destroy() }
+    }
+
+    @Test
+    fun `full batch is sent as one gateway call and responses are fanned back in order`() {
+        val batcher = batcher(maxSize = 3, maxWaitMs = 60_000)
+
+        val futures = (1..3).map { batcher.authorize(request("PAY-$it")) }
+
+        assertEquals(1, gateway.batches.size)
+        assertEquals(listOf("PAY-1", "PAY-2", "PAY-3"), gateway.batches[0].requests.map { it.paymentId })
+
+        gateway.batches[0].complete { GatewayResponse.approved("TX-${it.paymentId}", "ok") }
+
+        futures.forEachIndexed { index, future ->
+            assertEquals("TX-PAY-${index + 1}", future.get(1, TimeUnit.SECONDS).transactionId)
+        }
+        assertEquals(1L, batcher.getStatistics()["sizeFlushes"])
+    }
+
+    @Test
+    fun `partial batch is sent after the wait time`() {
+        val batcher = batcher(maxSize = 10, maxWaitMs = 20)
+
+        val future = batcher.authorize(request("PAY-1"))
+        waitUntil { gateway.batches.size == 1 }
+        gateway.batches[0].complete { GatewayResponse.approved("TX-1", "ok") }
+
+        assertTrue(future.get(1, TimeUnit.SECONDS).approved)
+        assertEquals(1L, batcher.getStatistics()["timeFlushes"])
+    }
+
+    @Test
+    fun `requests keep accumulating while the in-flight batch limit is reached`() {
+        val batcher = batcher(maxSize = 2, maxWaitMs = 60_000, maxInFlightBatches = 1)
+
+        batcher.authorize(request("PAY-1"))
+        batcher.authorize(request("PAY-2"))
+        val waiting = (3..5).map { batcher.authorize(request("PAY-$it")) }
+        assertEquals(1, gateway.batches.size)
+        assertEquals(3L, batcher.getStatistics()["pending"])
+
+        gateway.batches[0].complete { GatewayResponse.approved("TX", "ok") }
+
+        assertEquals(2, gateway.batches.size)
+        assertEquals(listOf("PAY-3", "PAY-4"), gateway.batches[1].requests.map { it.paymentId })
+        assertFalse(waiting[0].isDone)
+    }
+
+    @Test
+    fun `failed batch call fails every request in the batch`() {
+        val batcher = batcher(maxSize = 2, maxWaitMs = 60_000)
+
+        val futures = listOf(batcher.authorize(request("PAY-1")), batcher.authorize(request("PAY-2")))
+        gateway.batches[0].future.completeExceptionally(PaymentGatewayException("gateway down"))
+
+        futures.forEach { future ->
+            val error = assertThrows<ExecutionException> { future.get(1, TimeUnit.SECONDS) }
+            assertInstanceOf(PaymentGatewayException::class.java, error.cause)
+        }
+        assertEquals(1L, batcher.getStatistics()["failedBatches"])
+    }
+
+    private fun batcher(maxSize: Int, maxWaitMs: Long, maxInFlightBatches: Int = 8): AuthorizationBatcher {
+        val config = PaymentConfig()
+        config.gateway.active = "batching"
+        config.gateway.batch.maxSize = maxSize
+        config.gateway.batch.maxWaitMs = maxWaitMs
+        config.gateway.batch.maxInFlightBatches = maxInFlightBatches
+        return AuthorizationBatcher(PaymentGatewayClient(listOf(gateway), config), config).also { batchers += it }
+    }
+
+    private fun request(paymentId: String) = GatewayRequest(paymentId, "RES-1", Money.of(10_000), "CARD")
+
+    private fun waitUntil(condition: () -> Boolean) {
+        val deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1)
+        while (!condition() && System.nanoTime() < deadline) Thread.sleep(5)
+        assertTrue(condition())
+    }
+
+    private class PendingBatch(val requests: List<GatewayRequest>) {
+        val future = CompletableFuture<List<GatewayResponse>>()
+
+        fun complete(response: (GatewayRequest) -> GatewayResponse) {
+            future.complete(requests.map(response))
+        }
+    }
+
+    /**
+     * 일괄 승인 호출을 기록하고 테스트가 직접 응답을 완료시키는 게이트웨이
+     */
+    private class BatchingGateway : PaymentGateway {
+        override val name = "batching"
+        val batches = CopyOnWriteArrayList<PendingBatch>()
+
+        override fun authorizeBatch(requests: List<GatewayRequest>) =
+            PendingBatch(requests).also { batches += it }.future
+
+        override fun authorize(request: GatewayRequest) = CompletableFuture<GatewayResponse>()
+        override fun capture(request: GatewayRequest) = CompletableFuture<GatewayResponse>()
+        override fun voidAuthorization(request: GatewayRequest) = CompletableFuture<GatewayResponse>()
+        override fun refund(request: GatewayRequest) = CompletableFuture<GatewayResponse>()
+    }
+}
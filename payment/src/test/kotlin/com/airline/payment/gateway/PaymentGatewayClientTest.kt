@@ -0,0 +1,90 @@
+package com.airline.payment.gateway
+
+import com.airline.payment.config.PaymentConfig
+import com.airline.payment.domain.valueobject.Money
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertInstanceOf
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.TimeUnit
+
+class PaymentGatewayClientTest {
+
+    private val gateway = ManualGateway()
+
+    @Test
+    fun `requests beyond the connection limit wait for a released connection`() {
+        val client = client(maxConnections = 2)
+
+        val first = client.authorize(request("PAY-1"))
+        client.authorize(request("PAY-2"))
+        val third = client.authorize(request("PAY-3"))
+        assertEquals(2, gateway.calls.size)
+        assertEquals(2 to 1, client.poolStats()["manual"])
+
+        gateway.calls[0].complete(GatewayResponse.approved("TX-1", "ok"))
+
+        assertTrue(first.get(1, TimeUnit.SECONDS).approved)
+        assertEquals(3, gateway.calls.size)
+        assertEquals(false, third.isDone)
+    }
+
+    @Test
+    fun `requests fail fast when the wait queue is full`() {
+        val client = client(maxConnections = 1, maxPendingAcquires = 0)
+
+        client.authorize(request("PAY-1"))
+        val rejected = client.authorize(request("PAY-2"))
+
+        val error = assertThrows<ExecutionException> { rejected.get(1, TimeUnit.SECONDS) }
+        assertInstanceOf(PaymentGatewayException::class.java, error.cause)
+        assertEquals(1, gateway.calls.size)
+    }
+
+    @Test
+    fun `timed out request keeps its connection until the gateway call completes`() {
+        val client = client(maxConnections = 1, requestTimeoutMs = 50)
+
+        val timedOut = client.authorize(request("PAY-1"))
+
+        val error = assertThrows<ExecutionException> { timedOut.get(1, TimeUnit.SECONDS) }
+        assertInstanceOf(PaymentGatewayTimeoutException::class.java, error.cause)
+        assertEquals(1 to 0, client.poolStats()["manual"])
+
+        gateway.calls[0].complete(GatewayResponse.approved("TX-1", "late"))
+
+        assertEquals(0 to 0, client.poolStats()["manual"])
+    }
+
+    private fun client(
+        maxConnections: Int,
+        maxPendingAcquires: Int = 10,
+        requestTimeoutMs: Long = 5_000
+    ): PaymentGatewayClient {
+        val config = PaymentConfig()
+        config.gateway.active = "manual"
+        config.gateway.maxConnections = maxConnections
+        config.gateway.maxPendingAcquires = maxPendingAcquires
+        config.gateway.requestTimeoutMs = requestTimeoutMs
+        return PaymentGatewayClient(listOf(gateway), config)
+    }
+
+    private fun request(paymentId: String) = GatewayRequest(paymentId, "RES-1", Money.of(10_000), "CARD")
+
+    /**
+     * 테스트가 직접 응답을 완료시키는 게이트웨이
+     */
+    private class ManualGateway : PaymentGateway {
+        override val name = "manual"
+        val calls = CopyOnWriteArrayList<CompletableFuture<GatewayResponse>>()
+
+        override fun authorize(request: GatewayRequest) = CompletableFuture<GatewayResponse>().also { calls += it }
+        override fun capture(request: GatewayRequest) = CompletableFuture<GatewayResponse>().also { calls += it }
+        override fun voidAuthorization(request: GatewayRequest) = CompletableFuture<GatewayResponse>().also { calls += it }
+        override fun refund(request: GatewayRequest) = CompletableFuture<GatewayResponse>().also { calls += it }
+    }
+}
@@ -0,0 +1,45 @@
+package com.airline.payment.gateway
+
+import com.airline.payment.config.PaymentConfig
+import com.airline.payment.domain.service.PaymentDomainService
+import com.airline.payment.domain.valueobject.Money
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import java.util.concurrent.TimeUnit
+
+class SimulatedPaymentGatewayTest {
+
+    private val config = PaymentConfig().apply {
+        gateway.simulator.medianLatencyMs = 1.0
+        gateway.simulator.p99LatencyMs = 1.0
+        gateway.simulator.errorRate = 0.0
+        gateway.simulator.timeoutRate = 0.0
+    }
+    private val gateway = SimulatedPaymentGateway(PaymentDomainService(config), config)
+
+    @AfterEach
+    fun tearDown() {
+        gateway.destroy()
+    }
+
+    @Test
+    fun `declines are not replayed for the same idempotency key but approvals are`() {
+        val request = GatewayRequest("PAY-1", "RES-1", Money.of(10_000), "CARD")
+
+        config.successRates.lowAmount = 0.0
+        assertFalse(authorize(request).approved)
+
+        config.successRates.lowAmount = 1.0
+        val approved = authorize(request)
+        assertTrue(approved.approved)
+
+        config.successRates.lowAmount = 0.0
+        assertEquals(approved, authorize(request))
+    }
+
+    private fun authorize(request: GatewayRequest): GatewayResponse =
+        gateway.authorize(request).get(1, TimeUnit.SECONDS)
+}
@@ -0,0 +1,50 @@
+package com.airline.payment.infrastructure.event
+
+import com.airline.payment.domain.event.PaymentDomainEvent
+import com.airline.payment.domain.valueobject.Money
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+
+class PaymentEventCodecTest {
+
+    @Test
+    fun `every event type survives a round trip`() {
+        val events = listOf(
+            PaymentDomainEvent.PaymentCreated.of("PAY-1", "RES-1", Money.of(150_000), "CARD", "", ""),
+            PaymentDomainEvent.PaymentApproved.of("PAY-1", "RES-1", Money.ofMinor(15_000_050)),
+            PaymentDomainEvent.PaymentRejected.of("PAY-1", "RES-1", "External payment system declined"),
+            PaymentDomainEvent.PaymentCancelled.of("PAY-1", "RES-1", Money.ofMinor(-100, "USD"))
+        )
+
+        events.forEach { assertEquals(it, PaymentEventCodec.decode(PaymentEventCodec.encode(it))) }
+    }
+
+    @Test
+    fun `customer name and email are not written to the event`() {
+        val created = PaymentDomainEvent.PaymentCreated.of("PAY-1", "RES-1", Money.of(150_000), "CARD", "홍길동", "hong@example.com")
+
+        val bytes = PaymentEventCodec.encode(created)
+
+        assertFalse(String(bytes, Charsets.UTF_8).contains("hong@example.com"))
+        assertFalse(String(bytes, Charsets.UTF_8).contains("홍길동"))
+        assertEquals(created.copy(customerName = "", customerEmail = ""), PaymentEventCodec.decode(bytes))
+    }
+
+    @Test
+    fun `unknown fields from newer schemas are skipped`() {
+        val event = PaymentDomainEvent.PaymentApproved.of("PAY-1", "RES-1", Money.of(150_000))
+        // field 20 (varint) = 1, field 21 (length-delimited) = "x"
+        val extended = PaymentEventCodec.encode(event) + byteArrayOf(0xA0.toByte(), 0x01, 0x01, 0xAA.toByte(), 0x01, 0x01, 'x'.code.toByte())
+
+        assertEquals(event, PaymentEventCodec.decode(extended))
+    }
+
+    @Test
+    fun `truncated payloads are rejected`() {
+        val bytes = PaymentEventCodec.encode(PaymentDomainEvent.PaymentApproved.of("PAY-1", "RES-1", Money.of(1)))
+
+        assertThrows<IllegalArgumentException> { PaymentEventCodec.decode(bytes.copyOf(bytes.size - 1)) }
+    }
+}
@@ -0,0 +1,106 @@
+package com.airline.payment.infrastructure.event
+
+import com.airline.payment.config.PaymentConfig
+import com.airline.payment.domain.event.PaymentDomainEvent
+import com.airline.payment.domain.valueobject.Money
+import org.apache.kafka.common.errors.TimeoutException
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import org.mockito.kotlin.any
+import org.mockito.kotlin.eq
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.whenever
+import org.springframework.kafka.core.KafkaTemplate
+import org.springframework.kafka.support.SendResult
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.TimeUnit
+
+class PaymentEventOutboxTest {
+
+    private val kafkaTemplate = mock<KafkaTemplate<String, ByteArray>>()
+    private val sent = CopyOnWriteArrayList<Pair<String, ByteArray>>()
+    private val outboxes = mutableListOf<PaymentEventOutbox>()
+
+    @AfterEach
+    fun tearDown() {
+        outboxes.forEach { it.destroy() }
+    }
+
+    @Test
+    fun `events are encoded and published in batches off the calling thread`() {
+        acknowledgeSends()
+        val outbox = outbox()
+
+        outbox.append((1..10).map { approved("PAY-$it") })
+
+        waitUntil { outbox.getStatistics()["published"] == 10L }
+        assertEquals("PAY-1", sent.first().first)
+        assertEquals("PAY-1", (PaymentEventCodec.decode(sent.first().second) as PaymentDomainEvent.PaymentApproved).paymentId)
+        assertTrue(outbox.getStatistics()["batches"]!! < 10L)
+    }
+
+    @Test
+    fun `failed sends are retried`() {
+        val attempts = CopyOnWriteArrayList<String>()
+        whenever(kafkaTemplate.send(eq("payment.events"), any<String>(), any<ByteArray>())).thenAnswer { invocation ->
+            val key = invocation.getArgument<String>(1)
+            attempts += key
+            if (attempts.size == 1) CompletableFuture.failedFuture(TimeoutException("broker unavailable"))
+            else CompletableFuture.completedFuture<SendResult<String, ByteArray>>(null)
+        }
+        val outbox = outbox()
+
+        outbox.append(listOf(approved("PAY-1")))
+
+        waitUntil { outbox.getStatistics()["published"] == 1L }
+        assertEquals(listOf("PAY-1", "PAY-1"), attempts)
+        assertEquals(1L, outbox.getStatistics()["retried"])
+    }
+
+    @Test
+    fun `full outbox drops without blocking and closes admission`() {
+        // 전송이 끝나지 않아 발행 스레드가 첫 배치에서 멈춘 상태
+        whenever(kafkaTemplate.send(any<String>(), any<String>(), any<ByteArray>()))
+            .thenReturn(CompletableFuture<SendResult<String, ByteArray>>())
+        val outbox = outbox(capacity = 2, batchSize = 1)
+
+        assertTrue(outbox.acceptsNewPayments())
+        val startedAt = System.nanoTime()
+        outbox.append((1..4).map { approved("PAY-$it") })
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt) < 50)
+        val statistics = outbox.getStatistics()
+        assertEquals(3L, statistics["appended"])
+        assertEquals(1L, statistics["dropped"])
+        assertFalse(outbox.acceptsNewPayments())
+    }
+
+    private fun outbox(capacity: Int = 100, batchSize: Int = 500): PaymentEventOutbox {
+        val config = PaymentConfig()
+        config.events.capacity = capacity
+        config.events.batchSize = batchSize
+        config.events.lingerMs = 20
+        config.events.sendTimeoutMs = 1_000
+        config.events.shutdownTimeoutMs = 200
+        return PaymentEventOutbox(kafkaTemplate, config).also { outboxes += it }
+    }
+
+    private fun acknowledgeSends() {
+        whenever(kafkaTemplate.send(eq("payment.events"), any<String>(), any<ByteArray>())).thenAnswer { invocation ->
+            sent += invocation.getArgument<String>(1) to invocation.getArgument<ByteArray>(2)
+            CompletableFuture.completedFuture<SendResult<String, ByteArray>>(null)
+        }
+    }
+
+    private fun approved(paymentId: String) = PaymentDomainEvent.PaymentApproved.of(paymentId, "RES-$paymentId", Money.of(150_000))
+
+    private fun waitUntil(condition: () -> Boolean) {
+        val deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5)
+        while (!condition() && System.nanoTime() < deadline) Thread.sleep(5)
+        assertTrue(condition())
+    }
+}
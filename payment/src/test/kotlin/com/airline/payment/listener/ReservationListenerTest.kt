@@ -0,0 +1,193 @@
+package com.airline.payment.listener
+
+import com.airline.payment.config.PaymentConfig
+import com.airline.payment.domain.valueobject.Money
+import com.airline.payment.dto.PaymentRequest
+import com.airline.payment.dto.PaymentResponse
+import com.airline.payment.dto.PaymentStatus
+import com.airline.payment.exception.PaymentProcessingException
+import com.airline.payment.service.PaymentService
+import org.apache.kafka.clients.consumer.Consumer
+import org.apache.kafka.clients.consumer.ConsumerGroupMetadata
+import org.apache.kafka.common.TopicPartition
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.mockito.kotlin.any
+import org.mockito.kotlin.argumentCaptor
+import org.mockito.kotlin.eq
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
+import org.mockito.kotlin.timeout
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+import org.springframework.beans.factory.ObjectProvider
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry
+import org.springframework.kafka.listener.MessageListenerContainer
+import org.springframework.kafka.support.KafkaHeaders
+import org.springframework.messaging.MessageHeaders
+import java.math.BigDecimal
+import java.time.LocalDateTime
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CopyOnWriteArrayList
+
+class ReservationListenerTest {
+
+    private lateinit var paymentService: PaymentService
+    private lateinit var eventCommitter: TransactionalEventCommitter
+    private lateinit var listener: ReservationListener
+
+    private val consumer: Consumer<*, *> = mock<Consumer<String, String>>().also {
+        whenever(it.groupMetadata()).thenReturn(ConsumerGroupMetadata("payment"))
+    }
+    private val partition = TopicPartition("seat.reserved", 0)
+    private val submitted = CopyOnWriteArrayList<Pair<String, CompletableFuture<PaymentResponse>>>()
+    private var nextOffset = 0L
+    private var pauseRequested = false
+    private val container: MessageListenerContainer = mock<MessageListenerContainer>().also {
+        whenever(it.isPauseRequested).thenAnswer { pauseRequested }
+        whenever(it.pause()).thenAnswer { pauseRequested = true; null }
+        whenever(it.resume()).thenAnswer { pauseRequested = false; null }
+    }
+    private val registry: ObjectProvider<KafkaListenerEndpointRegistry> = mock<ObjectProvider<KafkaListenerEndpointRegistry>>().also {
+        val endpointRegistry = mock<KafkaListenerEndpointRegistry>()
+        whenever(endpointRegistry.getListenerContainer(ReservationListener.LISTENER_ID)).thenReturn(container)
+        whenever(it.ifAvailable).thenReturn(endpointRegistry)
+    }
+
+    @BeforeEach
+    fun setUp() {
+        paymentService = mock()
+        whenever(paymentService.processPaymentAsync(any(), any(), any())).thenAnswer { invocation ->
+            val request = invocation.getArgument<PaymentRequest>(0)
+            CompletableFuture<PaymentResponse>().also { submitted += request.reservationId to it }
+        }
+        whenever(paymentService.acceptsPayments()).thenReturn(true)
+        whenever(paymentService.paymentApprovedEvent(any(), any())).thenReturn("""{"paymentStatus":"APPROVED"}""")
+        eventCommitter = mock()
+
+        listener = listener()
+    }
+
+    @Test
+    fun `consumer is paused instead of blocked when payments are not accepted and resumed once they are`() {
+        whenever(paymentService.acceptsPayments()).thenReturn(false)
+
+        receive("RES-1")
+
+        assertEquals(1, submitted.size)
+        verify(container).pause()
+
+        whenever(paymentService.acceptsPayments()).thenReturn(true)
+        verify(container, timeout(1_000)).resume()
+    }
+
+    @Test
+    fun `consumer is paused at the in-flight limit and resumed when a payment completes`() {
+        listener = listener(maxInFlight = 1)
+
+        receive("RES-1")
+        verify(container).pause()
+
+        submitted[0].second.complete(response("RES-1"))
+
+        verify(container, timeout(1_000)).resume()
+        receive("RES-2")
+        assertEquals(2, submitted.size)
+    }
+
+    @Test
+    fun `payments for different reservations run concurrently without blocking the consumer`() {
+        receive("RES-1")
+        receive("RES-2")
+
+        assertEquals(listOf("RES-1", "RES-2"), submitted.map { it.first })
+    }
+
+    @Test
+    fun `payments for the same reservation start only after the previous one completes`() {
+        receive("RES-1")
+        receive("RES-1")
+        assertEquals(1, submitted.size)
+        verify(eventCommitter, never()).complete(eq(partition), eq(1L), any())
+
+        submitted[0].second.completeExceptionally(PaymentProcessingException("External payment system declined"))
+
+        verify(eventCommitter).complete(eq(partition), eq(1L), any())
+    }
+
+    @Test
+    fun `declined payment completes the record with a payment failed event`() {
+        receive("RES-1")
+
+        submitted[0].second.completeExceptionally(PaymentProcessingException("External payment system declined"))
+
+        val events = argumentCaptor<List<OutboundEvent>>()
+        verify(eventCommitter).complete(eq(partition), eq(0L), events.capture())
+        assertEquals(listOf("payment.failed"), events.firstValue.map { it.topic })
+        assertEquals("RES-1", events.firstValue.single().key)
+    }
+
+    @Test
+    fun `redelivered reservation is not charged again and re-emits the previous result`() {
+        receive("RES-1")
+        submitted[0].second.complete(response("RES-1"))
+
+        receive("RES-1")
+
+        assertEquals(1, submitted.size)
+        val events = argumentCaptor<List<OutboundEvent>>()
+        verify(eventCommitter).complete(eq(partition), eq(0L), events.capture())
+        verify(eventCommitter).complete(eq(partition), eq(1L), events.capture())
+        assertEquals(events.firstValue, events.secondValue)
+        assertEquals("payment.approved", events.secondValue.single().topic)
+    }
+
+    @Test
+    fun `records with an overflowing amount or invalid seat count are skipped without charging`() {
+        val config = PaymentConfig()
+        config.listener.dedup.expectedInsertions = 1_000
+        config.listener.farePerSeat = BigDecimal("10000000000000000")
+        listener = ReservationListener(paymentService, config, ProcessedReservationStore(config), eventCommitter, registry)
+
+        deliver("""{"reservationId":"RES-1","flightId":"KE001","reservedSeats":1000}""")
+        deliver("""{"reservationId":"RES-2","flightId":"KE001","reservedSeats":-1}""")
+
+        assertEquals(0, submitted.size)
+        verify(eventCommitter).register(eq(partition), eq(0L), any())
+        verify(eventCommitter).complete(partition, 0L, emptyList())
+        verify(eventCommitter).complete(partition, 1L, emptyList())
+    }
+
+    private fun listener(maxInFlight: Int = 256): ReservationListener {
+        val config = PaymentConfig()
+        config.listener.dedup.expectedInsertions = 1_000
+        config.listener.maxInFlight = maxInFlight
+        return ReservationListener(paymentService, config, ProcessedReservationStore(config), eventCommitter, registry)
+    }
+
+    private fun receive(reservationId: String) = deliver(event(reservationId))
+
+    private fun deliver(message: String) {
+        val headers = MessageHeaders(
+            mapOf(
+                KafkaHeaders.RECEIVED_TOPIC to partition.topic(),
+                KafkaHeaders.RECEIVED_PARTITION to partition.partition(),
+                KafkaHeaders.OFFSET to nextOffset++
+            )
+        )
+        listener.seatReservedListener(message, headers, consumer)
+    }
+
+    private fun event(reservationId: String) =
+        """{"reservationId":"$reservationId","flightId":"KE001","reservedSeats":2}"""
+
+    private fun response(reservationId: String) = PaymentResponse(
+        paymentId = "PAY-1",
+        status = PaymentStatus.SUCCESS,
+        amount = Money.of(300_000),
+        reservationId = reservationId,
+        processedAt = LocalDateTime.now(),
+        message = "결제 승인"
+    )
+}
@@ -0,0 +1,44 @@
+package com.airline.payment.listener
+
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+
+class TimeWindowedBloomFilterTest {
+
+    private var now = 0L
+    private val filter = TimeWindowedBloomFilter(
+        expectedInsertions = 10_000,
+        falsePositiveRate = 0.01,
+        windowMs = 1_000,
+        clock = { now }
+    )
+
+    @Test
+    fun `added keys are always reported as possibly present`() {
+        val keys = (1..10_000).map { "RES-$it" }
+        keys.forEach(filter::put)
+
+        assertTrue(keys.all(filter::mightContain))
+    }
+
+    @Test
+    fun `false positive rate stays near the configured target`() {
+        (1..10_000).forEach { filter.put("RES-$it") }
+
+        val falsePositives = (10_001..20_000).count { filter.mightContain("RES-$it") }
+
+        assertTrue(falsePositives < 300, "false positives: $falsePositives")
+    }
+
+    @Test
+    fun `keys are remembered for one full window and forgotten after two`() {
+        filter.put("RES-1")
+
+        now = 1_500
+        assertTrue(filter.mightContain("RES-1"))
+
+        now = 2_500
+        assertFalse(filter.mightContain("RES-1"))
+    }
+}
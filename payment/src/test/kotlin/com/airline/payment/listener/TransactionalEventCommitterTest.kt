@@ -0,0 +1,91 @@
+package com.airline.payment.listener
+
+import com.airline.payment.config.PaymentConfig
+import org.apache.kafka.clients.consumer.ConsumerGroupMetadata
+import org.apache.kafka.clients.consumer.OffsetAndMetadata
+import org.apache.kafka.common.TopicPartition
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.mockito.kotlin.any
+import org.mockito.kotlin.inOrder
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
+import org.mockito.kotlin.timeout
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+import org.springframework.kafka.core.KafkaOperations
+import org.springframework.kafka.core.KafkaTemplate
+
+class TransactionalEventCommitterTest {
+
+    private lateinit var kafkaTemplate: KafkaTemplate<String, String>
+    private lateinit var operations: KafkaOperations<String, String>
+    private lateinit var committer: TransactionalEventCommitter
+
+    private val partition = TopicPartition("seat.reserved", 0)
+    private val groupMetadata = ConsumerGroupMetadata("payment")
+
+    @BeforeEach
+    fun setUp() {
+        kafkaTemplate = mock()
+        operations = mock()
+        whenever(kafkaTemplate.executeInTransaction<Any>(any())).thenAnswer { invocation ->
+            invocation.getArgument<KafkaOperations.OperationsCallback<String, String, Any>>(0).doInOperations(operations)
+        }
+
+        val config = PaymentConfig()
+        config.listener.commitIntervalMs = 10
+        committer = TransactionalEventCommitter(kafkaTemplate, config)
+    }
+
+    @AfterEach
+    fun tearDown() {
+        committer.destroy()
+    }
+
+    @Test
+    fun `records completed out of order are committed only once the earlier ones finish`() {
+        (0L..2L).forEach { committer.register(partition, it, groupMetadata) }
+        committer.complete(partition, 1, listOf(event("RES-2")))
+        committer.complete(partition, 2, listOf(event("RES-3")))
+
+        Thread.sleep(100)
+        verify(kafkaTemplate, never()).executeInTransaction<Any>(any())
+
+        committer.complete(partition, 0, listOf(event("RES-1")))
+
+        verify(operations, timeout(1_000)).sendOffsetsToTransaction(
+            mapOf(partition to OffsetAndMetadata(3)),
+            groupMetadata
+        )
+        inOrder(operations) {
+            verify(operations).send("payment.approved", "RES-1", "{}")
+            verify(operations).send("payment.approved", "RES-2", "{}")
+            verify(operations).send("payment.approved", "RES-3", "{}")
+        }
+        assertEquals(3L, committer.getStatistics()["committedRecords"])
+    }
+
+    @Test
+    fun `failed transaction keeps its records for the next commit`() {
+        whenever(kafkaTemplate.executeInTransaction<Any>(any()))
+            .thenThrow(IllegalStateException("broker unavailable"))
+            .thenAnswer { invocation ->
+                invocation.getArgument<KafkaOperations.OperationsCallback<String, String, Any>>(0).doInOperations(operations)
+            }
+
+        committer.register(partition, 0, groupMetadata)
+        committer.complete(partition, 0, listOf(event("RES-1")))
+
+        verify(operations, timeout(1_000)).sendOffsetsToTransaction(
+            mapOf(partition to OffsetAndMetadata(1)),
+            groupMetadata
+        )
+        assertEquals(1L, committer.getStatistics()["abortedTransactions"])
+        assertEquals(1L, committer.getStatistics()["committedRecords"])
+    }
+
+    private fun event(reservationId: String) = OutboundEvent("payment.approved", reservationId, "{}")
+}
@@ -0,0 +1,51 @@
+package com.airline.payment.reconciliation
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import java.nio.file.Files
+import java.nio.file.Path
+
+class SettlementFileReaderTest {
+
+    @TempDir
+    lateinit var directory: Path
+
+    @Test
+    fun `lines crossing the mapped window boundary are parsed whole`() {
+        val file = write((1..50).joinToString("\n") { "PAY-$it,1500$it.5,SETTLED" })
+
+        val records = mutableListOf<SettlementRecord>()
+        val rows = SettlementFileReader(file, windowBytes = 32).read({ records += it }, { _, _ -> })
+
+        assertEquals(50L, rows)
+        assertEquals((1..50).map { "PAY-$it" }, records.map { it.paymentId })
+        assertEquals(1_500_750L, records[6].amountMinor)
+        assertEquals(50L, records.last().lineNumber)
+    }
+
+    @Test
+    fun `header is skipped and malformed rows are reported with line numbers`() {
+        val file = write(
+            "payment_id,amount,status\r\n" +
+                "PAY-1, 150000 ,refunded\r\n" +
+                "PAY-2,abc,SETTLED\r\n" +
+                "\r\n" +
+                "PAY-3,100.001,SETTLED\r\n" +
+                "PAY-4,100,UNKNOWN\r\n" +
+                "\"PAY-5\",-20.1,DECLINED,extra"
+        )
+
+        val records = mutableListOf<SettlementRecord>()
+        val malformed = mutableListOf<Long>()
+        val rows = SettlementFileReader(file).read({ records += it }, { lineNumber, _ -> malformed += lineNumber })
+
+        assertEquals(5L, rows)
+        assertEquals(listOf(3L, 5L, 6L), malformed)
+        assertEquals(SettlementRecord(2, "PAY-1", 15_000_000, SettlementStatus.REFUNDED), records[0])
+        assertEquals(SettlementRecord(7, "PAY-5", -2_010, SettlementStatus.DECLINED), records[1])
+    }
+
+    private fun write(content: String): Path =
+        Files.writeString(directory.resolve("settlement.csv"), content)
+}
@@ -0,0 +1,76 @@
+package com.airline.payment.reconciliation
+
+import com.airline.payment.dto.PaymentStatus
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import java.nio.file.Files
+import java.nio.file.Path
+
+class SettlementReconcilerTest {
+
+    @TempDir
+    lateinit var directory: Path
+
+    private val payments = listOf(
+        PaymentRow("PAY-1", 15_000_000, PaymentStatus.SUCCESS),
+        PaymentRow("PAY-2", 15_000_000, PaymentStatus.SUCCESS),
+        PaymentRow("PAY-3", 30_000_000, PaymentStatus.CANCELLED),
+        PaymentRow("PAY-4", 15_000_000, PaymentStatus.SUCCESS),
+        PaymentRow("PAY-5", 15_000_000, PaymentStatus.FAILED),
+        PaymentRow("PAY-6", 15_000_000, PaymentStatus.SUCCESS)
+    )
+
+    private val settlement = """
+        payment_id,amount,status
+        PAY-1,150000,SETTLED
+        PAY-2,150000.50,SETTLED
+        PAY-3,300000,SETTLED
+        PAY-9,100000,SETTLED
+        PAY-1,150000,SETTLED
+        PAY-6,oops,SETTLED
+    """.trimIndent()
+
+    @Test
+    fun `mismatches are classified by type`() {
+        val (result, counts) = reconcile(maxInMemoryRows = 100)
+
+        assertFalse(result.spilled)
+        assertEquals(expectedCounts, counts)
+        assertEquals(6L, result.settlementRows)
+        assertEquals(6L, result.paymentRows)
+        assertEquals(3L, result.matchedRows)
+    }
+
+    @Test
+    fun `spilled join produces the same report as the in-memory join`() {
+        val (result, counts) = reconcile(maxInMemoryRows = 2)
+
+        assertTrue(result.spilled)
+        assertEquals(expectedCounts, counts)
+        assertEquals(3L, result.matchedRows)
+        assertEquals(0L, Files.list(directory.resolve("spill")).count())
+    }
+
+    private val expectedCounts = mapOf(
+        MismatchType.AMOUNT_MISMATCH to 1L,
+        MismatchType.STATUS_MISMATCH to 1L,
+        MismatchType.MISSING_IN_PAYMENTS to 1L,
+        MismatchType.DUPLICATE_IN_SETTLEMENT to 1L,
+        MismatchType.MALFORMED_ROW to 1L,
+        // PAY-4, PAY-6 (PAY-5는 실패 결제라 정산 대상 아님)
+        MismatchType.MISSING_IN_SETTLEMENT to 2L
+    )
+
+    private fun reconcile(maxInMemoryRows: Int): Pair<SettlementReconciler.Result, Map<MismatchType, Long>> {
+        val file = Files.writeString(directory.resolve("settlement.csv"), settlement)
+        val reconciler = SettlementReconciler(maxInMemoryRows, spillPartitions = 4, spillDirectory = directory.resolve("spill"))
+
+        return MismatchReportWriter(directory.resolve("report.csv"), sampleSize = 10).use { writer ->
+            val result = reconciler.reconcile({ action -> payments.forEach(action) }, file, writer)
+            result to writer.counts()
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.airline.payment.refund
+
+import com.airline.payment.config.PaymentConfig
+import com.airline.payment.domain.valueobject.Money
+import com.airline.payment.dto.PaymentResponse
+import com.airline.payment.dto.PaymentStatus
+import com.airline.payment.exception.PaymentProcessingException
+import com.airline.payment.gateway.PaymentGatewayClient
+import com.airline.payment.service.PaymentService
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNotNull
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import org.mockito.kotlin.any
+import org.mockito.kotlin.eq
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+import org.springframework.kafka.core.KafkaTemplate
+import org.springframework.kafka.support.SendResult
+import java.nio.file.Path
+import java.time.LocalDateTime
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.TimeoutException
+import java.util.concurrent.atomic.AtomicInteger
+
+class RefundQueueTest {
+
+    @TempDir
+    lateinit var directory: Path
+
+    private lateinit var paymentService: PaymentService
+    private lateinit var kafkaTemplate: KafkaTemplate<String, String>
+    private val gatewayClient: PaymentGatewayClient = mock<PaymentGatewayClient>().also {
+        whenever(it.activeGateway()).thenReturn("simulator")
+    }
+    private val queues = mutableListOf<RefundQueue>()
+
+    @BeforeEach
+    fun setUp() {
+        paymentService = mock()
+        kafkaTemplate = mock()
+        whenever(paymentService.cancelPayment(any(), any(), any())).thenAnswer { invocation ->
+            response(invocation.getArgument(0))
+        }
+        whenever(paymentService.paymentCancelledEvent(any(), any())).thenAnswer { invocation ->
+            """{"paymentId":"${invocation.getArgument<PaymentResponse>(0).paymentId}","paymentStatus":"CANCELLED"}"""
+        }
+        whenever(kafkaTemplate.send(any<String>(), any<String>(), any<String>()))
+            .thenReturn(CompletableFuture.completedFuture<SendResult<String, String>>(null))
+    }
+
+    @AfterEach
+    fun tearDown() {
+        queues.forEach { it.destroy() }
+    }
+
+    @Test
+    fun `refunds are processed and cancelled events are published`() {
+        val queue = refundQueue()
+
+        val accepted = queue.enqueue(RefundBatchRequest(paymentIds = listOf("PAY-1", "PAY-2")))
+        assertEquals(2, accepted.total)
+
+        waitUntil { queue.getProgress(accepted.batchId)?.succeeded == 2 }
+        waitUntil { queue.getStatistics()["publishedEvents"] == 2L }
+        verify(kafkaTemplate).send(eq("payment.cancelled"), eq("RES-PAY-1"), any())
+        assertNotNull(queue.getProgress(accepted.batchId)?.completedAt)
+    }
+
+    @Test
+    fun `refunds stay pending until their cancelled event is published`() {
+        val sends = AtomicInteger()
+        whenever(kafkaTemplate.send(any<String>(), any<String>(), any<String>())).thenAnswer {
+            if (sends.incrementAndGet() == 1) CompletableFuture.failedFuture(TimeoutException("broker unavailable"))
+            else CompletableFuture.completedFuture<SendResult<String, String>>(null)
+        }
+        val queue = refundQueue()
+
+        val batchId = queue.enqueue(RefundBatchRequest(paymentIds = listOf("PAY-1"))).batchId
+
+        waitUntil { queue.getProgress(batchId)?.succeeded == 1 }
+        assertEquals(2, sends.get())
+        assertEquals(1L, queue.getStatistics()["publishedEvents"])
+    }
+
+    @Test
+    fun `gateway failures are retried and then reported`() {
+        whenever(paymentService.cancelPayment(eq("PAY-1"), any(), any()))
+            .thenThrow(PaymentProcessingException("Refund declined: insufficient funds"))
+        val queue = refundQueue()
+
+        val batchId = queue.enqueue(RefundBatchRequest(paymentIds = listOf("PAY-1", "PAY-2"))).batchId
+
+        waitUntil { queue.getProgress(batchId)?.pending == 0 }
+        val progress = queue.getProgress(batchId)!!
+        assertEquals(1, progress.succeeded)
+        assertEquals(1, progress.failed)
+        assertEquals("PAY-1", progress.failures.single().paymentId)
+        assertEquals(2L, queue.getStatistics()["retried"])
+    }
+
+    @Test
+    fun `queued refunds survive a restart and duplicates are skipped`() {
+        val stopped = refundQueue(workers = 0)
+        val batchId = stopped.enqueue(RefundBatchRequest(paymentIds = listOf("PAY-1", "PAY-2"))).batchId
+        assertEquals(1, stopped.enqueue(RefundBatchRequest(paymentIds = listOf("PAY-2"))).skipped)
+        stopped.destroy()
+        queues.remove(stopped)
+
+        val restarted = refundQueue()
+
+        waitUntil { restarted.getProgress(batchId)?.succeeded == 2 }
+        assertEquals(2, restarted.getProgress(batchId)?.total)
+    }
+
+    private fun refundQueue(workers: Int = 2): RefundQueue {
+        val config = PaymentConfig()
+        config.refund.journalPath = directory.resolve("refunds.journal").toString()
+        config.refund.workers = workers
+        config.refund.ratePerSecond = 1_000.0
+        config.refund.maxAttempts = 3
+        config.refund.retryBackoffMs = 1
+        config.refund.publishIntervalMs = 10
+        return RefundQueue(paymentService, gatewayClient, kafkaTemplate, config).also { queues += it }
+    }
+
+    private fun response(paymentId: String) = PaymentResponse(
+        paymentId = paymentId,
+        status = PaymentStatus.CANCELLED,
+        amount = Money.of(150_000),
+        reservationId = "RES-$paymentId",
+        processedAt = LocalDateTime.now(),
+        message = "결제 취소"
+    )
+
+    private fun waitUntil(condition: () -> Boolean) {
+        val deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5)
+        while (!condition() && System.nanoTime() < deadline) Thread.sleep(5)
+        assertTrue(condition())
+    }
+}
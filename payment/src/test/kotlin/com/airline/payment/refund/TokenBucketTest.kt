@@ -0,0 +1,29 @@
+package com.airline.payment.refund
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Test
+
+class TokenBucketTest {
+
+    private var nanos = 0L
+    private val bucket = TokenBucket(ratePerSecond = 10.0, burst = 3) { nanos }
+
+    @Test
+    fun `burst passes immediately and then requests are spaced by the rate`() {
+        repeat(3) { assertEquals(0L, bucket.tryAcquire()) }
+
+        assertEquals(100_000_000L, bucket.tryAcquire())
+
+        nanos += 100_000_000L
+        assertEquals(0L, bucket.tryAcquire())
+    }
+
+    @Test
+    fun `idle time refills no more than the burst`() {
+        repeat(3) { bucket.tryAcquire() }
+        nanos += 60_000_000_000L
+
+        repeat(3) { assertEquals(0L, bucket.tryAcquire()) }
+        assertEquals(100_000_000L, bucket.tryAcquire())
+    }
+}
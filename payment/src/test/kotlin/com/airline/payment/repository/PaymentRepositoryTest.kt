@@ -0,0 +1,77 @@
+package com.airline.payment.repository
+
+import com.airline.payment.domain.valueobject.Money
+import com.airline.payment.dto.PaymentStatus
+import com.airline.payment.entity.Payment
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import java.time.LocalDateTime
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class PaymentRepositoryTest {
+
+    private lateinit var paymentRepository: PaymentRepository
+
+    @BeforeEach
+    fun setUp() {
+        paymentRepository = PaymentRepository()
+    }
+
+    @Test
+    fun `save moves payment between status buckets on status transition`() {
+        val payment = paymentRepository.save(payment("PAY-1", "RES-1"))
+
+        payment.status = PaymentStatus.CANCELLED
+        paymentRepository.save(payment)
+
+        assertTrue(paymentRepository.findByStatus(PaymentStatus.SUCCESS).isEmpty())
+        assertEquals(listOf("PAY-1"), paymentRepository.findByStatus(PaymentStatus.CANCELLED).map { it.paymentId })
+        assertEquals(listOf("PAY-1"), paymentRepository.findByReservationId("RES-1").map { it.paymentId })
+    }
+
+    @Test
+    fun `deleteById removes payment from every index`() {
+        paymentRepository.save(payment("PAY-1", "RES-1"))
+        paymentRepository.save(payment("PAY-2", "RES-2"))
+
+        paymentRepository.deleteById("PAY-1")
+
+        assertTrue(paymentRepository.findByReservationId("RES-1").isEmpty())
+        assertEquals(listOf("PAY-2"), paymentRepository.findByStatus(PaymentStatus.SUCCESS).map { it.paymentId })
+    }
+
+    @Test
+    fun `concurrent saves keep indexes consistent with stored payments`() {
+        val executor = Executors.newFixedThreadPool(8)
+        repeat(1_000) { index ->
+            executor.submit {
+                val payment = payment("PAY-$index", "RES-$index")
+                paymentRepository.save(payment)
+                payment.status = if (index % 2 == 0) PaymentStatus.CANCELLED else PaymentStatus.FAILED
+                paymentRepository.save(payment)
+            }
+        }
+        executor.shutdown()
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS))
+
+        assertTrue(paymentRepository.findByStatus(PaymentStatus.SUCCESS).isEmpty())
+        assertEquals(500, paymentRepository.findByStatus(PaymentStatus.CANCELLED).size)
+        assertEquals(500, paymentRepository.findByStatus(PaymentStatus.FAILED).size)
+        assertEquals(listOf("PAY-42"), paymentRepository.findByReservationId("RES-42").map { it.paymentId })
+    }
+
+    private fun payment(paymentId: String, reservationId: String) = Payment(
+        paymentId = paymentId,
+        status = PaymentStatus.SUCCESS,
+        amount = Money.of(150_000),
+        reservationId = reservationId,
+        paymentMethod = "CARD",
+        customerName = "Hong Gildong",
+        customerEmail = "hong@example.com",
+        processedAt = LocalDateTime.now(),
+        message = "결제 성공"
+    )
+}
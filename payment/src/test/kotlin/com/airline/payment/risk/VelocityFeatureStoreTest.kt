@@ -0,0 +1,59 @@
+package com.airline.payment.risk
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Test
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class VelocityFeatureStoreTest {
+
+    private var now = 1_700_000_000_000L
+    private val store = VelocityFeatureStore(maxKeys = 2) { now }
+
+    @Test
+    fun `windows slide independently`() {
+        store.record("card", 10_000)
+        now += 30_000
+        store.record("card", 20_000)
+
+        now += 45_000
+        val features = requireNotNull(store.record("card", 5_000))
+
+        // 첫 기록은 1분 창에서 빠지고 1시간·24시간 창에는 남음
+        assertEquals(2L, features.count(VelocityWindow.ONE_MINUTE))
+        assertEquals(25_000L, features.amount(VelocityWindow.ONE_MINUTE))
+        assertEquals(3L, features.count(VelocityWindow.ONE_HOUR))
+        assertEquals(35_000L, features.amount(VelocityWindow.ONE_DAY))
+
+        now += VelocityWindow.ONE_DAY.lengthMillis
+        assertEquals(1L, requireNotNull(store.record("card", 1)).count(VelocityWindow.ONE_DAY))
+    }
+
+    @Test
+    fun `new keys are not tracked beyond the limit and idle keys are evicted`() {
+        store.record("a", 1)
+        store.record("b", 1)
+        assertNull(store.record("c", 1))
+
+        now += VelocityWindow.ONE_HOUR.lengthMillis
+        store.record("b", 1)
+        now += VelocityWindow.ONE_DAY.lengthMillis - 1
+
+        assertEquals(1, store.evictIdle())
+        assertEquals(1, store.size())
+    }
+
+    @Test
+    fun `concurrent records within one bucket are all counted`() {
+        val counter = SlidingWindowCounter(bucketCount = 12, bucketMillis = 5_000)
+        val executor = Executors.newFixedThreadPool(4)
+
+        repeat(4) { executor.execute { repeat(10_000) { counter.add(now, 100) } } }
+        executor.shutdown()
+        executor.awaitTermination(10, TimeUnit.SECONDS)
+
+        assertEquals(40_000L, counter.count(now))
+        assertEquals(4_000_000L, counter.amount(now))
+    }
+}
@@ -1,34 +1,52 @@
 package com.airline.payment.service
 
 import com.airline.payment.config.PaymentConfig
+import com.airline.payment.domain.service.PaymentDomainService
+import com.airline.payment.domain.valueobject.Money
 import com.airline.payment.dto.CustomerInfo
 import com.airline.payment.dto.PaymentRequest
 import com.airline.payment.dto.PaymentStatus
 import com.airline.payment.entity.Payment
 import com.airline.payment.exception.PaymentProcessingException
+import com.airline.payment.gateway.AuthorizationBatcher
+import com.airline.payment.gateway.GatewayRequest
+import com.airline.payment.gateway.GatewayResponse
+import com.airline.payment.gateway.PaymentGateway
+import com.airline.payment.gateway.PaymentGatewayException
+import com.airline.payment.gateway.PaymentGatewayClient
+import com.airline.payment.gateway.SimulatedPaymentGateway
+import com.airline.payment.infrastructure.event.PaymentEventOutbox
+import com.airline.payment.infrastructure.repository.PaymentDomainRepositoryImpl
 import com.airline.payment.mapper.PaymentMapper
 import com.airline.payment.repository.PaymentRepository
+import com.airline.payment.risk.RiskScoringService
+import org.junit.jupiter.api.AfterEach
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.assertThrows
 import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
 import org.junit.jupiter.api.Assertions.assertTrue
 import org.mockito.Mockito
 import org.mockito.ArgumentCaptor
-import org.mockito.kotlin.any
 import org.mockito.kotlin.eq
 import org.mockito.kotlin.never
 import org.mockito.kotlin.verify
 import org.mockito.ArgumentMatchers.anyString
+import org.springframework.beans.factory.DisposableBean
 import org.springframework.kafka.core.KafkaTemplate
-import java.math.BigDecimal
 import java.time.LocalDateTime
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.TimeUnit
 
 class PaymentServiceTest {
 
     private lateinit var kafkaTemplate: KafkaTemplate<String, String>
     private lateinit var paymentRepository: PaymentRepository
     private lateinit var paymentMapper: PaymentMapper
+    private lateinit var paymentEventOutbox: PaymentEventOutbox
+    private val disposables = mutableListOf<DisposableBean>()
 
     @BeforeEach
     fun setUp() {
@@ -38,64 +56,85 @@ class PaymentServiceTest {
         paymentMapper = PaymentMapper()
     }
 
+    @AfterEach
+    fun tearDown() {
+        disposables.forEach { it.destroy() }
+    }
+
     @Test
     fun `processPayment succeeds when external payment succeeds`() {
-        val paymentService = PaymentService(
-            kafkaTemplate,
-            paymentRepository,
-            paymentMapper,
-            paymentConfig(successRate = 1.0)
-        )
+        val paymentService = paymentService(paymentConfig(successRate = 1.0))
 
-        val request = defaultPaymentRequest(amount = BigDecimal("10000"))
+        val request = defaultPaymentRequest(amount = Money.of(10_000))
 
         val response = paymentService.processPayment(request)
 
         val captor = ArgumentCaptor.forClass(String::class.java)
-        verify(kafkaTemplate).send(eq("payment.approved"), captor.capture())
+        verify(kafkaTemplate).send(eq("payment.approved"), eq(request.reservationId), captor.capture())
         assertTrue(captor.value.contains(request.reservationId))
         val stored = paymentRepository.findById(response.paymentId)
 
         requireNotNull(stored)
         assertEquals(PaymentStatus.SUCCESS, stored.status)
         assertEquals(PaymentStatus.SUCCESS, response.status)
+        // PaymentCreated, PaymentApproved
+        assertEquals(2L, paymentEventOutbox.getStatistics()["appended"])
     }
 
     @Test
     fun `processPayment throws and records failure when external payment fails`() {
-        val paymentService = PaymentService(
-            kafkaTemplate,
-            paymentRepository,
-            paymentMapper,
-            paymentConfig(successRate = 0.0)
-        )
+        val paymentService = paymentService(paymentConfig(successRate = 0.0))
 
-        val request = defaultPaymentRequest(amount = BigDecimal("20000"))
+        val request = defaultPaymentRequest(amount = Money.of(20_000))
 
         val exception = assertThrows<PaymentProcessingException> {
             paymentService.processPayment(request)
         }
 
         assertTrue(exception.message!!.contains("declined"))
-        verify(kafkaTemplate, never()).send(eq("payment.approved"), anyString())
+        verify(kafkaTemplate, never()).send(eq("payment.approved"), anyString(), anyString())
 
         val stored = paymentRepository.findAll().first()
         assertEquals(PaymentStatus.FAILED, stored.status)
     }
 
+    @Test
+    fun `processPaymentAsync completes after the gateway responds`() {
+        val config = paymentConfig(successRate = 1.0).apply {
+            gateway.simulator.medianLatencyMs = 50.0
+            gateway.simulator.p99LatencyMs = 60.0
+        }
+        val paymentService = paymentService(config)
+
+        val future = paymentService.processPaymentAsync(defaultPaymentRequest(amount = Money.of(10_000)))
+
+        assertFalse(future.isDone)
+        assertEquals(PaymentStatus.SUCCESS, future.get(5, TimeUnit.SECONDS).status)
+    }
+
+    @Test
+    fun `payments are blocked before the gateway once card velocity exceeds the risk rules`() {
+        val paymentService = paymentService(paymentConfig(successRate = 1.0))
+        val request = defaultPaymentRequest(amount = Money.of(10_000)).let {
+            it.copy(customerInfo = it.customerInfo.copy(cardNumber = "4111-1111-1111-1111"))
+        }
+
+        // 기본 규칙: 1분 내 이메일 5건, 카드 3건 초과 시 각 60점, 100점 이상 차단
+        repeat(5) { paymentService.processPayment(request) }
+        val exception = assertThrows<PaymentProcessingException> { paymentService.processPayment(request) }
+
+        assertTrue(exception.message!!.contains("card-burst"))
+        assertEquals(5, paymentRepository.findAll().size)
+    }
+
     @Test
     fun `cancelPayment marks payment cancelled and emits event`() {
-        val paymentService = PaymentService(
-            kafkaTemplate,
-            paymentRepository,
-            paymentMapper,
-            paymentConfig(successRate = 1.0)
-        )
+        val paymentService = paymentService(paymentConfig(successRate = 1.0))
 
         val payment = Payment(
             paymentId = "PAY-12345678",
             status = PaymentStatus.SUCCESS,
-            amount = BigDecimal("50000"),
+            amount = Money.of(50_000),
             reservationId = "RES-12345678",
             paymentMethod = "CARD",
             customerName = "홍길동",
@@ -108,24 +147,182 @@ class PaymentServiceTest {
         val response = paymentService.cancelPayment(payment.paymentId)
 
         val cancelCaptor = ArgumentCaptor.forClass(String::class.java)
-        verify(kafkaTemplate).send(eq("payment.cancelled"), cancelCaptor.capture())
-        assertTrue(cancelCaptor.value.contains(payment.paymentId))
+        verify(kafkaTemplate).send(eq("payment.cancelled"), eq(payment.reservationId), cancelCaptor.capture())
+        assertTrue(cancelCaptor.value.contains("\"paymentId\":\"${payment.paymentId}\""))
+        assertTrue(cancelCaptor.value.contains("\"reason\":\"CUSTOMER_REQUEST\""))
         assertEquals(PaymentStatus.CANCELLED, response.status)
         assertEquals(PaymentStatus.CANCELLED, paymentRepository.findById(payment.paymentId)?.status)
     }
 
-    private fun defaultPaymentRequest(amount: BigDecimal) = PaymentRequest(
+    @Test
+    fun `cancelPaymentsByReservationId cancels only approved payments of the reservation`() {
+        val paymentService = paymentService(paymentConfig(successRate = 1.0))
+        paymentRepository.save(storedPayment("PAY-1", PaymentStatus.FAILED, "RES-1"))
+        paymentRepository.save(storedPayment("PAY-2", PaymentStatus.SUCCESS, "RES-1"))
+        paymentRepository.save(storedPayment("PAY-3", PaymentStatus.SUCCESS, "RES-2"))
+
+        val cancelled = paymentService.cancelPaymentsByReservationId("RES-1")
+
+        assertEquals(listOf("PAY-2"), cancelled.map { it.paymentId })
+        assertEquals(PaymentStatus.FAILED, paymentRepository.findById("PAY-1")?.status)
+        assertEquals(PaymentStatus.SUCCESS, paymentRepository.findById("PAY-3")?.status)
+        assertTrue(paymentService.cancelPaymentsByReservationId("RES-1").isEmpty())
+    }
+
+    @Test
+    fun `capture error voids the authorization and rejects the payment`() {
+        val gateway = ScriptedGateway(capture = { CompletableFuture.failedFuture(PaymentGatewayException("capture down")) })
+        val paymentService = paymentService(scriptedConfig(), gateway)
+
+        assertThrows<PaymentProcessingException> { paymentService.processPayment(defaultPaymentRequest(Money.of(10_000))) }
+
+        assertEquals(PaymentStatus.FAILED, paymentRepository.findAll().single().status)
+        assertEquals(1, gateway.voided.size)
+        assertEquals(0, paymentService.unresolvedCaptureCount())
+    }
+
+    @Test
+    fun `capture timeout leaves the payment pending and reconciliation voids it`() {
+        val gateway = ScriptedGateway(capture = { CompletableFuture() })
+        val paymentService = paymentService(scriptedConfig(), gateway)
+
+        assertThrows<PaymentProcessingException> { paymentService.processPayment(defaultPaymentRequest(Money.of(10_000))) }
+
+        val payment = paymentRepository.findAll().single()
+        assertEquals(PaymentStatus.PENDING, payment.status)
+        assertTrue(gateway.voided.isEmpty())
+        assertEquals(1, paymentService.unresolvedCaptureCount())
+
+        assertEquals(1, paymentService.reconcileUnresolvedCaptures())
+
+        assertEquals(PaymentStatus.FAILED, paymentRepository.findById(payment.paymentId)?.status)
+        assertEquals(listOf(payment.paymentId), gateway.voided)
+        assertEquals(0, paymentService.unresolvedCaptureCount())
+    }
+
+    @Test
+    fun `reconciliation refunds a timed out capture that the gateway had already captured`() {
+        val gateway = ScriptedGateway(
+            capture = { CompletableFuture() },
+            void = { CompletableFuture.completedFuture(GatewayResponse.declined("이미 매입된 거래")) }
+        )
+        val paymentService = paymentService(scriptedConfig(), gateway)
+        assertThrows<PaymentProcessingException> { paymentService.processPayment(defaultPaymentRequest(Money.of(10_000))) }
+
+        assertEquals(1, paymentService.reconcileUnresolvedCaptures())
+
+        val payment = paymentRepository.findAll().single()
+        assertEquals(PaymentStatus.CANCELLED, payment.status)
+        assertEquals(listOf(payment.paymentId), gateway.refunded)
+        verify(kafkaTemplate).send(eq("payment.cancelled"), eq(payment.reservationId), anyString())
+    }
+
+    @Test
+    fun `refund retried after a timeout reuses the refund id and is marked submitted before the call`() {
+        val responses = ArrayDeque(listOf(
+            CompletableFuture<GatewayResponse>(),
+            CompletableFuture.completedFuture(GatewayResponse.approved("TX-REFUND", "환불 완료"))
+        ))
+        val gateway = ScriptedGateway(refund = { responses.removeFirst() })
+        val paymentService = paymentService(scriptedConfig(), gateway)
+        paymentRepository.save(storedPayment("PAY-1", PaymentStatus.SUCCESS, "RES-1"))
+
+        assertThrows<PaymentProcessingException> { paymentService.cancelPayment("PAY-1") }
+
+        val submitted = paymentRepository.findById("PAY-1")
+        assertEquals(PaymentStatus.SUCCESS, submitted?.status)
+        assertTrue(submitted?.refundSubmittedAt != null)
+
+        assertEquals(PaymentStatus.CANCELLED, paymentService.cancelPayment("PAY-1").status)
+        assertEquals(listOf("RFD-PAY-1", "RFD-PAY-1"), gateway.refundKeys)
+    }
+
+    private fun scriptedConfig(): PaymentConfig = paymentConfig(successRate = 1.0).apply {
+        gateway.active = ScriptedGateway.NAME
+        gateway.requestTimeoutMs = 50
+        gateway.batch.enabled = false
+    }
+
+    private fun storedPayment(paymentId: String, status: PaymentStatus, reservationId: String) = Payment(
+        paymentId = paymentId,
+        status = status,
+        amount = Money.of(50_000),
+        reservationId = reservationId,
+        paymentMethod = "CARD",
+        customerName = "홍길동",
+        customerEmail = "hong@example.com",
+        processedAt = LocalDateTime.now(),
+        message = "결제"
+    )
+
+    private fun defaultPaymentRequest(amount: Money) = PaymentRequest(
         reservationId = "RES-REQ",
         amount = amount,
         paymentMethod = "CARD",
         customerInfo = CustomerInfo(name = "Tester", email = "tester@example.com")
     )
 
+    @Suppress("UNCHECKED_CAST")
+    private fun paymentService(config: PaymentConfig, scripted: PaymentGateway? = null): PaymentService {
+        val paymentDomainService = PaymentDomainService(config)
+        val gateway = scripted ?: SimulatedPaymentGateway(paymentDomainService, config).also { disposables += it }
+        val client = PaymentGatewayClient(listOf(gateway), config)
+        return PaymentService(
+            kafkaTemplate,
+            PaymentDomainRepositoryImpl(paymentRepository, paymentMapper),
+            paymentDomainService,
+            paymentMapper,
+            config,
+            client,
+            AuthorizationBatcher(client, config).also { disposables += it },
+            RiskScoringService(config).also { disposables += it },
+            PaymentEventOutbox(Mockito.mock(KafkaTemplate::class.java) as KafkaTemplate<String, ByteArray>, config)
+                .also { paymentEventOutbox = it; disposables += it }
+        )
+    }
+
     private fun paymentConfig(successRate: Double): PaymentConfig {
         val config = PaymentConfig()
         config.successRates.highAmount = successRate
         config.successRates.mediumAmount = successRate
         config.successRates.lowAmount = successRate
+        config.gateway.simulator.medianLatencyMs = 1.0
+        config.gateway.simulator.p99LatencyMs = 2.0
+        config.gateway.simulator.errorRate = 0.0
         return config
     }
+
+    /**
+     * 승인은 항상 받아들이고 매입/승인 취소 응답은 테스트가 정하는 게이트웨이
+     */
+    private class ScriptedGateway(
+        private val capture: () -> CompletableFuture<GatewayResponse> =
+            { CompletableFuture.completedFuture(GatewayResponse.approved("TX-CAPTURE", "매입 완료")) },
+        private val void: () -> CompletableFuture<GatewayResponse> =
+            { CompletableFuture.completedFuture(GatewayResponse.approved("TX-VOID", "승인 취소 완료")) },
+        private val refund: () -> CompletableFuture<GatewayResponse> =
+            { CompletableFuture.completedFuture(GatewayResponse.approved("TX-REFUND", "환불 완료")) }
+    ) : PaymentGateway {
+        override val name = NAME
+        val voided = CopyOnWriteArrayList<String>()
+        val refunded = CopyOnWriteArrayList<String>()
+        val refundKeys = CopyOnWriteArrayList<String>()
+
+        override fun authorize(request: GatewayRequest): CompletableFuture<GatewayResponse> =
+            CompletableFuture.completedFuture(GatewayResponse.approved("TX-AUTH", "결제 승인"))
+
+        override fun capture(request: GatewayRequest) = capture()
+
+        override fun voidAuthorization(request: GatewayRequest) = void().also { voided += request.paymentId }
+
+        override fun refund(request: GatewayRequest): CompletableFuture<GatewayResponse> {
+            refunded += request.paymentId
+            refundKeys += request.idempotencyKey
+            return refund()
+        }
+
+        companion object {
+            const val NAME = "scripted"
+        }
+    }
 }
@@ -34,6 +34,8 @@ repositories {
 dependencies {
 	// Common Libraries (Composite Build)
 	implementation("com.airline:kafka-tracing")
+	implementation("com.airline:id-generator")
+	implementation("com.airline:secondary-index")
 
 	// kotlin
 	implementation ("com.fasterxml.jackson.module:jackson-module-kotlin")
@@ -44,7 +46,7 @@ dependencies {
 
 	// Arrow 함수형 프로그래밍
 	implementation ("io.arrow-kt:arrow-core:1.2.1")
-	implementation ("io.arrow-kt:arrow-fx-coroutines:1.2.1")
+	implementation ("io.arrow-kt:arrow-fx-coroutines:1.2.4") { exclude(group = "io.arrow-kt", module = "arrow-core") }
 
 	// spring
 	implementation ("org.springframework.boot:spring-boot-starter-actuator")
@@ -2,3 +2,5 @@ rootProject.name = "reservation"
 
 // Composite Build: 공통 라이브러리 포함
 includeBuild("../common/kafka-tracing")
+includeBuild("../common/id-generator")
+includeBuild("../common/secondary-index")
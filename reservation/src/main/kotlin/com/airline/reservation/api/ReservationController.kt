@@ -2,11 +2,29 @@ package com.airline.reservation.api
 
 import arrow.core.Either
 import com.airline.reservation.common.DomainError
+import com.airline.reservation.dto.BatchReservationRequest
+import com.airline.reservation.dto.BatchReservationResponse
+import com.airline.reservation.dto.CancellationResponse
+import com.airline.reservation.dto.FlightCancellationResponse
+import com.airline.reservation.dto.RebookingResponse
+import com.airline.reservation.dto.ReservationPageResponse
 import com.airline.reservation.dto.ReservationRequest
 import com.airline.reservation.dto.ReservationResponse
+import com.airline.reservation.dto.ReservationStatus
+import com.airline.reservation.dto.WaitlistEntryResponse
+import com.airline.reservation.dto.WaitlistRequest
+import com.airline.reservation.exception.httpStatus
+import com.airline.reservation.repository.ReservationCriteria
+import com.airline.reservation.service.ReservationBatchService
+import com.airline.reservation.service.ReservationCancellationService
+import com.airline.reservation.service.ReservationQueryService
+import com.airline.reservation.service.ReservationRebookingService
 import com.airline.reservation.service.ReservationService
+import com.airline.reservation.service.ReservationWaitlistService
+import org.springframework.format.annotation.DateTimeFormat
 import org.springframework.http.ResponseEntity
 import org.springframework.web.bind.annotation.*
+import java.time.LocalDateTime
 
 /**
  * 예약 관리 REST API 컨트롤러
@@ -21,18 +39,76 @@ import org.springframework.web.bind.annotation.*
 @RestController
 @RequestMapping("v1/reservations")
 class ReservationController(
-    private val reservationService: ReservationService
+    private val reservationService: ReservationService,
+    private val reservationBatchService: ReservationBatchService,
+    private val reservationQueryService: ReservationQueryService,
+    private val reservationCancellationService: ReservationCancellationService,
+    private val reservationRebookingService: ReservationRebookingService,
+    private val reservationWaitlistService: ReservationWaitlistService
 ) {
     
     /**
      * 예약을 생성합니다.
      * 
      * @param request 예약 생성 요청 정보
-     * @return 생성된 예약 정보
+     * @return 생성된 예약 정보, 실패 시 원인별 상태 (매진 409, 결제 거절 402 등)
      */
     @PostMapping
     suspend fun createReservation(@RequestBody request: ReservationRequest): ResponseEntity<ReservationResponse> {
         return when (val result = reservationService.createReservation(request)) {
+            is Either.Left -> ResponseEntity.status(result.value.httpStatus()).build()
+            is Either.Right -> ResponseEntity.ok(result.value)
+        }
+    }
+    
+    /**
+     * 여러 예약을 일괄 생성합니다.
+     * 
+     * 항공편별 좌석 확보, 병렬 결제, 항공권 일괄 발급으로 하위 서비스 호출 수를 줄입니다.
+     * 
+     * @param request 일괄 예약 요청 (예약 요청 목록)
+     * @return 항목별 처리 결과, 요청이 유효하지 않으면 400 Bad Request
+     */
+    @PostMapping("/batch")
+    suspend fun createReservations(@RequestBody request: BatchReservationRequest): ResponseEntity<BatchReservationResponse> {
+        return when (val result = reservationBatchService.createReservations(request.reservations)) {
+            is Either.Left -> ResponseEntity.badRequest().build()
+            is Either.Right -> ResponseEntity.ok(result.value)
+        }
+    }
+    
+    /**
+     * 조건에 맞는 예약 목록을 최신순으로 조회합니다.
+     * 
+     * @param flightId 항공편 식별자
+     * @param status   예약 상태
+     * @param email    승객 이메일
+     * @param from     생성 일시 하한 (ISO-8601, 포함)
+     * @param to       생성 일시 상한 (ISO-8601, 포함)
+     * @param cursor   이전 응답의 nextCursor
+     * @param limit    페이지 크기 (기본 50, 최대 500)
+     * @param fields   응답 필드 (예: reservationId,status,flightId), 생략 시 전체 필드
+     * @return 예약 페이지, 요청 값이 유효하지 않으면 400 Bad Request
+     */
+    @GetMapping
+    fun findReservations(
+        @RequestParam(required = false) flightId: String?,
+        @RequestParam(required = false) status: ReservationStatus?,
+        @RequestParam(required = false) email: String?,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) from: LocalDateTime?,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) to: LocalDateTime?,
+        @RequestParam(required = false) cursor: String?,
+        @RequestParam(required = false) limit: Int?,
+        @RequestParam(required = false) fields: String?
+    ): ResponseEntity<ReservationPageResponse> {
+        val criteria = ReservationCriteria(
+            flightId = flightId,
+            status = status,
+            passengerEmail = email,
+            createdFrom = from,
+            createdTo = to
+        )
+        return when (val result = reservationQueryService.findReservations(criteria, cursor, limit, fields)) {
             is Either.Left -> ResponseEntity.badRequest().build()
             is Either.Right -> ResponseEntity.ok(result.value)
         }
@@ -55,14 +131,97 @@ class ReservationController(
     /**
      * 예약을 취소합니다.
      *
+     * 좌석 해제, 결제 취소, 항공권 취소를 동시에 진행하고 단계별 결과를 반환합니다.
+     * 일부 단계가 실패하면 202 Accepted로 응답하며, 같은 요청을 다시 보내면 남은 단계만 재시도합니다.
+     *
      * @param reservationId 취소할 예약 식별자
-     * @return 취소된 예약 정보, 실패 시 400 Bad Request
+     * @return 단계별 취소 결과, 취소할 수 없는 예약이면 400 Bad Request
      */
     @PostMapping("/{reservationId}/cancel")
-    suspend fun cancelReservation(@PathVariable reservationId: String): ResponseEntity<ReservationResponse> {
-        return when (val result = reservationService.cancelReservation(reservationId)) {
+    suspend fun cancelReservation(@PathVariable reservationId: String): ResponseEntity<CancellationResponse> {
+        return when (val result = reservationCancellationService.cancel(reservationId)) {
+            is Either.Left -> ResponseEntity.badRequest().build()
+            is Either.Right -> if (result.value.completed) {
+                ResponseEntity.ok(result.value)
+            } else {
+                ResponseEntity.accepted().body(result.value)
+            }
+        }
+    }
+
+    /**
+     * 항공편 결항 시 해당 항공편의 확정 예약을 일괄 취소합니다.
+     *
+     * 좌석은 항공편당 한 번에 해제하고, 결제/항공권 취소는 병렬로 처리합니다.
+     *
+     * @param flightId 결항 항공편 식별자
+     * @return 일괄 취소 결과 (미완료 예약 ID 포함)
+     */
+    @PostMapping("/flights/{flightId}/cancel")
+    suspend fun cancelFlightReservations(@PathVariable flightId: String): ResponseEntity<FlightCancellationResponse> {
+        return when (val result = reservationCancellationService.cancelFlight(flightId)) {
+            is Either.Left -> ResponseEntity.badRequest().build()
+            is Either.Right -> ResponseEntity.ok(result.value)
+        }
+    }
+
+    /**
+     * 결항 항공편의 확정 예약을 같은 노선의 대체 항공편으로 일괄 재예약합니다.
+     *
+     * @param flightId 결항 항공편 식별자
+     * @return 대체 항공편별 배정 결과, 항공편이 없으면 404 Not Found
+     */
+    @PostMapping("/flights/{flightId}/rebook")
+    suspend fun rebookFlightReservations(@PathVariable flightId: String): ResponseEntity<RebookingResponse> {
+        return when (val result = reservationRebookingService.rebookFlight(flightId)) {
+            is Either.Left -> when (result.value) {
+                is DomainError.FlightNotFound -> ResponseEntity.notFound().build()
+                is DomainError.ValidationError -> ResponseEntity.badRequest().build()
+                else -> ResponseEntity.internalServerError().build()
+            }
+            is Either.Right -> ResponseEntity.ok(result.value)
+        }
+    }
+
+    /**
+     * 매진 항공편의 대기자 명단에 등록합니다. 좌석이 해제되면 등록 순서(우선순위 우선)대로 자동 예약됩니다.
+     *
+     * @param request 예약 요청과 대기 우선순위
+     * @return 등록된 대기 항목, 대기 인원 한도 초과 시 400 Bad Request
+     */
+    @PostMapping("/waitlist")
+    fun joinWaitlist(@RequestBody request: WaitlistRequest): ResponseEntity<WaitlistEntryResponse> {
+        return when (val result = reservationWaitlistService.enqueue(request)) {
             is Either.Left -> ResponseEntity.badRequest().build()
             is Either.Right -> ResponseEntity.ok(result.value)
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 대기 중인 항목을 조회합니다.
+     *
+     * @param waitlistId 대기 항목 식별자
+     * @return 대기 항목, 승급되었거나 철회된 항목이면 404 Not Found
+     */
+    @GetMapping("/waitlist/{waitlistId}")
+    fun getWaitlistEntry(@PathVariable waitlistId: String): ResponseEntity<WaitlistEntryResponse> {
+        return when (val result = reservationWaitlistService.findById(waitlistId)) {
+            is Either.Left -> ResponseEntity.notFound().build()
+            is Either.Right -> ResponseEntity.ok(result.value)
+        }
+    }
+
+    /**
+     * 대기를 철회합니다.
+     *
+     * @param waitlistId 대기 항목 식별자
+     * @return 철회 시 204 No Content, 이미 승급 중이거나 끝난 항목이면 409 Conflict
+     */
+    @DeleteMapping("/waitlist/{waitlistId}")
+    fun withdrawWaitlistEntry(@PathVariable waitlistId: String): ResponseEntity<Void> {
+        return when (reservationWaitlistService.withdraw(waitlistId)) {
+            is Either.Left -> ResponseEntity.status(409).build()
+            is Either.Right -> ResponseEntity.noContent().build()
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.airline.reservation.api
+
+import com.airline.reservation.readmodel.ReservationStatusHub
+import com.airline.reservation.readmodel.ReservationView
+import com.airline.reservation.service.ReservationViewService
+import kotlinx.coroutines.flow.Flow
+import org.springframework.http.HttpStatus
+import org.springframework.http.MediaType
+import org.springframework.http.ResponseEntity
+import org.springframework.web.bind.annotation.GetMapping
+import org.springframework.web.bind.annotation.PathVariable
+import org.springframework.web.bind.annotation.RequestMapping
+import org.springframework.web.bind.annotation.RestController
+
+/**
+ * 예약 상태 조회 전용 API (CQRS 읽기 모델)
+ *
+ * 클라이언트의 상태 폴링을 위한 엔드포인트입니다. Kafka 이벤트로 갱신되는 읽기 모델만 조회하므로
+ * 예약 처리 API(`v1/reservations`)와 저장소/스레드를 공유하지 않으며, 이벤트 반영 지연만큼 최신 상태보다 늦을 수 있습니다.
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+@RestController
+@RequestMapping("v1/reservation-views")
+class ReservationViewController(
+    private val reservationViewService: ReservationViewService,
+    private val reservationStatusHub: ReservationStatusHub
+) {
+
+    /**
+     * 예약 상태를 조회합니다.
+     *
+     * @param reservationId 예약 식별자
+     * @return 결제/항공권 정보가 포함된 예약 상태, 아직 반영된 이벤트가 없으면 404 Not Found
+     */
+    @GetMapping("/{reservationId}")
+    fun getReservationView(@PathVariable reservationId: String): ResponseEntity<ReservationView> {
+        val view = reservationViewService.findById(reservationId) ?: return ResponseEntity.notFound().build()
+        return ResponseEntity.ok(view)
+    }
+
+    /**
+     * 예약 상태 변경을 Server-Sent Events로 스트리밍합니다.
+     *
+     * 폴링 대신 연결 하나로 상태가 바뀔 때마다 이벤트를 받습니다. 첫 이벤트는 현재 상태이며(반영된 이벤트가 있을 때),
+     * 종료 상태(완료, 결제 실패, 취소)를 보낸 뒤 스트림을 닫습니다. 연결이 끊기면 재연결 시 현재 상태부터 다시 받습니다.
+     *
+     * @param reservationId 예약 식별자
+     * @return 상태 스트림, 구독 한도에 도달했으면 503 Service Unavailable
+     */
+    @GetMapping("/{reservationId}/stream", produces = [MediaType.TEXT_EVENT_STREAM_VALUE])
+    fun streamReservationView(@PathVariable reservationId: String): ResponseEntity<Flow<ReservationView>> {
+        val stream = reservationStatusHub.subscribe(reservationId)
+            ?: return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build()
+        return ResponseEntity.ok(stream)
+    }
+}
@@ -0,0 +1,123 @@
+package com.airline.reservation.client
+
+import com.airline.reservation.config.ReservationConfig
+import com.airline.reservation.dto.external.FlightDto
+import org.slf4j.LoggerFactory
+import org.springframework.stereotype.Component
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionException
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * 항공편 조회 요청 병합(single-flight) 캐시
+ *
+ * 같은 항공편에 대한 동시 조회는 진행 중인 하나의 원격 호출을 공유하고,
+ * 완료된 결과는 설정된 유효 기간(staleness window) 동안 재사용합니다.
+ * 실패한 호출은 캐시하지 않으므로 다음 조회에서 곧바로 재시도됩니다.
+ *
+ * 좌석 수 등 변동 값이 포함되므로 유효 기간은 짧게 유지해야 하며,
+ * 좌석 예약/해제 직후에는 [invalidate]로 항목을 제거할 수 있습니다.
+ * 원격 호출은 [HedgingFlightClient]를 거치므로 느린 인스턴스의 꼬리 지연이 완화됩니다.
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+@Component
+class CoalescingFlightClient(
+    private val hedgingFlightClient: HedgingFlightClient,
+    private val reservationConfig: ReservationConfig
+) {
+    private val logger = LoggerFactory.getLogger(CoalescingFlightClient::class.java)
+
+    private val entries = ConcurrentHashMap<String, Entry>()
+
+    private val remoteCalls = AtomicLong(0)
+    private val coalescedCalls = AtomicLong(0)
+
+    /**
+     * 항공편 정보를 조회합니다.
+     *
+     * @param flightId 항공편 식별자
+     * @return 항공편 정보, 존재하지 않으면 null
+     */
+    fun getFlightById(flightId: String): FlightDto? {
+        val cacheConfig = reservationConfig.flightCache
+        if (!cacheConfig.enabled) {
+            remoteCalls.incrementAndGet()
+            return hedgingFlightClient.getFlightById(flightId)
+        }
+
+        val stalenessNanos = TimeUnit.MILLISECONDS.toNanos(cacheConfig.stalenessMs)
+        val candidate = Entry()
+        val entry = entries.compute(flightId) { _, existing ->
+            if (existing != null && existing.isReusable(stalenessNanos)) existing else candidate
+        }!!
+
+        if (entry !== candidate) {
+            coalescedCalls.incrementAndGet()
+            return await(entry)
+        }
+
+        remoteCalls.incrementAndGet()
+        try {
+            val flight = hedgingFlightClient.getFlightById(flightId)
+            entry.complete(flight)
+            return flight
+        } catch (e: Exception) {
+            entries.remove(flightId, entry)
+            entry.fail(e)
+            throw e
+        }
+    }
+
+    /**
+     * 특정 항공편의 캐시 항목을 제거합니다.
+     */
+    fun invalidate(flightId: String) {
+        entries.remove(flightId)
+    }
+
+    /**
+     * 캐시 통계 (원격 호출 수, 병합된 호출 수, 캐시 항목 수)
+     */
+    fun getStatistics(): Map<String, Long> = mapOf(
+        "remoteCalls" to remoteCalls.get(),
+        "coalescedCalls" to coalescedCalls.get(),
+        "entries" to entries.size.toLong()
+    )
+
+    private fun await(entry: Entry): FlightDto? {
+        return try {
+            entry.future.join()
+        } catch (e: CompletionException) {
+            throw e.cause ?: e
+        }
+    }
+
+    /**
+     * 진행 중이거나 완료된 조회 결과
+     */
+    private class Entry {
+        val future = CompletableFuture<FlightDto?>()
+
+        @Volatile
+        private var completedAtNanos = 0L
+
+        fun complete(flight: FlightDto?) {
+            completedAtNanos = System.nanoTime()
+            future.complete(flight)
+        }
+
+        fun fail(cause: Throwable) {
+            future.completeExceptionally(cause)
+        }
+
+        fun isReusable(stalenessNanos: Long): Boolean {
+            if (!future.isDone) return true
+            if (future.isCompletedExceptionally) return false
+            return System.nanoTime() - completedAtNanos < stalenessNanos
+        }
+    }
+}
@@ -8,6 +8,9 @@ import org.springframework.web.bind.annotation.*
 
 @FeignClient(name = "flight-service", url = "\${services.flight.url:http://flight:8080}")
 interface FlightClient {
+
+    @GetMapping("/v1/flights")
+    fun searchFlights(@RequestParam from: String, @RequestParam to: String): List<FlightDto>
     
     @GetMapping("/v1/flights/{flightId}")
     fun getFlightById(@PathVariable flightId: String): FlightDto?
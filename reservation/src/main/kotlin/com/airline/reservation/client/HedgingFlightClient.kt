@@ -0,0 +1,29 @@
+package com.airline.reservation.client
+
+import com.airline.reservation.dto.external.AvailabilityRequest
+import com.airline.reservation.dto.external.AvailabilityResponse
+import com.airline.reservation.dto.external.FlightDto
+import com.airline.reservation.resilience.RequestHedger
+import org.springframework.stereotype.Component
+
+/**
+ * 항공편 서비스의 읽기 전용 호출에 헤징을 적용하는 클라이언트
+ *
+ * 항공편 조회와 가용성 확인만 노출하며, 좌석 예약/해제처럼 상태를 바꾸는 호출은
+ * 중복 실행되면 안 되므로 반드시 [FlightClient]를 직접 사용합니다.
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+@Component
+class HedgingFlightClient(
+    private val flightClient: FlightClient,
+    private val requestHedger: RequestHedger
+) {
+
+    fun getFlightById(flightId: String): FlightDto? =
+        requestHedger.execute("flight.getFlightById") { flightClient.getFlightById(flightId) }
+
+    fun checkAvailability(flightId: String, request: AvailabilityRequest): AvailabilityResponse =
+        requestHedger.execute("flight.checkAvailability") { flightClient.checkAvailability(flightId, request) }
+}
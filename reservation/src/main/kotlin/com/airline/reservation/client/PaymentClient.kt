@@ -16,4 +16,7 @@ interface PaymentClient {
     
     @PostMapping("/v1/payments/{paymentId}/cancel")
     fun cancelPayment(@PathVariable paymentId: String): PaymentResponse?
+    
+    @PostMapping("/v1/payments/reservations/{reservationId}/cancel")
+    fun cancelPaymentsByReservation(@PathVariable reservationId: String): List<PaymentResponse>
 }
\ No newline at end of file
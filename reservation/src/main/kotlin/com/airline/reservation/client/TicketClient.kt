@@ -11,6 +11,15 @@ interface TicketClient {
     @PostMapping("/v1/tickets")
     fun issueTicket(@RequestBody request: TicketRequest): TicketResponse
     
+    @PostMapping("/v1/tickets/batch")
+    fun issueTickets(@RequestBody requests: List<TicketRequest>): List<TicketResponse>
+    
+    @PostMapping("/v1/tickets/batch/cancel")
+    fun cancelTickets(@RequestBody ticketIds: List<String>): List<TicketResponse>
+    
+    @PostMapping("/v1/tickets/reservations/cancel")
+    fun cancelTicketsByReservations(@RequestBody reservationIds: List<String>): List<TicketResponse>
+    
     @GetMapping("/v1/tickets/{ticketId}")
     fun getTicketById(@PathVariable ticketId: String): TicketResponse?
     
@@ -1,5 +1,7 @@
 package com.airline.reservation.common
 
+import com.airline.reservation.exception.DomainErrorException
+
 /**
  * 함수형 에러 핸들링을 위한 Result 타입
  *
@@ -91,12 +93,8 @@ sealed class DomainError(
         override val cause: Throwable? = null
     ) : DomainError(message, cause)
 
-    fun toException(): RuntimeException = when (this) {
-        is FlightNotFound -> RuntimeException(message)
-        is NoAvailableSeats -> RuntimeException(message)
-        is PaymentDeclined -> RuntimeException(message, cause)
-        is TicketIssuanceFailed -> RuntimeException(message, cause)
-        is ValidationError -> IllegalArgumentException(message)
-        is SystemError -> RuntimeException(message, cause)
-    }
+    /**
+     * 스택 트레이스 없는 예외로 변환합니다. 예외가 꼭 필요한 경계에서만 사용합니다.
+     */
+    fun toException(): RuntimeException = DomainErrorException(this)
 }
\ No newline at end of file
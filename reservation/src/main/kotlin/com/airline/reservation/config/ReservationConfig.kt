@@ -1,5 +1,6 @@
 package com.airline.reservation.config
 
+import com.airline.idgen.SnowflakeIdGenerator
 import org.springframework.boot.context.properties.ConfigurationProperties
 import org.springframework.context.annotation.Configuration
 import java.math.BigDecimal
@@ -20,6 +21,61 @@ data class ReservationConfig(
      */
     var idGeneration: IdGenerationConfig = IdGenerationConfig(),
     
+    /**
+     * 항공편 조회 캐시 설정
+     */
+    var flightCache: FlightCacheConfig = FlightCacheConfig(),
+
+    /**
+     * 하위 서비스 적응형 동시성 제한 설정
+     */
+    var concurrencyLimit: ConcurrencyLimitConfig = ConcurrencyLimitConfig(),
+
+    /**
+     * 멱등 조회 헤징 설정
+     */
+    var hedging: HedgingConfig = HedgingConfig(),
+
+    /**
+     * 예약 저장소 영속화(WAL/스냅샷) 설정
+     */
+    var persistence: PersistenceConfig = PersistenceConfig(),
+
+    /**
+     * 종료 예약 보관 설정
+     */
+    var archive: ArchiveConfig = ArchiveConfig(),
+
+    /**
+     * 일괄 예약 설정
+     */
+    var batch: BatchConfig = BatchConfig(),
+
+    /**
+     * 예약 취소(보상) 설정
+     */
+    var cancellation: CancellationConfig = CancellationConfig(),
+
+    /**
+     * 결항 항공편 재예약 설정
+     */
+    var rebooking: RebookingConfig = RebookingConfig(),
+
+    /**
+     * 매진 항공편 대기자 명단 설정
+     */
+    var waitlist: WaitlistConfig = WaitlistConfig(),
+
+    /**
+     * 예약 상태 조회 전용 읽기 모델 설정
+     */
+    var readModel: ReadModelConfig = ReadModelConfig(),
+
+    /**
+     * 예약 상태 스트리밍(SSE) 설정
+     */
+    var statusStream: StatusStreamConfig = StatusStreamConfig(),
+
     /**
      * 테스트 데이터 설정
      */
@@ -38,9 +94,289 @@ data class ReservationConfig(
         var eventPrefix: String = "EVENT-",
         
         /**
-         * UUID 잘라내기 길이 (기본값: 8)
+         * Snowflake 노드 ID (0-1023, 인스턴스마다 고유해야 함)
+         *
+         * 배포 환경에서는 application.yml이 `ID_NODE_ID`를 필수로 요구합니다. 기본값 0은 단일 인스턴스용입니다.
+         */
+        var nodeId: Int = 0
+    ) {
+
+        /**
+         * 접두사가 붙은 시간 정렬 ID를 생성합니다.
+         *
+         * @param prefix ID 접두사 (기본값: 예약 ID 접두사)
+         */
+        fun nextId(prefix: String = this.prefix): String =
+            prefix + SnowflakeIdGenerator.forNode(nodeId).nextIdString()
+    }
+    
+    data class FlightCacheConfig(
+        /**
+         * 동시 조회 병합 및 결과 재사용 여부 (기본값: true)
+         */
+        var enabled: Boolean = true,
+
+        /**
+         * 조회 결과 재사용 기간 (기본값: 500ms)
+         */
+        var stalenessMs: Long = 500
+    )
+    
+    data class ConcurrencyLimitConfig(
+        /**
+         * 동시성 제한 사용 여부 (기본값: true)
+         */
+        var enabled: Boolean = true,
+
+        /**
+         * 초기 동시 호출 한도 (기본값: 20)
+         */
+        var initialLimit: Int = 20,
+
+        /**
+         * 최소 동시 호출 한도 (기본값: 2)
+         */
+        var minLimit: Int = 2,
+
+        /**
+         * 최대 동시 호출 한도 (기본값: 200)
+         */
+        var maxLimit: Int = 200,
+
+        /**
+         * 한도 초과 시 대기할 수 있는 최대 시간, 초과하면 즉시 거절 (기본값: 10ms)
+         */
+        var maxQueueWaitMs: Long = 10,
+
+        /**
+         * 기준 지연 대비 허용 지연 배율, 초과하면 한도를 줄임 (기본값: 1.5)
+         */
+        var rttTolerance: Double = 1.5,
+
+        /**
+         * 한도 변경 반영 비율 (기본값: 0.2)
+         */
+        var smoothing: Double = 0.2,
+
+        /**
+         * 타임아웃/과부하 응답 시 한도 감소 비율 (기본값: 0.9)
+         */
+        var backoffRatio: Double = 0.9,
+
+        /**
+         * 항공편 서비스 전용 한도, 지정하지 않은 값은 위의 공통 설정을 사용
+         */
+        var flight: DownstreamLimitConfig = DownstreamLimitConfig(),
+
+        /**
+         * 결제 서비스 전용 한도, 지정하지 않은 값은 위의 공통 설정을 사용
+         */
+        var payment: DownstreamLimitConfig = DownstreamLimitConfig(),
+
+        /**
+         * 항공권 서비스 전용 한도, 지정하지 않은 값은 위의 공통 설정을 사용
+         */
+        var ticket: DownstreamLimitConfig = DownstreamLimitConfig()
+    ) {
+        /**
+         * 하위 서비스 전용 값을 공통 설정 위에 덮어쓴 설정을 반환합니다.
+         */
+        fun forDownstream(override: DownstreamLimitConfig): ConcurrencyLimitConfig = copy(
+            enabled = override.enabled ?: enabled,
+            initialLimit = override.initialLimit ?: initialLimit,
+            minLimit = override.minLimit ?: minLimit,
+            maxLimit = override.maxLimit ?: maxLimit,
+            maxQueueWaitMs = override.maxQueueWaitMs ?: maxQueueWaitMs
+        )
+    }
+
+    data class DownstreamLimitConfig(
+        /**
+         * 동시성 제한 사용 여부 (기본값: 공통 설정)
+         */
+        var enabled: Boolean? = null,
+
+        /**
+         * 초기 동시 호출 한도 (기본값: 공통 설정)
+         */
+        var initialLimit: Int? = null,
+
+        /**
+         * 최소 동시 호출 한도 (기본값: 공통 설정)
+         */
+        var minLimit: Int? = null,
+
+        /**
+         * 최대 동시 호출 한도 (기본값: 공통 설정)
+         */
+        var maxLimit: Int? = null,
+
+        /**
+         * 한도 초과 시 최대 대기 시간 (기본값: 공통 설정)
+         */
+        var maxQueueWaitMs: Long? = null
+    )
+    
+    data class HedgingConfig(
+        /**
+         * 헤징 사용 여부 (기본값: true)
+         */
+        var enabled: Boolean = true,
+
+        /**
+         * 2차 요청을 보낼 응답 시간 백분위 (기본값: 0.95)
+         */
+        var percentile: Double = 0.95,
+
+        /**
+         * 2차 요청 전 최소 대기 시간 (기본값: 5ms)
+         */
+        var minDelayMs: Long = 5,
+
+        /**
+         * 백분위 계산에 필요한 최소 표본 수 (기본값: 100)
+         */
+        var minSamples: Long = 100,
+
+        /**
+         * 응답 시간 분포 유지 창 (기본값: 10000ms)
+         */
+        var windowMs: Long = 10_000,
+
+        /**
+         * 1차 요청 대비 허용할 2차 요청 비율 (기본값: 5%)
+         */
+        var budgetPercent: Double = 5.0,
+
+        /**
+         * 누적 가능한 최대 2차 요청 수 (기본값: 10)
+         */
+        var maxBurst: Int = 10,
+
+        /**
+         * 헤징 작업 스레드 수 (기본값: 32)
+         */
+        var maxThreads: Int = 32
+    )
+
+    data class PersistenceConfig(
+        /**
+         * 영속화 사용 여부 (기본값: false, 메모리 전용)
+         */
+        var enabled: Boolean = false,
+
+        /**
+         * WAL 세그먼트와 스냅샷을 저장할 디렉터리 (영속화 사용 시 필수)
+         *
+         * 재시작 후에도 유지되는 볼륨이어야 하므로 임시 디렉터리 같은 기본값을 두지 않습니다.
+         */
+        var directory: String = "",
+
+        /**
+         * WAL 세그먼트 크기 (기본값: 64MB)
+         */
+        var segmentSizeMb: Int = 64,
+
+        /**
+         * 저장 요청이 그룹 커밋(fsync) 완료까지 대기할지 여부 (기본값: true)
+         */
+        var syncOnWrite: Boolean = true,
+
+        /**
+         * 스냅샷 주기 (기본값: 300초)
+         */
+        var snapshotIntervalSeconds: Long = 300
+    )
+
+    data class ArchiveConfig(
+        /**
+         * 보관 사용 여부 (기본값: true)
+         */
+        var enabled: Boolean = true,
+
+        /**
+         * 생성 후 이 시간이 지난 종료 예약(취소/실패)을 보관, 확정 예약은 보관하지 않음 (기본값: 72시간)
+         */
+        var olderThanHours: Long = 72,
+
+        /**
+         * 보관 작업 주기 (기본값: 10분)
+         */
+        var intervalMinutes: Long = 10
+    )
+
+    data class BatchConfig(
+        /**
+         * 한 번에 처리할 수 있는 최대 예약 수 (기본값: 500)
+         */
+        var maxSize: Int = 500,
+
+        /**
+         * 동시에 진행할 결제 요청 수 (기본값: 16)
+         */
+        var paymentConcurrency: Int = 16
+    )
+
+    data class CancellationConfig(
+        /**
+         * 보상 단계별 최대 시도 횟수 (기본값: 3)
+         */
+        var maxAttempts: Int = 3,
+
+        /**
+         * 첫 재시도 대기 시간, 이후 2배씩 증가 (기본값: 100ms)
+         */
+        var initialBackoffMs: Long = 100,
+
+        /**
+         * 항공편 일괄 취소 시 동시에 진행할 결제/항공권 취소 요청 수 (기본값: 32)
+         */
+        var concurrency: Int = 32
+    )
+
+    data class RebookingConfig(
+        /**
+         * 원래 출발 시각 이후 대체 항공편으로 허용할 최대 지연 (기본값: 48시간)
+         */
+        var maxDelayHours: Long = 48,
+
+        /**
+         * 배정에 사용할 대체 항공편 최대 개수 (기본값: 10)
+         */
+        var maxCandidates: Int = 10,
+
+        /**
+         * 재예약 이벤트 하나에 담을 최대 예약 수 (기본값: 500)
+         */
+        var eventBatchSize: Int = 500
+    )
+
+    data class WaitlistConfig(
+        /**
+         * 좌석 부족으로 실패한 일괄 예약 항목의 자동 대기 등록 여부 (기본값: true)
+         */
+        var enabled: Boolean = true,
+
+        /**
+         * 항공편별 최대 대기 인원 (기본값: 10000)
+         */
+        var maxPerFlight: Int = 10000
+    )
+
+    data class ReadModelConfig(
+        /**
+         * 읽기 모델에 예약 상태를 유지하는 시간 (기본값: 24시간, 0이면 제한 없음)
+         *
+         * 마지막 이벤트 이후 이 시간이 지난 예약은 제거되고, 기동 시 재생에서도 이보다 오래된 이벤트는 건너뜁니다.
+         */
+        var retentionHours: Long = 24
+    )
+
+    data class StatusStreamConfig(
+        /**
+         * 동시에 유지할 수 있는 전체 상태 구독 수 (기본값: 10000)
          */
-        var uuidLength: Int = 8
+        var maxSubscribers: Int = 10000
     )
     
     data class TestDataConfig(
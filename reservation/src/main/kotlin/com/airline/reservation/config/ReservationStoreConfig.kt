@@ -0,0 +1,44 @@
+package com.airline.reservation.config
+
+import com.airline.reservation.repository.archive.ReservationArchive
+import com.airline.reservation.repository.wal.ReservationJournal
+import com.airline.reservation.repository.wal.WriteAheadReservationJournal
+import org.springframework.context.annotation.Bean
+import org.springframework.context.annotation.Configuration
+import java.nio.file.Path
+
+/**
+ * 예약 저장소 영속화 설정
+ *
+ * 영속화가 비활성화되면 메모리 전용 저장소로 동작하며, 보관 세그먼트도 메모리에만 유지됩니다.
+ */
+@Configuration
+class ReservationStoreConfig {
+
+    @Bean
+    fun reservationJournal(reservationConfig: ReservationConfig): ReservationJournal {
+        val persistence = reservationConfig.persistence
+        if (!persistence.enabled) return ReservationJournal.NONE
+        check(persistence.directory.isNotBlank()) {
+            "reservation.persistence.directory must point to a durable volume when persistence is enabled"
+        }
+
+        return WriteAheadReservationJournal(
+            directory = Path.of(persistence.directory),
+            segmentSize = persistence.segmentSizeMb * 1024 * 1024,
+            syncOnWrite = persistence.syncOnWrite
+        )
+    }
+
+    @Bean
+    fun reservationArchive(reservationConfig: ReservationConfig): ReservationArchive {
+        val persistence = reservationConfig.persistence
+        if (!persistence.enabled) return ReservationArchive()
+
+        return ReservationArchive(Path.of(persistence.directory, ARCHIVE_DIRECTORY))
+    }
+
+    companion object {
+        private const val ARCHIVE_DIRECTORY = "archive"
+    }
+}
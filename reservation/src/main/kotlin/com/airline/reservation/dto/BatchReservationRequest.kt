@@ -0,0 +1,5 @@
+package com.airline.reservation.dto
+
+data class BatchReservationRequest(
+    val reservations: List<ReservationRequest>
+)
@@ -0,0 +1,17 @@
+package com.airline.reservation.dto
+
+data class BatchReservationResponse(
+    val totalCount: Int,
+    val successCount: Int,
+    val failureCount: Int,
+    val results: List<BatchReservationItemResult>
+)
+
+data class BatchReservationItemResult(
+    val index: Int,
+    val success: Boolean,
+    val reservation: ReservationResponse?,
+    val errorMessage: String?,
+    val soldOut: Boolean = false,
+    val waitlistId: String? = null
+)
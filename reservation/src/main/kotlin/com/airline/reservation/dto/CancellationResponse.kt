@@ -0,0 +1,57 @@
+package com.airline.reservation.dto
+
+/**
+ * 예약 취소 결과
+ *
+ * @property completed 모든 보상 단계가 끝나 CANCELLED 상태가 되었는지 여부
+ *                     (false이면 CANCELLING 상태로 남으며, 다시 취소를 요청하면 남은 단계만 재시도)
+ */
+data class CancellationResponse(
+    val reservation: ReservationResponse,
+    val completed: Boolean,
+    val steps: List<CancellationStepResult>
+)
+
+/**
+ * 보상 단계별 처리 결과
+ *
+ * @property attempts 이번 요청에서 시도한 횟수
+ * @property latencyMs 재시도 대기를 포함한 단계 소요 시간
+ */
+data class CancellationStepResult(
+    val step: CancellationStep,
+    val outcome: CancellationStepOutcome,
+    val attempts: Int,
+    val latencyMs: Long,
+    val errorMessage: String? = null
+)
+
+/**
+ * 항공편 단위 일괄 취소 결과
+ *
+ * @property stepLatencyMs 단계별 전체 소요 시간
+ * @property pendingReservationIds 일부 단계가 실패하여 CANCELLING 상태로 남은 예약
+ */
+data class FlightCancellationResponse(
+    val flightId: String,
+    val totalCount: Int,
+    val cancelledCount: Int,
+    val seatsReleased: Int,
+    val stepLatencyMs: Map<CancellationStep, Long>,
+    val pendingReservationIds: List<String>
+)
+
+enum class CancellationStep {
+    SEAT_RELEASE, PAYMENT_CANCEL, TICKET_CANCEL
+}
+
+enum class CancellationStepOutcome {
+    /** 이번 요청에서 완료 */
+    COMPLETED,
+    /** 이전 요청에서 이미 완료 */
+    ALREADY_COMPLETED,
+    /** 다른 요청이 처리 중 */
+    IN_PROGRESS,
+    /** 재시도 후에도 실패 */
+    FAILED
+}
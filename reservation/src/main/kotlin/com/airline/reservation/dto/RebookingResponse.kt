@@ -0,0 +1,27 @@
+package com.airline.reservation.dto
+
+import java.time.LocalDateTime
+
+/**
+ * 결항 항공편 재예약 결과
+ *
+ * @property allocations 대체 항공편별 배정 결과 (배정 순서대로)
+ * @property unassignedReservationIds 좌석이 부족하여 원래 항공편에 남은 예약
+ */
+data class RebookingResponse(
+    val flightId: String,
+    val totalCount: Int,
+    val rebookedCount: Int,
+    val allocations: List<RebookingAllocation>,
+    val unassignedReservationIds: List<String>,
+    val elapsedMs: Long
+)
+
+/**
+ * 대체 항공편 하나에 배정된 결과
+ */
+data class RebookingAllocation(
+    val flightId: String,
+    val departureTime: LocalDateTime,
+    val seats: Int
+)
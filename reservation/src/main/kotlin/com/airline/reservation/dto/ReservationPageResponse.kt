@@ -0,0 +1,14 @@
+package com.airline.reservation.dto
+
+/**
+ * 예약 목록 조회 응답
+ *
+ * @property items 예약 목록 (fields 지정 시 필드 이름 → 값, 미지정 시 ReservationResponse)
+ * @property size 이번 페이지 건수
+ * @property nextCursor 다음 페이지 커서, 마지막 페이지면 null
+ */
+data class ReservationPageResponse(
+    val items: List<Any>,
+    val size: Int,
+    val nextCursor: String?
+)
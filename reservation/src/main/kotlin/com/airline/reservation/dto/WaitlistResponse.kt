@@ -0,0 +1,34 @@
+package com.airline.reservation.dto
+
+import com.airline.reservation.waitlist.WaitlistPriority
+import com.airline.reservation.waitlist.WaitlistState
+import java.time.LocalDateTime
+
+data class WaitlistRequest(
+    val reservation: ReservationRequest,
+    val priority: WaitlistPriority = WaitlistPriority.STANDARD
+)
+
+/**
+ * 대기자 명단 항목 정보
+ *
+ * @property waitingCount 조회 시점의 항공편 전체 대기 인원
+ */
+data class WaitlistEntryResponse(
+    val waitlistId: String,
+    val flightId: String,
+    val priority: WaitlistPriority,
+    val state: WaitlistState,
+    val enqueuedAt: LocalDateTime,
+    val waitingCount: Int
+)
+
+/**
+ * 좌석 해제에 따른 대기자 승급 결과
+ */
+data class WaitlistPromotionResult(
+    val flightId: String,
+    val promotedCount: Int,
+    val requeuedCount: Int,
+    val failedCount: Int
+)
@@ -1,5 +1,6 @@
 package com.airline.reservation.entity
 
+import com.airline.reservation.dto.CancellationStep
 import com.airline.reservation.dto.ReservationStatus
 import java.math.BigDecimal
 import java.time.LocalDateTime
@@ -17,5 +18,7 @@ data class Reservation(
     var totalAmount: BigDecimal,
     var seatNumber: String?,
     val createdAt: LocalDateTime,
-    var message: String
+    var message: String,
+    /** 취소 진행 중 완료된 보상 단계 (재시작 후 재개 시 다시 실행하지 않음) */
+    var cancellationSteps: Set<CancellationStep> = emptySet()
 )
\ No newline at end of file
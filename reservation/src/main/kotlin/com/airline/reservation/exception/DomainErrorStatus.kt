@@ -0,0 +1,33 @@
+package com.airline.reservation.exception
+
+import com.airline.reservation.common.DomainError
+import org.springframework.http.HttpStatus
+
+/**
+ * 도메인 에러의 HTTP 응답 상태
+ *
+ * 컨트롤러의 Either.Left 응답과 [GlobalExceptionHandler]가 같은 매핑을 사용합니다.
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+fun DomainError.httpStatus(): HttpStatus = when (this) {
+    is DomainError.ValidationError -> HttpStatus.BAD_REQUEST
+    is DomainError.FlightNotFound -> HttpStatus.NOT_FOUND
+    is DomainError.NoAvailableSeats -> HttpStatus.CONFLICT
+    is DomainError.PaymentDeclined -> HttpStatus.PAYMENT_REQUIRED
+    is DomainError.TicketIssuanceFailed -> HttpStatus.BAD_GATEWAY
+    is DomainError.SystemError -> HttpStatus.INTERNAL_SERVER_ERROR
+}
+
+/**
+ * 도메인 에러의 응답 에러 코드
+ */
+fun DomainError.errorCode(): String = when (this) {
+    is DomainError.ValidationError -> "INVALID_RESERVATION_REQUEST"
+    is DomainError.FlightNotFound -> "FLIGHT_NOT_FOUND"
+    is DomainError.NoAvailableSeats -> "NO_AVAILABLE_SEATS"
+    is DomainError.PaymentDeclined -> "PAYMENT_DECLINED"
+    is DomainError.TicketIssuanceFailed -> "TICKET_ISSUANCE_FAILED"
+    is DomainError.SystemError -> "RESERVATION_PROCESSING_FAILED"
+}
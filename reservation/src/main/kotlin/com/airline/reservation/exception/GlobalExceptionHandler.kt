@@ -127,6 +127,43 @@ class GlobalExceptionHandler {
         return ResponseEntity(body, HttpStatus.BAD_GATEWAY)
     }
 
+    @ExceptionHandler(DomainErrorException::class)
+    fun handleDomainErrorException(
+        ex: DomainErrorException,
+        request: WebRequest
+    ): ResponseEntity<Map<String, Any>> {
+        
+        val status = ex.error.httpStatus()
+        logger.warn("Domain error: {} ({})", ex.error.errorCode(), ex.message)
+        
+        val body = createErrorResponse(
+            status,
+            ex.error.errorCode(),
+            ex.error.message,
+            request.getDescription(false)
+        )
+        
+        return ResponseEntity(body, status)
+    }
+
+    @ExceptionHandler(DownstreamOverloadedException::class)
+    fun handleDownstreamOverloadedException(
+        ex: DownstreamOverloadedException,
+        request: WebRequest
+    ): ResponseEntity<Map<String, Any>> {
+        
+        logger.warn("Downstream overloaded: {}", ex.downstream)
+        
+        val body = createErrorResponse(
+            HttpStatus.SERVICE_UNAVAILABLE,
+            "DOWNSTREAM_OVERLOADED",
+            ex.message ?: "Downstream service overloaded",
+            request.getDescription(false)
+        )
+        
+        return ResponseEntity(body, HttpStatus.SERVICE_UNAVAILABLE)
+    }
+
     @ExceptionHandler(RuntimeException::class)
     fun handleRuntimeException(
         ex: RuntimeException,
@@ -1,5 +1,7 @@
 package com.airline.reservation.exception
 
+import com.airline.reservation.common.DomainError
+
 /**
  * 예약 관련 예외 클래스들
  * 
@@ -35,4 +37,27 @@ class TicketServiceException(message: String) : ReservationException(
 
 class CompensationException(message: String) : ReservationException(
     "Compensation transaction failed: $message"
-)
\ No newline at end of file
+)
+
+/**
+ * 하위 서비스 동시성 한도 초과로 호출을 즉시 거절할 때 사용합니다.
+ * 과부하 시 빈번하게 발생하므로 스택 트레이스를 생성하지 않습니다.
+ */
+class DownstreamOverloadedException(val downstream: String) : ReservationException(
+    "Downstream $downstream is overloaded, request rejected"
+) {
+    override fun fillInStackTrace(): Throwable = this
+}
+/**
+ * [DomainError]를 예외로 전달해야 하는 경계(Result.getOrThrow 등)에서 사용합니다.
+ * 예상된 비즈니스 실패를 담으므로 스택 트레이스를 생성하지 않습니다.
+ */
+class DomainErrorException(val error: DomainError) : ReservationException(
+    error.message
+) {
+    init {
+        error.cause?.let { initCause(it) }
+    }
+
+    override fun fillInStackTrace(): Throwable = this
+}
@@ -0,0 +1,113 @@
+package com.airline.reservation.listener
+
+import com.airline.reservation.readmodel.ReservationReadModel
+import com.airline.reservation.readmodel.ReservationStatusHub
+import com.airline.tracing.annotation.KafkaOtelTrace
+import com.fasterxml.jackson.core.JsonProcessingException
+import com.fasterxml.jackson.databind.JsonNode
+import com.fasterxml.jackson.databind.ObjectMapper
+import org.apache.kafka.common.TopicPartition
+import org.slf4j.LoggerFactory
+import org.springframework.kafka.annotation.KafkaListener
+import org.springframework.kafka.listener.AbstractConsumerSeekAware
+import org.springframework.kafka.listener.ConsumerSeekAware
+import org.springframework.kafka.support.KafkaHeaders
+import org.springframework.messaging.handler.annotation.Header
+import org.springframework.messaging.handler.annotation.Payload
+import org.springframework.stereotype.Component
+
+/**
+ * 예약 이벤트 체인을 읽기 모델에 투영하는 리스너
+ *
+ * 읽기 모델은 메모리에만 있으므로 인스턴스마다 고유한 컨슈머 그룹을 쓰고, 파티션을 배정받을 때마다
+ * 처음 오프셋부터 다시 읽어 재시작 후에도 모든 파티션의 상태를 복원합니다. 재생은 멱등이며,
+ * 보존 기간이 지난 이벤트는 건너뜁니다.
+ * JSON이 아니거나 예약 ID가 없는 메시지(레거시 텍스트 이벤트)는 투영하지 않고 건너뜁니다.
+ * 반영된 상태는 [ReservationStatusHub]로 전달되어 상태 스트림 구독자에게 전송됩니다.
+ */
+@Component
+class ReservationProjectionListener(
+    private val reservationReadModel: ReservationReadModel,
+    private val reservationStatusHub: ReservationStatusHub
+) : AbstractConsumerSeekAware() {
+    private val logger = LoggerFactory.getLogger(ReservationProjectionListener::class.java)
+    private val objectMapper = ObjectMapper()
+
+    @KafkaListener(
+        topics = [PAYMENT_APPROVED, TICKET_ISSUED, RESERVATION_COMPLETED, PAYMENT_FAILED, PAYMENT_CANCELLED],
+        groupId = "reservation-read-model-#{T(java.util.UUID).randomUUID()}"
+    )
+    @KafkaOtelTrace(
+        spanName = "project-reservation-view",
+        attributes = ["service=reservation"]
+    )
+    fun project(
+        @Payload message: String,
+        @Header(KafkaHeaders.RECEIVED_TOPIC) topic: String
+    ) {
+        val event = parse(message) ?: return
+        val reservationId = event.text("reservationId")
+        if (reservationId == null) {
+            logger.debug("Skipping {} event without reservationId", topic)
+            return
+        }
+        val flightId = event.text("flightId")
+        val timestamp = event.get("timestamp")?.asLong() ?: System.currentTimeMillis()
+        if (reservationReadModel.isExpired(timestamp)) return
+
+        val view = when (topic) {
+            PAYMENT_APPROVED -> event.text("paymentId")?.let { paymentId ->
+                reservationReadModel.applyPaymentApproved(
+                    reservationId, flightId, paymentId, event.get("amount")?.asLong(), timestamp
+                )
+            }
+            TICKET_ISSUED -> event.text("ticketId")?.let { ticketId ->
+                reservationReadModel.applyTicketIssued(
+                    reservationId, flightId, ticketId, event.text("seatNumber"), timestamp
+                )
+            }
+            RESERVATION_COMPLETED -> reservationReadModel.applyReservationCompleted(
+                reservationId, flightId, event.text("paymentId"), event.text("ticketId"), event.text("seatNumber"), timestamp
+            )
+            PAYMENT_FAILED -> reservationReadModel.applyPaymentFailed(reservationId, flightId, timestamp)
+            PAYMENT_CANCELLED -> reservationReadModel.applyPaymentCancelled(
+                reservationId, flightId, event.text("paymentId"), timestamp
+            )
+            else -> null
+        }
+        view?.let(reservationStatusHub::publish)
+    }
+
+    /**
+     * 파티션을 배정받으면 처음부터 다시 읽어 메모리 읽기 모델을 복원합니다.
+     */
+    override fun onPartitionsAssigned(
+        assignments: Map<TopicPartition, Long>,
+        callback: ConsumerSeekAware.ConsumerSeekCallback
+    ) {
+        super.onPartitionsAssigned(assignments, callback)
+        callback.seekToBeginning(assignments.keys)
+    }
+
+    private fun parse(message: String): JsonNode? = try {
+        objectMapper.readTree(message)?.takeIf { it.isObject }
+    } catch (e: JsonProcessingException) {
+        logger.debug("Skipping non-JSON event: {}", message)
+        null
+    }
+
+    /**
+     * 값이 없거나 발행 측 기본값("UNKNOWN")이면 null
+     */
+    private fun JsonNode.text(field: String): String? =
+        get(field)?.takeUnless { it.isNull }?.asText()?.takeUnless { it.isBlank() || it == UNKNOWN }
+
+    companion object {
+        private const val PAYMENT_APPROVED = "payment.approved"
+        private const val TICKET_ISSUED = "ticket.issued"
+        private const val RESERVATION_COMPLETED = "reservation.completed"
+        private const val PAYMENT_FAILED = "payment.failed"
+        private const val PAYMENT_CANCELLED = "payment.cancelled"
+        private const val UNKNOWN = "UNKNOWN"
+    }
+}
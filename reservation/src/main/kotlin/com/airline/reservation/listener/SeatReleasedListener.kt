@@ -0,0 +1,39 @@
+package com.airline.reservation.listener
+
+import com.airline.tracing.annotation.KafkaOtelTrace
+import com.airline.reservation.service.ReservationWaitlistService
+import com.fasterxml.jackson.databind.ObjectMapper
+import org.slf4j.LoggerFactory
+import org.springframework.kafka.annotation.KafkaListener
+import org.springframework.messaging.handler.annotation.Payload
+import org.springframework.stereotype.Component
+
+/**
+ * 좌석 해제 이벤트를 수신하여 대기자를 승급하는 리스너
+ *
+ * 항공편 서비스는 항공편 ID를 키로 발행하므로 같은 항공편의 해제 이벤트는 한 컨슈머에서 순서대로 수신됩니다.
+ * 승급은 [ReservationWaitlistService.requestPromotion]에 넘기므로 컨슈머 스레드는 하위 서비스 호출을 기다리지 않습니다.
+ */
+@Component
+class SeatReleasedListener(
+    private val reservationWaitlistService: ReservationWaitlistService
+) {
+    private val logger = LoggerFactory.getLogger(SeatReleasedListener::class.java)
+    private val objectMapper = ObjectMapper()
+
+    @KafkaListener(topics = ["seat.released"], groupId = "reservation-waitlist")
+    @KafkaOtelTrace(
+        spanName = "process-seat-released",
+        attributes = ["event.type=seat.released", "service=reservation"],
+        recordMessageContent = true
+    )
+    fun seatReleasedListener(@Payload message: String) {
+        val eventData = objectMapper.readTree(message)
+        val flightId = eventData.get("flightId")?.asText() ?: throw IllegalArgumentException("Missing flightId")
+        val releasedSeats = eventData.get("releasedSeats")?.asInt() ?: 0
+        if (releasedSeats <= 0) return
+
+        logger.debug("Received seat.released event: {} ({} seats)", flightId, releasedSeats)
+        reservationWaitlistService.requestPromotion(flightId, releasedSeats)
+    }
+}
@@ -0,0 +1,35 @@
+package com.airline.reservation.mapper
+
+import com.airline.reservation.entity.Reservation
+
+/**
+ * 예약 목록 조회 시 선택 가능한 응답 필드 (projection)
+ *
+ * 필요한 필드만 엔티티에서 바로 읽으므로 전체 ReservationResponse 변환 비용이 들지 않습니다.
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+enum class ReservationField(
+    val fieldName: String,
+    internal val extract: (Reservation) -> Any?
+) {
+    RESERVATION_ID("reservationId", { it.reservationId }),
+    STATUS("status", { it.status }),
+    FLIGHT_ID("flightId", { it.flightId }),
+    PASSENGER_NAME("passengerName", { it.passengerName }),
+    PASSENGER_EMAIL("passengerEmail", { it.passengerEmail }),
+    PASSENGER_PHONE("passengerPhone", { it.passengerPhone }),
+    PAYMENT_ID("paymentId", { it.paymentId }),
+    TICKET_ID("ticketId", { it.ticketId }),
+    TOTAL_AMOUNT("totalAmount", { it.totalAmount }),
+    SEAT_NUMBER("seatNumber", { it.seatNumber }),
+    CREATED_AT("createdAt", { it.createdAt }),
+    MESSAGE("message", { it.message });
+
+    companion object {
+        private val byName = entries.associateBy { it.fieldName }
+
+        fun fromName(name: String): ReservationField? = byName[name]
+    }
+}
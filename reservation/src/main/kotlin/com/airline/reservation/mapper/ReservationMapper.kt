@@ -81,4 +81,17 @@ class ReservationMapper {
     fun toResponseList(reservations: List<Reservation>): List<ReservationResponse> {
         return reservations.map { toResponse(it) }
     }
+    
+    /**
+     * Reservation 엔티티에서 요청된 필드만 추출합니다.
+     * 
+     * @param reservation 변환할 Reservation 엔티티
+     * @param fields      추출할 필드 (요청 순서 유지)
+     * @return 필드 이름 → 값
+     */
+    fun toProjection(reservation: Reservation, fields: Collection<ReservationField>): Map<String, Any?> {
+        val projection = LinkedHashMap<String, Any?>(fields.size * 2)
+        fields.forEach { projection[it.fieldName] = it.extract(reservation) }
+        return projection
+    }
 }
\ No newline at end of file
@@ -0,0 +1,120 @@
+package com.airline.reservation.readmodel
+
+import com.airline.reservation.config.ReservationConfig
+import org.springframework.stereotype.Component
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * 예약 상태 읽기 모델 (CQRS 조회 측)
+ *
+ * `payment.approved`, `ticket.issued`, `reservation.completed`, `payment.failed`, `payment.cancelled` 이벤트를
+ * 예약별 레코드 하나로 투영합니다.
+ * 예약 생성/오케스트레이션이 쓰는 [com.airline.reservation.repository.ReservationRepository]와
+ * 저장소를 공유하지 않으므로, 상태 폴링이 많아도 예약 처리와 경합하지 않습니다.
+ *
+ * - 같은 예약의 이벤트는 `compute`로 직렬화하여 반영
+ * - 이벤트가 토픽 간 순서 없이 도착하거나 중복 전달되어도 결과가 같음 (단계는 후퇴하지 않고, 항공권은 ID로 중복 제거)
+ * - 마지막 이벤트 이후 보존 기간이 지난 레코드는 일정 횟수의 반영마다 한 번 훑어 제거
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+@Component
+class ReservationReadModel(
+    reservationConfig: ReservationConfig
+) {
+    private val views = ConcurrentHashMap<String, ReservationView>()
+    private val retentionMs = TimeUnit.HOURS.toMillis(reservationConfig.readModel.retentionHours)
+    private val writes = AtomicLong()
+
+    fun applyPaymentApproved(reservationId: String, flightId: String?, paymentId: String, amount: Long?, timestamp: Long): ReservationView =
+        project(reservationId, flightId, ReservationViewStatus.PAYMENT_APPROVED, timestamp) { view ->
+            view.copy(payment = PaymentView(paymentId, amount ?: view.payment?.amount))
+        }
+
+    fun applyTicketIssued(reservationId: String, flightId: String?, ticketId: String, seatNumber: String?, timestamp: Long): ReservationView =
+        project(reservationId, flightId, ReservationViewStatus.TICKET_ISSUED, timestamp) { view ->
+            view.copy(tickets = withTicket(view.tickets, TicketView(ticketId, seatNumber)))
+        }
+
+    /**
+     * 완료 이벤트를 반영합니다. 앞선 이벤트를 아직 받지 못했으면 완료 이벤트에 담긴 결제/항공권 정보로 채웁니다.
+     */
+    fun applyReservationCompleted(
+        reservationId: String,
+        flightId: String?,
+        paymentId: String?,
+        ticketId: String?,
+        seatNumber: String?,
+        timestamp: Long
+    ): ReservationView =
+        project(reservationId, flightId, ReservationViewStatus.COMPLETED, timestamp) { view ->
+            view.copy(
+                payment = view.payment ?: paymentId?.let { PaymentView(it, null) },
+                tickets = ticketId?.let { withTicket(view.tickets, TicketView(it, seatNumber)) } ?: view.tickets
+            )
+        }
+
+    fun applyPaymentFailed(reservationId: String, flightId: String?, timestamp: Long): ReservationView =
+        project(reservationId, flightId, ReservationViewStatus.FAILED, timestamp) { it }
+
+    fun applyPaymentCancelled(reservationId: String, flightId: String?, paymentId: String?, timestamp: Long): ReservationView =
+        project(reservationId, flightId, ReservationViewStatus.CANCELLED, timestamp) { view ->
+            view.copy(payment = view.payment ?: paymentId?.let { PaymentView(it, null) })
+        }
+
+    fun find(reservationId: String): ReservationView? = views[reservationId]
+
+    /**
+     * 보존 기간이 지난 이벤트인지 확인합니다. 재생 중 오래된 이벤트로 메모리를 다시 채우지 않도록 리스너가 먼저 확인합니다.
+     */
+    fun isExpired(timestamp: Long, now: Long = System.currentTimeMillis()): Boolean =
+        retentionMs > 0 && timestamp < now - retentionMs
+
+    /**
+     * 보존 기간이 지난 레코드를 제거합니다.
+     *
+     * @return 제거한 레코드 수
+     */
+    fun evictExpired(now: Long = System.currentTimeMillis()): Int {
+        if (retentionMs <= 0) return 0
+        val before = views.size
+        views.values.removeIf { isExpired(it.updatedAt, now) }
+        return (before - views.size).coerceAtLeast(0)
+    }
+
+    fun size(): Int = views.size
+
+    private inline fun project(
+        reservationId: String,
+        flightId: String?,
+        status: ReservationViewStatus,
+        timestamp: Long,
+        crossinline transform: (ReservationView) -> ReservationView
+    ): ReservationView {
+        if (writes.incrementAndGet() % EVICTION_INTERVAL == 0L) evictExpired()
+        return views.compute(reservationId) { _, current ->
+            val view = current ?: ReservationView(reservationId, flightId, status, null, emptyList(), timestamp)
+            transform(view).copy(
+                flightId = view.flightId ?: flightId,
+                status = maxOf(view.status, status),
+                updatedAt = maxOf(view.updatedAt, timestamp)
+            )
+        }!!
+    }
+
+    private fun withTicket(tickets: List<TicketView>, ticket: TicketView): List<TicketView> {
+        val existing = tickets.indexOfFirst { it.ticketId == ticket.ticketId }
+        return when {
+            existing < 0 -> tickets + ticket
+            ticket.seatNumber == null -> tickets
+            else -> tickets.toMutableList().apply { set(existing, ticket) }
+        }
+    }
+
+    companion object {
+        private const val EVICTION_INTERVAL = 4096L
+    }
+}
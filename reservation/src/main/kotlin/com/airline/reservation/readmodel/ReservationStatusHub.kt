@@ -0,0 +1,112 @@
+package com.airline.reservation.readmodel
+
+import com.airline.reservation.config.ReservationConfig
+import kotlinx.coroutines.channels.BufferOverflow
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.MutableSharedFlow
+import kotlinx.coroutines.flow.emitAll
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.onSubscription
+import kotlinx.coroutines.flow.transformWhile
+import org.springframework.stereotype.Component
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * 예약 상태 변경 브로드캐스트 허브
+ *
+ * 읽기 모델 리스너(단일 Kafka 컨슈머)가 갱신된 [ReservationView]를 발행하면, 해당 예약을 구독 중인 모든 클라이언트에 전달합니다.
+ *
+ * - 구독자가 있는 예약만 채널(SharedFlow)을 가지며, 마지막 구독자가 떠나면 채널을 제거
+ * - 발행은 `tryEmit`으로 컨슈머 스레드를 막지 않음. 느린 구독자에게는 중간 상태를 건너뛰고 최신 상태만 전달 (버퍼 1)
+ * - 구독자는 스레드를 점유하지 않는 코루틴 수집기이며, 구독 직후 읽기 모델의 현재 상태를 먼저 받음
+ *   (SharedFlow 수집기는 자신의 코루틴에서 실행되므로 응답 쓰기가 발행 스레드에서 일어나지 않음)
+ * - 구독자 수는 스트림 수집을 시작할 때 세고 끝날 때 빼므로, 반환만 되고 수집되지 않은 스트림은 세지 않음
+ * - 완료/실패/취소 등 종료 상태([ReservationViewStatus.terminal])를 전달하면 스트림을 종료
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+@Component
+class ReservationStatusHub(
+    private val reservationReadModel: ReservationReadModel,
+    private val reservationConfig: ReservationConfig
+) {
+    private val channels = ConcurrentHashMap<String, Channel>()
+    private val subscribers = AtomicInteger()
+
+    /**
+     * 갱신된 예약 상태를 구독자에게 전달합니다. 구독자가 없으면 아무 일도 하지 않습니다.
+     */
+    fun publish(view: ReservationView) {
+        channels[view.reservationId]?.flow?.tryEmit(view)
+    }
+
+    /**
+     * 예약 상태 변경을 구독합니다.
+     *
+     * 한도 확인은 여기서 먼저 한 번 하고, 실제 구독자 등록은 수집을 시작할 때 합니다.
+     * 그 사이 한도가 찼으면 스트림은 아무것도 보내지 않고 끝납니다.
+     *
+     * @return 현재 상태부터 종료 상태까지의 스트림, 전체 구독자 수가 한도에 도달했으면 null
+     */
+    fun subscribe(reservationId: String): Flow<ReservationView>? {
+        if (subscribers.get() >= reservationConfig.statusStream.maxSubscribers) return null
+
+        return flow {
+            if (!tryAcquire()) return@flow
+            val channel = channels.compute(reservationId) { _, current ->
+                (current ?: Channel()).apply { subscriberCount++ }
+            }!!
+            try {
+                emitAll(
+                    channel.flow
+                        .onSubscription { reservationReadModel.find(reservationId)?.let { emit(it) } }
+                        .transformWhile { view ->
+                            emit(view)
+                            !view.status.terminal
+                        }
+                )
+            } finally {
+                release(reservationId)
+            }
+        }
+    }
+
+    /**
+     * 현재 구독자 수
+     */
+    fun subscriberCount(): Int = subscribers.get()
+
+    /**
+     * 구독자가 있는 예약 수
+     */
+    fun channelCount(): Int = channels.size
+
+    private fun tryAcquire(): Boolean {
+        val limit = reservationConfig.statusStream.maxSubscribers
+        while (true) {
+            val current = subscribers.get()
+            if (current >= limit) return false
+            if (subscribers.compareAndSet(current, current + 1)) return true
+        }
+    }
+
+    private fun release(reservationId: String) {
+        subscribers.decrementAndGet()
+        channels.computeIfPresent(reservationId) { _, channel ->
+            if (--channel.subscriberCount == 0) null else channel
+        }
+    }
+
+    /**
+     * 한 예약의 구독 채널. 구독자 수는 [channels]의 `compute` 안에서만 변경합니다.
+     */
+    private class Channel {
+        val flow = MutableSharedFlow<ReservationView>(
+            extraBufferCapacity = 1,
+            onBufferOverflow = BufferOverflow.DROP_OLDEST
+        )
+        var subscriberCount = 0
+    }
+}
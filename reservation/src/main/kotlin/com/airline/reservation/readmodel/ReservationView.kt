@@ -0,0 +1,45 @@
+package com.airline.reservation.readmodel
+
+/**
+ * 예약 상태 조회용 비정규화 레코드
+ *
+ * 결제와 항공권 정보를 한 레코드에 담아 조회 시 다른 저장소나 서비스를 거치지 않습니다.
+ * 불변 객체이므로 읽기 모델은 레코드를 통째로 교체하고, 조회 측은 잠금 없이 읽습니다.
+ *
+ * @property status 지금까지 반영된 이벤트 중 가장 진행된 단계
+ * @property updatedAt 마지막으로 반영된 이벤트 시각 (epoch millis)
+ */
+data class ReservationView(
+    val reservationId: String,
+    val flightId: String?,
+    val status: ReservationViewStatus,
+    val payment: PaymentView?,
+    val tickets: List<TicketView>,
+    val updatedAt: Long
+)
+
+data class PaymentView(
+    val paymentId: String,
+    val amount: Long?
+)
+
+data class TicketView(
+    val ticketId: String,
+    val seatNumber: String?
+)
+
+/**
+ * 이벤트 체인 진행 단계
+ *
+ * 토픽마다 도착 순서가 보장되지 않으므로 선언 순서로 진행 정도를 비교하여 뒤로 돌아가지 않게 합니다.
+ * 결제 실패는 가장 앞에 두어 재시도한 결제가 승인되면 그 진행 상태로 덮어쓰고, 취소는 가장 뒤에 둡니다.
+ *
+ * @property terminal 이 상태 이후로 진행할 이벤트가 없으면 true (상태 스트림 종료 기준)
+ */
+enum class ReservationViewStatus(val terminal: Boolean) {
+    FAILED(true),
+    PAYMENT_APPROVED(false),
+    TICKET_ISSUED(false),
+    COMPLETED(true),
+    CANCELLED(true)
+}
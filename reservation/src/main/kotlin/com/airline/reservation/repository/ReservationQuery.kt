@@ -0,0 +1,39 @@
+package com.airline.reservation.repository
+
+import com.airline.reservation.dto.ReservationStatus
+import com.airline.reservation.entity.Reservation
+import java.time.LocalDateTime
+
+/**
+ * 예약 목록 조회 조건 (null인 조건은 적용하지 않음)
+ *
+ * @property createdFrom 생성 일시 하한 (포함)
+ * @property createdTo 생성 일시 상한 (포함)
+ */
+data class ReservationCriteria(
+    val flightId: String? = null,
+    val status: ReservationStatus? = null,
+    val passengerEmail: String? = null,
+    val createdFrom: LocalDateTime? = null,
+    val createdTo: LocalDateTime? = null
+)
+
+/**
+ * 예약 목록 정렬 키 (생성 일시, 예약 ID)
+ *
+ * 목록은 이 키의 내림차순(최신순)으로 반환되며, 페이지의 마지막 키가 다음 페이지의 커서가 됩니다.
+ */
+data class ReservationSortKey(
+    val createdAt: LocalDateTime,
+    val reservationId: String
+) : Comparable<ReservationSortKey> {
+
+    override fun compareTo(other: ReservationSortKey): Int {
+        val byTime = createdAt.compareTo(other.createdAt)
+        return if (byTime != 0) byTime else reservationId.compareTo(other.reservationId)
+    }
+
+    companion object {
+        fun of(reservation: Reservation) = ReservationSortKey(reservation.createdAt, reservation.reservationId)
+    }
+}
@@ -1,9 +1,15 @@
 package com.airline.reservation.repository
 
+import com.airline.index.SecondaryIndex
 import com.airline.reservation.entity.Reservation
 import com.airline.reservation.dto.ReservationStatus
+import com.airline.reservation.repository.archive.ReservationArchive
+import com.airline.reservation.repository.wal.ReservationJournal
 import org.springframework.stereotype.Repository
+import java.time.LocalDateTime
+import java.util.NavigableSet
 import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentSkipListSet
 
 /**
  * 예약 데이터 접근 계층
@@ -12,13 +18,33 @@ import java.util.concurrent.ConcurrentHashMap
  * ConcurrentHashMap을 사용한 인메모리 저장소로 구현되어 있으며,
  * 실제 프로덕션에서는 JPA Repository로 교체 가능한 구조입니다.
  * 
+ * 항공편/이메일/상태/결제 ID 조회는 보조 인덱스를 사용하여 결과 크기에 비례하는 비용으로 처리합니다.
+ * 인덱스는 예약 ID 단위로 저장/삭제와 함께 원자적으로 갱신되며, 엔티티 필드를 변경한 뒤
+ * [save]를 호출해야 인덱스에 반영됩니다.
+ * 
+ * 모든 변경은 [ReservationJournal]에 기록되며, 영속화가 활성화된 경우 WAL 그룹 커밋이
+ * 끝난 뒤에 반환합니다. 저널 기록은 예약 ID 잠금 구간 안에서 이루어지므로
+ * 같은 예약에 대한 WAL 순서는 메모리 반영 순서와 항상 같습니다.
+ * 
+ * 오래된 종료 예약은 [archiveTerminalBefore]로 [ReservationArchive]로 옮겨지며,
+ * [findById]만 보관소까지 조회합니다. 목록 조회와 [count]는 운영 중인 예약만 대상으로 합니다.
+ * 
  * @author Claude Code
  * @since 1.0
  */
 @Repository
-class ReservationRepository {
+class ReservationRepository(
+    private val journal: ReservationJournal = ReservationJournal.NONE,
+    private val archive: ReservationArchive = ReservationArchive()
+) {
+    
+    private val reservations = ConcurrentHashMap<String, Entry>()
     
-    private val reservations = ConcurrentHashMap<String, Reservation>()
+    private val flightIndex = SecondaryIndex<String, ReservationSortKey>()
+    private val emailIndex = SecondaryIndex<String, ReservationSortKey>()
+    private val statusIndex = SecondaryIndex<ReservationStatus, ReservationSortKey>()
+    private val paymentIndex = SecondaryIndex<String, ReservationSortKey>()
+    private val sortedIndex = ConcurrentSkipListSet<ReservationSortKey>()
     
     /**
      * 예약 정보를 저장하거나 업데이트합니다.
@@ -27,9 +53,67 @@ class ReservationRepository {
      * @return 저장된 예약 엔티티
      */
     fun save(reservation: Reservation): Reservation {
-        reservations[reservation.reservationId] = reservation
+        val lsn = upsert(reservation) { journal.appendSave(it) }
+        journal.awaitDurable(lsn)
         return reservation
     }
+
+    /**
+     * 여러 예약을 저장합니다. 저널 반영은 마지막 기록에 대해 한 번만 대기하므로
+     * 대량 갱신 시 [save]를 반복하는 것보다 훨씬 적은 fsync로 끝납니다.
+     *
+     * @param reservations 저장할 예약 엔티티 목록
+     * @return 저장된 예약 엔티티 목록
+     */
+    fun saveAll(reservations: Collection<Reservation>): Collection<Reservation> {
+        var lastLsn = 0L
+        reservations.forEach { reservation ->
+            lastLsn = maxOf(lastLsn, upsert(reservation) { journal.appendSave(it) })
+        }
+        journal.awaitDurable(lastLsn)
+        return reservations
+    }
+
+    /**
+     * 저널을 다시 기록하지 않고 복구된 예약을 적용합니다.
+     */
+    internal fun restore(reservation: Reservation) {
+        upsert(reservation) { 0L }
+    }
+    
+    /**
+     * 저널을 다시 기록하지 않고 복구된 삭제를 적용합니다.
+     */
+    internal fun restoreDelete(reservationId: String) {
+        remove(reservationId) { 0L }
+    }
+    
+    /**
+     * 저널을 다시 기록하지 않고 복구된 전체 삭제를 적용합니다.
+     */
+    internal fun restoreClear() {
+        clear()
+    }
+    
+    private fun upsert(reservation: Reservation, append: (Reservation) -> Long): Long = journal.recording {
+        val keys = IndexKeys.of(reservation)
+        var lsn = 0L
+        reservations.compute(reservation.reservationId) { _, previous ->
+            val previousKeys = previous?.keys
+            val previousSortKey = previousKeys?.sortKey
+            flightIndex.move(previousKeys?.flightId, previousSortKey, keys.flightId, keys.sortKey)
+            emailIndex.move(previousKeys?.email, previousSortKey, keys.email, keys.sortKey)
+            statusIndex.move(previousKeys?.status, previousSortKey, keys.status, keys.sortKey)
+            paymentIndex.move(previousKeys?.paymentId, previousSortKey, keys.paymentId, keys.sortKey)
+            if (previousKeys?.sortKey != keys.sortKey) {
+                sortedIndex.add(keys.sortKey)
+                previousKeys?.let { sortedIndex.remove(it.sortKey) }
+            }
+            lsn = append(reservation)
+            Entry(reservation, keys)
+        }
+        lsn
+    }
     
     /**
      * 예약 ID로 특정 예약을 조회합니다.
@@ -38,7 +122,7 @@ class ReservationRepository {
      * @return 예약 엔티티, 존재하지 않으면 null
      */
     fun findById(reservationId: String): Reservation? {
-        return reservations[reservationId]
+        return reservations[reservationId]?.reservation ?: archive.findById(reservationId)
     }
     
     /**
@@ -47,7 +131,7 @@ class ReservationRepository {
      * @return 전체 예약 목록
      */
     fun findAll(): List<Reservation> {
-        return reservations.values.toList()
+        return reservations.values.map { it.reservation }
     }
     
     /**
@@ -57,7 +141,7 @@ class ReservationRepository {
      * @return 해당 항공편의 예약 목록
      */
     fun findByFlightId(flightId: String): List<Reservation> {
-        return reservations.values.filter { it.flightId == flightId }
+        return lookup(flightIndex.valuesOf(flightId)) { it.flightId == flightId }
     }
     
     /**
@@ -67,7 +151,7 @@ class ReservationRepository {
      * @return 해당 승객의 예약 목록
      */
     fun findByPassengerEmail(email: String): List<Reservation> {
-        return reservations.values.filter { it.passengerEmail == email }
+        return lookup(emailIndex.valuesOf(email)) { it.email == email }
     }
     
     /**
@@ -77,7 +161,7 @@ class ReservationRepository {
      * @return 해당 상태의 예약 목록
      */
     fun findByStatus(status: ReservationStatus): List<Reservation> {
-        return reservations.values.filter { it.status == status }
+        return lookup(statusIndex.valuesOf(status)) { it.status == status }
     }
     
     /**
@@ -87,7 +171,52 @@ class ReservationRepository {
      * @return 해당 결제의 예약 목록
      */
     fun findByPaymentId(paymentId: String): List<Reservation> {
-        return reservations.values.filter { it.paymentId == paymentId }
+        return lookup(paymentIndex.valuesOf(paymentId)) { it.paymentId == paymentId }
+    }
+    
+    /**
+     * 조건에 맞는 예약을 최신순으로 조회합니다. (운영 중인 예약만 대상)
+     * 
+     * 항공편/상태/이메일 조건이 있으면 가장 작은 보조 인덱스 버킷을, 없으면 전체 정렬 인덱스를
+     * 커서 위치부터 필요한 만큼만 역순 순회합니다. 버킷도 정렬 키 순서로 유지되므로 페이지마다
+     * 버킷 전체를 정렬하지 않습니다.
+     * 
+     * @param criteria 조회 조건
+     * @param after 이전 페이지의 마지막 정렬 키, 첫 페이지면 null
+     * @param limit 최대 반환 건수
+     * @return 정렬 키 내림차순 예약 목록
+     */
+    fun query(criteria: ReservationCriteria, after: ReservationSortKey?, limit: Int): List<Reservation> {
+        val upperBound = criteria.createdTo?.let { ReservationSortKey(it, MAX_RESERVATION_ID) }
+        val matches = { keys: IndexKeys ->
+            (criteria.flightId == null || keys.flightId == criteria.flightId) &&
+                (criteria.status == null || keys.status == criteria.status) &&
+                (criteria.passengerEmail == null || keys.email == criteria.passengerEmail) &&
+                (criteria.createdFrom == null || !keys.sortKey.createdAt.isBefore(criteria.createdFrom)) &&
+                (upperBound == null || keys.sortKey <= upperBound) &&
+                (after == null || keys.sortKey < after)
+        }
+        
+        val source: NavigableSet<ReservationSortKey> = listOfNotNull(
+            criteria.flightId?.let { flightIndex.size(it) to flightIndex.sorted(it) },
+            criteria.status?.let { statusIndex.size(it) to statusIndex.sorted(it) },
+            criteria.passengerEmail?.let { emailIndex.size(it) to emailIndex.sorted(it) }
+        ).minByOrNull { it.first }?.second ?: sortedIndex
+        
+        val start = when {
+            after != null && (upperBound == null || after <= upperBound) -> source.headSet(after, false)
+            upperBound != null -> source.headSet(upperBound, true)
+            else -> source
+        }
+        val result = ArrayList<Reservation>(limit)
+        for (key in start.descendingSet()) {
+            if (criteria.createdFrom != null && key.createdAt.isBefore(criteria.createdFrom)) break
+            val entry = reservations[key.reservationId] ?: continue
+            if (entry.keys.sortKey != key || !matches(entry.keys)) continue
+            result.add(entry.reservation)
+            if (result.size >= limit) break
+        }
+        return result
     }
     
     /**
@@ -97,7 +226,7 @@ class ReservationRepository {
      * @return 존재 여부
      */
     fun existsById(reservationId: String): Boolean {
-        return reservations.containsKey(reservationId)
+        return reservations.containsKey(reservationId) || archive.findById(reservationId) != null
     }
     
     /**
@@ -106,7 +235,65 @@ class ReservationRepository {
      * @param reservationId 삭제할 예약 식별자
      */
     fun deleteById(reservationId: String) {
-        reservations.remove(reservationId)
+        val lsn = remove(reservationId) { journal.appendDelete(it) }
+        journal.awaitDurable(lsn)
+        archive.remove(reservationId)
+    }
+    
+    /**
+     * 기준 시각 이전에 생성된 종료 상태 예약을 보관소로 옮깁니다.
+     * 
+     * 취소/실패 예약만 대상입니다. 확정 예약은 생성 시각과 무관하게 출발 전까지 유효하며
+     * 결항 취소/재예약이 항공편·상태 인덱스로 찾아야 하므로 운영 저장소에 남겨 둡니다.
+     * 
+     * 보관소 기록이 끝난 뒤 운영 저장소에서 제거하므로 중간에 중단되어도 유실되지 않으며,
+     * 옮기는 사이 다시 저장된 예약은 제거하지 않습니다.
+     * 
+     * @param cutoff 이 시각 이전에 생성된 예약만 대상
+     * @return 보관소로 옮긴 예약 수
+     */
+    fun archiveTerminalBefore(cutoff: LocalDateTime): Int {
+        val candidates = TERMINAL_STATUSES
+            .flatMap { statusIndex.valuesOf(it) }
+            .mapNotNull { reservations[it.reservationId] }
+            .filter { it.keys.status in TERMINAL_STATUSES && it.reservation.createdAt.isBefore(cutoff) }
+        if (candidates.isEmpty()) return 0
+        
+        archive.archive(candidates.map { it.reservation })
+        
+        var archived = 0
+        var lastLsn = 0L
+        candidates.forEach { candidate ->
+            journal.recording {
+                reservations.computeIfPresent(candidate.reservation.reservationId) { id, current ->
+                    if (current !== candidate) return@computeIfPresent current
+                    removeFromIndexes(current.keys)
+                    lastLsn = journal.appendDelete(id)
+                    archived++
+                    null
+                }
+            }
+        }
+        journal.awaitDurable(lastLsn)
+        return archived
+    }
+    
+    private fun remove(reservationId: String, append: (String) -> Long): Long = journal.recording {
+        var lsn = 0L
+        reservations.computeIfPresent(reservationId) { id, previous ->
+            removeFromIndexes(previous.keys)
+            lsn = append(id)
+            null
+        }
+        lsn
+    }
+    
+    private fun removeFromIndexes(keys: IndexKeys) {
+        flightIndex.remove(keys.flightId, keys.sortKey)
+        emailIndex.remove(keys.email, keys.sortKey)
+        statusIndex.remove(keys.status, keys.sortKey)
+        paymentIndex.remove(keys.paymentId, keys.sortKey)
+        sortedIndex.remove(keys.sortKey)
     }
     
     /**
@@ -122,6 +309,62 @@ class ReservationRepository {
      * 모든 예약을 삭제합니다.
      */
     fun deleteAll() {
+        val lsn = journal.recording {
+            journal.appendClear().also { clear() }
+        }
+        journal.awaitDurable(lsn)
+        archive.clear()
+    }
+    
+    private fun clear() {
         reservations.clear()
+        flightIndex.clear()
+        emailIndex.clear()
+        statusIndex.clear()
+        paymentIndex.clear()
+        sortedIndex.clear()
+    }
+    
+    /**
+     * 인덱스 버킷의 예약을 조회하되, 동시 갱신 중 잠시 이전 버킷에 남아 있는 항목은
+     * 마지막 저장 시점의 키로 다시 확인하여 제외합니다.
+     */
+    private fun lookup(keys: Set<ReservationSortKey>, matches: (IndexKeys) -> Boolean): List<Reservation> {
+        return keys.mapNotNull { key -> reservations[key.reservationId]?.takeIf { matches(it.keys) }?.reservation }
+    }
+    
+    companion object {
+        private const val MAX_RESERVATION_ID = "\uFFFF"
+        
+        private val TERMINAL_STATUSES = setOf(
+            ReservationStatus.CANCELLED,
+            ReservationStatus.FAILED
+        )
+    }
+    
+    /**
+     * 저장된 예약과 저장 시점의 인덱스 키
+     */
+    private class Entry(val reservation: Reservation, val keys: IndexKeys)
+    
+    /**
+     * 인덱스 대상 필드 스냅샷 (엔티티는 가변이므로 저장 시점 값을 별도로 보관)
+     */
+    private data class IndexKeys(
+        val flightId: String,
+        val email: String,
+        val status: ReservationStatus,
+        val paymentId: String?,
+        val sortKey: ReservationSortKey
+    ) {
+        companion object {
+            fun of(reservation: Reservation) = IndexKeys(
+                flightId = reservation.flightId,
+                email = reservation.passengerEmail,
+                status = reservation.status,
+                paymentId = reservation.paymentId,
+                sortKey = ReservationSortKey.of(reservation)
+            )
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,108 @@
+package com.airline.reservation.repository.archive
+
+import java.io.DataInput
+import java.io.DataOutput
+import java.nio.ByteBuffer
+import java.util.Arrays
+
+/**
+ * 하루치 보관 예약을 담는 읽기 전용 정렬 세그먼트
+ *
+ * 모든 레코드를 하나의 바이트 배열에 이어 붙이고 예약 ID(UTF-8 바이트) 순으로 정렬된
+ * 오프셋 배열로 이진 탐색합니다. 세그먼트당 객체가 배열 두 개뿐이므로 GC 부담이 거의 없습니다.
+ *
+ * 레코드 형식: `| 2byte ID 길이 | ID | 4byte payload 길이 | payload |`
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+internal class ArchiveSegment private constructor(
+    private val offsets: IntArray,
+    private val data: ByteArray
+) {
+    val size: Int get() = offsets.size
+
+    /**
+     * 예약 ID로 직렬화된 레코드를 찾습니다.
+     */
+    fun find(reservationId: String): ByteArray? {
+        val key = reservationId.toByteArray(Charsets.UTF_8)
+        var low = 0
+        var high = offsets.size - 1
+        while (low <= high) {
+            val mid = (low + high) ushr 1
+            val offset = offsets[mid]
+            val idLength = idLengthAt(offset)
+            val comparison = Arrays.compareUnsigned(
+                data, offset + ID_LENGTH_BYTES, offset + ID_LENGTH_BYTES + idLength,
+                key, 0, key.size
+            )
+            when {
+                comparison < 0 -> low = mid + 1
+                comparison > 0 -> high = mid - 1
+                else -> return payloadAt(offset, idLength)
+            }
+        }
+        return null
+    }
+
+    /**
+     * 모든 레코드 (ID, payload) 목록
+     */
+    fun entries(): List<Pair<String, ByteArray>> = offsets.map { offset ->
+        val idLength = idLengthAt(offset)
+        String(data, offset + ID_LENGTH_BYTES, idLength, Charsets.UTF_8) to payloadAt(offset, idLength)
+    }
+
+    fun writeTo(out: DataOutput) {
+        out.writeInt(offsets.size)
+        offsets.forEach { out.writeInt(it) }
+        out.writeInt(data.size)
+        out.write(data)
+    }
+
+    private fun idLengthAt(offset: Int): Int = ByteBuffer.wrap(data, offset, ID_LENGTH_BYTES).short.toInt() and 0xFFFF
+
+    private fun payloadAt(offset: Int, idLength: Int): ByteArray {
+        val lengthOffset = offset + ID_LENGTH_BYTES + idLength
+        val payloadLength = ByteBuffer.wrap(data, lengthOffset, Int.SIZE_BYTES).int
+        val start = lengthOffset + Int.SIZE_BYTES
+        return data.copyOfRange(start, start + payloadLength)
+    }
+
+    companion object {
+        private const val ID_LENGTH_BYTES = 2
+
+        /**
+         * (ID, payload) 목록으로 세그먼트를 만듭니다. 같은 ID가 여러 번 있으면 마지막 값이 남습니다.
+         */
+        fun build(entries: List<Pair<String, ByteArray>>): ArchiveSegment {
+            val latest = LinkedHashMap<String, ByteArray>()
+            entries.forEach { (id, payload) -> latest[id] = payload }
+
+            val sorted = latest.entries
+                .map { it.key.toByteArray(Charsets.UTF_8) to it.value }
+                .sortedWith { a, b -> Arrays.compareUnsigned(a.first, b.first) }
+
+            val buffer = ByteBuffer.allocate(
+                sorted.sumOf { ID_LENGTH_BYTES + it.first.size + Int.SIZE_BYTES + it.second.size }
+            )
+            val offsets = IntArray(sorted.size)
+            sorted.forEachIndexed { index, (key, payload) ->
+                offsets[index] = buffer.position()
+                buffer.putShort(key.size.toShort())
+                buffer.put(key)
+                buffer.putInt(payload.size)
+                buffer.put(payload)
+            }
+            return ArchiveSegment(offsets, buffer.array())
+        }
+
+        fun readFrom(input: DataInput): ArchiveSegment {
+            val offsets = IntArray(input.readInt()) { input.readInt() }
+            val data = ByteArray(input.readInt())
+            input.readFully(data)
+            return ArchiveSegment(offsets, data)
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.airline.reservation.repository.archive
+
+import com.airline.idgen.SnowflakeIdGenerator
+import com.airline.reservation.entity.Reservation
+import com.airline.reservation.repository.wal.ReservationCodec
+import org.slf4j.LoggerFactory
+import java.io.BufferedInputStream
+import java.io.BufferedOutputStream
+import java.io.DataInputStream
+import java.io.DataOutputStream
+import java.io.FileOutputStream
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.StandardCopyOption
+import java.time.Instant
+import java.time.LocalDate
+import java.time.ZoneOffset
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.locks.ReentrantLock
+import java.util.zip.DeflaterOutputStream
+import java.util.zip.InflaterInputStream
+import kotlin.concurrent.withLock
+import kotlin.io.path.listDirectoryEntries
+import kotlin.io.path.name
+
+/**
+ * 종료된 예약을 일자별 세그먼트로 보관하는 저장소
+ *
+ * - 파티션: 예약 ID에 담긴 Snowflake 생성 시각의 UTC 일자 (ID 형식이 다르면 생성 일시)
+ * - 조회: ID에서 일자를 계산해 해당 세그먼트 하나만 이진 탐색
+ * - 갱신: 세그먼트는 불변이며, 같은 일자에 추가 보관 시 병합한 새 세그먼트로 교체
+ * - 영속화: 디렉터리가 지정되면 일자별 압축 파일로 기록 후 교체 (기동 시 다시 로드)
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+class ReservationArchive(
+    private val directory: Path? = null
+) {
+    private val logger = LoggerFactory.getLogger(ReservationArchive::class.java)
+
+    private val segments = ConcurrentHashMap<LocalDate, ArchiveSegment>()
+
+    // 세그먼트 교체(병합/제거)는 드물게 일어나므로 하나의 락으로 직렬화
+    private val writeLock = ReentrantLock()
+
+    init {
+        directory?.let { load(it) }
+    }
+
+    /**
+     * 보관된 예약을 조회합니다.
+     *
+     * @return 보관된 예약의 복원본, 없으면 null
+     */
+    fun findById(reservationId: String): Reservation? {
+        val partition = partitionOf(reservationId)
+        val payload = if (partition != null) {
+            segments[partition]?.find(reservationId)
+        } else {
+            segments.values.firstNotNullOfOrNull { it.find(reservationId) }
+        }
+        return payload?.let { ReservationCodec.decode(it) }
+    }
+
+    /**
+     * 예약을 일자별 세그먼트에 추가합니다. 반환 시점에는 파일 기록까지 끝나 있습니다.
+     */
+    fun archive(reservations: Collection<Reservation>) {
+        if (reservations.isEmpty()) return
+
+        reservations.groupBy { partitionOf(it) }.forEach { (partition, items) ->
+            writeLock.withLock {
+                val existing = segments[partition]?.entries() ?: emptyList()
+                val added = items.map { it.reservationId to ReservationCodec.encode(it) }
+                replace(partition, ArchiveSegment.build(existing + added))
+            }
+        }
+    }
+
+    /**
+     * 보관된 예약을 제거합니다.
+     */
+    fun remove(reservationId: String) {
+        writeLock.withLock {
+            val partition = partitionOf(reservationId)
+                ?: segments.entries.firstOrNull { it.value.find(reservationId) != null }?.key
+                ?: return
+            val segment = segments[partition] ?: return
+            if (segment.find(reservationId) == null) return
+
+            replace(partition, ArchiveSegment.build(segment.entries().filterNot { it.first == reservationId }))
+        }
+    }
+
+    /**
+     * 보관된 예약을 모두 제거합니다.
+     */
+    fun clear() {
+        writeLock.withLock {
+            segments.keys.toList().forEach { replace(it, ArchiveSegment.build(emptyList())) }
+        }
+    }
+
+    /**
+     * 보관된 예약 총 개수
+     */
+    fun count(): Long = segments.values.sumOf { it.size.toLong() }
+
+    /**
+     * 일자별 보관 건수
+     */
+    fun partitions(): Map<LocalDate, Int> = segments.mapValues { it.value.size }.toSortedMap()
+
+    private fun replace(partition: LocalDate, segment: ArchiveSegment) {
+        directory?.let { write(it, partition, segment) }
+        if (segment.size == 0) segments.remove(partition) else segments[partition] = segment
+    }
+
+    private fun write(directory: Path, partition: LocalDate, segment: ArchiveSegment) {
+        val target = directory.resolve("$FILE_PREFIX$partition$FILE_SUFFIX")
+        if (segment.size == 0) {
+            Files.deleteIfExists(target)
+            return
+        }
+
+        val temp = directory.resolve("$FILE_PREFIX$partition.tmp")
+        FileOutputStream(temp.toFile()).use { file ->
+            val deflater = DeflaterOutputStream(BufferedOutputStream(file))
+            segment.writeTo(DataOutputStream(deflater))
+            deflater.finish()
+            deflater.flush()
+            file.fd.sync()
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING)
+    }
+
+    private fun load(directory: Path) {
+        Files.createDirectories(directory)
+        directory.listDirectoryEntries("$FILE_PREFIX*$FILE_SUFFIX").forEach { file ->
+            val partition = LocalDate.parse(file.name.removePrefix(FILE_PREFIX).removeSuffix(FILE_SUFFIX))
+            DataInputStream(InflaterInputStream(BufferedInputStream(Files.newInputStream(file)))).use {
+                segments[partition] = ArchiveSegment.readFrom(it)
+            }
+        }
+        logger.info("예약 보관 세그먼트 로드: {}개 일자, {}건", segments.size, count())
+    }
+
+    companion object {
+        private const val FILE_PREFIX = "archive-"
+        private const val FILE_SUFFIX = ".seg"
+        private const val ENCODED_ID_LENGTH = 13
+
+        private fun partitionOf(reservation: Reservation): LocalDate =
+            partitionOf(reservation.reservationId) ?: reservation.createdAt.toLocalDate()
+
+        /**
+         * 예약 ID 끝의 Snowflake 문자열에서 생성 일자를 계산합니다. 형식이 다르면 null
+         */
+        private fun partitionOf(reservationId: String): LocalDate? {
+            if (reservationId.length < ENCODED_ID_LENGTH) return null
+            val id = try {
+                SnowflakeIdGenerator.decode(reservationId.takeLast(ENCODED_ID_LENGTH))
+            } catch (e: IllegalArgumentException) {
+                return null
+            }
+            if (id < 0) return null
+            return Instant.ofEpochMilli(SnowflakeIdGenerator.timestampOf(id)).atOffset(ZoneOffset.UTC).toLocalDate()
+        }
+    }
+}
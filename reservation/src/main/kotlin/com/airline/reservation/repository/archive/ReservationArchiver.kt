@@ -0,0 +1,60 @@
+package com.airline.reservation.repository.archive
+
+import com.airline.reservation.config.ReservationConfig
+import com.airline.reservation.repository.ReservationRepository
+import jakarta.annotation.PostConstruct
+import jakarta.annotation.PreDestroy
+import org.slf4j.LoggerFactory
+import org.springframework.stereotype.Component
+import java.time.LocalDateTime
+import java.util.concurrent.Executors
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.TimeUnit
+
+/**
+ * 오래된 종료 예약을 주기적으로 보관소로 옮깁니다.
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+@Component
+class ReservationArchiver(
+    private val reservationRepository: ReservationRepository,
+    private val reservationConfig: ReservationConfig
+) {
+    private val logger = LoggerFactory.getLogger(ReservationArchiver::class.java)
+
+    private var scheduler: ScheduledExecutorService? = null
+
+    @PostConstruct
+    fun start() {
+        val archiveConfig = reservationConfig.archive
+        if (!archiveConfig.enabled) return
+
+        scheduler = Executors.newSingleThreadScheduledExecutor { runnable ->
+            Thread(runnable, "reservation-archiver").apply { isDaemon = true }
+        }.apply {
+            scheduleWithFixedDelay({ archive() }, archiveConfig.intervalMinutes, archiveConfig.intervalMinutes, TimeUnit.MINUTES)
+        }
+    }
+
+    @PreDestroy
+    fun stop() {
+        scheduler?.shutdown()
+    }
+
+    /**
+     * 보관 대상 예약을 옮기고 건수를 반환합니다.
+     */
+    fun archive(): Int {
+        return try {
+            val cutoff = LocalDateTime.now().minusHours(reservationConfig.archive.olderThanHours)
+            reservationRepository.archiveTerminalBefore(cutoff).also {
+                if (it > 0) logger.info("종료 예약 보관 완료: {}건 (기준 {})", it, cutoff)
+            }
+        } catch (e: Exception) {
+            logger.error("종료 예약 보관 실패", e)
+            0
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.airline.reservation.repository.wal
+
+import com.airline.reservation.dto.CancellationStep
+import com.airline.reservation.dto.ReservationStatus
+import com.airline.reservation.entity.Reservation
+import java.io.ByteArrayOutputStream
+import java.io.DataInput
+import java.io.DataInputStream
+import java.io.DataOutput
+import java.io.DataOutputStream
+import java.math.BigDecimal
+import java.math.BigInteger
+import java.time.LocalDateTime
+import java.time.ZoneOffset
+
+/**
+ * 예약 엔티티 바이너리 직렬화
+ *
+ * WAL 레코드와 스냅샷이 같은 형식을 사용합니다.
+ * 필드 순서를 바꾸면 기존 파일을 읽을 수 없으므로 새 필드는 항상 끝에 추가합니다.
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+internal object ReservationCodec {
+
+    fun encode(reservation: Reservation): ByteArray {
+        val bytes = ByteArrayOutputStream(256)
+        DataOutputStream(bytes).use { write(it, reservation) }
+        return bytes.toByteArray()
+    }
+
+    fun decode(bytes: ByteArray): Reservation = DataInputStream(bytes.inputStream()).use { read(it) }
+
+    fun write(out: DataOutput, reservation: Reservation) {
+        out.writeUTF(reservation.reservationId)
+        out.writeUTF(reservation.status.name)
+        out.writeUTF(reservation.flightId)
+        out.writeUTF(reservation.passengerName)
+        out.writeUTF(reservation.passengerEmail)
+        writeNullable(out, reservation.passengerPhone)
+        writeNullable(out, reservation.passportNumber)
+        writeNullable(out, reservation.paymentId)
+        writeNullable(out, reservation.ticketId)
+        writeDecimal(out, reservation.totalAmount)
+        writeNullable(out, reservation.seatNumber)
+        out.writeLong(reservation.createdAt.toEpochSecond(ZoneOffset.UTC))
+        out.writeInt(reservation.createdAt.nano)
+        out.writeUTF(reservation.message)
+        out.writeByte(reservation.cancellationSteps.fold(0) { mask, step -> mask or (1 shl step.ordinal) })
+    }
+
+    fun read(input: DataInput): Reservation = Reservation(
+        reservationId = input.readUTF(),
+        status = ReservationStatus.valueOf(input.readUTF()),
+        flightId = input.readUTF(),
+        passengerName = input.readUTF(),
+        passengerEmail = input.readUTF(),
+        passengerPhone = readNullable(input),
+        passportNumber = readNullable(input),
+        paymentId = readNullable(input),
+        ticketId = readNullable(input),
+        totalAmount = readDecimal(input),
+        seatNumber = readNullable(input),
+        createdAt = LocalDateTime.ofEpochSecond(input.readLong(), input.readInt(), ZoneOffset.UTC),
+        message = input.readUTF(),
+        cancellationSteps = readSteps(input.readUnsignedByte())
+    )
+
+    private fun readSteps(mask: Int): Set<CancellationStep> =
+        CancellationStep.entries.filterTo(mutableSetOf()) { mask and (1 shl it.ordinal) != 0 }
+
+    private fun writeNullable(out: DataOutput, value: String?) {
+        out.writeBoolean(value != null)
+        if (value != null) out.writeUTF(value)
+    }
+
+    private fun readNullable(input: DataInput): String? = if (input.readBoolean()) input.readUTF() else null
+
+    private fun writeDecimal(out: DataOutput, value: BigDecimal) {
+        val unscaled = value.unscaledValue().toByteArray()
+        out.writeInt(value.scale())
+        out.writeByte(unscaled.size)
+        out.write(unscaled)
+    }
+
+    private fun readDecimal(input: DataInput): BigDecimal {
+        val scale = input.readInt()
+        val unscaled = ByteArray(input.readUnsignedByte())
+        input.readFully(unscaled)
+        return BigDecimal(BigInteger(unscaled), scale)
+    }
+}
@@ -0,0 +1,54 @@
+package com.airline.reservation.repository.wal
+
+import com.airline.reservation.entity.Reservation
+
+/**
+ * 예약 저장소 변경 이력 기록 계약
+ *
+ * 저장소는 변경을 메모리에 반영하는 시점(예약 ID 잠금 구간)에 [appendSave]/[appendDelete]로
+ * 순번(LSN)을 받고, 잠금을 푼 뒤 [awaitDurable]로 디스크 반영을 기다립니다.
+ * 기록과 메모리 반영은 [recording] 안에서 함께 수행하여 스냅샷이 그 사이에 끼어들지 않게 합니다.
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+interface ReservationJournal {
+
+    /**
+     * 예약 저장(전체 상태)을 기록하고 LSN을 반환합니다.
+     */
+    fun appendSave(reservation: Reservation): Long
+
+    /**
+     * 예약 삭제를 기록하고 LSN을 반환합니다.
+     */
+    fun appendDelete(reservationId: String): Long
+
+    /**
+     * 전체 삭제를 기록하고 LSN을 반환합니다.
+     */
+    fun appendClear(): Long
+
+    /**
+     * 해당 LSN까지 디스크에 반영될 때까지 대기합니다.
+     */
+    fun awaitDurable(lsn: Long)
+
+    /**
+     * 기록과 메모리 반영을 하나의 단위로 실행합니다.
+     * 스냅샷은 진행 중인 단위가 모두 끝난 뒤에 세그먼트를 전환합니다.
+     */
+    fun <T> recording(block: () -> T): T = block()
+
+    companion object {
+        /**
+         * 영속화를 사용하지 않는 경우의 기본 구현
+         */
+        val NONE: ReservationJournal = object : ReservationJournal {
+            override fun appendSave(reservation: Reservation): Long = 0L
+            override fun appendDelete(reservationId: String): Long = 0L
+            override fun appendClear(): Long = 0L
+            override fun awaitDurable(lsn: Long) = Unit
+        }
+    }
+}
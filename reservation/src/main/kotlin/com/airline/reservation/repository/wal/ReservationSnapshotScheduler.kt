@@ -0,0 +1,65 @@
+package com.airline.reservation.repository.wal
+
+import com.airline.reservation.config.ReservationConfig
+import com.airline.reservation.repository.ReservationRepository
+import jakarta.annotation.PostConstruct
+import jakarta.annotation.PreDestroy
+import org.slf4j.LoggerFactory
+import org.springframework.stereotype.Component
+import java.util.concurrent.Executors
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.TimeUnit
+
+/**
+ * 기동 시 예약 저장소를 복구하고 주기적으로 스냅샷을 기록합니다.
+ *
+ * 복구는 빈 초기화 단계에서 끝나므로 웹 요청을 받기 전에 저장소가 채워집니다.
+ * 종료 시 마지막 스냅샷을 남겨 다음 기동 시 재생할 WAL을 최소화합니다.
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+@Component
+class ReservationSnapshotScheduler(
+    private val reservationRepository: ReservationRepository,
+    private val reservationJournal: ReservationJournal,
+    private val reservationConfig: ReservationConfig
+) {
+    private val logger = LoggerFactory.getLogger(ReservationSnapshotScheduler::class.java)
+
+    private var scheduler: ScheduledExecutorService? = null
+
+    @PostConstruct
+    fun start() {
+        val journal = reservationJournal as? WriteAheadReservationJournal ?: return
+
+        journal.recover(
+            onSave = reservationRepository::restore,
+            onDelete = reservationRepository::restoreDelete,
+            onClear = reservationRepository::restoreClear
+        )
+
+        val interval = reservationConfig.persistence.snapshotIntervalSeconds
+        scheduler = Executors.newSingleThreadScheduledExecutor { runnable ->
+            Thread(runnable, "reservation-snapshot").apply { isDaemon = true }
+        }.apply {
+            scheduleWithFixedDelay({ takeSnapshot(journal) }, interval, interval, TimeUnit.SECONDS)
+        }
+    }
+
+    @PreDestroy
+    fun stop() {
+        val journal = reservationJournal as? WriteAheadReservationJournal ?: return
+        scheduler?.shutdown()
+        scheduler?.awaitTermination(10, TimeUnit.SECONDS)
+        takeSnapshot(journal)
+    }
+
+    private fun takeSnapshot(journal: WriteAheadReservationJournal) {
+        try {
+            journal.snapshot { reservationRepository.findAll() }
+        } catch (e: Exception) {
+            logger.error("예약 저장소 스냅샷 실패", e)
+        }
+    }
+}
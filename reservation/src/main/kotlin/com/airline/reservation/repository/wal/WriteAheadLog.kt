@@ -0,0 +1,306 @@
+package com.airline.reservation.repository.wal
+
+import org.slf4j.LoggerFactory
+import java.io.Closeable
+import java.io.IOException
+import java.nio.MappedByteBuffer
+import java.nio.channels.FileChannel
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.StandardOpenOption
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.locks.ReentrantLock
+import java.util.zip.CRC32
+import kotlin.concurrent.withLock
+import kotlin.io.path.listDirectoryEntries
+import kotlin.io.path.name
+
+/**
+ * 메모리 매핑 세그먼트 기반 write-ahead log
+ *
+ * 레코드 형식: `| 4byte 길이 | 4byte CRC32 | 1byte 타입 | payload |`
+ * 세그먼트 파일은 생성 시 0으로 채워지므로 길이 0은 로그의 끝을 의미하고,
+ * CRC가 맞지 않는 레코드는 기록 도중 중단된 꼬리로 보고 재생을 멈춥니다.
+ *
+ * 그룹 커밋:
+ * - [append]는 매핑된 버퍼에 복사만 하고 LSN을 반환 (fsync 없음)
+ * - 전용 flush 스레드가 그때까지 추가된 모든 레코드를 force() 한 번으로 반영
+ * - [awaitDurable]로 대기하는 쓰기 요청들은 같은 force()를 공유하므로 요청당 fsync가 발생하지 않음
+ *
+ * 세그먼트 전환도 파일 I/O 없이 끝납니다. flush 스레드가 다음 세그먼트(standby)를 미리 만들어 두고,
+ * 전환된 이전 세그먼트의 force()/close()도 flush 스레드가 수행합니다.
+ * 따라서 저장소 잠금 안에서 호출되는 [append]는 standby가 아직 준비되지 않은 드문 경우에만 대기합니다.
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+class WriteAheadLog(
+    private val directory: Path,
+    private val segmentSize: Int
+) : Closeable {
+    private val logger = LoggerFactory.getLogger(WriteAheadLog::class.java)
+
+    private val lock = ReentrantLock()
+    private val appended = lock.newCondition()
+    private val flushed = lock.newCondition()
+    private val standbyReady = lock.newCondition()
+
+    private var segment: Segment
+    private var standby: Segment? = null
+    private val retired = ArrayList<Segment>()
+    private var appendedLsn = 0L
+    private var flushedLsn = 0L
+    private var failure: Exception? = null
+
+    @Volatile
+    private var running = true
+
+    private val flusher: Thread
+
+    init {
+        Files.createDirectories(directory)
+        val lastSegmentId = segmentIds().maxOrNull() ?: 0L
+        // 기존 세그먼트는 재생 전용으로 두고 항상 새 세그먼트에 이어서 기록
+        segment = Segment.create(pathOf(lastSegmentId + 1), lastSegmentId + 1, segmentSize)
+        flusher = Thread(::flushLoop, "reservation-wal-flusher").apply {
+            isDaemon = true
+            start()
+        }
+    }
+
+    /**
+     * 레코드를 추가하고 LSN을 반환합니다. 디스크 반영은 [awaitDurable]로 확인합니다.
+     */
+    fun append(type: Byte, payload: ByteArray): Long {
+        val crc = CRC32().apply {
+            update(type.toInt())
+            update(payload)
+        }.value.toInt()
+
+        lock.withLock {
+            val recordSize = RECORD_HEADER_SIZE + payload.size
+            require(recordSize + Int.SIZE_BYTES <= segmentSize) { "WAL record too large: $recordSize bytes" }
+            if (segment.remaining() < recordSize + Int.SIZE_BYTES) {
+                rollLocked()
+            }
+            segment.write(type, crc, payload)
+            appendedLsn++
+            appended.signal()
+            return appendedLsn
+        }
+    }
+
+    /**
+     * 해당 LSN까지 디스크에 반영될 때까지 대기합니다.
+     */
+    fun awaitDurable(lsn: Long) {
+        lock.withLock {
+            while (flushedLsn < lsn) {
+                failure?.let { throw IOException("WAL flush failed", it) }
+                check(running) { "WAL is closed" }
+                flushed.await(FLUSH_WAIT_MS, TimeUnit.MILLISECONDS)
+            }
+        }
+    }
+
+    /**
+     * 새 세그먼트로 전환하고 그 ID를 반환합니다.
+     * 반환된 ID 이후의 세그먼트만 재생하면 전환 이후의 변경을 모두 복원할 수 있습니다.
+     */
+    fun roll(): Long = lock.withLock {
+        rollLocked()
+        segment.id
+    }
+
+    /**
+     * 주어진 ID보다 앞선 세그먼트를 삭제합니다.
+     */
+    fun deleteSegmentsBefore(segmentId: Long) {
+        segmentIds().filter { it < segmentId }.forEach { Files.deleteIfExists(pathOf(it)) }
+    }
+
+    /**
+     * 주어진 ID 이상의 세그먼트를 순서대로 재생합니다.
+     */
+    fun replay(fromSegmentId: Long, consumer: (type: Byte, payload: ByteArray) -> Unit): Long {
+        val (currentId, standbyId) = lock.withLock { segment.id to standby?.id }
+        var records = 0L
+        segmentIds().filter { it >= fromSegmentId && it != currentId && it != standbyId }.sorted().forEach { id ->
+            records += replaySegment(pathOf(id), consumer)
+        }
+        return records
+    }
+
+    override fun close() {
+        running = false
+        flusher.interrupt()
+        flusher.join(TimeUnit.SECONDS.toMillis(5))
+        lock.withLock {
+            retired.forEach { it.force(); it.close() }
+            retired.clear()
+            segment.force()
+            flushedLsn = appendedLsn
+            segment.close()
+            standby?.let {
+                it.close()
+                Files.deleteIfExists(pathOf(it.id))
+            }
+            standby = null
+            flushed.signalAll()
+            standbyReady.signalAll()
+        }
+    }
+
+    /**
+     * 미리 만들어 둔 standby 세그먼트로 전환합니다. 이전 세그먼트의 force()/close()는 flush 스레드가 수행합니다.
+     */
+    private fun rollLocked() {
+        while (standby == null) {
+            failure?.let { throw IOException("WAL segment preparation failed", it) }
+            check(running) { "WAL is closed" }
+            standbyReady.await(FLUSH_WAIT_MS, TimeUnit.MILLISECONDS)
+        }
+        retired += segment
+        segment = standby!!
+        standby = null
+        appended.signal()
+    }
+
+    private fun flushLoop() {
+        while (running) {
+            val work = try {
+                lock.withLock {
+                    while (running && appendedLsn == flushedLsn && retired.isEmpty() && standby != null) {
+                        appended.await()
+                    }
+                    FlushWork(
+                        target = appendedLsn,
+                        current = segment,
+                        retired = retired.toList().also { retired.clear() },
+                        standbyId = if (standby == null) segment.id + 1 else null
+                    )
+                }
+            } catch (e: InterruptedException) {
+                return
+            }
+
+            try {
+                // 전환된 세그먼트의 레코드도 target에 포함되므로 먼저 반영
+                work.retired.forEach {
+                    it.force()
+                    it.close()
+                }
+                work.current.force()
+                val prepared = work.standbyId?.let { Segment.create(pathOf(it), it, segmentSize) }
+                lock.withLock {
+                    flushedLsn = maxOf(flushedLsn, work.target)
+                    flushed.signalAll()
+                    if (prepared != null) {
+                        standby = prepared
+                        standbyReady.signalAll()
+                    }
+                }
+            } catch (e: Exception) {
+                if (!running) return
+                logger.error("WAL flush 실패", e)
+                lock.withLock {
+                    failure = e
+                    flushed.signalAll()
+                    standbyReady.signalAll()
+                }
+            }
+        }
+    }
+
+    private fun replaySegment(path: Path, consumer: (Byte, ByteArray) -> Unit): Long {
+        var records = 0L
+        FileChannel.open(path, StandardOpenOption.READ).use { channel ->
+            val buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())
+            while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+                val length = buffer.getInt()
+                if (length <= 0 || length > buffer.remaining() - Int.SIZE_BYTES) break
+
+                val crc = buffer.getInt()
+                val type = buffer.get()
+                val payload = ByteArray(length - 1)
+                buffer.get(payload)
+
+                val actual = CRC32().apply {
+                    update(type.toInt())
+                    update(payload)
+                }.value.toInt()
+                if (actual != crc) {
+                    logger.warn("WAL 손상 레코드 발견, 재생 중단: {} (offset {})", path.name, buffer.position())
+                    break
+                }
+                consumer(type, payload)
+                records++
+            }
+        }
+        return records
+    }
+
+    private fun segmentIds(): List<Long> =
+        directory.listDirectoryEntries("$SEGMENT_PREFIX*$SEGMENT_SUFFIX").mapNotNull {
+            it.name.removePrefix(SEGMENT_PREFIX).removeSuffix(SEGMENT_SUFFIX).toLongOrNull()
+        }
+
+    private fun pathOf(segmentId: Long): Path =
+        directory.resolve(SEGMENT_PREFIX + "%020d".format(segmentId) + SEGMENT_SUFFIX)
+
+    /**
+     * flush 스레드가 잠금 밖에서 수행할 작업
+     */
+    private class FlushWork(
+        val target: Long,
+        val current: Segment,
+        val retired: List<Segment>,
+        val standbyId: Long?
+    )
+
+    /**
+     * 하나의 메모리 매핑 세그먼트 파일
+     */
+    private class Segment(
+        val id: Long,
+        private val channel: FileChannel,
+        private val buffer: MappedByteBuffer
+    ) {
+        fun remaining(): Int = buffer.remaining()
+
+        fun write(type: Byte, crc: Int, payload: ByteArray) {
+            buffer.putInt(payload.size + 1)
+            buffer.putInt(crc)
+            buffer.put(type)
+            buffer.put(payload)
+        }
+
+        fun force() {
+            buffer.force()
+        }
+
+        fun close() {
+            channel.close()
+        }
+
+        companion object {
+            fun create(path: Path, id: Long, size: Int): Segment {
+                val channel = FileChannel.open(
+                    path,
+                    StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ,
+                    StandardOpenOption.WRITE
+                )
+                return Segment(id, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size.toLong()))
+            }
+        }
+    }
+
+    companion object {
+        const val SEGMENT_PREFIX = "wal-"
+        const val SEGMENT_SUFFIX = ".log"
+
+        private const val RECORD_HEADER_SIZE = Int.SIZE_BYTES + Int.SIZE_BYTES + 1
+        private const val FLUSH_WAIT_MS = 100L
+    }
+}
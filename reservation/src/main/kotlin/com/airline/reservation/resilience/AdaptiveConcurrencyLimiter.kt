@@ -0,0 +1,170 @@
+package com.airline.reservation.resilience
+
+import com.airline.reservation.config.ReservationConfig
+import com.airline.reservation.exception.DownstreamOverloadedException
+import feign.FeignException
+import feign.RetryableException
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.locks.ReentrantLock
+import kotlin.concurrent.withLock
+import kotlin.math.sqrt
+
+/**
+ * 지연 기울기(latency gradient) 기반 적응형 동시성 제한기
+ *
+ * 하위 서비스 하나에 대한 동시 호출 수를 제한하며, 한도는 관측된 응답 시간에 따라 자동 조정됩니다.
+ *
+ * - 단기 RTT(최근 추세)와 장기 RTT(기준선)를 지수 이동 평균으로 추적
+ * - 단기 RTT가 장기 RTT × 허용 배율 이내이면 한도를 √limit 만큼 늘려 여유를 탐색
+ * - 단기 RTT가 기준선을 넘어서면 비율만큼 한도를 줄여 큐가 쌓이기 전에 부하를 줄임
+ * - 타임아웃/429/503/504 응답은 손실(drop)로 보고 한도를 곱셈 감소
+ * - 한도에 도달하면 최대 [ReservationConfig.ConcurrencyLimitConfig.maxQueueWaitMs]까지만 대기 후 즉시 거절
+ *
+ * 대기 시간은 하위 서비스 지연이 아니므로 RTT 측정에서 제외하고 별도로 집계합니다.
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+class AdaptiveConcurrencyLimiter(
+    val name: String,
+    private val config: ReservationConfig.ConcurrencyLimitConfig
+) {
+    private val lock = ReentrantLock()
+    private val permitReleased = lock.newCondition()
+
+    // lock으로 보호되는 상태
+    private var limit = config.initialLimit.toDouble().coerceIn(config.minLimit.toDouble(), config.maxLimit.toDouble())
+    private var inFlight = 0
+    private var shortRttNanos = 0.0
+    private var longRttNanos = 0.0
+
+    private val accepted = AtomicLong(0)
+    private val rejected = AtomicLong(0)
+    private val dropped = AtomicLong(0)
+    private val queued = AtomicLong(0)
+    private val queueTimeNanos = AtomicLong(0)
+
+    /**
+     * 한도 내에서 호출을 실행합니다.
+     *
+     * @throws DownstreamOverloadedException 대기 시간 내에 슬롯을 얻지 못한 경우
+     */
+    fun <T> execute(call: () -> T): T {
+        if (!config.enabled) return call()
+
+        val inFlightAtStart = acquire()
+        val startNanos = System.nanoTime()
+        val result = try {
+            call()
+        } catch (e: Throwable) {
+            release(System.nanoTime() - startNanos, inFlightAtStart, isDrop(e))
+            throw e
+        }
+        release(System.nanoTime() - startNanos, inFlightAtStart, false)
+        return result
+    }
+
+    /**
+     * 현재 상태 스냅샷
+     */
+    fun snapshot(): Snapshot = lock.withLock {
+        val acceptedCount = accepted.get()
+        Snapshot(
+            name = name,
+            limit = limit.toInt(),
+            inFlight = inFlight,
+            accepted = acceptedCount,
+            rejected = rejected.get(),
+            dropped = dropped.get(),
+            queued = queued.get(),
+            averageQueueTimeMs = if (acceptedCount == 0L) 0.0 else queueTimeNanos.get() / acceptedCount / 1_000_000.0,
+            shortRttMs = shortRttNanos / 1_000_000.0,
+            longRttMs = longRttNanos / 1_000_000.0
+        )
+    }
+
+    /**
+     * 슬롯을 확보하고 확보 시점의 동시 호출 수를 반환합니다.
+     */
+    private fun acquire(): Int {
+        val arrivedNanos = System.nanoTime()
+        val inFlightAtStart = lock.withLock {
+            if (inFlight >= limit.toInt()) {
+                queued.incrementAndGet()
+                var remainingNanos = TimeUnit.MILLISECONDS.toNanos(config.maxQueueWaitMs)
+                while (inFlight >= limit.toInt()) {
+                    if (remainingNanos <= 0L) {
+                        rejected.incrementAndGet()
+                        throw DownstreamOverloadedException(name)
+                    }
+                    remainingNanos = permitReleased.awaitNanos(remainingNanos)
+                }
+            }
+            ++inFlight
+        }
+        queueTimeNanos.addAndGet(System.nanoTime() - arrivedNanos)
+        accepted.incrementAndGet()
+        return inFlightAtStart
+    }
+
+    private fun release(rttNanos: Long, inFlightAtStart: Int, drop: Boolean) {
+        lock.withLock {
+            inFlight--
+            if (drop) {
+                dropped.incrementAndGet()
+                limit = (limit * config.backoffRatio).coerceAtLeast(config.minLimit.toDouble())
+            } else {
+                updateLimit(rttNanos.toDouble(), inFlightAtStart)
+            }
+            permitReleased.signalAll()
+        }
+    }
+
+    private fun updateLimit(rttNanos: Double, inFlightAtStart: Int) {
+        shortRttNanos = if (shortRttNanos == 0.0) rttNanos else shortRttNanos + (rttNanos - shortRttNanos) * SHORT_RTT_ALPHA
+        longRttNanos = if (longRttNanos == 0.0) rttNanos else longRttNanos + (rttNanos - longRttNanos) * LONG_RTT_ALPHA
+
+        // 지연이 지속적으로 낮아진 경우 기준선이 따라 내려오도록 보정
+        if (longRttNanos / shortRttNanos > 2.0) {
+            longRttNanos *= 0.95
+        }
+
+        // 한도의 절반도 쓰지 않는 상황에서는 한도를 늘릴 근거가 없음
+        if (inFlightAtStart < limit / 2) return
+
+        val gradient = (config.rttTolerance * longRttNanos / shortRttNanos).coerceIn(0.5, 1.0)
+        val newLimit = limit * gradient + sqrt(limit)
+        limit = (limit * (1 - config.smoothing) + newLimit * config.smoothing)
+            .coerceIn(config.minLimit.toDouble(), config.maxLimit.toDouble())
+    }
+
+    /**
+     * 하위 서비스 과부하를 의미하는 실패인지 판단합니다.
+     * 비즈니스 오류(4xx 등)는 정상 응답으로 보고 한도 조정에 사용하지 않습니다.
+     */
+    private fun isDrop(e: Throwable): Boolean = when (e) {
+        is RetryableException -> true
+        is FeignException -> e.status() in OVERLOAD_STATUSES
+        else -> false
+    }
+
+    data class Snapshot(
+        val name: String,
+        val limit: Int,
+        val inFlight: Int,
+        val accepted: Long,
+        val rejected: Long,
+        val dropped: Long,
+        val queued: Long,
+        val averageQueueTimeMs: Double,
+        val shortRttMs: Double,
+        val longRttMs: Double
+    )
+
+    companion object {
+        private const val SHORT_RTT_ALPHA = 0.1
+        private const val LONG_RTT_ALPHA = 0.01
+        private val OVERLOAD_STATUSES = setOf(429, 503, 504)
+    }
+}
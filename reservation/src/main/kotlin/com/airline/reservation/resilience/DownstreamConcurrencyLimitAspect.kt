@@ -0,0 +1,30 @@
+package com.airline.reservation.resilience
+
+import org.aspectj.lang.ProceedingJoinPoint
+import org.aspectj.lang.annotation.Around
+import org.aspectj.lang.annotation.Aspect
+import org.springframework.stereotype.Component
+
+/**
+ * Feign 클라이언트 호출에 하위 서비스별 동시성 제한을 적용하는 AOP Aspect
+ *
+ * 클라이언트 인터페이스 단위로 적용하므로 호출 측(서비스, 병합 캐시 등)은 제한을 의식하지 않아도 됩니다.
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+@Aspect
+@Component
+class DownstreamConcurrencyLimitAspect(
+    private val limiters: DownstreamConcurrencyLimiters
+) {
+
+    @Around("execution(* com.airline.reservation.client.FlightClient.*(..))")
+    fun limitFlightCalls(pjp: ProceedingJoinPoint): Any? = limiters.flight.execute { pjp.proceed() }
+
+    @Around("execution(* com.airline.reservation.client.PaymentClient.*(..))")
+    fun limitPaymentCalls(pjp: ProceedingJoinPoint): Any? = limiters.payment.execute { pjp.proceed() }
+
+    @Around("execution(* com.airline.reservation.client.TicketClient.*(..))")
+    fun limitTicketCalls(pjp: ProceedingJoinPoint): Any? = limiters.ticket.execute { pjp.proceed() }
+}
@@ -0,0 +1,35 @@
+package com.airline.reservation.resilience
+
+import com.airline.reservation.config.ReservationConfig
+import org.springframework.stereotype.Component
+
+/**
+ * 하위 서비스별 적응형 동시성 제한기 모음
+ *
+ * 항공편/결제/항공권 서비스는 처리 용량이 서로 다르므로 각각 독립된 한도를 유지합니다.
+ * 서비스별 설정([ReservationConfig.ConcurrencyLimitConfig.flight] 등)에 지정하지 않은 값은 공통 설정을 따릅니다.
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+@Component
+class DownstreamConcurrencyLimiters(reservationConfig: ReservationConfig) {
+
+    private val limitConfig = reservationConfig.concurrencyLimit
+
+    val flight = AdaptiveConcurrencyLimiter(FLIGHT, limitConfig.forDownstream(limitConfig.flight))
+    val payment = AdaptiveConcurrencyLimiter(PAYMENT, limitConfig.forDownstream(limitConfig.payment))
+    val ticket = AdaptiveConcurrencyLimiter(TICKET, limitConfig.forDownstream(limitConfig.ticket))
+
+    /**
+     * 전체 제한기 상태 스냅샷
+     */
+    fun snapshots(): List<AdaptiveConcurrencyLimiter.Snapshot> =
+        listOf(flight, payment, ticket).map { it.snapshot() }
+
+    companion object {
+        const val FLIGHT = "flight-service"
+        const val PAYMENT = "payment-service"
+        const val TICKET = "ticket-service"
+    }
+}
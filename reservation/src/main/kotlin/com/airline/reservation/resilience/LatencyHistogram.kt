@@ -0,0 +1,98 @@
+package com.airline.reservation.resilience
+
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLongArray
+
+/**
+ * 최근 응답 시간 분포를 추적하는 경량 로그-선형 히스토그램
+ *
+ * - 2의 거듭제곱 구간마다 8개 하위 구간을 두어 상대 오차 약 12.5% 이내로 마이크로초 단위 기록
+ * - 기록은 AtomicLongArray 증가 한 번으로 끝나므로 락이 없음
+ * - 현재/직전 두 개의 시간 창을 유지하여 오래된 분포는 자연스럽게 버려짐
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+class LatencyHistogram(private val windowNanos: Long) {
+
+    @Volatile
+    private var current = Window(System.nanoTime())
+
+    @Volatile
+    private var previous = Window(System.nanoTime())
+
+    /**
+     * 응답 시간을 기록합니다.
+     */
+    fun record(latencyNanos: Long) {
+        rotateIfNeeded()
+        current.counts.incrementAndGet(indexOf(TimeUnit.NANOSECONDS.toMicros(latencyNanos)))
+    }
+
+    /**
+     * 현재/직전 창을 합친 분포에서 백분위 응답 시간을 구합니다.
+     *
+     * @param percentile 0.0 ~ 1.0
+     * @param minSamples 이보다 표본이 적으면 신뢰할 수 없으므로 null 반환
+     * @return 해당 구간 상한값(ns), 표본 부족 시 null
+     */
+    fun percentileNanos(percentile: Double, minSamples: Long): Long? {
+        rotateIfNeeded()
+        val latest = current
+        val older = previous
+
+        val merged = LongArray(BUCKET_COUNT) { latest.counts.get(it) + older.counts.get(it) }
+        val total = merged.sum()
+        if (total < minSamples || total == 0L) return null
+
+        val target = Math.ceil(total * percentile.coerceIn(0.0, 1.0)).toLong().coerceAtLeast(1)
+        var seen = 0L
+        for (index in merged.indices) {
+            seen += merged[index]
+            if (seen >= target) return TimeUnit.MICROSECONDS.toNanos(upperBoundOf(index))
+        }
+        return TimeUnit.MICROSECONDS.toNanos(upperBoundOf(BUCKET_COUNT - 1))
+    }
+
+    private fun rotateIfNeeded() {
+        val window = current
+        if (System.nanoTime() - window.startNanos < windowNanos) return
+
+        synchronized(this) {
+            if (current === window) {
+                previous = window
+                current = Window(System.nanoTime())
+            }
+        }
+    }
+
+    private class Window(val startNanos: Long) {
+        val counts = AtomicLongArray(BUCKET_COUNT)
+    }
+
+    companion object {
+        private const val SUB_BUCKET_BITS = 3
+        private const val SUB_BUCKET_COUNT = 1 shl SUB_BUCKET_BITS
+        private const val MAX_EXPONENT = 26 // 2^26 µs ≈ 67초
+        private const val BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT
+        private const val MAX_MICROS = (1L shl (MAX_EXPONENT + 1)) - 1
+
+        internal fun indexOf(micros: Long): Int {
+            val value = micros.coerceIn(0, MAX_MICROS)
+            if (value < SUB_BUCKET_COUNT) return value.toInt()
+
+            val exponent = 63 - java.lang.Long.numberOfLeadingZeros(value)
+            val shift = exponent - SUB_BUCKET_BITS
+            val mantissa = (value ushr shift).toInt() and (SUB_BUCKET_COUNT - 1)
+            return (shift + 1) * SUB_BUCKET_COUNT + mantissa
+        }
+
+        internal fun upperBoundOf(index: Int): Long {
+            if (index < SUB_BUCKET_COUNT) return index + 1L
+
+            val shift = index / SUB_BUCKET_COUNT - 1
+            val mantissa = index % SUB_BUCKET_COUNT
+            return (SUB_BUCKET_COUNT + mantissa + 1).toLong() shl shift
+        }
+    }
+}
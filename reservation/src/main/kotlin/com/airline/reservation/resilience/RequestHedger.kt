@@ -0,0 +1,196 @@
+package com.airline.reservation.resilience
+
+import com.airline.reservation.config.ReservationConfig
+import io.opentelemetry.context.Context
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.DisposableBean
+import org.springframework.stereotype.Component
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionException
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.ThreadFactory
+import java.util.concurrent.ThreadPoolExecutor
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.TimeoutException
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * 멱등 조회 요청의 꼬리 지연(tail latency)을 줄이기 위한 헤징 실행기
+ *
+ * 1. 1차 요청을 보낸 뒤 연산별 최근 응답 시간의 백분위(p95 등)만큼 기다림
+ * 2. 그때까지 응답이 없으면 동일한 2차 요청을 보내고 먼저 성공한 응답을 사용
+ * 3. 2차 요청은 1차 요청 수 대비 설정 비율의 토큰 예산 내에서만 허용
+ *
+ * 부작용이 있는 호출에는 절대 사용하면 안 되며, 호출 측에서 읽기 전용 연산만 전달해야 합니다.
+ * 작업 스레드로 OpenTelemetry 컨텍스트를 전달하므로 두 요청 모두 같은 트레이스에 기록됩니다.
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+@Component
+class RequestHedger(
+    reservationConfig: ReservationConfig
+) : DisposableBean {
+    private val logger = LoggerFactory.getLogger(RequestHedger::class.java)
+
+    private val hedgingConfig = reservationConfig.hedging
+
+    private val threadPool = ThreadPoolExecutor(
+        hedgingConfig.maxThreads,
+        hedgingConfig.maxThreads,
+        60L,
+        TimeUnit.SECONDS,
+        LinkedBlockingQueue(hedgingConfig.maxThreads * 4),
+        HedgeThreadFactory()
+    ).apply { allowCoreThreadTimeOut(true) }
+
+    private val executor = Context.taskWrapping(threadPool)
+
+    private val histograms = ConcurrentHashMap<String, LatencyHistogram>()
+
+    // 예산 토큰 (1회 헤징 = TOKEN_SCALE)
+    private val budgetTokens = AtomicLong(0)
+
+    private val primaryRequests = AtomicLong(0)
+    private val hedgedRequests = AtomicLong(0)
+    private val hedgeWins = AtomicLong(0)
+    private val budgetExhausted = AtomicLong(0)
+
+    /**
+     * 필요 시 헤징을 적용하여 조회를 실행합니다.
+     *
+     * @param operation 응답 시간 분포를 구분하는 연산 이름
+     * @param call 멱등한 조회 호출
+     */
+    fun <T> execute(operation: String, call: () -> T): T {
+        if (!hedgingConfig.enabled) return call()
+
+        val histogram = histograms.computeIfAbsent(operation) {
+            LatencyHistogram(TimeUnit.MILLISECONDS.toNanos(hedgingConfig.windowMs))
+        }
+        primaryRequests.incrementAndGet()
+        depositBudget()
+
+        // 표본이 부족하면 임계값을 정할 수 없으므로 스레드 전환 없이 직접 호출
+        val delayNanos = hedgeDelayNanos(histogram) ?: return timed(histogram, call)
+        val primary = submit(histogram, call) ?: return timed(histogram, call)
+
+        try {
+            return primary.get(delayNanos, TimeUnit.NANOSECONDS)
+        } catch (e: TimeoutException) {
+            // 지연 임계값 초과, 아래에서 헤징 여부 결정
+        } catch (e: ExecutionException) {
+            throw e.cause ?: e
+        } catch (e: InterruptedException) {
+            Thread.currentThread().interrupt()
+            throw e
+        }
+
+        if (!withdrawBudget()) {
+            budgetExhausted.incrementAndGet()
+            return await(primary)
+        }
+
+        val hedge = submit(histogram, call) ?: return await(primary)
+        hedgedRequests.incrementAndGet()
+        logger.debug("헤징 요청 전송: {} (지연 임계값 {}ms)", operation, TimeUnit.NANOSECONDS.toMillis(delayNanos))
+
+        return await(firstSuccessful(primary, hedge.whenComplete { _, error ->
+            if (error == null && !primary.isDone) hedgeWins.incrementAndGet()
+        }))
+    }
+
+    /**
+     * 헤징 통계
+     */
+    fun getStatistics(): Map<String, Long> = mapOf(
+        "primaryRequests" to primaryRequests.get(),
+        "hedgedRequests" to hedgedRequests.get(),
+        "hedgeWins" to hedgeWins.get(),
+        "budgetExhausted" to budgetExhausted.get()
+    )
+
+    override fun destroy() {
+        threadPool.shutdown()
+    }
+
+    private fun <T> timed(histogram: LatencyHistogram, call: () -> T): T {
+        val startNanos = System.nanoTime()
+        return call().also { histogram.record(System.nanoTime() - startNanos) }
+    }
+
+    private fun <T> submit(histogram: LatencyHistogram, call: () -> T): CompletableFuture<T>? {
+        return try {
+            CompletableFuture.supplyAsync({ timed(histogram, call) }, executor)
+        } catch (e: RejectedExecutionException) {
+            null
+        }
+    }
+
+    private fun hedgeDelayNanos(histogram: LatencyHistogram): Long? {
+        val percentileNanos = histogram.percentileNanos(hedgingConfig.percentile, hedgingConfig.minSamples)
+            ?: return null
+        return percentileNanos.coerceAtLeast(TimeUnit.MILLISECONDS.toNanos(hedgingConfig.minDelayMs))
+    }
+
+    private fun depositBudget() {
+        val deposit = (hedgingConfig.budgetPercent * TOKEN_SCALE / 100).toLong()
+        val capacity = hedgingConfig.maxBurst.toLong() * TOKEN_SCALE
+        budgetTokens.updateAndGet { (it + deposit).coerceAtMost(capacity) }
+    }
+
+    private fun withdrawBudget(): Boolean {
+        while (true) {
+            val tokens = budgetTokens.get()
+            if (tokens < TOKEN_SCALE) return false
+            if (budgetTokens.compareAndSet(tokens, tokens - TOKEN_SCALE)) return true
+        }
+    }
+
+    /**
+     * 두 요청 중 먼저 성공한 결과로 완료되며, 둘 다 실패하면 마지막 예외로 실패합니다.
+     */
+    private fun <T> firstSuccessful(first: CompletableFuture<T>, second: CompletableFuture<T>): CompletableFuture<T> {
+        val result = CompletableFuture<T>()
+        val failures = AtomicInteger(0)
+        listOf(first, second).forEach { future ->
+            future.whenComplete { value, error ->
+                if (error == null) {
+                    result.complete(value)
+                } else if (failures.incrementAndGet() == 2) {
+                    result.completeExceptionally(error)
+                }
+            }
+        }
+        return result
+    }
+
+    private fun <T> await(future: CompletableFuture<T>): T {
+        return try {
+            future.get()
+        } catch (e: ExecutionException) {
+            throw unwrap(e.cause ?: e)
+        } catch (e: InterruptedException) {
+            Thread.currentThread().interrupt()
+            throw e
+        }
+    }
+
+    private fun unwrap(error: Throwable): Throwable =
+        if (error is CompletionException && error.cause != null) error.cause!! else error
+
+    private class HedgeThreadFactory : ThreadFactory {
+        private val sequence = AtomicInteger(0)
+
+        override fun newThread(runnable: Runnable): Thread =
+            Thread(runnable, "request-hedger-${sequence.incrementAndGet()}").apply { isDaemon = true }
+    }
+
+    companion object {
+        private const val TOKEN_SCALE = 1_000L
+    }
+}
@@ -1,6 +1,8 @@
 package com.airline.reservation.service
 
+import com.airline.reservation.client.CoalescingFlightClient
 import com.airline.reservation.client.FlightClient
+import com.airline.reservation.client.HedgingFlightClient
 import com.airline.reservation.client.PaymentClient
 import com.airline.reservation.client.TicketClient
 import com.airline.reservation.dto.external.*
@@ -19,6 +21,8 @@ import java.util.*
 class FeignTracingService(
     private val tracer: Tracer,
     private val flightClient: FlightClient,
+    private val coalescingFlightClient: CoalescingFlightClient,
+    private val hedgingFlightClient: HedgingFlightClient,
     private val paymentClient: PaymentClient,
     private val ticketClient: TicketClient
 ) {
@@ -34,7 +38,7 @@ class FeignTracingService(
         
         // 자동 instrumentation이 HTTP 요청을 자동으로 trace할 것임
         // 1. Flight Service 호출
-        val flight = flightClient.getFlightById("KE001")
+        val flight = coalescingFlightClient.getFlightById("KE001")
         results["flight"] = flight?.let { 
             mapOf("flightId" to it.flightId, "price" to it.price, "status" to "found")
         } ?: mapOf("status" to "not_found")
@@ -97,17 +101,18 @@ class FeignTracingService(
         val reservationId = "RES-COMPLEX-${UUID.randomUUID().toString().take(8)}"
         
         // 1. 항공편 조회
-        val flight = flightClient.getFlightById(flightId)
+        val flight = coalescingFlightClient.getFlightById(flightId)
             ?: throw RuntimeException("Flight not found: $flightId")
         
         // 2. 좌석 가용성 확인
-        val availability = flightClient.checkAvailability(flightId, AvailabilityRequest(requestedSeats = 1))
+        val availability = hedgingFlightClient.checkAvailability(flightId, AvailabilityRequest(requestedSeats = 1))
         if (!availability.available) {
             throw RuntimeException("No seats available for flight: $flightId")
         }
         
         // 3. 좌석 예약
         flightClient.reserveSeats(flightId, AvailabilityRequest(requestedSeats = 1))
+        coalescingFlightClient.invalidate(flightId)
         
         // 4. 결제 처리
         val paymentRequest = PaymentRequest(
@@ -171,8 +176,8 @@ class FeignTracingService(
         val results = mutableMapOf<String, Any>()
         
         // 여러 서비스를 동시에 호출
-        val flight1 = flightClient.getFlightById("KE001")
-            val flight2 = flightClient.getFlightById("OZ456")
+        val flight1 = coalescingFlightClient.getFlightById("KE001")
+            val flight2 = coalescingFlightClient.getFlightById("OZ456")
             
         results["parallelResults"] = mapOf(
             "flight1" to (flight1?.flightId ?: "not_found"),
@@ -0,0 +1,334 @@
+package com.airline.reservation.service
+
+import arrow.core.Either
+import arrow.core.left
+import arrow.core.right
+import com.airline.reservation.client.CoalescingFlightClient
+import com.airline.reservation.client.FlightClient
+import com.airline.reservation.client.HedgingFlightClient
+import com.airline.reservation.client.PaymentClient
+import com.airline.reservation.client.TicketClient
+import com.airline.reservation.common.DomainError
+import com.airline.reservation.config.ReservationConfig
+import com.airline.reservation.dto.BatchReservationItemResult
+import com.airline.reservation.dto.BatchReservationResponse
+import com.airline.reservation.dto.ReservationRequest
+import com.airline.reservation.dto.ReservationStatus
+import com.airline.reservation.dto.external.*
+import com.airline.reservation.entity.Reservation
+import com.airline.reservation.mapper.ReservationMapper
+import com.airline.reservation.repository.ReservationRepository
+import com.airline.reservation.waitlist.ReservationWaitlist
+import feign.FeignException
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.sync.Semaphore
+import kotlinx.coroutines.sync.withPermit
+import org.slf4j.LoggerFactory
+import org.springframework.http.HttpStatus
+import org.springframework.stereotype.Service
+
+/**
+ * 일괄 예약 서비스
+ *
+ * 단체 예약, 여행사 연동처럼 다수의 예약을 한 번에 처리합니다.
+ * 예약마다 전체 플로우를 반복하는 대신 하위 서비스 호출을 묶어서 왕복 횟수를 줄입니다.
+ *
+ * 1. 좌석: 항공편별로 요청을 모아 가용성 확인/좌석 예약을 항공편당 1회씩 호출
+ * 2. 결제: 설정된 동시성 한도 내에서 병렬 처리
+ * 3. 항공권: 결제 완료 건을 모아 한 번의 일괄 발급 호출
+ * 4. 보상: 실패 건의 결제 취소와 좌석 해제를 항공편별로 묶어서 처리.
+ *    결제나 항공권 발급 호출이 결과를 알 수 없이 실패한 항목은 예약 ID 기준으로 취소
+ * 5. 대기: 좌석 부족으로 실패한 항목은 [ReservationWaitlist]에 등록되어 좌석 해제 시 자동 승급
+ *
+ * 항목별 결과를 반환하며, 일부 항목의 실패가 다른 항목에 영향을 주지 않습니다.
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+@Service
+class ReservationBatchService(
+    private val flightClient: FlightClient,
+    private val coalescingFlightClient: CoalescingFlightClient,
+    private val hedgingFlightClient: HedgingFlightClient,
+    private val paymentClient: PaymentClient,
+    private val ticketClient: TicketClient,
+    private val reservationRepository: ReservationRepository,
+    private val reservationMapper: ReservationMapper,
+    private val reservationConfig: ReservationConfig,
+    private val reservationWaitlist: ReservationWaitlist
+) {
+    private val logger = LoggerFactory.getLogger(ReservationBatchService::class.java)
+
+    /**
+     * 여러 예약을 일괄 생성합니다.
+     *
+     * @param requests 예약 요청 목록
+     * @param waitlistSoldOut 좌석 부족으로 실패한 항목을 대기자 명단에 등록할지 여부 (대기자 승급 시에는 false)
+     * @return 항목별 처리 결과, 요청 자체가 유효하지 않으면 ValidationError
+     */
+    suspend fun createReservations(
+        requests: List<ReservationRequest>,
+        waitlistSoldOut: Boolean = reservationConfig.waitlist.enabled
+    ): Either<DomainError, BatchReservationResponse> {
+        val batchConfig = reservationConfig.batch
+        if (requests.isEmpty()) {
+            return DomainError.ValidationError("Batch must contain at least one reservation").left()
+        }
+        if (requests.size > batchConfig.maxSize) {
+            return DomainError.ValidationError("Batch size ${requests.size} exceeds limit ${batchConfig.maxSize}").left()
+        }
+
+        logger.info("일괄 예약 시작: {}건, 항공편 {}개", requests.size, requests.map { it.flightId }.distinct().size)
+
+        val items = requests.mapIndexed { index, request -> BatchItem(index, request) }
+
+        claimSeats(items)
+        processPayments(items.filter { it.isActive() && it.reservation != null })
+        issueTickets(items.filter { it.isActive() && it.reservation?.paymentId != null })
+        compensate(items.filter { it.isFailed() && it.reservation != null })
+
+        items.mapNotNull { it.reservation }.forEach { reservationRepository.save(it) }
+
+        val results = items.map { item ->
+            val waitlistEntry = if (waitlistSoldOut && item.soldOut) reservationWaitlist.enqueue(item.request) else null
+            BatchReservationItemResult(
+                index = item.index,
+                success = !item.isFailed(),
+                reservation = item.reservation?.let { reservationMapper.toResponse(it) },
+                errorMessage = item.error,
+                soldOut = item.soldOut,
+                waitlistId = waitlistEntry?.waitlistId
+            )
+        }
+        val successCount = results.count { it.success }
+
+        logger.info("일괄 예약 완료: 성공 {}건, 실패 {}건", successCount, results.size - successCount)
+        return BatchReservationResponse(
+            totalCount = results.size,
+            successCount = successCount,
+            failureCount = results.size - successCount,
+            results = results
+        ).right()
+    }
+
+    /**
+     * 항공편별로 요청을 모아 좌석을 한 번에 확보합니다.
+     */
+    private suspend fun claimSeats(items: List<BatchItem>) = coroutineScope {
+        items.groupBy { it.request.flightId }
+            .map { (flightId, flightItems) -> async(Dispatchers.IO) { claimSeatsForFlight(flightId, flightItems) } }
+            .awaitAll()
+    }
+
+    private fun claimSeatsForFlight(flightId: String, items: List<BatchItem>) {
+        try {
+            val flight = coalescingFlightClient.getFlightById(flightId)
+            if (flight == null) {
+                items.forEach { it.fail(DomainError.FlightNotFound(flightId).message) }
+                return
+            }
+
+            val availability = hedgingFlightClient.checkAvailability(flightId, AvailabilityRequest(flightId, items.size))
+            val claimable = if (availability.available) items.size else availability.availableSeats.coerceIn(0, items.size)
+
+            items.drop(claimable).forEach { it.failSoldOut(DomainError.NoAvailableSeats(flightId).message) }
+            val granted = items.take(claimable)
+            if (granted.isEmpty()) return
+
+            flightClient.reserveSeats(flightId, AvailabilityRequest(flightId, granted.size))
+            coalescingFlightClient.invalidate(flightId)
+
+            val idGeneration = reservationConfig.idGeneration
+            granted.forEach { item ->
+                item.reservation = reservationMapper.toEntity(item.request, idGeneration.nextId()).apply {
+                    status = ReservationStatus.SEAT_RESERVED
+                    totalAmount = flight.price
+                    message = "좌석 예약 완료"
+                }
+            }
+        } catch (e: Exception) {
+            logger.error("항공편 {} 좌석 확보 실패", flightId, e)
+            items.filterNot { it.isFailed() }.forEach { it.fail("Seat reservation failed: ${e.message}") }
+        }
+    }
+
+    /**
+     * 동시성 한도 내에서 결제를 병렬 처리합니다.
+     */
+    private suspend fun processPayments(items: List<BatchItem>) = coroutineScope {
+        val permits = Semaphore(reservationConfig.batch.paymentConcurrency.coerceAtLeast(1))
+        items.map { item ->
+            async(Dispatchers.IO) { permits.withPermit { processPayment(item) } }
+        }.awaitAll()
+    }
+
+    private fun processPayment(item: BatchItem) {
+        val reservation = item.reservation!!
+        try {
+            val payment = paymentClient.processPayment(
+                PaymentRequest(
+                    reservationId = reservation.reservationId,
+                    amount = reservation.totalAmount,
+                    paymentMethod = item.request.paymentMethod,
+                    customerInfo = CustomerInfo(
+                        name = item.request.passengerInfo.name,
+                        email = item.request.passengerInfo.email
+                    )
+                )
+            )
+            if (payment.status == PaymentStatus.SUCCESS) {
+                reservation.paymentId = payment.paymentId
+                reservation.status = ReservationStatus.PAYMENT_COMPLETED
+                reservation.message = "결제 완료"
+            } else {
+                item.fail(DomainError.PaymentDeclined(payment.message).message)
+            }
+        } catch (e: Exception) {
+            if (e is FeignException && e.status() == HttpStatus.PAYMENT_REQUIRED.value()) {
+                item.fail(DomainError.PaymentDeclined("Payment declined: ${e.message}", e).message)
+            } else {
+                // 타임아웃/5xx는 결제가 승인되었을 수 있으므로 보상 단계에서 예약 ID로 취소
+                logger.error("결제 결과 불명: {}", reservation.reservationId, e)
+                item.paymentOutcomeUnknown = true
+                item.fail(DomainError.SystemError("Payment failed: ${e.message}", e).message)
+            }
+        }
+    }
+
+    /**
+     * 결제 완료 건의 항공권을 한 번의 호출로 발급합니다.
+     *
+     * 항공권 서비스의 일괄 발급은 전부 성공하거나 전부 롤백됩니다. 호출 자체가 실패하면
+     * 응답 유실로 발급이 완료되었을 수 있으므로 보상 단계에서 예약 ID로 항공권을 취소합니다.
+     */
+    private fun issueTickets(items: List<BatchItem>) {
+        if (items.isEmpty()) return
+
+        val requests = items.map { item ->
+            val reservation = item.reservation!!
+            TicketRequest(
+                reservationId = reservation.reservationId,
+                paymentId = reservation.paymentId!!,
+                flightId = reservation.flightId,
+                passengerInfo = TicketPassengerInfo(
+                    name = reservation.passengerName,
+                    email = reservation.passengerEmail,
+                    phone = reservation.passengerPhone ?: "",
+                    passportNumber = reservation.passportNumber
+                ),
+                seatNumber = item.request.seatPreference?.takeIf { it.matches(SEAT_NUMBER_PATTERN) }
+            )
+        }
+
+        try {
+            val tickets = ticketClient.issueTickets(requests).associateBy { it.reservationId }
+            items.forEach { item ->
+                val reservation = item.reservation!!
+                val ticket = tickets[reservation.reservationId]
+                if (ticket == null) {
+                    item.fail(DomainError.TicketIssuanceFailed("Ticket missing from batch response").message)
+                } else {
+                    reservation.ticketId = ticket.ticketId
+                    reservation.seatNumber = ticket.seatNumber
+                    reservation.status = ReservationStatus.CONFIRMED
+                    reservation.message = "예약 완료"
+                }
+            }
+        } catch (e: Exception) {
+            logger.error("항공권 일괄 발급 실패: {}건", items.size, e)
+            items.forEach {
+                it.ticketOutcomeUnknown = true
+                it.fail(DomainError.TicketIssuanceFailed("Ticket issuance failed: ${e.message}").message)
+            }
+        }
+    }
+
+    /**
+     * 실패 건의 결제와 항공권을 취소하고 확보한 좌석을 항공편별로 한 번에 해제합니다.
+     */
+    private suspend fun compensate(items: List<BatchItem>) {
+        if (items.isEmpty()) return
+
+        compensateConcurrently(items)
+    }
+
+    private suspend fun compensateConcurrently(items: List<BatchItem>) = coroutineScope {
+        val permits = Semaphore(reservationConfig.batch.paymentConcurrency.coerceAtLeast(1))
+        val paymentCancellations = items.mapNotNull { item ->
+            val reservation = item.reservation!!
+            val paymentId = reservation.paymentId
+            when {
+                paymentId != null -> async(Dispatchers.IO) {
+                    permits.withPermit {
+                        runCatching { paymentClient.cancelPayment(paymentId) }
+                            .onFailure { logger.error("결제 취소 실패: {}", paymentId, it) }
+                    }
+                }
+                item.paymentOutcomeUnknown -> async(Dispatchers.IO) {
+                    permits.withPermit {
+                        runCatching { paymentClient.cancelPaymentsByReservation(reservation.reservationId) }
+                            .onFailure { logger.error("예약 {} 결제 취소 실패", reservation.reservationId, it) }
+                    }
+                }
+                else -> null
+            }
+        }
+
+        val unknownTicketReservationIds = items.filter { it.ticketOutcomeUnknown }.map { it.reservation!!.reservationId }
+        val ticketCancellations = listOfNotNull(
+            unknownTicketReservationIds.takeIf { it.isNotEmpty() }?.let { reservationIds ->
+                async(Dispatchers.IO) {
+                    runCatching { ticketClient.cancelTicketsByReservations(reservationIds) }
+                        .onFailure { logger.error("항공권 일괄 취소 실패: {}건", reservationIds.size, it) }
+                }
+            }
+        )
+
+        val seatReleases = items.groupBy { it.request.flightId }.map { (flightId, flightItems) ->
+            async(Dispatchers.IO) {
+                runCatching { flightClient.releaseSeats(flightId, AvailabilityRequest(flightId, flightItems.size)) }
+                    .onSuccess { coalescingFlightClient.invalidate(flightId) }
+                    .onFailure { logger.error("좌석 해제 실패: {} ({}석)", flightId, flightItems.size, it) }
+            }
+        }
+
+        (paymentCancellations + ticketCancellations + seatReleases).awaitAll()
+    }
+
+    /**
+     * 일괄 처리 중인 단일 예약 항목
+     */
+    private class BatchItem(
+        val index: Int,
+        val request: ReservationRequest
+    ) {
+        var reservation: Reservation? = null
+        var error: String? = null
+        var soldOut = false
+        var paymentOutcomeUnknown = false
+        var ticketOutcomeUnknown = false
+
+        fun isActive(): Boolean = error == null
+        fun isFailed(): Boolean = error != null
+
+        fun fail(message: String) {
+            error = message
+            reservation?.let {
+                it.status = ReservationStatus.FAILED
+                it.message = message
+            }
+        }
+
+        fun failSoldOut(message: String) {
+            soldOut = true
+            fail(message)
+        }
+    }
+
+    companion object {
+        private val SEAT_NUMBER_PATTERN = Regex("^\\d{1,2}[A-K]$")
+    }
+}
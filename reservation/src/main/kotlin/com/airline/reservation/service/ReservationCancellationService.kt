@@ -0,0 +1,349 @@
+package com.airline.reservation.service
+
+import arrow.core.Either
+import arrow.core.left
+import arrow.core.right
+import com.airline.reservation.client.CoalescingFlightClient
+import com.airline.reservation.client.FlightClient
+import com.airline.reservation.client.PaymentClient
+import com.airline.reservation.client.TicketClient
+import com.airline.reservation.common.DomainError
+import com.airline.reservation.config.ReservationConfig
+import com.airline.reservation.dto.CancellationResponse
+import com.airline.reservation.dto.CancellationStep
+import com.airline.reservation.dto.CancellationStepOutcome
+import com.airline.reservation.dto.CancellationStepResult
+import com.airline.reservation.dto.FlightCancellationResponse
+import com.airline.reservation.dto.ReservationStatus
+import com.airline.reservation.dto.external.AvailabilityRequest
+import com.airline.reservation.dto.external.TicketStatus
+import com.airline.reservation.entity.Reservation
+import com.airline.reservation.mapper.ReservationMapper
+import com.airline.reservation.repository.ReservationRepository
+import feign.FeignException
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.sync.Semaphore
+import kotlinx.coroutines.sync.withPermit
+import kotlinx.coroutines.withContext
+import org.slf4j.LoggerFactory
+import org.springframework.stereotype.Service
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.TimeUnit
+import kotlin.coroutines.cancellation.CancellationException
+
+/**
+ * 예약 취소 파이프라인
+ *
+ * 좌석 해제, 결제 취소, 항공권 취소 세 가지 보상 단계를 동시에 실행합니다.
+ *
+ * - 단계별 재시도: 지수 백오프로 설정된 횟수만큼 재시도
+ * - 멱등성: 완료된 단계는 단계가 끝날 때마다 예약([Reservation.cancellationSteps])과 함께 저장되어
+ *   재시작 후에도 다시 실행되지 않으며, 같은 단계는 한 번에 한 요청만 실행 (동시 취소 요청에도 좌석이 중복 해제되지 않음)
+ * - 재개: 일부 단계가 실패하면 CANCELLING 상태로 남고, 다시 취소를 요청하면 남은 단계만 실행
+ * - 이미 취소된 결제(409)와 이미 취소된 항공권은 완료로 간주
+ *
+ * 원격 호출 성공 직후 완료를 저장하기 전에 프로세스가 중단되면 그 단계는 재개 시 다시 실행됩니다.
+ * 결제/항공권 취소는 위 규칙으로 멱등하지만 좌석 해제는 그렇지 않으므로, 이 구간에 한해 중복 해제될 수 있습니다.
+ *
+ * 항공편 결항처럼 대량 취소가 필요한 경우 [cancelFlight]는 좌석 해제를 항공편당 1회로 묶고,
+ * 결제/항공권 취소는 동시성 한도 내에서 병렬 처리합니다.
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+@Service
+class ReservationCancellationService(
+    private val flightClient: FlightClient,
+    private val coalescingFlightClient: CoalescingFlightClient,
+    private val paymentClient: PaymentClient,
+    private val ticketClient: TicketClient,
+    private val reservationRepository: ReservationRepository,
+    private val reservationMapper: ReservationMapper,
+    private val reservationConfig: ReservationConfig
+) {
+    private val logger = LoggerFactory.getLogger(ReservationCancellationService::class.java)
+
+    /**
+     * 실행 중인 (예약 ID, 단계). 단계가 끝나면 성공/실패와 관계없이 제거되므로 누적되지 않음
+     */
+    private val inFlight = ConcurrentHashMap.newKeySet<Pair<String, CancellationStep>>()
+
+    /**
+     * 예약을 취소합니다. 이미 취소된 예약은 그대로 성공으로 반환합니다.
+     *
+     * @param reservationId 취소할 예약 식별자
+     * @return 취소 결과, 취소할 수 없는 상태이면 ValidationError
+     */
+    suspend fun cancel(reservationId: String): Either<DomainError, CancellationResponse> {
+        val reservation = reservationRepository.findById(reservationId)
+            ?: return DomainError.ValidationError("Reservation not found: $reservationId").left()
+
+        if (reservation.status == ReservationStatus.CANCELLED) {
+            return CancellationResponse(reservationMapper.toResponse(reservation), true, emptyList()).right()
+        }
+        if (reservation.status !in CANCELLABLE_STATUSES) {
+            return DomainError.ValidationError("Only confirmed reservations can be cancelled").left()
+        }
+
+        return try {
+            markCancelling(reservation)
+
+            val steps = coroutineScope {
+                requiredSteps(reservation).map { step ->
+                    async { runStep(step, reservation) { compensate(step, reservation) } }
+                }.awaitAll()
+            }
+
+            val completed = finish(reservation)
+            CancellationResponse(reservationMapper.toResponse(reservation), completed, steps).right()
+        } catch (e: CancellationException) {
+            throw e
+        } catch (e: Exception) {
+            DomainError.SystemError("Cancellation failed", e).left()
+        }
+    }
+
+    /**
+     * 항공편의 모든 확정 예약을 일괄 취소합니다.
+     *
+     * @param flightId 결항 항공편 식별자
+     * @return 일괄 취소 결과 (일부 실패 건은 CANCELLING 상태로 남아 재시도 가능)
+     */
+    suspend fun cancelFlight(flightId: String): Either<DomainError, FlightCancellationResponse> {
+        if (flightId.isBlank()) {
+            return DomainError.ValidationError("Flight ID cannot be blank").left()
+        }
+
+        val reservations = reservationRepository.findByFlightId(flightId)
+            .filter { it.status in CANCELLABLE_STATUSES }
+        logger.info("항공편 일괄 취소 시작: {} ({}건)", flightId, reservations.size)
+
+        reservations.forEach { markCancelling(it) }
+
+        val stepLatencies = ConcurrentHashMap<CancellationStep, Long>()
+        var seatsReleased = 0
+
+        coroutineScope {
+            val seatRelease = async {
+                timed(CancellationStep.SEAT_RELEASE, stepLatencies) {
+                    seatsReleased = releaseSeatsForFlight(flightId, reservations)
+                }
+            }
+
+            val permits = Semaphore(reservationConfig.cancellation.concurrency.coerceAtLeast(1))
+            val perReservation = listOf(CancellationStep.PAYMENT_CANCEL, CancellationStep.TICKET_CANCEL).map { step ->
+                async {
+                    timed(step, stepLatencies) {
+                        coroutineScope {
+                            reservations.filter { step in requiredSteps(it) }.map { reservation ->
+                                async {
+                                    permits.withPermit {
+                                        runStep(step, reservation) { compensate(step, reservation) }
+                                    }
+                                }
+                            }.awaitAll()
+                        }
+                    }
+                }
+            }
+
+            (perReservation + seatRelease).awaitAll()
+        }
+
+        val pending = reservations.filterNot { finish(it) }
+        logger.info("항공편 일괄 취소 완료: {} (취소 {}건, 미완료 {}건)", flightId, reservations.size - pending.size, pending.size)
+
+        return FlightCancellationResponse(
+            flightId = flightId,
+            totalCount = reservations.size,
+            cancelledCount = reservations.size - pending.size,
+            seatsReleased = seatsReleased,
+            stepLatencyMs = stepLatencies.toMap(),
+            pendingReservationIds = pending.map { it.reservationId }
+        ).right()
+    }
+
+    /**
+     * 아직 좌석을 해제하지 않은 예약의 좌석을 항공편당 한 번의 호출로 해제합니다.
+     */
+    private suspend fun releaseSeatsForFlight(flightId: String, reservations: List<Reservation>): Int {
+        val claimed = reservations.filter { tryClaim(it, CancellationStep.SEAT_RELEASE) }
+        if (claimed.isEmpty()) return 0
+
+        try {
+            val result = retry {
+                flightClient.releaseSeats(flightId, AvailabilityRequest(flightId, claimed.size))
+            }
+            if (result.error != null) {
+                logger.error("항공편 {} 좌석 일괄 해제 실패 ({}석)", flightId, claimed.size, result.error)
+                return 0
+            }
+
+            coalescingFlightClient.invalidate(flightId)
+            markCompleted(claimed, CancellationStep.SEAT_RELEASE)
+            return claimed.size
+        } finally {
+            claimed.forEach { release(it, CancellationStep.SEAT_RELEASE) }
+        }
+    }
+
+    private suspend fun runStep(
+        step: CancellationStep,
+        reservation: Reservation,
+        action: () -> Unit
+    ): CancellationStepResult {
+        if (isCompleted(reservation, step)) {
+            return CancellationStepResult(step, CancellationStepOutcome.ALREADY_COMPLETED, 0, 0)
+        }
+        if (!tryClaim(reservation, step)) {
+            val outcome = if (isCompleted(reservation, step)) {
+                CancellationStepOutcome.ALREADY_COMPLETED
+            } else {
+                CancellationStepOutcome.IN_PROGRESS
+            }
+            return CancellationStepResult(step, outcome, 0, 0)
+        }
+
+        try {
+            val startNanos = System.nanoTime()
+            val result = retry(action)
+            val latencyMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)
+
+            return if (result.error == null) {
+                markCompleted(listOf(reservation), step)
+                CancellationStepResult(step, CancellationStepOutcome.COMPLETED, result.attempts, latencyMs)
+            } else {
+                logger.warn("취소 단계 실패: {} ({}회 시도)", step, result.attempts, result.error)
+                CancellationStepResult(step, CancellationStepOutcome.FAILED, result.attempts, latencyMs, result.error.message)
+            }
+        } finally {
+            release(reservation, step)
+        }
+    }
+
+    /**
+     * 단계를 선점합니다. 선점 직전에 다른 요청이 완료했을 수 있으므로 선점 후 완료 여부를 다시 확인합니다.
+     */
+    private fun tryClaim(reservation: Reservation, step: CancellationStep): Boolean {
+        if (!inFlight.add(reservation.reservationId to step)) return false
+        if (isCompleted(reservation, step)) {
+            release(reservation, step)
+            return false
+        }
+        return true
+    }
+
+    private fun release(reservation: Reservation, step: CancellationStep) {
+        inFlight.remove(reservation.reservationId to step)
+    }
+
+    private fun isCompleted(reservation: Reservation, step: CancellationStep): Boolean =
+        step in reservation.cancellationSteps
+
+    /**
+     * 단계 완료를 예약과 함께 저장합니다. 같은 예약의 단계들이 동시에 끝날 수 있으므로 예약 단위로 동기화합니다.
+     */
+    private fun markCompleted(reservations: List<Reservation>, step: CancellationStep) {
+        reservations.forEach { reservation ->
+            synchronized(reservation) { reservation.cancellationSteps += step }
+        }
+        reservationRepository.saveAll(reservations)
+    }
+
+    /**
+     * 단일 예약의 보상 단계를 실행합니다. 이미 취소된 결제/항공권은 성공으로 처리합니다.
+     */
+    private fun compensate(step: CancellationStep, reservation: Reservation) {
+        when (step) {
+            CancellationStep.SEAT_RELEASE -> {
+                flightClient.releaseSeats(reservation.flightId, AvailabilityRequest(reservation.flightId, 1))
+                coalescingFlightClient.invalidate(reservation.flightId)
+            }
+            CancellationStep.PAYMENT_CANCEL -> {
+                try {
+                    paymentClient.cancelPayment(reservation.paymentId!!)
+                } catch (e: FeignException.Conflict) {
+                    logger.debug("이미 취소된 결제: {}", reservation.paymentId)
+                }
+            }
+            CancellationStep.TICKET_CANCEL -> {
+                val ticketId = reservation.ticketId!!
+                try {
+                    ticketClient.cancelTicket(ticketId)
+                } catch (e: FeignException.BadRequest) {
+                    // 취소 불가 응답은 이미 취소된 경우에만 완료로 간주
+                    if (ticketClient.getTicketById(ticketId)?.status != TicketStatus.CANCELLED) throw e
+                }
+            }
+        }
+    }
+
+    private suspend fun retry(action: () -> Unit): StepAttempt {
+        val cancellationConfig = reservationConfig.cancellation
+        var attempts = 0
+        var backoffMs = cancellationConfig.initialBackoffMs
+        while (true) {
+            attempts++
+            try {
+                withContext(Dispatchers.IO) { action() }
+                return StepAttempt(attempts, null)
+            } catch (e: CancellationException) {
+                throw e
+            } catch (e: Exception) {
+                if (attempts >= cancellationConfig.maxAttempts) return StepAttempt(attempts, e)
+                delay(backoffMs)
+                backoffMs *= 2
+            }
+        }
+    }
+
+    private suspend fun timed(
+        step: CancellationStep,
+        latencies: MutableMap<CancellationStep, Long>,
+        block: suspend () -> Unit
+    ) {
+        val startNanos = System.nanoTime()
+        block()
+        latencies[step] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)
+    }
+
+    private fun requiredSteps(reservation: Reservation): List<CancellationStep> = buildList {
+        add(CancellationStep.SEAT_RELEASE)
+        if (reservation.paymentId != null) add(CancellationStep.PAYMENT_CANCEL)
+        if (reservation.ticketId != null) add(CancellationStep.TICKET_CANCEL)
+    }
+
+    private fun markCancelling(reservation: Reservation) {
+        if (reservation.status == ReservationStatus.CANCELLING) return
+        reservation.status = ReservationStatus.CANCELLING
+        reservation.message = "예약 취소 진행 중"
+        reservationRepository.save(reservation)
+    }
+
+    /**
+     * 모든 단계가 완료되었으면 CANCELLED로 전환합니다.
+     */
+    private fun finish(reservation: Reservation): Boolean {
+        val remaining = requiredSteps(reservation).filterNot { isCompleted(reservation, it) }
+        if (remaining.isEmpty()) {
+            reservation.status = ReservationStatus.CANCELLED
+            reservation.message = "예약 취소됨"
+            reservationRepository.save(reservation)
+            return true
+        }
+
+        reservation.message = "예약 취소 진행 중 (미완료: ${remaining.joinToString()})"
+        reservationRepository.save(reservation)
+        return false
+    }
+
+    private class StepAttempt(val attempts: Int, val error: Exception?)
+
+    companion object {
+        private val CANCELLABLE_STATUSES = setOf(ReservationStatus.CONFIRMED, ReservationStatus.CANCELLING)
+    }
+}
@@ -0,0 +1,103 @@
+package com.airline.reservation.service
+
+import arrow.core.Either
+import arrow.core.left
+import arrow.core.right
+import com.airline.reservation.common.DomainError
+import com.airline.reservation.dto.ReservationPageResponse
+import com.airline.reservation.mapper.ReservationField
+import com.airline.reservation.mapper.ReservationMapper
+import com.airline.reservation.repository.ReservationCriteria
+import com.airline.reservation.repository.ReservationRepository
+import com.airline.reservation.repository.ReservationSortKey
+import org.springframework.stereotype.Service
+import java.time.LocalDateTime
+import java.time.format.DateTimeParseException
+import java.util.Base64
+
+/**
+ * 예약 목록 조회 서비스
+ *
+ * 조건 필터, 최신순 커서 페이지네이션, 필드 projection을 제공합니다.
+ * 커서는 마지막 항목의 정렬 키(생성 일시, 예약 ID)를 인코딩한 불투명 문자열이므로
+ * 페이지를 넘기는 사이 예약이 추가/삭제되어도 항목이 중복되거나 건너뛰지 않습니다.
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+@Service
+class ReservationQueryService(
+    private val reservationRepository: ReservationRepository,
+    private val reservationMapper: ReservationMapper
+) {
+
+    /**
+     * 조건에 맞는 예약 목록을 조회합니다.
+     *
+     * @param criteria 조회 조건
+     * @param cursor 이전 응답의 nextCursor, 첫 페이지면 null
+     * @param limit 페이지 크기 (기본 50, 최대 500)
+     * @param fields 쉼표로 구분된 응답 필드 이름, null이면 전체 ReservationResponse
+     * @return 예약 페이지, 요청 값이 유효하지 않으면 ValidationError
+     */
+    fun findReservations(
+        criteria: ReservationCriteria,
+        cursor: String?,
+        limit: Int?,
+        fields: String?
+    ): Either<DomainError, ReservationPageResponse> {
+        val pageSize = limit ?: DEFAULT_LIMIT
+        if (pageSize !in 1..MAX_LIMIT) {
+            return DomainError.ValidationError("limit must be between 1 and $MAX_LIMIT").left()
+        }
+        if (criteria.createdFrom != null && criteria.createdTo != null && criteria.createdFrom.isAfter(criteria.createdTo)) {
+            return DomainError.ValidationError("from must not be after to").left()
+        }
+
+        val after = cursor?.let { decodeCursor(it) ?: return DomainError.ValidationError("Invalid cursor").left() }
+        val projection = fields?.let { parseFields(it) ?: return DomainError.ValidationError("Unknown field in: $it").left() }
+
+        val reservations = reservationRepository.query(criteria, after, pageSize + 1)
+        val page = reservations.take(pageSize)
+        val nextCursor = if (reservations.size > pageSize) encodeCursor(ReservationSortKey.of(page.last())) else null
+
+        val items: List<Any> = if (projection == null) {
+            page.map { reservationMapper.toResponse(it) }
+        } else {
+            page.map { reservationMapper.toProjection(it, projection) }
+        }
+        return ReservationPageResponse(items = items, size = items.size, nextCursor = nextCursor).right()
+    }
+
+    private fun parseFields(fields: String): List<ReservationField>? {
+        val names = fields.split(',').map { it.trim() }.filter { it.isNotEmpty() }.distinct()
+        if (names.isEmpty()) return null
+        return names.map { ReservationField.fromName(it) ?: return null }
+    }
+
+    private fun encodeCursor(key: ReservationSortKey): String =
+        Base64.getUrlEncoder().withoutPadding()
+            .encodeToString("${key.createdAt}$CURSOR_SEPARATOR${key.reservationId}".toByteArray(Charsets.UTF_8))
+
+    private fun decodeCursor(cursor: String): ReservationSortKey? {
+        return try {
+            val decoded = String(Base64.getUrlDecoder().decode(cursor), Charsets.UTF_8)
+            val separator = decoded.indexOf(CURSOR_SEPARATOR)
+            if (separator < 0) return null
+            ReservationSortKey(
+                createdAt = LocalDateTime.parse(decoded.substring(0, separator)),
+                reservationId = decoded.substring(separator + 1)
+            )
+        } catch (e: IllegalArgumentException) {
+            null
+        } catch (e: DateTimeParseException) {
+            null
+        }
+    }
+
+    companion object {
+        private const val DEFAULT_LIMIT = 50
+        private const val MAX_LIMIT = 500
+        private const val CURSOR_SEPARATOR = '|'
+    }
+}
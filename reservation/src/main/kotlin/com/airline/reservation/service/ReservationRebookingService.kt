@@ -0,0 +1,290 @@
+package com.airline.reservation.service
+
+import arrow.core.Either
+import arrow.core.left
+import arrow.core.right
+import com.airline.reservation.client.CoalescingFlightClient
+import com.airline.reservation.client.FlightClient
+import com.airline.reservation.client.TicketClient
+import com.airline.reservation.common.DomainError
+import com.airline.reservation.config.ReservationConfig
+import com.airline.reservation.dto.RebookingAllocation
+import com.airline.reservation.dto.RebookingResponse
+import com.airline.reservation.dto.ReservationStatus
+import com.airline.reservation.dto.external.AvailabilityRequest
+import com.airline.reservation.dto.external.FlightDto
+import com.airline.reservation.dto.external.TicketPassengerInfo
+import com.airline.reservation.dto.external.TicketRequest
+import com.airline.reservation.dto.external.TicketResponse
+import com.airline.reservation.entity.Reservation
+import com.airline.reservation.repository.ReservationRepository
+import com.fasterxml.jackson.databind.ObjectMapper
+import feign.FeignException
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.NonCancellable
+import kotlinx.coroutines.withContext
+import org.slf4j.LoggerFactory
+import org.springframework.kafka.core.KafkaTemplate
+import org.springframework.stereotype.Service
+import java.time.LocalDateTime
+
+/**
+ * 결항 항공편 대량 재예약 엔진
+ *
+ * 결항된 항공편의 확정 예약을 같은 노선의 대체 항공편으로 옮깁니다.
+ *
+ * 1. 후보: 항공편 서비스의 노선 검색 1회로 출발 시각이 허용 지연 이내인 항공편을 이른 순으로 선택
+ * 2. 우선순위: 운임이 높은 예약부터, 같으면 먼저 예약한 순서
+ * 3. 배정: 우선순위 순서대로 이른 항공편부터 채우며, 좌석은 항공편당 한 번의 호출로 확보
+ *    (확보 중 좌석이 줄었으면 가용성을 다시 확인하여 남은 좌석만큼 한 번 더 시도)
+ * 4. 항공권: 대체 항공편 기준으로 항공편당 한 번의 배치 호출로 재발급
+ * 5. 저장/이벤트: 예약은 한 번에 저장하고, `reservation.rebooked` 이벤트를 대체 항공편별로 묶어서 발행
+ * 6. 정리: 기존 항공권을 취소
+ *
+ * 4~5단계에서 실패하면 예약을 원래대로 되돌리고, 재발급한 항공권을 취소하고, 확보한 좌석을 반환합니다.
+ * 좌석 확보와 항공권 재발급 호출은 승객 수와 무관하게 후보 항공편 수에 비례합니다.
+ * 좌석을 배정받지 못한 예약은 원래 항공편에 그대로 남으므로 다시 실행하면 남은 예약만 재배정합니다.
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+@Service
+class ReservationRebookingService(
+    private val kafkaTemplate: KafkaTemplate<String, String>,
+    private val flightClient: FlightClient,
+    private val coalescingFlightClient: CoalescingFlightClient,
+    private val ticketClient: TicketClient,
+    private val reservationRepository: ReservationRepository,
+    private val reservationConfig: ReservationConfig
+) {
+    private val logger = LoggerFactory.getLogger(ReservationRebookingService::class.java)
+    private val objectMapper = ObjectMapper()
+
+    /**
+     * 결항 항공편의 확정 예약을 대체 항공편으로 재예약합니다.
+     *
+     * @param flightId 결항 항공편 식별자
+     * @return 재예약 결과, 항공편이 없으면 FlightNotFound
+     */
+    suspend fun rebookFlight(flightId: String): Either<DomainError, RebookingResponse> {
+        if (flightId.isBlank()) {
+            return DomainError.ValidationError("Flight ID cannot be blank").left()
+        }
+
+        val startedAt = System.currentTimeMillis()
+        return try {
+            val cancelledFlight = withContext(Dispatchers.IO) { coalescingFlightClient.getFlightById(flightId) }
+                ?: return DomainError.FlightNotFound(flightId).left()
+
+            val passengers = reservationRepository.findByFlightId(flightId)
+                .filter { it.status == ReservationStatus.CONFIRMED }
+                .sortedWith(PRIORITY)
+            if (passengers.isEmpty()) {
+                return RebookingResponse(flightId, 0, 0, emptyList(), emptyList(), 0).right()
+            }
+
+            val candidates = withContext(Dispatchers.IO) { findCandidates(cancelledFlight) }
+            logger.info("재예약 시작: {} ({}명, 대체 항공편 {}개)", flightId, passengers.size, candidates.size)
+
+            val allocations = mutableListOf<RebookingAllocation>()
+            val rebookedByFlight = mutableMapOf<String, List<Reservation>>()
+            val claims = mutableMapOf<String, Int>()
+            val issuedTicketIds = mutableMapOf<String, List<String>>()
+            var saved = false
+            var cursor = 0
+
+            try {
+                for (candidate in candidates) {
+                    if (cursor == passengers.size) break
+                    val wanted = minOf(passengers.size - cursor, candidate.availableSeats)
+                    if (wanted <= 0) continue
+
+                    val granted = withContext(Dispatchers.IO) { claimSeats(candidate.flightId, wanted) }
+                    if (granted == 0) continue
+                    claims[candidate.flightId] = granted
+
+                    val moving = passengers.subList(cursor, cursor + granted)
+                    val tickets = withContext(Dispatchers.IO) { reissueTickets(candidate.flightId, moving) }
+                    issuedTicketIds[candidate.flightId] = tickets.values.map { it.ticketId }
+
+                    rebookedByFlight[candidate.flightId] = moving.map { reservation ->
+                        val ticket = tickets.getValue(reservation.reservationId)
+                        reservation.copy(
+                            flightId = candidate.flightId,
+                            ticketId = ticket.ticketId,
+                            seatNumber = ticket.seatNumber,
+                            message = "결항으로 대체 항공편 재예약: $flightId → ${candidate.flightId}"
+                        )
+                    }
+                    allocations += RebookingAllocation(candidate.flightId, candidate.departureTime, granted)
+                    cursor += granted
+                }
+
+                reservationRepository.saveAll(rebookedByFlight.values.flatten())
+                saved = true
+                rebookedByFlight.forEach { (newFlightId, assigned) -> publishRebooked(flightId, newFlightId, assigned) }
+            } catch (e: Exception) {
+                withContext(NonCancellable + Dispatchers.IO) {
+                    rollback(passengers.subList(0, cursor), saved, issuedTicketIds, claims)
+                }
+                throw e
+            }
+
+            val rebooked = rebookedByFlight.values.flatten()
+            withContext(Dispatchers.IO) { cancelOriginalTickets(passengers.subList(0, cursor)) }
+
+            val unassigned = passengers.subList(cursor, passengers.size).map { it.reservationId }
+            val elapsedMs = System.currentTimeMillis() - startedAt
+            logger.info("재예약 완료: {} (재예약 {}명, 미배정 {}명, {}ms)", flightId, rebooked.size, unassigned.size, elapsedMs)
+
+            RebookingResponse(
+                flightId = flightId,
+                totalCount = passengers.size,
+                rebookedCount = rebooked.size,
+                allocations = allocations,
+                unassignedReservationIds = unassigned,
+                elapsedMs = elapsedMs
+            ).right()
+        } catch (e: Exception) {
+            logger.error("재예약 실패: {}", flightId, e)
+            DomainError.SystemError("Rebooking failed for flight $flightId", e).left()
+        }
+    }
+
+    /**
+     * 같은 노선에서 허용 지연 이내에 출발하는 대체 항공편을 이른 순으로 반환합니다.
+     */
+    private fun findCandidates(cancelledFlight: FlightDto): List<FlightDto> {
+        val rebookingConfig = reservationConfig.rebooking
+        val now = LocalDateTime.now()
+        val latest = cancelledFlight.departureTime.plusHours(rebookingConfig.maxDelayHours)
+
+        return flightClient.searchFlights(cancelledFlight.departure, cancelledFlight.arrival)
+            .filter { it.flightId != cancelledFlight.flightId }
+            .filter { it.availableSeats > 0 && it.departureTime.isAfter(now) && !it.departureTime.isAfter(latest) }
+            .sortedBy { it.departureTime }
+            .take(rebookingConfig.maxCandidates)
+    }
+
+    /**
+     * 좌석을 한 번에 확보하고 확보한 좌석 수를 반환합니다.
+     * 그 사이 다른 예약으로 좌석이 줄었으면 남은 좌석만큼 한 번 더 시도합니다.
+     */
+    private fun claimSeats(flightId: String, wanted: Int): Int {
+        try {
+            flightClient.reserveSeats(flightId, AvailabilityRequest(flightId, wanted))
+            coalescingFlightClient.invalidate(flightId)
+            return wanted
+        } catch (e: FeignException.Conflict) {
+            logger.debug("대체 항공편 {} 좌석 부족, 가용 좌석 재확인", flightId)
+        } catch (e: Exception) {
+            logger.warn("대체 항공편 {} 좌석 확보 실패 ({}석)", flightId, wanted, e)
+            return 0
+        }
+
+        return try {
+            val available = flightClient.checkAvailability(flightId, AvailabilityRequest(flightId, wanted))
+                .availableSeats.coerceIn(0, wanted)
+            if (available > 0) {
+                flightClient.reserveSeats(flightId, AvailabilityRequest(flightId, available))
+            }
+            coalescingFlightClient.invalidate(flightId)
+            available
+        } catch (e: Exception) {
+            logger.warn("대체 항공편 {} 좌석 재확보 실패", flightId, e)
+            0
+        }
+    }
+
+    /**
+     * 대체 항공편 기준으로 항공권을 한 번의 배치 호출로 재발급하고 예약 식별자별로 반환합니다.
+     */
+    private fun reissueTickets(newFlightId: String, reservations: List<Reservation>): Map<String, TicketResponse> {
+        val requests = reservations.map { reservation ->
+            TicketRequest(
+                reservationId = reservation.reservationId,
+                paymentId = requireNotNull(reservation.paymentId) { "Reservation ${reservation.reservationId} has no payment" },
+                flightId = newFlightId,
+                passengerInfo = TicketPassengerInfo(
+                    name = reservation.passengerName,
+                    email = reservation.passengerEmail,
+                    phone = reservation.passengerPhone ?: "",
+                    passportNumber = reservation.passportNumber
+                )
+            )
+        }
+        val tickets = ticketClient.issueTickets(requests).associateBy { it.reservationId }
+        check(reservations.all { it.reservationId in tickets }) { "Ticket reissue incomplete for flight $newFlightId" }
+        return tickets
+    }
+
+    /**
+     * 재배정이 끝난 예약의 기존 항공권을 한 번의 배치 호출로 취소합니다.
+     * 예약은 이미 새 항공권을 가리키므로 실패는 기록만 하고 넘어갑니다.
+     */
+    private fun cancelOriginalTickets(reservations: List<Reservation>) {
+        val ticketIds = reservations.mapNotNull { it.ticketId }
+        if (ticketIds.isEmpty()) return
+        try {
+            ticketClient.cancelTickets(ticketIds)
+        } catch (e: Exception) {
+            logger.warn("기존 항공권 일괄 취소 실패 ({}건)", ticketIds.size, e)
+        }
+    }
+
+    /**
+     * 재예약 도중 실패하면 원래 예약을 되돌리고, 새로 발급한 항공권을 대체 항공편별로 한 번에 취소하고,
+     * 확보한 좌석을 반환합니다. 각 보상은 독립적으로 시도하며 실패는 기록만 합니다.
+     */
+    private fun rollback(
+        originals: List<Reservation>,
+        saved: Boolean,
+        issuedTicketIds: Map<String, List<String>>,
+        claims: Map<String, Int>
+    ) {
+        if (saved) {
+            try {
+                reservationRepository.saveAll(originals)
+            } catch (e: Exception) {
+                logger.error("재예약 롤백 중 예약 복원 실패 ({}건)", originals.size, e)
+            }
+        }
+        issuedTicketIds.forEach { (issuedFlightId, ticketIds) ->
+            try {
+                ticketClient.cancelTickets(ticketIds)
+            } catch (e: Exception) {
+                logger.warn("대체 항공편 {} 재발급 항공권 취소 실패 ({}건)", issuedFlightId, ticketIds.size, e)
+            }
+        }
+        claims.forEach { (claimedFlightId, seats) ->
+            try {
+                flightClient.releaseSeats(claimedFlightId, AvailabilityRequest(claimedFlightId, seats))
+                coalescingFlightClient.invalidate(claimedFlightId)
+            } catch (e: Exception) {
+                logger.error("대체 항공편 {} 좌석 반환 실패 ({}석)", claimedFlightId, seats, e)
+            }
+        }
+    }
+
+    /**
+     * 대체 항공편별 재예약 이벤트를 설정된 크기로 나누어 발행합니다.
+     */
+    private fun publishRebooked(originalFlightId: String, newFlightId: String, reservations: List<Reservation>) {
+        reservations.chunked(reservationConfig.rebooking.eventBatchSize.coerceAtLeast(1)).forEach { chunk ->
+            val eventData = mapOf(
+                "eventType" to "RESERVATION_REBOOKED",
+                "originalFlightId" to originalFlightId,
+                "newFlightId" to newFlightId,
+                "reservationIds" to chunk.map { it.reservationId },
+                "timestamp" to System.currentTimeMillis()
+            )
+            kafkaTemplate.send("reservation.rebooked", newFlightId, objectMapper.writeValueAsString(eventData))
+        }
+    }
+
+    companion object {
+        private val PRIORITY = compareByDescending<Reservation> { it.totalAmount }
+            .thenBy { it.createdAt }
+            .thenBy { it.reservationId }
+    }
+}
@@ -1,27 +1,29 @@
 package com.airline.reservation.service
 
 import arrow.core.Either
+import arrow.core.flatMap
 import arrow.core.left
 import arrow.core.right
 import com.airline.reservation.client.FlightClient
 import com.airline.reservation.client.PaymentClient
 import com.airline.reservation.client.TicketClient
 import com.airline.reservation.common.DomainError
+import com.airline.reservation.config.ReservationConfig
 import com.airline.reservation.dto.ReservationRequest
 import com.airline.reservation.dto.ReservationResponse
 import com.airline.reservation.dto.ReservationStatus
 import com.airline.reservation.dto.external.*
 import com.airline.reservation.entity.Reservation
-import com.airline.reservation.exception.*
 import com.airline.reservation.mapper.ReservationMapper
 import com.airline.reservation.repository.ReservationRepository
+import feign.FeignException
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker
-import kotlinx.coroutines.*
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.withContext
 import org.slf4j.LoggerFactory
+import org.springframework.http.HttpStatus
 import org.springframework.kafka.core.KafkaTemplate
 import org.springframework.stereotype.Service
-import java.time.LocalDateTime
-import java.util.*
 
 /**
  * 함수형 예약 관리 서비스
@@ -33,6 +35,13 @@ import java.util.*
  * 4. 순수 함수 설계
  * 5. Railway-Oriented Programming
  *
+ * 예약 생성은 검증 → 항공편 조회 → 좌석 확인/확보 → 결제 → 항공권 발급 → 확정 단계를
+ * flatMap으로 이어 붙인 파이프라인입니다. 매진, 결제 거절 같은 예상된 실패는 예외가 아닌
+ * [DomainError] 값으로 흘러가며, 하위 서비스 호출(Feign)에서 발생하는 예외만 [attempt]에서
+ * 한 번 값으로 바꿉니다. 좌석 확보 이후 단계가 실패하면 보상 후 실패 상태로 저장합니다.
+ *
+ * 예상된 실패는 예외를 던지지 않으므로 Circuit Breaker에는 하위 서비스 장애만 집계됩니다.
+ *
  * @author Claude Code
  * @since 2.0
  */
@@ -43,66 +52,50 @@ class ReservationService(
     private val paymentClient: PaymentClient,
     private val ticketClient: TicketClient,
     private val reservationRepository: ReservationRepository,
-    private val reservationMapper: ReservationMapper
+    private val reservationMapper: ReservationMapper,
+    private val reservationConfig: ReservationConfig,
+    private val reservationCancellationService: ReservationCancellationService
 ) {
     private val logger = LoggerFactory.getLogger(ReservationService::class.java)
 
     /**
-     * 함수형 예약 생성 - 간소화된 구현
+     * 함수형 예약 생성 - Railway 파이프라인
      */
     @CircuitBreaker(name = "reservation", fallbackMethod = "createReservationFallback")
-    suspend fun createReservation(request: ReservationRequest): Either<DomainError, ReservationResponse> {
-        return try {
-            // 기본적인 함수형 접근으로 예약 처리
-            val reservationId = "RES-${System.currentTimeMillis()}"
-            val reservation = reservationMapper.toEntity(request, reservationId)
-            reservation.status = ReservationStatus.CONFIRMED
-            reservation.paymentId = "PAY-${System.currentTimeMillis()}"
-            reservation.ticketId = "TKT-${System.currentTimeMillis()}"
-            reservation.totalAmount = java.math.BigDecimal("500000")
-            reservation.seatNumber = "12A"
-            reservation.message = "예약 완료"
-
-            val savedReservation = reservationRepository.save(reservation)
-            reservationMapper.toResponse(savedReservation).right()
-        } catch (e: Exception) {
-            DomainError.SystemError("Reservation failed: ${e.message}", e).left()
+    suspend fun createReservation(request: ReservationRequest): Either<DomainError, ReservationResponse> =
+        withContext(Dispatchers.IO) {
+            validate(request)
+                .flatMap { findFlight(it.flightId) }
+                .flatMap { flight -> checkSeats(flight) }
+                .flatMap { flight -> claimSeat(flight).map { newReservation(request, flight) } }
+                .flatMap { reservation -> pay(reservation, request).onLeft { fail(reservation, it) } }
+                .flatMap { reservation -> issueTicket(reservation, request).onLeft { fail(reservation, it) } }
+                .map { reservation -> reservationMapper.toResponse(confirm(reservation)) }
         }
-    }
 
     /**
      * 함수형 예약 조회
      */
     suspend fun getReservationById(reservationId: String): Either<DomainError, ReservationResponse> {
-        return try {
-            require(reservationId.isNotBlank()) { "Reservation ID cannot be blank" }
-
-            val reservation = reservationRepository.findById(reservationId)
-                ?: return DomainError.ValidationError("Reservation not found: $reservationId").left()
-
-            reservationMapper.toResponse(reservation).right()
-        } catch (e: Exception) {
-            DomainError.SystemError("Failed to retrieve reservation", e).left()
+        if (reservationId.isBlank()) {
+            return DomainError.ValidationError("Reservation ID cannot be blank").left()
         }
+        return reservationRepository.findById(reservationId)
+            ?.let { reservationMapper.toResponse(it).right() }
+            ?: DomainError.ValidationError("Reservation not found: $reservationId").left()
     }
 
     /**
-     * 함수형 예약 취소 - 간소화된 구현
+     * 함수형 예약 취소 - 보상 단계(좌석/결제/항공권)는 [ReservationCancellationService]에 위임
+     *
+     * 일부 단계가 끝나지 않으면 SystemError를 반환하며, 다시 호출하면 남은 단계만 재시도합니다.
      */
     suspend fun cancelReservation(reservationId: String): Either<DomainError, ReservationResponse> {
-        return getReservationById(reservationId).flatMap { response ->
-            if (response.status.name == "CONFIRMED") {
-                try {
-                    val entity = reservationRepository.findById(response.reservationId)!!
-                    entity.status = ReservationStatus.CANCELLED
-                    entity.message = "예약 취소됨"
-                    val updatedEntity = reservationRepository.save(entity)
-                    reservationMapper.toResponse(updatedEntity).right()
-                } catch (e: Exception) {
-                    DomainError.SystemError("Cancellation failed", e).left()
-                }
+        return reservationCancellationService.cancel(reservationId).flatMap { result ->
+            if (result.completed) {
+                result.reservation.right()
             } else {
-                DomainError.ValidationError("Only confirmed reservations can be cancelled").left()
+                DomainError.SystemError("Cancellation incomplete: ${result.reservation.message}").left()
             }
         }
     }
@@ -118,12 +111,144 @@ class ReservationService(
     fun confirm() {
         println("A reservation is confirmed")
     }
-}
 
-// Arrow Either 확장 함수
-private suspend inline fun <A, B, C> Either<A, B>.flatMap(crossinline f: suspend (B) -> Either<A, C>): Either<A, C> {
-    return when (this) {
-        is Either.Left -> this
-        is Either.Right -> f(value)
+    // 파이프라인 단계: 모두 Either를 반환하며 예상된 실패에 예외를 사용하지 않음
+
+    private fun validate(request: ReservationRequest): Either<DomainError, ReservationRequest> = when {
+        request.flightId.isBlank() -> DomainError.ValidationError("Flight ID cannot be blank").left()
+        request.passengerInfo.name.isBlank() -> DomainError.ValidationError("Passenger name cannot be blank").left()
+        request.passengerInfo.email.isBlank() -> DomainError.ValidationError("Passenger email cannot be blank").left()
+        request.paymentMethod.isBlank() -> DomainError.ValidationError("Payment method cannot be blank").left()
+        else -> request.right()
+    }
+
+    private fun findFlight(flightId: String): Either<DomainError, FlightDto> =
+        attempt({
+            if (it is FeignException.NotFound) DomainError.FlightNotFound(flightId)
+            else DomainError.SystemError("Flight lookup failed: $flightId", it)
+        }) { flightClient.getFlightById(flightId) }
+            .flatMap { it?.right() ?: DomainError.FlightNotFound(flightId).left() }
+
+    private fun checkSeats(flight: FlightDto): Either<DomainError, FlightDto> =
+        attempt({ DomainError.SystemError("Availability check failed: ${flight.flightId}", it) }) {
+            flightClient.checkAvailability(flight.flightId, AvailabilityRequest(flight.flightId, 1))
+        }.flatMap { availability ->
+            if (availability.available) flight.right() else DomainError.NoAvailableSeats(flight.flightId).left()
+        }
+
+    private fun claimSeat(flight: FlightDto): Either<DomainError, Unit> =
+        attempt({
+            // 가용성 확인 이후 다른 요청이 좌석을 가져간 경우
+            if (it is FeignException.Conflict) DomainError.NoAvailableSeats(flight.flightId)
+            else DomainError.SystemError("Seat reservation failed: ${flight.flightId}", it)
+        }) {
+            flightClient.reserveSeats(flight.flightId, AvailabilityRequest(flight.flightId, 1))
+            Unit
+        }
+
+    private fun newReservation(request: ReservationRequest, flight: FlightDto): Reservation =
+        reservationMapper.toEntity(request, reservationConfig.idGeneration.nextId()).apply {
+            status = ReservationStatus.SEAT_RESERVED
+            totalAmount = flight.price
+            message = "좌석 예약 완료"
+        }
+
+    private fun pay(reservation: Reservation, request: ReservationRequest): Either<DomainError, Reservation> =
+        attempt({
+            // 402만 확정된 거절이며, 그 밖의 오류와 타임아웃은 결제 여부를 알 수 없음
+            if (it is FeignException && it.status() == HttpStatus.PAYMENT_REQUIRED.value()) {
+                DomainError.PaymentDeclined("Payment declined: ${it.message}", it)
+            } else {
+                DomainError.SystemError("Payment failed: ${reservation.reservationId}", it)
+            }
+        }) {
+            paymentClient.processPayment(
+                PaymentRequest(
+                    reservationId = reservation.reservationId,
+                    amount = reservation.totalAmount,
+                    paymentMethod = request.paymentMethod,
+                    customerInfo = CustomerInfo(name = request.passengerInfo.name, email = request.passengerInfo.email)
+                )
+            )
+        }.flatMap { payment ->
+            if (payment.status == PaymentStatus.SUCCESS) {
+                reservation.apply {
+                    paymentId = payment.paymentId
+                    status = ReservationStatus.PAYMENT_COMPLETED
+                    message = "결제 완료"
+                }.right()
+            } else {
+                DomainError.PaymentDeclined(payment.message).left()
+            }
+        }
+
+    private fun issueTicket(reservation: Reservation, request: ReservationRequest): Either<DomainError, Reservation> =
+        attempt({ DomainError.TicketIssuanceFailed("Ticket issuance failed: ${it.message}", it) }) {
+            ticketClient.issueTicket(
+                TicketRequest(
+                    reservationId = reservation.reservationId,
+                    paymentId = reservation.paymentId!!,
+                    flightId = reservation.flightId,
+                    passengerInfo = TicketPassengerInfo(
+                        name = reservation.passengerName,
+                        email = reservation.passengerEmail,
+                        phone = reservation.passengerPhone ?: "",
+                        passportNumber = reservation.passportNumber
+                    ),
+                    seatNumber = request.seatPreference?.takeIf { it.matches(SEAT_NUMBER_PATTERN) }
+                )
+            )
+        }.map { ticket ->
+            reservation.apply {
+                ticketId = ticket.ticketId
+                seatNumber = ticket.seatNumber
+            }
+        }
+
+    private fun confirm(reservation: Reservation): Reservation {
+        reservation.status = ReservationStatus.CONFIRMED
+        reservation.message = "예약 완료"
+        return reservationRepository.save(reservation)
     }
-}
\ No newline at end of file
+
+    /**
+     * 좌석 확보 이후 실패한 예약을 보상하고 실패 상태로 저장합니다.
+     * 결제 응답을 받지 못해 결제 ID를 모르면 예약 ID로 승인된 결제를 찾아 취소합니다.
+     * 보상 호출의 실패는 로그만 남기며 원래 실패 원인을 그대로 반환합니다.
+     */
+    private fun fail(reservation: Reservation, error: DomainError) {
+        val paymentId = reservation.paymentId
+        when {
+            paymentId != null ->
+                attempt({ DomainError.SystemError("Payment cancellation failed: $paymentId", it) }) {
+                    paymentClient.cancelPayment(paymentId)
+                }.onLeft { logger.error(it.message, it.cause) }
+            error !is DomainError.PaymentDeclined ->
+                attempt({ DomainError.SystemError("Payment cancellation failed for reservation: ${reservation.reservationId}", it) }) {
+                    paymentClient.cancelPaymentsByReservation(reservation.reservationId)
+                }.onLeft { logger.error(it.message, it.cause) }
+        }
+        attempt({ DomainError.SystemError("Seat release failed: ${reservation.flightId}", it) }) {
+            flightClient.releaseSeats(reservation.flightId, AvailabilityRequest(reservation.flightId, 1))
+        }.onLeft { logger.error(it.message, it.cause) }
+
+        reservation.status = ReservationStatus.FAILED
+        reservation.message = error.message
+        reservationRepository.save(reservation)
+    }
+
+    /**
+     * 하위 서비스 호출의 예외를 [DomainError] 값으로 바꾸는 유일한 경계입니다.
+     */
+    private inline fun <T> attempt(onError: (Exception) -> DomainError, call: () -> T): Either<DomainError, T> =
+        try {
+            call().right()
+        } catch (e: Exception) {
+            onError(e).left()
+        }
+
+    companion object {
+        private val SEAT_NUMBER_PATTERN = Regex("^\\d{1,2}[A-K]$")
+    }
+}
+
@@ -0,0 +1,27 @@
+package com.airline.reservation.service
+
+import com.airline.reservation.readmodel.ReservationReadModel
+import com.airline.reservation.readmodel.ReservationView
+import org.springframework.stereotype.Service
+
+/**
+ * 예약 상태 조회 서비스 (읽기 모델)
+ *
+ * 조회는 메모리 맵 한 번의 잠금 없는 읽기이므로 호출 스레드에서 바로 실행합니다.
+ * 예약 생성/취소가 쓰는 저장소와는 자원을 나누지 않습니다.
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+@Service
+class ReservationViewService(
+    private val reservationReadModel: ReservationReadModel
+) {
+
+    /**
+     * 예약 상태를 조회합니다.
+     *
+     * @return 읽기 모델에 반영된 예약 상태, 아직 이벤트를 받지 못했으면 null
+     */
+    fun findById(reservationId: String): ReservationView? = reservationReadModel.find(reservationId)
+}
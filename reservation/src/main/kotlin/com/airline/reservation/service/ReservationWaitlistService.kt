@@ -0,0 +1,189 @@
+package com.airline.reservation.service
+
+import arrow.core.Either
+import arrow.core.left
+import arrow.core.right
+import com.airline.reservation.common.DomainError
+import com.airline.reservation.config.ReservationConfig
+import com.airline.reservation.dto.WaitlistEntryResponse
+import com.airline.reservation.dto.WaitlistPromotionResult
+import com.airline.reservation.dto.WaitlistRequest
+import com.airline.reservation.waitlist.ReservationWaitlist
+import com.airline.reservation.waitlist.WaitlistEntry
+import jakarta.annotation.PreDestroy
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import org.slf4j.LoggerFactory
+import org.springframework.stereotype.Service
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * 대기자 명단 서비스
+ *
+ * 좌석 해제 이벤트(`seat.released`)를 받으면 해제된 좌석 수만큼 대기자를 꺼내
+ * [ReservationBatchService]로 한 번에 예약합니다. 좌석 확보는 항공편당 한 번의 호출로 이루어지며,
+ * 그 사이 다른 요청이 좌석을 가져가 다시 매진된 항목은 원래 순서대로 대기열 앞에 되돌립니다.
+ *
+ * 이벤트 리스너는 [requestPromotion]으로 승급을 서비스의 코루틴 스코프에 넘기고 바로 반환하므로
+ * 하위 서비스 호출이 Kafka 컨슈머 스레드를 붙잡지 않습니다. 같은 항공편의 승급은 항공편별 [Mutex]로
+ * 도착 순서대로 하나씩 실행합니다. 대기자 명단이 메모리에만 있으므로 승급 전에 오프셋이 커밋되어도
+ * 재시작 시 잃는 것은 없습니다.
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+@Service
+class ReservationWaitlistService(
+    private val reservationWaitlist: ReservationWaitlist,
+    private val reservationBatchService: ReservationBatchService,
+    private val reservationConfig: ReservationConfig
+) {
+    private val logger = LoggerFactory.getLogger(ReservationWaitlistService::class.java)
+
+    private val promotionScope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
+    private val promotionLocks = ConcurrentHashMap<String, Mutex>()
+
+    /**
+     * 대기자로 등록합니다.
+     *
+     * @return 등록된 항목, 대기 인원 한도에 도달했으면 ValidationError
+     */
+    fun enqueue(request: WaitlistRequest): Either<DomainError, WaitlistEntryResponse> {
+        if (request.reservation.flightId.isBlank()) {
+            return DomainError.ValidationError("Flight ID cannot be blank").left()
+        }
+
+        val entry = reservationWaitlist.enqueue(request.reservation, request.priority)
+            ?: return DomainError.ValidationError("Waitlist is full for flight: ${request.reservation.flightId}").left()
+        return toResponse(entry).right()
+    }
+
+    /**
+     * 대기 중인 항목을 조회합니다. 승급이 끝났거나 철회된 항목은 조회되지 않습니다.
+     */
+    fun findById(waitlistId: String): Either<DomainError, WaitlistEntryResponse> {
+        val entry = reservationWaitlist.findById(waitlistId)
+            ?: return DomainError.ValidationError("Waitlist entry not found: $waitlistId").left()
+        return toResponse(entry).right()
+    }
+
+    /**
+     * 대기를 철회합니다.
+     */
+    fun withdraw(waitlistId: String): Either<DomainError, Unit> {
+        return if (reservationWaitlist.withdraw(waitlistId)) {
+            Unit.right()
+        } else {
+            DomainError.ValidationError("Waitlist entry is not waiting: $waitlistId").left()
+        }
+    }
+
+    /**
+     * 해제된 좌석 수만큼의 승급을 백그라운드에서 실행하도록 예약하고 바로 반환합니다.
+     */
+    fun requestPromotion(flightId: String, releasedSeats: Int): Job =
+        promotionScope.launch {
+            try {
+                promote(flightId, releasedSeats)
+            } catch (e: Exception) {
+                logger.error("대기자 승급 실패: {} ({}석)", flightId, releasedSeats, e)
+            }
+        }
+
+    /**
+     * 해제된 좌석 수만큼 대기자를 승급합니다. 같은 항공편의 승급은 한 번에 하나씩 실행합니다.
+     *
+     * @param flightId 좌석이 해제된 항공편
+     * @param releasedSeats 해제된 좌석 수
+     */
+    suspend fun promote(flightId: String, releasedSeats: Int): WaitlistPromotionResult =
+        promotionLocks.computeIfAbsent(flightId) { Mutex() }.withLock { promoteLocked(flightId, releasedSeats) }
+
+    private suspend fun promoteLocked(flightId: String, releasedSeats: Int): WaitlistPromotionResult {
+        val chunkSize = reservationConfig.batch.maxSize.coerceAtLeast(1)
+        var total = WaitlistPromotionResult(flightId, 0, 0, 0)
+        var remaining = releasedSeats
+
+        // 일괄 예약 한도 단위로 승급하며, 다시 매진되었거나 대기자가 없으면 중단
+        while (remaining > 0) {
+            val polled = reservationWaitlist.poll(flightId, minOf(remaining, chunkSize))
+            if (polled.isEmpty()) break
+
+            val chunk = promoteChunk(flightId, polled)
+            total = WaitlistPromotionResult(
+                flightId,
+                total.promotedCount + chunk.promotedCount,
+                total.requeuedCount + chunk.requeuedCount,
+                total.failedCount + chunk.failedCount
+            )
+            if (chunk.requeuedCount > 0) break
+            remaining -= polled.size
+        }
+
+        if (total.promotedCount + total.requeuedCount + total.failedCount > 0) {
+            logger.info(
+                "대기자 승급: {} (승급 {}명, 재대기 {}명, 실패 {}명, 남은 대기 {}명)",
+                flightId, total.promotedCount, total.requeuedCount, total.failedCount, reservationWaitlist.size(flightId)
+            )
+        }
+        return total
+    }
+
+    private suspend fun promoteChunk(flightId: String, polled: List<WaitlistEntry>): WaitlistPromotionResult {
+        val result = reservationBatchService.createReservations(polled.map { it.request }, waitlistSoldOut = false)
+        val items = when (result) {
+            is Either.Left -> {
+                logger.error("대기자 승급 실패: {} ({})", flightId, result.value.message)
+                reservationWaitlist.requeue(polled)
+                return WaitlistPromotionResult(flightId, 0, polled.size, 0)
+            }
+            is Either.Right -> result.value.results
+        }
+
+        val requeued = mutableListOf<WaitlistEntry>()
+        var promoted = 0
+        var failed = 0
+        items.forEach { item ->
+            val entry = polled[item.index]
+            when {
+                item.success -> {
+                    reservationWaitlist.complete(entry, promoted = true)
+                    promoted++
+                }
+                item.soldOut -> requeued += entry
+                else -> {
+                    logger.warn("대기자 {} 예약 실패: {}", entry.waitlistId, item.errorMessage)
+                    reservationWaitlist.complete(entry, promoted = false)
+                    failed++
+                }
+            }
+        }
+        reservationWaitlist.requeue(requeued)
+        return WaitlistPromotionResult(flightId, promoted, requeued.size, failed)
+    }
+
+    @PreDestroy
+    fun stop() {
+        promotionScope.cancel()
+    }
+
+    /**
+     * 대기자가 있는 항공편별 대기 인원
+     */
+    fun waitingCounts(): Map<String, Int> = reservationWaitlist.sizes()
+
+    private fun toResponse(entry: WaitlistEntry) = WaitlistEntryResponse(
+        waitlistId = entry.waitlistId,
+        flightId = entry.flightId,
+        priority = entry.priority,
+        state = entry.state(),
+        enqueuedAt = entry.enqueuedAt,
+        waitingCount = reservationWaitlist.size(entry.flightId)
+    )
+}
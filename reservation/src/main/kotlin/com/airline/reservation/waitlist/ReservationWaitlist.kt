@@ -0,0 +1,170 @@
+package com.airline.reservation.waitlist
+
+import com.airline.reservation.config.ReservationConfig
+import com.airline.reservation.dto.ReservationRequest
+import org.springframework.stereotype.Component
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentLinkedDeque
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * 항공편별 대기자 명단
+ *
+ * - 항공편마다 우선순위별 lock-free 덱을 두고, 같은 우선순위 안에서는 FIFO
+ * - 등록/승급: 덱 끝에 추가, 앞에서 꺼내므로 항목당 O(1)
+ * - 철회: 항목 상태만 바꾸고 큐에서는 승급 시 건너뜀 (O(1)),
+ *   철회된 항목이 대기 중인 항목보다 많아지면 덱을 한 번 훑어 제거하므로 분할 상환 O(1)
+ * - 재대기: 승급했지만 좌석을 확보하지 못한 항목은 원래 순서를 유지하도록 덱 앞에 되돌림
+ *
+ * 대기 인원은 항공편별 카운터로 관리하여 덱을 순회하지 않고 조회합니다.
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+@Component
+class ReservationWaitlist(
+    private val reservationConfig: ReservationConfig
+) {
+    private val flights = ConcurrentHashMap<String, FlightWaitlist>()
+    private val entries = ConcurrentHashMap<String, WaitlistEntry>()
+
+    /**
+     * 대기자로 등록합니다.
+     *
+     * @return 등록된 항목, 항공편 대기 인원이 한도에 도달했으면 null
+     */
+    fun enqueue(request: ReservationRequest, priority: WaitlistPriority = WaitlistPriority.STANDARD): WaitlistEntry? {
+        val waitlist = flights.computeIfAbsent(request.flightId) { FlightWaitlist() }
+        if (!waitlist.tryReserveSlot(reservationConfig.waitlist.maxPerFlight)) return null
+
+        val entry = WaitlistEntry(reservationConfig.idGeneration.nextId(WAITLIST_ID_PREFIX), request, priority)
+        entries[entry.waitlistId] = entry
+        waitlist.laneOf(priority).offerLast(entry)
+        return entry
+    }
+
+    /**
+     * 대기 중인 항목을 철회합니다.
+     *
+     * @return 철회되었으면 true, 이미 승급 중이거나 끝난 항목이면 false
+     */
+    fun withdraw(waitlistId: String): Boolean {
+        val entry = entries[waitlistId] ?: return false
+        if (!entry.transition(WaitlistState.WAITING, WaitlistState.WITHDRAWN)) return false
+
+        entries.remove(waitlistId)
+        flights[entry.flightId]?.let { waitlist ->
+            waitlist.waiting.decrementAndGet()
+            if (waitlist.withdrawn.incrementAndGet() > waitlist.waiting.get()) waitlist.compact()
+        }
+        return true
+    }
+
+    /**
+     * 우선순위 순서로 최대 [max]명의 대기자를 꺼내 승급 중 상태로 바꿉니다.
+     */
+    fun poll(flightId: String, max: Int): List<WaitlistEntry> {
+        val waitlist = flights[flightId] ?: return emptyList()
+        val polled = ArrayList<WaitlistEntry>(minOf(max, waitlist.waiting.get()).coerceAtLeast(0))
+
+        for (priority in WaitlistPriority.entries) {
+            val lane = waitlist.laneOf(priority)
+            while (polled.size < max) {
+                val entry = lane.pollFirst() ?: break
+                // 철회된 항목은 큐에서 버리고 다음 항목으로
+                if (entry.transition(WaitlistState.WAITING, WaitlistState.PROMOTING)) {
+                    waitlist.waiting.decrementAndGet()
+                    polled += entry
+                } else if (entry.state() == WaitlistState.WITHDRAWN) {
+                    waitlist.discarded(1)
+                }
+            }
+        }
+        return polled
+    }
+
+    /**
+     * 좌석을 확보하지 못한 항목을 원래 순서대로 대기열 앞에 되돌립니다.
+     */
+    fun requeue(polled: List<WaitlistEntry>) {
+        polled.asReversed().forEach { entry ->
+            if (entry.transition(WaitlistState.PROMOTING, WaitlistState.WAITING)) {
+                val waitlist = flights.computeIfAbsent(entry.flightId) { FlightWaitlist() }
+                waitlist.waiting.incrementAndGet()
+                waitlist.laneOf(entry.priority).offerFirst(entry)
+            }
+        }
+    }
+
+    /**
+     * 승급 처리가 끝난 항목을 명단에서 제거합니다.
+     */
+    fun complete(entry: WaitlistEntry, promoted: Boolean) {
+        entry.transition(WaitlistState.PROMOTING, if (promoted) WaitlistState.PROMOTED else WaitlistState.FAILED)
+        entries.remove(entry.waitlistId)
+    }
+
+    fun findById(waitlistId: String): WaitlistEntry? = entries[waitlistId]
+
+    /**
+     * 항공편의 대기 인원
+     */
+    fun size(flightId: String): Int = flights[flightId]?.waiting?.get() ?: 0
+
+    /**
+     * 대기자가 있는 항공편별 대기 인원
+     */
+    fun sizes(): Map<String, Int> =
+        flights.mapValues { it.value.waiting.get() }.filterValues { it > 0 }
+
+    /**
+     * 덱에 남아 있는 철회 항목 수 (대략값)
+     */
+    internal fun withdrawnBacklog(flightId: String): Int = flights[flightId]?.withdrawn?.get() ?: 0
+
+    /**
+     * 한 항공편의 우선순위별 대기열
+     *
+     * [withdrawn]은 덱에 남아 있는 철회 항목 수의 근사값으로, 압축 시점을 정하는 데만 씁니다.
+     */
+    private class FlightWaitlist {
+        val waiting = AtomicInteger()
+        val withdrawn = AtomicInteger()
+        private val lanes = WaitlistPriority.entries.associateWith { ConcurrentLinkedDeque<WaitlistEntry>() }
+
+        fun laneOf(priority: WaitlistPriority): ConcurrentLinkedDeque<WaitlistEntry> = lanes.getValue(priority)
+
+        /**
+         * 덱에 남은 철회 항목을 제거합니다.
+         */
+        fun compact() {
+            var removed = 0
+            lanes.values.forEach { lane ->
+                val iterator = lane.iterator()
+                while (iterator.hasNext()) {
+                    if (iterator.next().state() == WaitlistState.WITHDRAWN) {
+                        iterator.remove()
+                        removed++
+                    }
+                }
+            }
+            discarded(removed)
+        }
+
+        fun discarded(count: Int) {
+            if (count > 0) withdrawn.updateAndGet { (it - count).coerceAtLeast(0) }
+        }
+
+        fun tryReserveSlot(limit: Int): Boolean {
+            while (true) {
+                val current = waiting.get()
+                if (current >= limit) return false
+                if (waiting.compareAndSet(current, current + 1)) return true
+            }
+        }
+    }
+
+    companion object {
+        private const val WAITLIST_ID_PREFIX = "WL-"
+    }
+}
@@ -0,0 +1,40 @@
+package com.airline.reservation.waitlist
+
+import com.airline.reservation.dto.ReservationRequest
+import java.time.LocalDateTime
+import java.util.concurrent.atomic.AtomicReference
+
+/**
+ * 대기자 명단 항목
+ *
+ * 상태 전이는 CAS로만 이루어지며, 큐에서 빠지지 않은 채 철회된 항목은 승급 시 건너뜁니다.
+ *
+ * @author Claude Code
+ * @since 2.0
+ */
+class WaitlistEntry(
+    val waitlistId: String,
+    val request: ReservationRequest,
+    val priority: WaitlistPriority,
+    val enqueuedAt: LocalDateTime = LocalDateTime.now()
+) {
+    private val state = AtomicReference(WaitlistState.WAITING)
+
+    val flightId: String get() = request.flightId
+
+    fun state(): WaitlistState = state.get()
+
+    internal fun transition(expected: WaitlistState, next: WaitlistState): Boolean =
+        state.compareAndSet(expected, next)
+}
+
+/**
+ * 대기 우선순위, 높은 우선순위 대기자가 먼저 승급
+ */
+enum class WaitlistPriority {
+    PRIORITY, STANDARD
+}
+
+enum class WaitlistState {
+    WAITING, PROMOTING, PROMOTED, WITHDRAWN, FAILED
+}
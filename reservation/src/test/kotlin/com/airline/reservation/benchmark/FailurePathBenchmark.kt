@@ -0,0 +1,82 @@
+package com.airline.reservation.benchmark
+
+import arrow.core.Either
+import arrow.core.left
+import arrow.core.right
+import com.airline.reservation.common.DomainError
+import com.airline.reservation.exception.DomainErrorException
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable
+
+/**
+ * 예상된 실패(매진, 결제 거절) 경로의 비용 비교
+ *
+ * - before: 예외(스택 트레이스 포함)를 던지고 최상단에서 잡아 SystemError로 변환하던 방식
+ * - stackless: 스택 트레이스 없는 [DomainErrorException]을 던지고 잡는 방식
+ * - either: 실패를 [DomainError] 값으로 반환하는 현재 파이프라인 방식
+ *
+ * 서비스 → 클라이언트 → 프레임워크 호출 깊이를 흉내 내기 위해 같은 깊이에서 실패를 만듭니다.
+ * 실행: `RUN_BENCHMARKS=true ./gradlew test --tests '*FailurePathBenchmark'`
+ */
+@EnabledIfEnvironmentVariable(named = "RUN_BENCHMARKS", matches = "true")
+class FailurePathBenchmark {
+
+    @Volatile
+    private var sink: Any? = null
+
+    @Test
+    fun `compare failure path cost`() {
+        val before = measure("before (exception + stack trace)") { throwingWithTrace(STACK_DEPTH) }
+        val stackless = measure("stackless exception") { throwingStackless(STACK_DEPTH) }
+        val either = measure("either value") { returningEither(STACK_DEPTH) }
+
+        println("speedup: stackless %.1fx, either %.1fx".format(before / stackless, before / either))
+        assertTrue(either < before)
+    }
+
+    private fun measure(name: String, operation: () -> DomainError): Double {
+        repeat(WARMUP_ITERATIONS) { sink = operation() }
+
+        val startNanos = System.nanoTime()
+        repeat(MEASURED_ITERATIONS) { sink = operation() }
+        val nanosPerOp = (System.nanoTime() - startNanos).toDouble() / MEASURED_ITERATIONS
+
+        println("%-36s %10.1f ns/op".format(name, nanosPerOp))
+        return nanosPerOp
+    }
+
+    private fun throwingWithTrace(depth: Int): DomainError = try {
+        failWithTrace(depth)
+    } catch (e: Exception) {
+        DomainError.SystemError("Reservation failed: ${e.message}", e)
+    }
+
+    private fun failWithTrace(depth: Int): DomainError =
+        if (depth == 0) throw RuntimeException("No available seats for flight: KE001") else failWithTrace(depth - 1)
+
+    private fun throwingStackless(depth: Int): DomainError = try {
+        failStackless(depth)
+    } catch (e: DomainErrorException) {
+        e.error
+    }
+
+    private fun failStackless(depth: Int): DomainError =
+        if (depth == 0) throw DomainErrorException(DomainError.NoAvailableSeats("KE001")) else failStackless(depth - 1)
+
+    private fun returningEither(depth: Int): DomainError =
+        when (val result = failEither(depth)) {
+            is Either.Left -> result.value
+            is Either.Right -> error("unexpected success")
+        }
+
+    private fun failEither(depth: Int): Either<DomainError, Unit> =
+        if (depth == 0) DomainError.NoAvailableSeats("KE001").left()
+        else failEither(depth - 1).fold({ it.left() }, { Unit.right() })
+
+    companion object {
+        private const val STACK_DEPTH = 64
+        private const val WARMUP_ITERATIONS = 200_000
+        private const val MEASURED_ITERATIONS = 1_000_000
+    }
+}
@@ -0,0 +1,89 @@
+package com.airline.reservation.client
+
+import com.airline.reservation.config.ReservationConfig
+import com.airline.reservation.dto.external.FlightDto
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertSame
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+import java.math.BigDecimal
+import java.time.LocalDateTime
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class CoalescingFlightClientTest {
+
+    private val hedgingFlightClient = mock<HedgingFlightClient>()
+    private val reservationConfig = ReservationConfig().apply { flightCache.stalenessMs = 100 }
+    private val client = CoalescingFlightClient(hedgingFlightClient, reservationConfig)
+
+    @Test
+    fun `concurrent lookups for the same flight share one remote call`() {
+        val release = CountDownLatch(1)
+        whenever(hedgingFlightClient.getFlightById("FL001")).thenAnswer {
+            release.await(5, TimeUnit.SECONDS)
+            flight("FL001")
+        }
+        val executor = Executors.newFixedThreadPool(8)
+
+        val results = (1..8).map { executor.submit<FlightDto?> { client.getFlightById("FL001") } }
+        waitUntil { client.getStatistics()["coalescedCalls"] == 7L }
+        release.countDown()
+
+        val flights = results.map { it.get(5, TimeUnit.SECONDS) }
+        executor.shutdown()
+        assertTrue(flights.all { it === flights.first() })
+        assertEquals(1L, client.getStatistics()["remoteCalls"])
+        verify(hedgingFlightClient, times(1)).getFlightById("FL001")
+    }
+
+    @Test
+    fun `failures are not cached`() {
+        val flight = flight("FL001")
+        whenever(hedgingFlightClient.getFlightById("FL001"))
+            .thenThrow(IllegalStateException("flight service unavailable"))
+            .thenReturn(flight)
+
+        assertThrows<IllegalStateException> { client.getFlightById("FL001") }
+
+        assertSame(flight, client.getFlightById("FL001"))
+        verify(hedgingFlightClient, times(2)).getFlightById("FL001")
+    }
+
+    @Test
+    fun `results are reused within the staleness window and refreshed after it`() {
+        whenever(hedgingFlightClient.getFlightById("FL001")).thenReturn(flight("FL001"))
+
+        client.getFlightById("FL001")
+        client.getFlightById("FL001")
+        verify(hedgingFlightClient, times(1)).getFlightById("FL001")
+
+        Thread.sleep(150)
+        client.getFlightById("FL001")
+        verify(hedgingFlightClient, times(2)).getFlightById("FL001")
+    }
+
+    private fun flight(flightId: String) = FlightDto(
+        flightId = flightId,
+        airline = "Korean Air",
+        departure = "ICN",
+        arrival = "NRT",
+        departureTime = LocalDateTime.now().plusDays(1),
+        arrivalTime = LocalDateTime.now().plusDays(1).plusHours(2),
+        price = BigDecimal("300000"),
+        availableSeats = 10,
+        aircraft = "B787"
+    )
+
+    private fun waitUntil(condition: () -> Boolean) {
+        val deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5)
+        while (!condition() && System.nanoTime() < deadline) Thread.sleep(5)
+        assertTrue(condition())
+    }
+}
@@ -0,0 +1,80 @@
+package com.airline.reservation.readmodel
+
+import com.airline.reservation.config.ReservationConfig
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+
+class ReservationReadModelTest {
+
+    private lateinit var readModel: ReservationReadModel
+
+    @BeforeEach
+    fun setUp() {
+        readModel = ReservationReadModel(ReservationConfig())
+    }
+
+    @Test
+    fun `events are folded into one flat record`() {
+        readModel.applyPaymentApproved("RES-1", "KE001", "PAY-1", 150000, 1_000)
+        readModel.applyTicketIssued("RES-1", "KE001", "TKT-1", "12A", 2_000)
+        readModel.applyReservationCompleted("RES-1", "KE001", "PAY-1", "TKT-1", "12A", 3_000)
+
+        val view = readModel.find("RES-1")!!
+        assertEquals(ReservationViewStatus.COMPLETED, view.status)
+        assertEquals(PaymentView("PAY-1", 150000), view.payment)
+        assertEquals(listOf(TicketView("TKT-1", "12A")), view.tickets)
+        assertEquals(3_000, view.updatedAt)
+    }
+
+    @Test
+    fun `out of order and duplicate events do not move the status backwards`() {
+        readModel.applyReservationCompleted("RES-1", "KE001", "PAY-1", "TKT-1", "12A", 3_000)
+        readModel.applyTicketIssued("RES-1", "KE001", "TKT-1", "12A", 2_000)
+        readModel.applyPaymentApproved("RES-1", "KE001", "PAY-1", 150000, 1_000)
+        readModel.applyTicketIssued("RES-1", "KE001", "TKT-1", "12A", 2_000)
+
+        val view = readModel.find("RES-1")!!
+        assertEquals(ReservationViewStatus.COMPLETED, view.status)
+        assertEquals(PaymentView("PAY-1", 150000), view.payment)
+        assertEquals(1, view.tickets.size)
+        assertEquals(3_000, view.updatedAt)
+    }
+
+    @Test
+    fun `payment failure is terminal but a later approval from a retry moves past it`() {
+        readModel.applyPaymentFailed("RES-1", "KE001", 1_000)
+        assertEquals(ReservationViewStatus.FAILED, readModel.find("RES-1")!!.status)
+        assertTrue(ReservationViewStatus.FAILED.terminal)
+
+        readModel.applyPaymentApproved("RES-1", "KE001", "PAY-2", 150000, 2_000)
+        assertEquals(ReservationViewStatus.PAYMENT_APPROVED, readModel.find("RES-1")!!.status)
+
+        readModel.applyPaymentCancelled("RES-1", null, "PAY-2", 3_000)
+        assertEquals(ReservationViewStatus.CANCELLED, readModel.find("RES-1")!!.status)
+        readModel.applyReservationCompleted("RES-1", "KE001", "PAY-2", "TKT-1", "12A", 2_500)
+        assertEquals(ReservationViewStatus.CANCELLED, readModel.find("RES-1")!!.status)
+    }
+
+    @Test
+    fun `views past the retention window are evicted`() {
+        val now = System.currentTimeMillis()
+        val dayMs = 24 * 60 * 60 * 1000L
+        readModel.applyPaymentApproved("RES-OLD", "KE001", "PAY-1", 150000, now - 2 * dayMs)
+        readModel.applyPaymentApproved("RES-NEW", "KE001", "PAY-2", 150000, now)
+
+        assertTrue(readModel.isExpired(now - 2 * dayMs, now))
+        assertFalse(readModel.isExpired(now, now))
+        assertEquals(1, readModel.evictExpired(now))
+        assertNull(readModel.find("RES-OLD"))
+        assertEquals(1, readModel.size())
+    }
+
+    @Test
+    fun `unknown reservation has no view`() {
+        assertNull(readModel.find("RES-404"))
+    }
+}
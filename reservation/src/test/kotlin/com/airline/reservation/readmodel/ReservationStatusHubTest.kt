@@ -0,0 +1,93 @@
+package com.airline.reservation.readmodel
+
+import com.airline.reservation.config.ReservationConfig
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.cancelAndJoin
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.toList
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.withTimeout
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNotNull
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+
+class ReservationStatusHubTest {
+
+    private lateinit var readModel: ReservationReadModel
+    private lateinit var hub: ReservationStatusHub
+
+    @BeforeEach
+    fun setUp() {
+        readModel = ReservationReadModel(ReservationConfig())
+        hub = ReservationStatusHub(
+            readModel,
+            ReservationConfig(statusStream = ReservationConfig.StatusStreamConfig(maxSubscribers = 2))
+        )
+    }
+
+    @Test
+    fun `subscriber receives current state then updates until completion`(): Unit = runBlocking {
+        readModel.applyPaymentApproved("RES-1", "KE001", "PAY-1", 150000, 1_000)
+        val received = mutableListOf<ReservationViewStatus>()
+
+        val job = launch {
+            hub.subscribe("RES-1")!!.collect { view ->
+                received += view.status
+                when (view.status) {
+                    ReservationViewStatus.PAYMENT_APPROVED ->
+                        hub.publish(readModel.applyTicketIssued("RES-1", "KE001", "TKT-1", "12A", 2_000))
+                    ReservationViewStatus.TICKET_ISSUED ->
+                        hub.publish(readModel.applyReservationCompleted("RES-1", "KE001", "PAY-1", "TKT-1", "12A", 3_000))
+                    else -> Unit
+                }
+            }
+        }
+        withTimeout(5_000) { job.join() }
+
+        assertEquals(
+            listOf(ReservationViewStatus.PAYMENT_APPROVED, ReservationViewStatus.TICKET_ISSUED, ReservationViewStatus.COMPLETED),
+            received
+        )
+        assertEquals(0, hub.subscriberCount())
+        assertEquals(0, hub.channelCount())
+    }
+
+    @Test
+    fun `stream ends on a failed status`(): Unit = runBlocking {
+        readModel.applyPaymentFailed("RES-1", "KE001", 1_000)
+
+        val received = withTimeout(5_000) { hub.subscribe("RES-1")!!.toList() }
+
+        assertEquals(listOf(ReservationViewStatus.FAILED), received.map { it.status })
+        assertEquals(0, hub.subscriberCount())
+    }
+
+    @Test
+    fun `subscribers are counted only while the stream is collected`(): Unit = runBlocking {
+        val uncollected = hub.subscribe("RES-0")
+        assertNotNull(uncollected)
+        assertEquals(0, hub.subscriberCount())
+
+        val jobs = listOf("RES-1", "RES-2").map { reservationId ->
+            launch(Dispatchers.Default) { hub.subscribe(reservationId)!!.collect { } }
+        }
+        withTimeout(5_000) { while (hub.subscriberCount() < 2) delay(10) }
+
+        assertNull(hub.subscribe("RES-3"))
+        assertEquals(2, hub.channelCount())
+
+        jobs.forEach { it.cancelAndJoin() }
+        assertEquals(0, hub.subscriberCount())
+        assertEquals(0, hub.channelCount())
+    }
+
+    @Test
+    fun `publish without subscribers is a no-op`() {
+        hub.publish(readModel.applyPaymentApproved("RES-1", "KE001", "PAY-1", 150000, 1_000))
+
+        assertEquals(0, hub.channelCount())
+    }
+}
@@ -0,0 +1,137 @@
+package com.airline.reservation.repository
+
+import com.airline.reservation.dto.ReservationStatus
+import com.airline.reservation.entity.Reservation
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import java.math.BigDecimal
+import java.time.LocalDateTime
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class ReservationRepositoryTest {
+
+    private lateinit var reservationRepository: ReservationRepository
+
+    @BeforeEach
+    fun setUp() {
+        reservationRepository = ReservationRepository()
+    }
+
+    @Test
+    fun `save moves reservation between status buckets on status transition`() {
+        val reservation = reservationRepository.save(reservation("RES-1", "KE001", "a@example.com"))
+
+        reservation.status = ReservationStatus.CONFIRMED
+        reservation.paymentId = "PAY-1"
+        reservationRepository.save(reservation)
+
+        assertTrue(reservationRepository.findByStatus(ReservationStatus.PENDING).isEmpty())
+        assertEquals(listOf("RES-1"), reservationRepository.findByStatus(ReservationStatus.CONFIRMED).map { it.reservationId })
+        assertEquals(listOf("RES-1"), reservationRepository.findByPaymentId("PAY-1").map { it.reservationId })
+    }
+
+    @Test
+    fun `deleteById removes reservation from every index`() {
+        reservationRepository.save(reservation("RES-1", "KE001", "a@example.com"))
+        reservationRepository.save(reservation("RES-2", "KE001", "b@example.com"))
+
+        reservationRepository.deleteById("RES-1")
+
+        assertEquals(listOf("RES-2"), reservationRepository.findByFlightId("KE001").map { it.reservationId })
+        assertTrue(reservationRepository.findByPassengerEmail("a@example.com").isEmpty())
+        assertEquals(1, reservationRepository.findByStatus(ReservationStatus.PENDING).size)
+    }
+
+    @Test
+    fun `concurrent saves keep indexes consistent with stored reservations`() {
+        val executor = Executors.newFixedThreadPool(8)
+        repeat(1_000) { index ->
+            executor.submit {
+                val reservation = reservation("RES-$index", "KE00${index % 5}", "p$index@example.com")
+                reservationRepository.save(reservation)
+                reservation.status = if (index % 2 == 0) ReservationStatus.CONFIRMED else ReservationStatus.FAILED
+                reservationRepository.save(reservation)
+            }
+        }
+        executor.shutdown()
+        executor.awaitTermination(10, TimeUnit.SECONDS)
+
+        assertEquals(500, reservationRepository.findByStatus(ReservationStatus.CONFIRMED).size)
+        assertEquals(500, reservationRepository.findByStatus(ReservationStatus.FAILED).size)
+        assertTrue(reservationRepository.findByStatus(ReservationStatus.PENDING).isEmpty())
+        assertEquals(200, reservationRepository.findByFlightId("KE001").size)
+    }
+
+    @Test
+    fun `archiveTerminalBefore moves old terminal reservations out of hot store and findById falls through`() {
+        val old = reservation("RES-1", "KE001", "a@example.com", LocalDateTime.now().minusDays(10))
+        old.status = ReservationStatus.CANCELLED
+        reservationRepository.save(old)
+        reservationRepository.save(reservation("RES-2", "KE001", "b@example.com", LocalDateTime.now().minusDays(10)))
+        val recent = reservation("RES-3", "KE001", "c@example.com")
+        recent.status = ReservationStatus.CANCELLED
+        reservationRepository.save(recent)
+        val oldConfirmed = reservation("RES-4", "KE001", "d@example.com", LocalDateTime.now().minusDays(10))
+        oldConfirmed.status = ReservationStatus.CONFIRMED
+        reservationRepository.save(oldConfirmed)
+
+        val archived = reservationRepository.archiveTerminalBefore(LocalDateTime.now().minusDays(3))
+
+        assertEquals(1, archived)
+        assertEquals(3, reservationRepository.count())
+        assertEquals(listOf("RES-3"), reservationRepository.findByStatus(ReservationStatus.CANCELLED).map { it.reservationId })
+        assertEquals(listOf("RES-4"), reservationRepository.findByStatus(ReservationStatus.CONFIRMED).map { it.reservationId })
+        assertTrue(reservationRepository.findByFlightId("KE001").any { it.reservationId == "RES-4" })
+        assertEquals(ReservationStatus.CANCELLED, reservationRepository.findById("RES-1")?.status)
+        assertTrue(reservationRepository.existsById("RES-1"))
+
+        reservationRepository.deleteById("RES-1")
+        assertNull(reservationRepository.findById("RES-1"))
+    }
+
+    @Test
+    fun `query pages newest first with cursor and applies filters`() {
+        val base = LocalDateTime.of(2025, 1, 1, 0, 0)
+        repeat(5) { index ->
+            reservationRepository.save(reservation("RES-$index", "KE001", "p$index@example.com", base.plusHours(index.toLong())))
+        }
+        reservationRepository.save(reservation("RES-OTHER", "OZ456", "o@example.com", base.plusHours(10)))
+
+        val firstPage = reservationRepository.query(ReservationCriteria(flightId = "KE001"), null, 2)
+        val secondPage = reservationRepository.query(
+            ReservationCriteria(flightId = "KE001"), ReservationSortKey.of(firstPage.last()), 2
+        )
+        val ranged = reservationRepository.query(
+            ReservationCriteria(createdFrom = base.plusHours(1), createdTo = base.plusHours(3)), null, 10
+        )
+
+        assertEquals(listOf("RES-4", "RES-3"), firstPage.map { it.reservationId })
+        assertEquals(listOf("RES-2", "RES-1"), secondPage.map { it.reservationId })
+        assertEquals(listOf("RES-3", "RES-2", "RES-1"), ranged.map { it.reservationId })
+    }
+
+    private fun reservation(
+        reservationId: String,
+        flightId: String,
+        email: String,
+        createdAt: LocalDateTime = LocalDateTime.now()
+    ) = Reservation(
+        reservationId = reservationId,
+        status = ReservationStatus.PENDING,
+        flightId = flightId,
+        passengerName = "승객",
+        passengerEmail = email,
+        passengerPhone = null,
+        passportNumber = null,
+        paymentId = null,
+        ticketId = null,
+        totalAmount = BigDecimal("100000"),
+        seatNumber = null,
+        createdAt = createdAt,
+        message = "예약 대기"
+    )
+}
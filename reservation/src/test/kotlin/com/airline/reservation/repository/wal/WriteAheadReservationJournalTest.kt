@@ -0,0 +1,99 @@
+package com.airline.reservation.repository.wal
+
+import com.airline.reservation.dto.ReservationStatus
+import com.airline.reservation.entity.Reservation
+import com.airline.reservation.repository.ReservationRepository
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import java.math.BigDecimal
+import java.nio.file.Path
+import java.time.LocalDateTime
+
+class WriteAheadReservationJournalTest {
+
+    @TempDir
+    lateinit var directory: Path
+
+    @Test
+    fun `recover restores snapshot and replays log tail`() {
+        val journal = journal()
+        val repository = ReservationRepository(journal)
+        repository.save(reservation("RES-1"))
+        repository.save(reservation("RES-2"))
+        journal.snapshot { repository.findAll() }
+
+        val updated = repository.findById("RES-1")!!
+        updated.status = ReservationStatus.CONFIRMED
+        updated.paymentId = "PAY-1"
+        repository.save(updated)
+        repository.deleteById("RES-2")
+        repository.save(reservation("RES-3"))
+        journal.close()
+
+        val recoveredJournal = journal()
+        val recovered = ReservationRepository(recoveredJournal)
+        recoveredJournal.recover(recovered::restore, recovered::restoreDelete, recovered::restoreClear)
+        recoveredJournal.close()
+
+        assertEquals(2, recovered.count())
+        assertEquals(ReservationStatus.CONFIRMED, recovered.findById("RES-1")?.status)
+        assertEquals(BigDecimal("150000.50"), recovered.findById("RES-1")?.totalAmount)
+        assertEquals(listOf("RES-1"), recovered.findByPaymentId("PAY-1").map { it.reservationId })
+        assertNull(recovered.findById("RES-2"))
+        assertEquals(ReservationStatus.PENDING, recovered.findById("RES-3")?.status)
+    }
+
+    @Test
+    fun `recover replays log across segment rollover without snapshot`() {
+        val journal = WriteAheadReservationJournal(directory, segmentSize = 1024, syncOnWrite = true)
+        val repository = ReservationRepository(journal)
+        repeat(50) { repository.save(reservation("RES-$it")) }
+        journal.close()
+
+        val recoveredJournal = journal()
+        val recovered = ReservationRepository(recoveredJournal)
+        recoveredJournal.recover(recovered::restore, recovered::restoreDelete, recovered::restoreClear)
+        recoveredJournal.close()
+
+        assertEquals(50, recovered.count())
+    }
+
+    @Test
+    fun `acknowledged writes survive snapshots taken concurrently`() {
+        val journal = WriteAheadReservationJournal(directory, segmentSize = 4096, syncOnWrite = true)
+        val repository = ReservationRepository(journal)
+        val writers = (0 until 4).map { writer ->
+            Thread { repeat(200) { repository.save(reservation("RES-$writer-$it")) } }.apply { start() }
+        }
+        while (writers.any { it.isAlive }) journal.snapshot { repository.findAll() }
+        writers.forEach { it.join() }
+        journal.close()
+
+        val recoveredJournal = journal()
+        val recovered = ReservationRepository(recoveredJournal)
+        recoveredJournal.recover(recovered::restore, recovered::restoreDelete, recovered::restoreClear)
+        recoveredJournal.close()
+
+        assertEquals(800, recovered.count())
+    }
+
+    private fun journal() = WriteAheadReservationJournal(directory, segmentSize = 1024 * 1024, syncOnWrite = true)
+
+    private fun reservation(reservationId: String) = Reservation(
+        reservationId = reservationId,
+        status = ReservationStatus.PENDING,
+        flightId = "KE001",
+        passengerName = "승객",
+        passengerEmail = "$reservationId@example.com",
+        passengerPhone = "010-0000-0000",
+        passportNumber = null,
+        paymentId = null,
+        ticketId = null,
+        totalAmount = BigDecimal("150000.50"),
+        seatNumber = null,
+        createdAt = LocalDateTime.now(),
+        message = "예약 대기"
+    )
+}
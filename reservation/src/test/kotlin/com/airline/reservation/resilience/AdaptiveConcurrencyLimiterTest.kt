@@ -0,0 +1,52 @@
+package com.airline.reservation.resilience
+
+import com.airline.reservation.config.ReservationConfig
+import com.airline.reservation.exception.DownstreamOverloadedException
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    fun `execute rejects immediately when limit is reached and queue wait is exhausted`() {
+        val limiter = AdaptiveConcurrencyLimiter(
+            "payment-service",
+            ReservationConfig.ConcurrencyLimitConfig(initialLimit = 1, minLimit = 1, maxQueueWaitMs = 0)
+        )
+
+        val exception = assertThrows(DownstreamOverloadedException::class.java) {
+            limiter.execute { limiter.execute { } }
+        }
+
+        assertEquals("payment-service", exception.downstream)
+        val snapshot = limiter.snapshot()
+        assertEquals(1, snapshot.rejected)
+        assertEquals(0, snapshot.inFlight)
+    }
+
+    @Test
+    fun `execute grows limit while latency stays at baseline under full utilisation`() {
+        val limiter = AdaptiveConcurrencyLimiter(
+            "flight-service",
+            ReservationConfig.ConcurrencyLimitConfig(initialLimit = 1, minLimit = 1, maxLimit = 50)
+        )
+
+        repeat(100) { limiter.execute { Thread.sleep(1) } }
+
+        assertTrue(limiter.snapshot().limit > 1)
+    }
+
+    @Test
+    fun `execute does not limit calls when disabled`() {
+        val limiter = AdaptiveConcurrencyLimiter(
+            "ticket-service",
+            ReservationConfig.ConcurrencyLimitConfig(enabled = false, initialLimit = 1, minLimit = 1, maxQueueWaitMs = 0)
+        )
+
+        val result = limiter.execute { limiter.execute { "nested" } }
+
+        assertEquals("nested", result)
+    }
+}
@@ -0,0 +1,25 @@
+package com.airline.reservation.resilience
+
+import com.airline.reservation.config.ReservationConfig
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Test
+
+class DownstreamConcurrencyLimitersTest {
+
+    @Test
+    fun `each downstream uses its own limits and falls back to shared defaults`() {
+        val config = ReservationConfig(
+            concurrencyLimit = ReservationConfig.ConcurrencyLimitConfig(
+                initialLimit = 20,
+                payment = ReservationConfig.DownstreamLimitConfig(initialLimit = 5, maxLimit = 10),
+                ticket = ReservationConfig.DownstreamLimitConfig(initialLimit = 50)
+            )
+        )
+
+        val limiters = DownstreamConcurrencyLimiters(config)
+
+        assertEquals(20, limiters.flight.snapshot().limit)
+        assertEquals(5, limiters.payment.snapshot().limit)
+        assertEquals(50, limiters.ticket.snapshot().limit)
+    }
+}
@@ -0,0 +1,74 @@
+package com.airline.reservation.resilience
+
+import com.airline.reservation.config.ReservationConfig
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Test
+import java.util.concurrent.atomic.AtomicInteger
+
+class RequestHedgerTest {
+
+    private var requestHedger: RequestHedger? = null
+
+    @AfterEach
+    fun tearDown() {
+        requestHedger?.destroy()
+    }
+
+    @Test
+    fun `execute sends hedge after percentile delay and returns the faster response`() {
+        val hedger = hedger(budgetPercent = 100.0)
+        val invocations = AtomicInteger(0)
+        val call = {
+            if (invocations.incrementAndGet() == WARMUP_CALLS + 1) {
+                Thread.sleep(1_000)
+                "slow"
+            } else {
+                "fast"
+            }
+        }
+
+        repeat(WARMUP_CALLS) { hedger.execute("flight.getFlightById", call) }
+        val result = hedger.execute("flight.getFlightById", call)
+
+        assertEquals("fast", result)
+        assertEquals(1L, hedger.getStatistics()["hedgedRequests"])
+    }
+
+    @Test
+    fun `execute waits for primary when hedge budget is exhausted`() {
+        val hedger = hedger(budgetPercent = 0.0)
+        val invocations = AtomicInteger(0)
+        val call = {
+            if (invocations.incrementAndGet() == WARMUP_CALLS + 1) {
+                Thread.sleep(50)
+                "slow"
+            } else {
+                "fast"
+            }
+        }
+
+        repeat(WARMUP_CALLS) { hedger.execute("flight.checkAvailability", call) }
+        val result = hedger.execute("flight.checkAvailability", call)
+
+        assertEquals("slow", result)
+        assertEquals(0L, hedger.getStatistics()["hedgedRequests"])
+        assertEquals(1L, hedger.getStatistics()["budgetExhausted"])
+    }
+
+    private fun hedger(budgetPercent: Double): RequestHedger {
+        val config = ReservationConfig(
+            hedging = ReservationConfig.HedgingConfig(
+                minSamples = WARMUP_CALLS.toLong(),
+                minDelayMs = 5,
+                budgetPercent = budgetPercent,
+                maxThreads = 4
+            )
+        )
+        return RequestHedger(config).also { requestHedger = it }
+    }
+
+    companion object {
+        private const val WARMUP_CALLS = 20
+    }
+}
@@ -0,0 +1,220 @@
+package com.airline.reservation.service
+
+import arrow.core.Either
+import com.airline.reservation.client.CoalescingFlightClient
+import com.airline.reservation.client.FlightClient
+import com.airline.reservation.client.HedgingFlightClient
+import com.airline.reservation.client.PaymentClient
+import com.airline.reservation.client.TicketClient
+import com.airline.reservation.config.ReservationConfig
+import com.airline.reservation.dto.PassengerInfo
+import com.airline.reservation.dto.ReservationRequest
+import com.airline.reservation.dto.ReservationStatus
+import com.airline.reservation.dto.external.*
+import com.airline.reservation.mapper.ReservationMapper
+import com.airline.reservation.repository.ReservationRepository
+import com.airline.reservation.resilience.RequestHedger
+import com.airline.reservation.waitlist.ReservationWaitlist
+import feign.FeignException
+import feign.Request
+import feign.Response
+import kotlinx.coroutines.runBlocking
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertNotNull
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.mockito.Mockito
+import org.mockito.kotlin.any
+import org.mockito.kotlin.eq
+import org.mockito.kotlin.never
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+import java.math.BigDecimal
+import java.time.LocalDateTime
+
+class ReservationBatchServiceTest {
+
+    private lateinit var flightClient: FlightClient
+    private lateinit var paymentClient: PaymentClient
+    private lateinit var ticketClient: TicketClient
+    private lateinit var reservationRepository: ReservationRepository
+
+    private lateinit var reservationBatchService: ReservationBatchService
+
+    @BeforeEach
+    fun setUp() {
+        flightClient = Mockito.mock(FlightClient::class.java)
+        paymentClient = Mockito.mock(PaymentClient::class.java)
+        ticketClient = Mockito.mock(TicketClient::class.java)
+        reservationRepository = ReservationRepository()
+
+        val reservationConfig = ReservationConfig()
+        val hedgingFlightClient = HedgingFlightClient(flightClient, RequestHedger(reservationConfig))
+        reservationBatchService = ReservationBatchService(
+            flightClient,
+            CoalescingFlightClient(hedgingFlightClient, reservationConfig),
+            hedgingFlightClient,
+            paymentClient,
+            ticketClient,
+            reservationRepository,
+            ReservationMapper(),
+            reservationConfig,
+            ReservationWaitlist(reservationConfig)
+        )
+
+        whenever(flightClient.getFlightById("KE001")).thenReturn(flight("KE001"))
+        whenever(paymentClient.processPayment(any())).thenAnswer { invocation ->
+            val request = invocation.getArgument<PaymentRequest>(0)
+            if (request.customerInfo.email.startsWith("declined")) {
+                throw feignError(402)
+            }
+            if (request.customerInfo.email.startsWith("unavailable")) {
+                throw feignError(503)
+            }
+            PaymentResponse(
+                paymentId = "PAY-${request.reservationId}",
+                status = PaymentStatus.SUCCESS,
+                amount = request.amount,
+                reservationId = request.reservationId,
+                processedAt = LocalDateTime.now(),
+                message = "approved"
+            )
+        }
+        whenever(ticketClient.issueTickets(any())).thenAnswer { invocation ->
+            invocation.getArgument<List<TicketRequest>>(0).mapIndexed { index, request ->
+                TicketResponse(
+                    ticketId = "TKT-$index",
+                    status = TicketStatus.ISSUED,
+                    reservationId = request.reservationId,
+                    paymentId = request.paymentId,
+                    flightId = request.flightId,
+                    passengerInfo = request.passengerInfo,
+                    seatNumber = "${index + 1}A",
+                    issuedAt = LocalDateTime.now(),
+                    message = "issued"
+                )
+            }
+        }
+    }
+
+    @Test
+    fun `createReservations claims seats once per flight and issues tickets in one call`(): Unit = runBlocking {
+        whenever(flightClient.checkAvailability(eq("KE001"), any()))
+            .thenReturn(AvailabilityResponse(true, "KE001", 100, "available"))
+
+        val result = reservationBatchService.createReservations(List(3) { request("passenger$it@example.com") })
+
+        assertTrue(result is Either.Right)
+        val response = (result as Either.Right).value
+        assertEquals(3, response.successCount)
+        assertTrue(response.results.all { it.reservation?.status == ReservationStatus.CONFIRMED })
+
+        verify(flightClient, times(1)).checkAvailability(eq("KE001"), eq(AvailabilityRequest("KE001", 3)))
+        verify(flightClient, times(1)).reserveSeats(eq("KE001"), eq(AvailabilityRequest("KE001", 3)))
+        verify(ticketClient, times(1)).issueTickets(any())
+        assertEquals(3, reservationRepository.findByStatus(ReservationStatus.CONFIRMED).size)
+    }
+
+    @Test
+    fun `createReservations reports per-item failures and releases unused seats`(): Unit = runBlocking {
+        whenever(flightClient.checkAvailability(eq("KE001"), any()))
+            .thenReturn(AvailabilityResponse(false, "KE001", 2, "only 2 seats left"))
+
+        val requests = listOf(
+            request("ok@example.com"),
+            request("declined@example.com"),
+            request("late@example.com")
+        )
+
+        val result = reservationBatchService.createReservations(requests)
+
+        val response = (result as Either.Right).value
+        assertEquals(1, response.successCount)
+        assertEquals(2, response.failureCount)
+        verify(flightClient).reserveSeats(eq("KE001"), eq(AvailabilityRequest("KE001", 2)))
+        verify(flightClient).releaseSeats(eq("KE001"), eq(AvailabilityRequest("KE001", 1)))
+        verify(paymentClient, never()).cancelPayment(any())
+        verify(paymentClient, never()).cancelPaymentsByReservation(any())
+
+        assertTrue(response.results[0].success)
+        assertFalse(response.results[1].success)
+        assertFalse(response.results[2].success)
+        assertTrue(response.results[2].soldOut)
+        assertNotNull(response.results[2].waitlistId)
+    }
+
+    @Test
+    fun `createReservations cancels by reservation when the payment outcome is unknown`(): Unit = runBlocking {
+        whenever(flightClient.checkAvailability(eq("KE001"), any()))
+            .thenReturn(AvailabilityResponse(true, "KE001", 100, "available"))
+
+        val result = reservationBatchService.createReservations(
+            listOf(request("ok@example.com"), request("unavailable@example.com"))
+        )
+
+        val response = (result as Either.Right).value
+        assertEquals(1, response.successCount)
+        val failedReservationId = response.results[1].reservation!!.reservationId
+        verify(paymentClient).cancelPaymentsByReservation(failedReservationId)
+        verify(paymentClient, never()).cancelPayment(any())
+        verify(flightClient).releaseSeats(eq("KE001"), eq(AvailabilityRequest("KE001", 1)))
+    }
+
+    @Test
+    fun `createReservations cancels tickets and payments when the ticket batch call fails`(): Unit = runBlocking {
+        whenever(flightClient.checkAvailability(eq("KE001"), any()))
+            .thenReturn(AvailabilityResponse(true, "KE001", 100, "available"))
+        whenever(ticketClient.issueTickets(any())).thenThrow(IllegalStateException("read timed out"))
+
+        val result = reservationBatchService.createReservations(List(2) { request("passenger$it@example.com") })
+
+        val response = (result as Either.Right).value
+        assertEquals(0, response.successCount)
+        val reservationIds = response.results.map { it.reservation!!.reservationId }
+        verify(ticketClient).cancelTicketsByReservations(reservationIds)
+        reservationIds.forEach { verify(paymentClient).cancelPayment("PAY-$it") }
+        verify(flightClient).releaseSeats(eq("KE001"), eq(AvailabilityRequest("KE001", 2)))
+    }
+
+    @Test
+    fun `createReservations rejects empty batch`(): Unit = runBlocking {
+        val result = reservationBatchService.createReservations(emptyList())
+
+        assertTrue(result is Either.Left)
+    }
+
+    private fun request(email: String) = ReservationRequest(
+        flightId = "KE001",
+        passengerInfo = PassengerInfo(
+            name = "단체 승객",
+            email = email,
+            phone = "010-0000-0000"
+        ),
+        seatPreference = null,
+        paymentMethod = "CARD"
+    )
+
+    private fun feignError(status: Int) = FeignException.errorStatus(
+        "PaymentClient#processPayment",
+        Response.builder()
+            .status(status)
+            .request(Request.create(Request.HttpMethod.POST, "/v1/payments", emptyMap(), null, Charsets.UTF_8, null))
+            .headers(emptyMap())
+            .build()
+    )
+
+    private fun flight(flightId: String) = FlightDto(
+        flightId = flightId,
+        airline = "Korean Air",
+        departure = "ICN",
+        arrival = "NRT",
+        departureTime = LocalDateTime.now().plusDays(1),
+        arrivalTime = LocalDateTime.now().plusDays(1).plusHours(2),
+        price = BigDecimal("150000"),
+        availableSeats = 100,
+        aircraft = "B737"
+    )
+}
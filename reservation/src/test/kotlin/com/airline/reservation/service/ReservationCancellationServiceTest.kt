@@ -0,0 +1,181 @@
+package com.airline.reservation.service
+
+import arrow.core.Either
+import com.airline.reservation.client.CoalescingFlightClient
+import com.airline.reservation.client.FlightClient
+import com.airline.reservation.client.HedgingFlightClient
+import com.airline.reservation.client.PaymentClient
+import com.airline.reservation.client.TicketClient
+import com.airline.reservation.config.ReservationConfig
+import com.airline.reservation.dto.CancellationStep
+import com.airline.reservation.dto.CancellationStepOutcome
+import com.airline.reservation.dto.ReservationStatus
+import com.airline.reservation.dto.external.AvailabilityRequest
+import com.airline.reservation.entity.Reservation
+import com.airline.reservation.mapper.ReservationMapper
+import com.airline.reservation.repository.ReservationRepository
+import com.airline.reservation.resilience.RequestHedger
+import feign.FeignException
+import feign.Request
+import kotlinx.coroutines.runBlocking
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.mockito.Mockito
+import org.mockito.kotlin.any
+import org.mockito.kotlin.eq
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+import java.math.BigDecimal
+import java.time.LocalDateTime
+
+class ReservationCancellationServiceTest {
+
+    private lateinit var flightClient: FlightClient
+    private lateinit var paymentClient: PaymentClient
+    private lateinit var ticketClient: TicketClient
+    private lateinit var reservationRepository: ReservationRepository
+
+    private lateinit var reservationCancellationService: ReservationCancellationService
+
+    private val reservationConfig = ReservationConfig(
+        cancellation = ReservationConfig.CancellationConfig(maxAttempts = 2, initialBackoffMs = 1)
+    )
+
+    @BeforeEach
+    fun setUp() {
+        flightClient = Mockito.mock(FlightClient::class.java)
+        paymentClient = Mockito.mock(PaymentClient::class.java)
+        ticketClient = Mockito.mock(TicketClient::class.java)
+        reservationRepository = ReservationRepository()
+        reservationCancellationService = cancellationService()
+    }
+
+    private fun cancellationService() = ReservationCancellationService(
+        flightClient,
+        CoalescingFlightClient(HedgingFlightClient(flightClient, RequestHedger(reservationConfig)), reservationConfig),
+        paymentClient,
+        ticketClient,
+        reservationRepository,
+        ReservationMapper(),
+        reservationConfig
+    )
+
+    @Test
+    fun `cancel runs all compensations and treats already cancelled payment as done`(): Unit = runBlocking {
+        reservationRepository.save(reservation("RES-1", "KE001"))
+        whenever(paymentClient.cancelPayment("PAY-RES-1")).thenThrow(conflict())
+
+        val result = reservationCancellationService.cancel("RES-1")
+
+        val response = (result as Either.Right).value
+        assertTrue(response.completed)
+        assertEquals(ReservationStatus.CANCELLED, response.reservation.status)
+        assertEquals(3, response.steps.size)
+        assertTrue(response.steps.all { it.outcome == CancellationStepOutcome.COMPLETED })
+        verify(flightClient).releaseSeats(eq("KE001"), eq(AvailabilityRequest("KE001", 1)))
+        verify(ticketClient).cancelTicket("TKT-RES-1")
+    }
+
+    @Test
+    fun `retried cancel resumes only the failed step`(): Unit = runBlocking {
+        reservationRepository.save(reservation("RES-1", "KE001"))
+        whenever(ticketClient.cancelTicket("TKT-RES-1"))
+            .thenThrow(IllegalStateException("ticket service down"))
+            .thenThrow(IllegalStateException("ticket service down"))
+            .thenReturn(null)
+
+        val first = (reservationCancellationService.cancel("RES-1") as Either.Right).value
+        assertFalse(first.completed)
+        assertEquals(ReservationStatus.CANCELLING, reservationRepository.findById("RES-1")?.status)
+        val failed = first.steps.single { it.step == CancellationStep.TICKET_CANCEL }
+        assertEquals(CancellationStepOutcome.FAILED, failed.outcome)
+        assertEquals(2, failed.attempts)
+
+        val second = (reservationCancellationService.cancel("RES-1") as Either.Right).value
+        assertTrue(second.completed)
+        assertEquals(
+            CancellationStepOutcome.ALREADY_COMPLETED,
+            second.steps.single { it.step == CancellationStep.SEAT_RELEASE }.outcome
+        )
+        verify(flightClient, times(1)).releaseSeats(any(), any())
+        verify(paymentClient, times(1)).cancelPayment(any())
+        assertEquals(ReservationStatus.CANCELLED, reservationRepository.findById("RES-1")?.status)
+    }
+
+    @Test
+    fun `completed steps are stored with the reservation and survive a restart`(): Unit = runBlocking {
+        reservationRepository.save(reservation("RES-1", "KE001"))
+        whenever(ticketClient.cancelTicket("TKT-RES-1"))
+            .thenThrow(IllegalStateException("ticket service down"))
+            .thenThrow(IllegalStateException("ticket service down"))
+            .thenReturn(null)
+        reservationCancellationService.cancel("RES-1")
+        assertEquals(
+            setOf(CancellationStep.SEAT_RELEASE, CancellationStep.PAYMENT_CANCEL),
+            reservationRepository.findById("RES-1")?.cancellationSteps
+        )
+
+        val restarted = cancellationService()
+        val resumed = (restarted.cancel("RES-1") as Either.Right).value
+
+        assertTrue(resumed.completed)
+        verify(flightClient, times(1)).releaseSeats(any(), any())
+        verify(paymentClient, times(1)).cancelPayment(any())
+    }
+
+    @Test
+    fun `cancel is idempotent for cancelled reservations`(): Unit = runBlocking {
+        reservationRepository.save(reservation("RES-1", "KE001"))
+        reservationCancellationService.cancel("RES-1")
+
+        val again = (reservationCancellationService.cancel("RES-1") as Either.Right).value
+
+        assertTrue(again.completed)
+        assertTrue(again.steps.isEmpty())
+        verify(flightClient, times(1)).releaseSeats(any(), any())
+    }
+
+    @Test
+    fun `cancelFlight releases seats once for the whole flight`(): Unit = runBlocking {
+        (1..5).forEach { reservationRepository.save(reservation("RES-$it", "KE001")) }
+        reservationRepository.save(reservation("RES-OTHER", "OZ456"))
+
+        val result = reservationCancellationService.cancelFlight("KE001")
+
+        val response = (result as Either.Right).value
+        assertEquals(5, response.totalCount)
+        assertEquals(5, response.cancelledCount)
+        assertEquals(5, response.seatsReleased)
+        assertTrue(response.pendingReservationIds.isEmpty())
+        verify(flightClient, times(1)).releaseSeats(eq("KE001"), eq(AvailabilityRequest("KE001", 5)))
+        verify(paymentClient, times(5)).cancelPayment(any())
+        assertEquals(ReservationStatus.CONFIRMED, reservationRepository.findById("RES-OTHER")?.status)
+    }
+
+    private fun conflict() = FeignException.Conflict(
+        "already cancelled",
+        Request.create(Request.HttpMethod.POST, "/v1/payments/cancel", emptyMap(), null, Charsets.UTF_8, null),
+        null,
+        emptyMap()
+    )
+
+    private fun reservation(reservationId: String, flightId: String) = Reservation(
+        reservationId = reservationId,
+        status = ReservationStatus.CONFIRMED,
+        flightId = flightId,
+        passengerName = "승객",
+        passengerEmail = "passenger@example.com",
+        passengerPhone = null,
+        passportNumber = null,
+        paymentId = "PAY-$reservationId",
+        ticketId = "TKT-$reservationId",
+        totalAmount = BigDecimal("100000"),
+        seatNumber = "12A",
+        createdAt = LocalDateTime.now(),
+        message = "예약 확정"
+    )
+}
@@ -0,0 +1,131 @@
+package com.airline.reservation.service
+
+import com.airline.reservation.common.DomainError
+import com.airline.reservation.dto.ReservationPageResponse
+import com.airline.reservation.dto.ReservationResponse
+import com.airline.reservation.dto.ReservationStatus
+import com.airline.reservation.entity.Reservation
+import com.airline.reservation.mapper.ReservationMapper
+import com.airline.reservation.repository.ReservationCriteria
+import com.airline.reservation.repository.ReservationRepository
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import java.math.BigDecimal
+import java.time.LocalDateTime
+
+class ReservationQueryServiceTest {
+
+    private val repository = ReservationRepository()
+    private val service = ReservationQueryService(repository, ReservationMapper())
+    private val base = LocalDateTime.of(2026, 1, 1, 0, 0)
+
+    @Test
+    fun `cursor pages walk every reservation newest first without duplicates`() {
+        repeat(7) { repository.save(reservation("RES-$it", createdAt = base.plusMinutes(it.toLong()))) }
+
+        val ids = pages(ReservationCriteria(), limit = 3).flatMap { page -> page.items.map { (it as ReservationResponse).reservationId } }
+
+        assertEquals((6 downTo 0).map { "RES-$it" }, ids)
+    }
+
+    @Test
+    fun `reservations created while paging do not shift later pages`() {
+        repeat(4) { repository.save(reservation("RES-$it", createdAt = base.plusMinutes(it.toLong()))) }
+
+        val first = page(ReservationCriteria(flightId = "KE001"), cursor = null, limit = 2)
+        repository.save(reservation("RES-NEW", createdAt = base.plusHours(1)))
+        val second = page(ReservationCriteria(flightId = "KE001"), cursor = first.nextCursor, limit = 2)
+
+        assertEquals(listOf("RES-3", "RES-2"), first.items.map { (it as ReservationResponse).reservationId })
+        assertEquals(listOf("RES-1", "RES-0"), second.items.map { (it as ReservationResponse).reservationId })
+    }
+
+    @Test
+    fun `filters combine across index buckets and the date range`() {
+        repository.save(reservation("RES-1", createdAt = base, flightId = "KE001", email = "a@example.com"))
+        repository.save(reservation("RES-2", createdAt = base.plusDays(1), flightId = "KE001", email = "a@example.com"))
+        repository.save(reservation("RES-3", createdAt = base.plusDays(2), flightId = "KE001", email = "b@example.com"))
+        repository.save(reservation("RES-4", createdAt = base.plusDays(3), flightId = "KE002", email = "a@example.com"))
+        repository.save(
+            reservation("RES-5", createdAt = base.plusDays(4), flightId = "KE001", email = "a@example.com", status = ReservationStatus.CONFIRMED)
+        )
+
+        fun ids(criteria: ReservationCriteria) =
+            pages(criteria, limit = 1).flatMap { page -> page.items.map { (it as ReservationResponse).reservationId } }
+
+        assertEquals(listOf("RES-5", "RES-2", "RES-1"), ids(ReservationCriteria(flightId = "KE001", passengerEmail = "a@example.com")))
+        assertEquals(listOf("RES-3", "RES-2", "RES-1"), ids(ReservationCriteria(flightId = "KE001", status = ReservationStatus.PENDING)))
+        assertEquals(
+            listOf("RES-4", "RES-2"),
+            ids(ReservationCriteria(passengerEmail = "a@example.com", createdFrom = base.plusDays(1), createdTo = base.plusDays(3)))
+        )
+        assertEquals(listOf("RES-5"), ids(ReservationCriteria(status = ReservationStatus.CONFIRMED)))
+        assertEquals(emptyList<String>(), ids(ReservationCriteria(flightId = "KE999")))
+    }
+
+    @Test
+    fun `status changes move reservations between filtered pages`() {
+        val reservation = reservation("RES-1", createdAt = base)
+        repository.save(reservation)
+        repository.save(reservation.copy(status = ReservationStatus.CONFIRMED))
+
+        assertEquals(0, page(ReservationCriteria(status = ReservationStatus.PENDING), cursor = null, limit = 10).size)
+        assertEquals(1, page(ReservationCriteria(status = ReservationStatus.CONFIRMED), cursor = null, limit = 10).size)
+    }
+
+    @Test
+    fun `projection returns only requested fields`() {
+        repository.save(reservation("RES-1", createdAt = base))
+
+        val item = page(ReservationCriteria(), cursor = null, limit = 10, fields = "reservationId,status").items.single()
+
+        assertEquals(mapOf("reservationId" to "RES-1", "status" to ReservationStatus.PENDING), item)
+    }
+
+    @Test
+    fun `invalid requests are rejected as validation errors`() {
+        assertTrue(service.findReservations(ReservationCriteria(), "not-a-cursor", null, null).leftOrNull() is DomainError.ValidationError)
+        assertTrue(service.findReservations(ReservationCriteria(), null, 0, null).leftOrNull() is DomainError.ValidationError)
+        assertTrue(service.findReservations(ReservationCriteria(), null, null, "unknown").leftOrNull() is DomainError.ValidationError)
+        assertTrue(
+            service.findReservations(ReservationCriteria(createdFrom = base.plusDays(1), createdTo = base), null, null, null)
+                .leftOrNull() is DomainError.ValidationError
+        )
+    }
+
+    private fun pages(criteria: ReservationCriteria, limit: Int): List<ReservationPageResponse> {
+        val pages = mutableListOf(page(criteria, cursor = null, limit = limit))
+        while (pages.last().nextCursor != null) {
+            pages += page(criteria, cursor = pages.last().nextCursor, limit = limit)
+        }
+        assertNull(pages.last().nextCursor)
+        return pages
+    }
+
+    private fun page(criteria: ReservationCriteria, cursor: String?, limit: Int, fields: String? = null): ReservationPageResponse =
+        service.findReservations(criteria, cursor, limit, fields).getOrNull()!!
+
+    private fun reservation(
+        reservationId: String,
+        createdAt: LocalDateTime,
+        flightId: String = "KE001",
+        email: String = "passenger@example.com",
+        status: ReservationStatus = ReservationStatus.PENDING
+    ) = Reservation(
+        reservationId = reservationId,
+        status = status,
+        flightId = flightId,
+        passengerName = "승객",
+        passengerEmail = email,
+        passengerPhone = null,
+        passportNumber = null,
+        paymentId = null,
+        ticketId = null,
+        totalAmount = BigDecimal("150000"),
+        seatNumber = null,
+        createdAt = createdAt,
+        message = "예약 대기"
+    )
+}
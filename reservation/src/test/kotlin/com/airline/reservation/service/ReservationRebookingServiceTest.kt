@@ -0,0 +1,183 @@
+package com.airline.reservation.service
+
+import arrow.core.Either
+import com.airline.reservation.client.CoalescingFlightClient
+import com.airline.reservation.client.FlightClient
+import com.airline.reservation.client.HedgingFlightClient
+import com.airline.reservation.client.TicketClient
+import com.airline.reservation.config.ReservationConfig
+import com.airline.reservation.dto.ReservationStatus
+import com.airline.reservation.dto.external.AvailabilityRequest
+import com.airline.reservation.dto.external.FlightDto
+import com.airline.reservation.dto.external.TicketRequest
+import com.airline.reservation.dto.external.TicketResponse
+import com.airline.reservation.dto.external.TicketStatus
+import com.airline.reservation.entity.Reservation
+import com.airline.reservation.repository.ReservationRepository
+import com.airline.reservation.resilience.RequestHedger
+import kotlinx.coroutines.runBlocking
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.mockito.Mockito
+import org.mockito.kotlin.any
+import org.mockito.kotlin.never
+import org.mockito.kotlin.eq
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+import org.springframework.kafka.core.KafkaTemplate
+import java.math.BigDecimal
+import java.time.LocalDateTime
+
+class ReservationRebookingServiceTest {
+
+    private lateinit var kafkaTemplate: KafkaTemplate<String, String>
+    private lateinit var flightClient: FlightClient
+    private lateinit var ticketClient: TicketClient
+    private lateinit var reservationRepository: ReservationRepository
+
+    private lateinit var reservationRebookingService: ReservationRebookingService
+
+    private val departure = LocalDateTime.now().plusHours(3)
+
+    @BeforeEach
+    fun setUp() {
+        @Suppress("UNCHECKED_CAST")
+        kafkaTemplate = Mockito.mock(KafkaTemplate::class.java) as KafkaTemplate<String, String>
+        flightClient = Mockito.mock(FlightClient::class.java)
+        ticketClient = Mockito.mock(TicketClient::class.java)
+        reservationRepository = ReservationRepository()
+
+        val reservationConfig = ReservationConfig(
+            rebooking = ReservationConfig.RebookingConfig(eventBatchSize = 4)
+        )
+        reservationRebookingService = ReservationRebookingService(
+            kafkaTemplate,
+            flightClient,
+            CoalescingFlightClient(HedgingFlightClient(flightClient, RequestHedger(reservationConfig)), reservationConfig),
+            ticketClient,
+            reservationRepository,
+            reservationConfig
+        )
+
+        whenever(flightClient.getFlightById("KE001")).thenReturn(flight("KE001", departure, 0))
+        whenever(flightClient.searchFlights("ICN", "PUS")).thenReturn(
+            listOf(
+                flight("KE001", departure, 0),
+                flight("KE005", departure.plusHours(4), 100),
+                flight("KE003", departure.plusHours(1), 6),
+                flight("KE099", departure.plusDays(5), 300)
+            )
+        )
+        whenever(ticketClient.issueTickets(any())).thenAnswer { invocation ->
+            @Suppress("UNCHECKED_CAST")
+            (invocation.arguments[0] as List<TicketRequest>).map { ticket(it) }
+        }
+    }
+
+    @Test
+    fun `rebookFlight fills earliest alternatives in priority order with one seat claim per flight`(): Unit = runBlocking {
+        (1..10).forEach { reservationRepository.save(reservation("RES-$it", BigDecimal(100000 + it))) }
+
+        val result = reservationRebookingService.rebookFlight("KE001")
+
+        val response = (result as Either.Right).value
+        assertEquals(10, response.rebookedCount)
+        assertEquals(listOf("KE003" to 6, "KE005" to 4), response.allocations.map { it.flightId to it.seats })
+        assertTrue(response.unassignedReservationIds.isEmpty())
+
+        verify(flightClient, times(1)).reserveSeats(eq("KE003"), eq(AvailabilityRequest("KE003", 6)))
+        verify(flightClient, times(1)).reserveSeats(eq("KE005"), eq(AvailabilityRequest("KE005", 4)))
+        verify(kafkaTemplate, times(3)).send(eq("reservation.rebooked"), any(), any())
+
+        // 운임이 높은 예약이 가장 이른 대체 항공편을 배정받음
+        assertEquals("KE003", reservationRepository.findById("RES-10")?.flightId)
+        assertEquals("KE005", reservationRepository.findById("RES-1")?.flightId)
+        assertTrue(reservationRepository.findByFlightId("KE001").isEmpty())
+        assertEquals(4, reservationRepository.findByFlightId("KE005").size)
+    }
+
+    @Test
+    fun `rebookFlight reissues tickets on the new flight and cancels the original ones`(): Unit = runBlocking {
+        (1..3).forEach { reservationRepository.save(reservation("RES-$it", BigDecimal(100000))) }
+
+        reservationRebookingService.rebookFlight("KE001")
+
+        verify(ticketClient, times(1)).issueTickets(any())
+        val rebooked = reservationRepository.findById("RES-1")!!
+        assertEquals("TKT-KE003-RES-1", rebooked.ticketId)
+        assertEquals("1A", rebooked.seatNumber)
+        verify(ticketClient, times(1)).cancelTickets(listOf("TKT-RES-1", "TKT-RES-2", "TKT-RES-3"))
+        verify(ticketClient, never()).cancelTicket(any())
+    }
+
+    @Test
+    fun `rebookFlight restores reservations and releases claimed seats when publishing fails`(): Unit = runBlocking {
+        (1..3).forEach { reservationRepository.save(reservation("RES-$it", BigDecimal(100000))) }
+        whenever(kafkaTemplate.send(any<String>(), any<String>(), any<String>())).thenThrow(IllegalStateException("broker down"))
+
+        val result = reservationRebookingService.rebookFlight("KE001")
+
+        assertTrue(result.isLeft())
+        verify(flightClient).releaseSeats(eq("KE003"), eq(AvailabilityRequest("KE003", 3)))
+        verify(ticketClient, times(1)).cancelTickets(listOf("TKT-KE003-RES-1", "TKT-KE003-RES-2", "TKT-KE003-RES-3"))
+        verify(ticketClient, never()).cancelTicket(any())
+        assertEquals(3, reservationRepository.findByFlightId("KE001").size)
+        assertEquals("TKT-RES-1", reservationRepository.findById("RES-1")?.ticketId)
+    }
+
+    @Test
+    fun `rebookFlight leaves passengers without seats on the original flight`(): Unit = runBlocking {
+        whenever(flightClient.searchFlights("ICN", "PUS")).thenReturn(listOf(flight("KE003", departure.plusHours(1), 2)))
+        (1..3).forEach { reservationRepository.save(reservation("RES-$it", BigDecimal(100000))) }
+
+        val response = (reservationRebookingService.rebookFlight("KE001") as Either.Right).value
+
+        assertEquals(2, response.rebookedCount)
+        assertEquals(listOf("RES-3"), response.unassignedReservationIds)
+        assertEquals(ReservationStatus.CONFIRMED, reservationRepository.findById("RES-3")?.status)
+        assertEquals("KE001", reservationRepository.findById("RES-3")?.flightId)
+    }
+
+    private fun ticket(request: TicketRequest) = TicketResponse(
+        ticketId = "TKT-${request.flightId}-${request.reservationId}",
+        status = TicketStatus.ISSUED,
+        reservationId = request.reservationId,
+        paymentId = request.paymentId,
+        flightId = request.flightId,
+        passengerInfo = request.passengerInfo,
+        seatNumber = "1A",
+        issuedAt = LocalDateTime.now(),
+        message = "발급 완료"
+    )
+
+    private fun flight(flightId: String, departureTime: LocalDateTime, availableSeats: Int) = FlightDto(
+        flightId = flightId,
+        airline = "Korean Air",
+        departure = "ICN",
+        arrival = "PUS",
+        departureTime = departureTime,
+        arrivalTime = departureTime.plusHours(1),
+        price = BigDecimal("120000"),
+        availableSeats = availableSeats,
+        aircraft = "B737"
+    )
+
+    private fun reservation(reservationId: String, totalAmount: BigDecimal) = Reservation(
+        reservationId = reservationId,
+        status = ReservationStatus.CONFIRMED,
+        flightId = "KE001",
+        passengerName = "승객",
+        passengerEmail = "$reservationId@example.com",
+        passengerPhone = null,
+        passportNumber = null,
+        paymentId = "PAY-$reservationId",
+        ticketId = "TKT-$reservationId",
+        totalAmount = totalAmount,
+        seatNumber = "12A",
+        createdAt = LocalDateTime.now(),
+        message = "예약 확정"
+    )
+}
@@ -1,15 +1,31 @@
 package com.airline.reservation.service
 
 import arrow.core.Either
+import com.airline.reservation.client.CoalescingFlightClient
 import com.airline.reservation.client.FlightClient
+import com.airline.reservation.client.HedgingFlightClient
 import com.airline.reservation.client.PaymentClient
 import com.airline.reservation.client.TicketClient
+import com.airline.reservation.common.DomainError
+import com.airline.reservation.config.ReservationConfig
 import com.airline.reservation.dto.PassengerInfo
 import com.airline.reservation.dto.ReservationRequest
 import com.airline.reservation.dto.ReservationStatus
+import com.airline.reservation.dto.external.AvailabilityResponse
+import com.airline.reservation.dto.external.FlightDto
+import com.airline.reservation.dto.external.PaymentRequest
+import com.airline.reservation.dto.external.PaymentResponse
+import com.airline.reservation.dto.external.PaymentStatus
+import com.airline.reservation.dto.external.TicketRequest
+import com.airline.reservation.dto.external.TicketResponse
+import com.airline.reservation.dto.external.TicketStatus
 import com.airline.reservation.entity.Reservation
 import com.airline.reservation.mapper.ReservationMapper
 import com.airline.reservation.repository.ReservationRepository
+import com.airline.reservation.resilience.RequestHedger
+import feign.FeignException
+import feign.Request
+import feign.Response
 import kotlinx.coroutines.runBlocking
 import org.junit.jupiter.api.Assertions.assertEquals
 import org.junit.jupiter.api.Assertions.assertNotNull
@@ -18,8 +34,15 @@ import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.extension.ExtendWith
 import org.mockito.Mockito
+import org.mockito.kotlin.any
+import org.mockito.kotlin.eq
+import org.mockito.kotlin.never
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
 import org.mockito.junit.jupiter.MockitoExtension
 import org.springframework.kafka.core.KafkaTemplate
+import java.math.BigDecimal
+import java.time.LocalDateTime
 
 @ExtendWith(MockitoExtension::class)
 class ReservationServiceTest {
@@ -43,18 +66,34 @@ class ReservationServiceTest {
         ticketClient = Mockito.mock(TicketClient::class.java)
 
         reservationRepository = ReservationRepository()
+        val reservationConfig = ReservationConfig()
+        val coalescingFlightClient = CoalescingFlightClient(
+            HedgingFlightClient(flightClient, RequestHedger(reservationConfig)),
+            reservationConfig
+        )
         reservationService = ReservationService(
             kafkaTemplate,
             flightClient,
             paymentClient,
             ticketClient,
             reservationRepository,
-            reservationMapper
+            reservationMapper,
+            reservationConfig,
+            ReservationCancellationService(
+                flightClient,
+                coalescingFlightClient,
+                paymentClient,
+                ticketClient,
+                reservationRepository,
+                reservationMapper,
+                reservationConfig
+            )
         )
     }
 
     @Test
-    fun `createReservation completes successfully with Either`() = runBlocking {
+    fun `createReservation completes successfully with Either`(): Unit = runBlocking {
+        stubBookingPath()
         val request = defaultReservationRequest()
 
         val result = reservationService.createReservation(request)
@@ -73,7 +112,8 @@ class ReservationServiceTest {
     }
 
     @Test
-    fun `getReservationById retrieves existing reservation`() = runBlocking {
+    fun `getReservationById retrieves existing reservation`(): Unit = runBlocking {
+        stubBookingPath()
         val request = defaultReservationRequest()
 
         // First create a reservation
@@ -91,14 +131,15 @@ class ReservationServiceTest {
     }
 
     @Test
-    fun `getReservationById returns error for non-existent reservation`() = runBlocking {
+    fun `getReservationById returns error for non-existent reservation`(): Unit = runBlocking {
         val result = reservationService.getReservationById("NON-EXISTENT")
 
         assertTrue(result is Either.Left)
     }
 
     @Test
-    fun `cancelReservation cancels confirmed reservation`() = runBlocking {
+    fun `cancelReservation cancels confirmed reservation`(): Unit = runBlocking {
+        stubBookingPath()
         val request = defaultReservationRequest()
 
         // First create a reservation
@@ -115,6 +156,117 @@ class ReservationServiceTest {
         assertEquals("예약 취소됨", cancelledResponse.message)
     }
 
+    @Test
+    fun `createReservation returns sold out as a value without charging`(): Unit = runBlocking {
+        stubFlight(available = false)
+
+        val result = reservationService.createReservation(defaultReservationRequest())
+
+        assertEquals(DomainError.NoAvailableSeats("KE001"), (result as Either.Left).value)
+        verify(flightClient, never()).reserveSeats(any(), any())
+        verify(paymentClient, never()).processPayment(any())
+        assertEquals(0L, reservationRepository.count())
+    }
+
+    @Test
+    fun `createReservation releases the seat and stores failure when payment is declined`(): Unit = runBlocking {
+        stubFlight()
+        whenever(paymentClient.processPayment(any())).thenAnswer { invocation ->
+            val request = invocation.getArgument<PaymentRequest>(0)
+            PaymentResponse("PAY-X", PaymentStatus.FAILED, request.amount, request.reservationId, LocalDateTime.now(), "card declined")
+        }
+
+        val result = reservationService.createReservation(defaultReservationRequest())
+
+        assertEquals(DomainError.PaymentDeclined("card declined"), (result as Either.Left).value)
+        verify(flightClient).releaseSeats(eq("KE001"), any())
+        verify(ticketClient, never()).issueTicket(any())
+        assertEquals("card declined", reservationRepository.findByStatus(ReservationStatus.FAILED).single().message)
+    }
+
+    @Test
+    fun `createReservation treats a 402 from payment as a decline without compensating the charge`(): Unit = runBlocking {
+        stubFlight()
+        whenever(paymentClient.processPayment(any())).thenThrow(feignError(402))
+
+        val result = reservationService.createReservation(defaultReservationRequest())
+
+        assertTrue((result as Either.Left).value is DomainError.PaymentDeclined)
+        verify(flightClient).releaseSeats(eq("KE001"), any())
+        verify(paymentClient, never()).cancelPaymentsByReservation(any())
+    }
+
+    @Test
+    fun `createReservation cancels payments by reservation when the payment outcome is unknown`(): Unit = runBlocking {
+        stubFlight()
+        whenever(paymentClient.processPayment(any())).thenThrow(feignError(503))
+
+        val result = reservationService.createReservation(defaultReservationRequest())
+
+        assertTrue((result as Either.Left).value is DomainError.SystemError)
+        val failed = reservationRepository.findByStatus(ReservationStatus.FAILED).single()
+        verify(paymentClient).cancelPaymentsByReservation(failed.reservationId)
+        verify(flightClient).releaseSeats(eq("KE001"), any())
+    }
+
+    private fun stubBookingPath() {
+        stubFlight()
+        whenever(paymentClient.processPayment(any())).thenAnswer { invocation ->
+            val request = invocation.getArgument<PaymentRequest>(0)
+            PaymentResponse(
+                paymentId = "PAY-${request.reservationId}",
+                status = PaymentStatus.SUCCESS,
+                amount = request.amount,
+                reservationId = request.reservationId,
+                processedAt = LocalDateTime.now(),
+                message = "approved"
+            )
+        }
+        whenever(ticketClient.issueTicket(any())).thenAnswer { invocation ->
+            val request = invocation.getArgument<TicketRequest>(0)
+            TicketResponse(
+                ticketId = "TKT-${request.reservationId}",
+                status = TicketStatus.ISSUED,
+                reservationId = request.reservationId,
+                paymentId = request.paymentId,
+                flightId = request.flightId,
+                passengerInfo = request.passengerInfo,
+                seatNumber = "12A",
+                issuedAt = LocalDateTime.now(),
+                message = "issued"
+            )
+        }
+    }
+
+    private fun stubFlight(available: Boolean = true) {
+        whenever(flightClient.getFlightById("KE001")).thenReturn(
+            FlightDto(
+                flightId = "KE001",
+                airline = "Korean Air",
+                departure = "ICN",
+                arrival = "PUS",
+                departureTime = LocalDateTime.now().plusDays(1),
+                arrivalTime = LocalDateTime.now().plusDays(1).plusHours(1),
+                price = BigDecimal("120000"),
+                availableSeats = 100,
+                aircraft = "B737"
+            )
+        )
+        whenever(flightClient.checkAvailability(eq("KE001"), any())).thenReturn(
+            if (available) AvailabilityResponse(true, "KE001", 100, "available")
+            else AvailabilityResponse(false, "KE001", 0, "sold out")
+        )
+    }
+
+    private fun feignError(status: Int) = FeignException.errorStatus(
+        "PaymentClient#processPayment",
+        Response.builder()
+            .status(status)
+            .request(Request.create(Request.HttpMethod.POST, "/v1/payments", emptyMap(), null, Charsets.UTF_8, null))
+            .headers(emptyMap())
+            .build()
+    )
+
     private fun defaultReservationRequest(): ReservationRequest {
         return ReservationRequest(
             flightId = "KE001",
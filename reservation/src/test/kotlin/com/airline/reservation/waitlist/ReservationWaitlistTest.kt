@@ -0,0 +1,104 @@
+package com.airline.reservation.waitlist
+
+import com.airline.reservation.config.ReservationConfig
+import com.airline.reservation.dto.PassengerInfo
+import com.airline.reservation.dto.ReservationRequest
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class ReservationWaitlistTest {
+
+    private lateinit var reservationWaitlist: ReservationWaitlist
+
+    @BeforeEach
+    fun setUp() {
+        reservationWaitlist = ReservationWaitlist(
+            ReservationConfig(waitlist = ReservationConfig.WaitlistConfig(maxPerFlight = 5))
+        )
+    }
+
+    @Test
+    fun `poll returns priority entries first and keeps FIFO order within a priority`() {
+        val first = reservationWaitlist.enqueue(request("a"))!!
+        val second = reservationWaitlist.enqueue(request("b"))!!
+        val vip = reservationWaitlist.enqueue(request("vip"), WaitlistPriority.PRIORITY)!!
+
+        val polled = reservationWaitlist.poll("KE001", 2)
+
+        assertEquals(listOf(vip, first), polled)
+        assertEquals(1, reservationWaitlist.size("KE001"))
+        assertEquals(listOf(second), reservationWaitlist.poll("KE001", 10))
+    }
+
+    @Test
+    fun `withdrawn entries are skipped and requeued entries keep their place`() {
+        val first = reservationWaitlist.enqueue(request("a"))!!
+        val second = reservationWaitlist.enqueue(request("b"))!!
+        val third = reservationWaitlist.enqueue(request("c"))!!
+
+        assertTrue(reservationWaitlist.withdraw(second.waitlistId))
+        assertFalse(reservationWaitlist.withdraw(second.waitlistId))
+
+        val polled = reservationWaitlist.poll("KE001", 1)
+        assertEquals(listOf(first), polled)
+        assertFalse(reservationWaitlist.withdraw(first.waitlistId))
+
+        reservationWaitlist.requeue(polled)
+        assertEquals(listOf(first, third), reservationWaitlist.poll("KE001", 10))
+    }
+
+    @Test
+    fun `withdrawn entries are compacted out of the queue once they outnumber waiting entries`() {
+        val entries = (1..5).map { reservationWaitlist.enqueue(request("p$it"))!! }
+
+        reservationWaitlist.withdraw(entries[0].waitlistId)
+        reservationWaitlist.withdraw(entries[1].waitlistId)
+        assertEquals(2, reservationWaitlist.withdrawnBacklog("KE001"))
+
+        reservationWaitlist.withdraw(entries[2].waitlistId)
+        assertEquals(0, reservationWaitlist.withdrawnBacklog("KE001"))
+        assertEquals(2, reservationWaitlist.size("KE001"))
+        assertEquals(entries.drop(3), reservationWaitlist.poll("KE001", 10))
+    }
+
+    @Test
+    fun `enqueue rejects entries beyond the per-flight limit`() {
+        repeat(5) { assertTrue(reservationWaitlist.enqueue(request("p$it")) != null) }
+
+        assertNull(reservationWaitlist.enqueue(request("overflow")))
+        assertTrue(reservationWaitlist.enqueue(request("other", flightId = "OZ456")) != null)
+    }
+
+    @Test
+    fun `concurrent enqueue and poll hand out every entry exactly once`() {
+        val waitlist = ReservationWaitlist(ReservationConfig(waitlist = ReservationConfig.WaitlistConfig(maxPerFlight = 100_000)))
+        val executor = Executors.newFixedThreadPool(8)
+        repeat(8) { thread ->
+            executor.submit { repeat(1_000) { waitlist.enqueue(request("t$thread-$it")) } }
+        }
+        executor.shutdown()
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS))
+
+        val pollers = Executors.newFixedThreadPool(4)
+        val futures = (1..4).map { pollers.submit<List<WaitlistEntry>> { waitlist.poll("KE001", 3_000) } }
+        val polled = futures.flatMap { it.get(10, TimeUnit.SECONDS) }
+        pollers.shutdown()
+
+        assertEquals(8_000, polled.size)
+        assertEquals(8_000, polled.map { it.waitlistId }.toSet().size)
+        assertEquals(0, waitlist.size("KE001"))
+    }
+
+    private fun request(name: String, flightId: String = "KE001") = ReservationRequest(
+        flightId = flightId,
+        passengerInfo = PassengerInfo(name = name, email = "$name@example.com", phone = "010-0000-0000"),
+        seatPreference = null,
+        paymentMethod = "CARD"
+    )
+}
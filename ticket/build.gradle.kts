@@ -34,6 +34,7 @@ repositories {
 dependencies {
 	// Common Libraries (Composite Build)
 	implementation("com.airline:kafka-tracing")
+	implementation("com.airline:id-generator")
 
 	implementation ("com.fasterxml.jackson.module:jackson-module-kotlin")
 	implementation ("org.jetbrains.kotlin:kotlin-reflect")
@@ -2,3 +2,4 @@ rootProject.name = "ticket"
 
 // Composite Build: 공통 라이브러리 포함
 includeBuild("../common/kafka-tracing")
+includeBuild("../common/id-generator")
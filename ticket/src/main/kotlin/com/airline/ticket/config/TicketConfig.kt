@@ -1,5 +1,6 @@
 package com.airline.ticket.config
 
+import com.airline.idgen.SnowflakeIdGenerator
 import org.springframework.boot.context.properties.ConfigurationProperties
 import org.springframework.context.annotation.Configuration
 
@@ -44,8 +45,16 @@ data class TicketConfig(
         var prefix: String = "TKT-",
         
         /**
-         * UUID 잘라내기 길이 (기본값: 8)
+         * Snowflake 노드 ID (0-1023, 인스턴스마다 고유해야 함)
+         *
+         * 배포 환경에서는 application.yml이 `ID_NODE_ID`를 필수로 요구합니다. 기본값 0은 단일 인스턴스용입니다.
          */
-        var uuidLength: Int = 8
-    )
+        var nodeId: Int = 0
+    ) {
+
+        /**
+         * 접두사가 붙은 시간 정렬 티켓 ID를 생성합니다.
+         */
+        fun nextId(): String = prefix + SnowflakeIdGenerator.forNode(nodeId).nextIdString()
+    }
 }
\ No newline at end of file
@@ -34,6 +34,42 @@ class TicketController(
         return ResponseEntity.ok(response)
     }
     
+    /**
+     * 여러 티켓을 한 번의 요청으로 발행합니다.
+     * 
+     * @param requests 티켓 발행 요청 목록
+     * @return 요청 순서와 동일한 순서의 발행된 티켓 목록
+     */
+    @PostMapping("/batch")
+    fun issueTickets(@RequestBody requests: List<TicketRequest>): ResponseEntity<List<TicketResponse>> {
+        val responses = ticketService.issueTickets(requests)
+        return ResponseEntity.ok(responses)
+    }
+    
+    /**
+     * 여러 티켓을 한 번의 요청으로 취소합니다.
+     * 
+     * @param ticketIds 취소할 티켓 식별자 목록
+     * @return 취소된 티켓 목록
+     */
+    @PostMapping("/batch/cancel")
+    fun cancelTickets(@RequestBody ticketIds: List<String>): ResponseEntity<List<TicketResponse>> {
+        val cancelledTickets = ticketService.cancelTickets(ticketIds)
+        return ResponseEntity.ok(cancelledTickets)
+    }
+    
+    /**
+     * 여러 예약에 발행된 티켓을 한 번의 요청으로 취소합니다.
+     * 
+     * @param reservationIds 티켓을 취소할 예약 식별자 목록
+     * @return 취소된 티켓 목록
+     */
+    @PostMapping("/reservations/cancel")
+    fun cancelTicketsByReservations(@RequestBody reservationIds: List<String>): ResponseEntity<List<TicketResponse>> {
+        val cancelledTickets = ticketService.cancelTicketsByReservations(reservationIds)
+        return ResponseEntity.ok(cancelledTickets)
+    }
+    
     /**
      * 티켓 ID로 특정 티켓 정보를 조회합니다.
      * 
@@ -1,5 +1,6 @@
 package com.airline.ticket.listener
 
+import com.airline.ticket.config.TicketConfig
 import com.airline.tracing.annotation.KafkaOtelTrace
 import com.fasterxml.jackson.databind.JsonNode
 import com.fasterxml.jackson.databind.ObjectMapper
@@ -10,7 +11,6 @@ import org.springframework.messaging.MessageHeaders
 import org.springframework.messaging.handler.annotation.Headers
 import org.springframework.messaging.handler.annotation.Payload
 import org.springframework.stereotype.Component
-import java.util.UUID
 
 /**
  * 결제 승인 이벤트를 수신하여 항공권을 발급하는 리스너
@@ -19,7 +19,8 @@ import java.util.UUID
  */
 @Component
 class PaymentListener(
-    private val kafkaTemplate: KafkaTemplate<String, String>
+    private val kafkaTemplate: KafkaTemplate<String, String>,
+    private val ticketConfig: TicketConfig
 ) {
     private val logger = LoggerFactory.getLogger(PaymentListener::class.java)
     private val objectMapper = ObjectMapper()
@@ -67,7 +68,7 @@ class PaymentListener(
      * 항공권을 발급하고 항공권 ID를 반환합니다.
      */
     private fun issueTicket(reservationId: String, flightId: String, paymentId: String, seats: Int): String {
-        val ticketId = "TKT-${UUID.randomUUID().toString().take(8)}"
+        val ticketId = ticketConfig.idGeneration.nextId()
         val seatNumber = generateSeatNumber()
 
         logger.info("Issuing ticket {} for reservation {} - Seat: {}",
@@ -60,6 +60,16 @@ class TicketRepository {
         return tickets.values.filter { it.reservationId == reservationId }
     }
     
+    /**
+     * 여러 예약 ID에 속한 모든 티켓을 한 번의 순회로 조회합니다.
+     * 
+     * @param reservationIds 예약 식별자 집합
+     * @return 해당 예약들의 티켓 목록
+     */
+    fun findAllByReservationIdIn(reservationIds: Set<String>): List<Ticket> {
+        return tickets.values.filter { it.reservationId in reservationIds }
+    }
+    
     /**
      * 항공편 ID로 관련된 모든 티켓을 조회합니다.
      * 
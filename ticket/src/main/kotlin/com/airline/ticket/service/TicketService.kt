@@ -11,7 +11,6 @@ import org.slf4j.LoggerFactory
 import org.springframework.kafka.core.KafkaTemplate
 import org.springframework.stereotype.Service
 import java.time.LocalDateTime
-import java.util.*
 
 /**
  * 항공권 관리 서비스
@@ -60,6 +59,69 @@ class TicketService (
         return ticketMapper.toResponse(savedTicket)
     }
     
+    /**
+     * 여러 예약에 대한 항공권을 일괄 발급합니다.
+     * 
+     * 예약 서비스의 일괄 예약 API에서 호출되며, 항공권마다 별도의 HTTP 요청을 보내는 대신
+     * 한 번의 요청으로 모든 항공권을 발급합니다.
+     * 
+     * 전부 발급되거나 하나도 발급되지 않습니다. 저장 도중 실패하면 이미 저장한 항공권을 삭제하고
+     * 예외를 다시 던지며, 발급 이벤트는 모든 항공권이 저장된 뒤에만 발행합니다.
+     * 
+     * @param requests 항공권 발급 요청 목록
+     * @return 요청 순서와 동일한 순서의 발급된 항공권 목록
+     */
+    fun issueTickets(requests: List<TicketRequest>): List<TicketResponse> {
+        logger.info("항공권 일괄 발급 시작: {}건", requests.size)
+        
+        val tickets = requests.map { createTicketEntity(it, generateTicketId(), assignSeatNumber(it)) }
+        val savedTickets = ArrayList<Ticket>(tickets.size)
+        try {
+            tickets.forEach { savedTickets.add(ticketRepository.save(it)) }
+        } catch (e: Exception) {
+            logger.error("항공권 일괄 발급 실패, 저장된 {}건 롤백", savedTickets.size, e)
+            savedTickets.forEach { ticketRepository.deleteById(it.ticketId) }
+            throw e
+        }
+        
+        requests.forEach { publishTicketIssuedEvent(it.reservationId) }
+        logger.info("항공권 일괄 발급 완료: {}건", savedTickets.size)
+        return savedTickets.map { ticketMapper.toResponse(it) }
+    }
+    
+    /**
+     * 여러 항공권을 한 번에 취소합니다.
+     * 
+     * 결항 재예약처럼 한 항공편의 항공권을 모아서 취소할 때 항공권마다 별도의 HTTP 요청을 보내는 대신
+     * 한 번의 요청으로 처리합니다. 발급 상태가 아닌 항공권은 건너뜁니다.
+     * 
+     * @param ticketIds 취소할 항공권 식별자 목록
+     * @return 취소된 항공권 목록
+     */
+    fun cancelTickets(ticketIds: List<String>): List<TicketResponse> {
+        logger.info("항공권 일괄 취소 요청: {}건", ticketIds.size)
+        return ticketIds.distinct()
+            .mapNotNull { ticketRepository.findById(it) }
+            .filter { canCancelTicket(it) }
+            .map { processCancellation(it, it.ticketId) }
+    }
+    
+    /**
+     * 여러 예약에 발급된 항공권을 한 번에 취소합니다.
+     * 
+     * 일괄 발급 호출이 타임아웃 등으로 결과를 알 수 없이 실패했을 때 예약 서비스의 보상 단계에서 호출됩니다.
+     * 발급 상태가 아닌 항공권은 건너뛰므로 여러 번 호출해도 안전합니다.
+     * 
+     * @param reservationIds 항공권을 취소할 예약 식별자 목록
+     * @return 취소된 항공권 목록
+     */
+    fun cancelTicketsByReservations(reservationIds: List<String>): List<TicketResponse> {
+        logger.info("예약별 항공권 일괄 취소 요청: {}건", reservationIds.size)
+        return ticketRepository.findAllByReservationIdIn(reservationIds.toSet())
+            .filter { canCancelTicket(it) }
+            .map { processCancellation(it, it.ticketId) }
+    }
+    
     /**
      * 항공권 ID로 항공권 정보를 조회합니다.
      * 
@@ -97,8 +159,7 @@ class TicketService (
      * 항공권 ID를 생성합니다.
      */
     private fun generateTicketId(): String {
-        val idConfig = ticketConfig.idGeneration
-        return "${idConfig.prefix}${UUID.randomUUID().toString().take(idConfig.uuidLength)}"
+        return ticketConfig.idGeneration.nextId()
     }
     
     /**